@@ -20,6 +20,7 @@ import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -52,6 +53,15 @@ public final class CompositeResolver implements Resolver {
         return new Builder();
     }
 
+    /**
+     * Get the first parts of the targets that this CompositeResolver has resolvers for.
+     *
+     * @return List of prefixes, eg "players" for "/players" under this resolver.
+     */
+    public List<String> getPrefixes() {
+        return Collections.unmodifiableList(prefixes);
+    }
+
     private Optional<Function<Request, Optional<Response>>> getResolver(URIPath target) {
         return target.getPart(0).flatMap(this::findResolver);
     }
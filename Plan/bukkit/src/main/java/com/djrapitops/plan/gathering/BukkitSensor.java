@@ -18,6 +18,7 @@ package com.djrapitops.plan.gathering;
 
 import com.djrapitops.plan.Plan;
 import com.djrapitops.plugin.api.Check;
+import org.bukkit.Chunk;
 import org.bukkit.Server;
 import org.bukkit.World;
 
@@ -90,6 +91,27 @@ public class BukkitSensor implements ServerSensor<World> {
         return world.getEntities().size();
     }
 
+    @Override
+    public int getEntityCount(World world, int part, int parts) {
+        if (hasEntityCountMethod) {
+            try {
+                return part == 0 ? getEntitiesPaperWay(world) : 0;
+            } catch (BootstrapMethodError | NoSuchMethodError e) {
+                // Use spigot method
+            }
+        }
+        return getEntitiesSpigotWay(world, part, parts);
+    }
+
+    private int getEntitiesSpigotWay(World world, int part, int parts) {
+        Chunk[] chunks = world.getLoadedChunks();
+        int count = 0;
+        for (int i = part; i < chunks.length; i += parts) {
+            count += chunks[i].getEntities().length;
+        }
+        return count;
+    }
+
     private int getEntitiesPaperWay(World world) {
         return world.getEntityCount();
     }
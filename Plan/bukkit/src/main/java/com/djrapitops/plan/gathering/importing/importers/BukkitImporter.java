@@ -196,9 +196,7 @@ public abstract class BukkitImporter implements Importer {
     private List<GeoInfo> convertGeoInfo(UserImportData userImportData) {
         long date = System.currentTimeMillis();
 
-        return userImportData.getIps().stream()
-                .map(geolocationCache::getCountry)
-                .filter(Objects::nonNull)
+        return geolocationCache.getCountries(userImportData.getIps()).values().stream()
                 .map(geoLocation -> new GeoInfo(geoLocation, date))
                 .collect(Collectors.toList());
     }
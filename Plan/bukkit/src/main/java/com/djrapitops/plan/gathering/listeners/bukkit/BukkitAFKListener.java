@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.gathering.listeners.bukkit;
 
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.afk.AFKTracker;
 import com.djrapitops.plan.settings.Permissions;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -50,11 +51,12 @@ public class BukkitAFKListener implements Listener {
     private final ErrorLogger errorLogger;
 
     @Inject
-    public BukkitAFKListener(PlanConfig config, ErrorLogger errorLogger) {
+    public BukkitAFKListener(PlanConfig config, LiveFeed liveFeed, ErrorLogger errorLogger) {
         this.errorLogger = errorLogger;
         this.ignorePermissionInfo = new HashMap<>();
 
         BukkitAFKListener.assignAFKTracker(config);
+        AFK_TRACKER.setLiveFeed(liveFeed);
     }
 
     private static void assignAFKTracker(PlanConfig config) {
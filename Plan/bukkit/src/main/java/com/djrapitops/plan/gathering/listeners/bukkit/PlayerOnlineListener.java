@@ -18,13 +18,14 @@ package com.djrapitops.plan.gathering.listeners.bukkit;
 
 import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
-import com.djrapitops.plan.delivery.export.Exporter;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.CallEvents;
 import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
@@ -64,7 +65,7 @@ public class PlayerOnlineListener implements Listener {
     private final ServerInfo serverInfo;
     private final DBSystem dbSystem;
     private final ExtensionSvc extensionService;
-    private final Exporter exporter;
+    private final PlayerExportDebouncer exportDebouncer;
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
@@ -78,7 +79,7 @@ public class PlayerOnlineListener implements Listener {
             ServerInfo serverInfo,
             DBSystem dbSystem,
             ExtensionSvc extensionService,
-            Exporter exporter,
+            PlayerExportDebouncer exportDebouncer,
             GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
@@ -90,7 +91,7 @@ public class PlayerOnlineListener implements Listener {
         this.serverInfo = serverInfo;
         this.dbSystem = dbSystem;
         this.extensionService = extensionService;
-        this.exporter = exporter;
+        this.exportDebouncer = exportDebouncer;
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
@@ -170,9 +171,9 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
-                    new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
-            );
+            geolocationCache.getCountryAsync(address.getHostAddress()).thenAccept(country -> database.executeTransaction(
+                    new GeoInfoStoreTransaction(playerUUID, new GeoInfo(country, time))
+            ));
         }
 
         database.executeTransaction(new PlayerServerRegisterTransaction(playerUUID, player::getFirstPlayed, playerName, serverUUID));
@@ -189,7 +190,7 @@ public class PlayerOnlineListener implements Listener {
 
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 
@@ -229,7 +230,7 @@ public class PlayerOnlineListener implements Listener {
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 }
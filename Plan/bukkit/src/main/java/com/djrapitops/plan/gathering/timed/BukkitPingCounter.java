@@ -24,6 +24,7 @@
 package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
@@ -109,18 +110,21 @@ public class BukkitPingCounter extends AbsRunnable implements Listener {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final RunnableFactory runnableFactory;
+    private final PlanMetrics metrics;
 
     @Inject
     public BukkitPingCounter(
             PlanConfig config,
             DBSystem dbSystem,
             ServerInfo serverInfo,
-            RunnableFactory runnableFactory
+            RunnableFactory runnableFactory,
+            PlanMetrics metrics
     ) {
         this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.runnableFactory = runnableFactory;
+        this.metrics = metrics;
         playerHistory = new HashMap<>();
     }
 
@@ -150,6 +154,7 @@ public class BukkitPingCounter extends AbsRunnable implements Listener {
                     // Don't accept bad values
                     continue;
                 }
+                metrics.recordPing(ping);
                 history.add(new DateObj<>(time, ping));
                 if (history.size() >= 30) {
                     dbSystem.getDatabase().executeTransaction(
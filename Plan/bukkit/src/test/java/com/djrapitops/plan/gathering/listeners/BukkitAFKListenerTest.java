@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.gathering.listeners;
 
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.listeners.bukkit.BukkitAFKListener;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
@@ -50,7 +51,7 @@ public class BukkitAFKListenerTest {
         PlanConfig config = Mockito.mock(PlanConfig.class);
         when(config.get(TimeSettings.AFK_THRESHOLD)).thenReturn(TimeUnit.MINUTES.toMillis(3));
         errorLogger = Mockito.mock(ErrorLogger.class);
-        underTest = new BukkitAFKListener(config, errorLogger);
+        underTest = new BukkitAFKListener(config, new LiveFeed(), errorLogger);
     }
 
     @AfterEach
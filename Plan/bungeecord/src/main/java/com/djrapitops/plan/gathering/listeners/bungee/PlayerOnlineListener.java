@@ -17,12 +17,13 @@
 package com.djrapitops.plan.gathering.listeners.bungee;
 
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
-import com.djrapitops.plan.delivery.export.Exporter;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.CallEvents;
 import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -60,7 +61,7 @@ public class PlayerOnlineListener implements Listener {
     private final Processing processing;
     private final DBSystem dbSystem;
     private final ExtensionSvc extensionService;
-    private final Exporter exporter;
+    private final PlayerExportDebouncer exportDebouncer;
     private final GeolocationCache geolocationCache;
     private final SessionCache sessionCache;
     private final ServerInfo serverInfo;
@@ -72,7 +73,7 @@ public class PlayerOnlineListener implements Listener {
             Processing processing,
             DBSystem dbSystem,
             ExtensionSvc extensionService,
-            Exporter exporter, GeolocationCache geolocationCache,
+            PlayerExportDebouncer exportDebouncer, GeolocationCache geolocationCache,
             SessionCache sessionCache,
             ServerInfo serverInfo,
             ErrorLogger errorLogger
@@ -81,7 +82,7 @@ public class PlayerOnlineListener implements Listener {
         this.processing = processing;
         this.dbSystem = dbSystem;
         this.extensionService = extensionService;
-        this.exporter = exporter;
+        this.exportDebouncer = exportDebouncer;
         this.geolocationCache = geolocationCache;
         this.sessionCache = sessionCache;
         this.serverInfo = serverInfo;
@@ -112,15 +113,15 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
-                    new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
-            );
+            geolocationCache.getCountryAsync(address.getHostAddress()).thenAccept(country -> database.executeTransaction(
+                    new GeoInfoStoreTransaction(playerUUID, new GeoInfo(country, time))
+            ));
         }
 
         database.executeTransaction(new PlayerRegisterTransaction(playerUUID, () -> time, playerName));
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
 
         UUID serverUUID = serverInfo.getServerUUID();
@@ -154,7 +155,7 @@ public class PlayerOnlineListener implements Listener {
 
         sessionCache.endSession(playerUUID, System.currentTimeMillis());
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
         processing.submit(() -> {
             JSONCache.invalidateMatching(
@@ -196,7 +197,7 @@ public class PlayerOnlineListener implements Listener {
         session.putRawData(SessionKeys.SERVER_NAME, "Proxy Server");
         sessionCache.cacheSession(playerUUID, session);
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
 
         JSONCache.invalidate(DataID.SERVERS);
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.commands.subcommands.manage;
 
+import com.djrapitops.plan.delivery.export.ExportQueue;
 import com.djrapitops.plan.delivery.export.Exporter;
 import com.djrapitops.plan.exceptions.ExportException;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -30,7 +31,6 @@ import com.djrapitops.plan.settings.locale.lang.DeepHelpLang;
 import com.djrapitops.plan.settings.locale.lang.ManageLang;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
-import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
 import com.djrapitops.plugin.command.ColorScheme;
 import com.djrapitops.plugin.command.CommandNode;
 import com.djrapitops.plugin.command.CommandType;
@@ -40,8 +40,7 @@ import com.djrapitops.plugin.utilities.Verify;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -58,6 +57,7 @@ public class ManageExportCommand extends CommandNode {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final Exporter exporter;
+    private final ExportQueue exportQueue;
     private final Processing processing;
 
     @Inject
@@ -68,6 +68,7 @@ public class ManageExportCommand extends CommandNode {
             DBSystem dbSystem,
             ServerInfo serverInfo,
             Exporter exporter,
+            ExportQueue exportQueue,
             Processing processing
     ) {
         super("export", Permissions.MANAGE.getPermission(), CommandType.CONSOLE);
@@ -78,6 +79,7 @@ public class ManageExportCommand extends CommandNode {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.exporter = exporter;
+        this.exportQueue = exportQueue;
         this.processing = processing;
 
         setArguments("<export_kind>/list");
@@ -148,34 +150,35 @@ public class ManageExportCommand extends CommandNode {
         if (exportPlayersHtml) {
             processing.submitNonCritical(exporter::exportPlayersPage);
         }
-        processing.submitNonCritical(() -> performExport(sender, exportPlayerJSON, exportPlayerHTML));
+        processing.submitNonCritical(() -> performExport(sender));
     }
 
-    private void performExport(Sender sender, boolean exportPlayerJSON, boolean exportPlayerHTML) {
+    private void performExport(Sender sender) {
+        if (exportQueue.isExportingPlayers()) {
+            sender.sendMessage("§cExport of all players is already in progress");
+            return;
+        }
         sender.sendMessage(locale.getString(ManageLang.PROGRESS_START));
 
-        Map<UUID, String> players = dbSystem.getDatabase().query(UserIdentifierQueries.fetchAllPlayerNames());
-        int size = players.size();
-        int failed = 0;
+        Optional<ExportQueue.Progress> finished = exportQueue.exportAllPlayers(
+                progress -> sender.sendMessage(progress.getDone() + " / " + progress.getTotal() + " processed..")
+        );
+        if (!finished.isPresent()) return;
 
-        int i = 1;
-        for (Map.Entry<UUID, String> entry : players.entrySet()) {
-            try {
-                if (exportPlayerJSON) exporter.exportPlayerJSON(entry.getKey(), entry.getValue());
-                if (exportPlayerHTML) exporter.exportPlayerPage(entry.getKey(), entry.getValue());
-            } catch (ExportException e) {
-                failed++;
-            }
-            i++;
-            if (i % 1000 == 0) {
-                sender.sendMessage(i + " / " + size + " processed..");
-            }
+        ExportQueue.Progress progress = finished.get();
+        if (!progress.isFinished()) {
+            sender.sendMessage(locale.getString(ManageLang.PROGRESS_FAIL));
+            sender.sendMessage("§c" + progress.getDone() + " / " + progress.getTotal() + ", the export continues on next enable");
+            return;
         }
         sender.sendMessage(locale.getString(ManageLang.PROGRESS_SUCCESS));
-        if (failed != 0) {
+        if (progress.getSkipped() != 0) {
+            sender.sendMessage(" §2Unchanged: §f" + progress.getSkipped());
+        }
+        if (progress.getFailed() != 0) {
             sender.sendMessage(locale.getString(ManageLang.PROGRESS_FAIL));
-            sender.sendMessage(" §2✔: §f" + (i - failed));
-            sender.sendMessage(" §c✕: §f" + failed);
+            sender.sendMessage(" §2✔: §f" + (progress.getTotal() - progress.getFailed()));
+            sender.sendMessage(" §c✕: §f" + progress.getFailed());
         }
     }
 }
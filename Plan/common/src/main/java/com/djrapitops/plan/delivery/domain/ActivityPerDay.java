@@ -0,0 +1,74 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Unique players, new players, playtime and session counts of each day.
+ *
+ * @author Rsl1122
+ */
+public class ActivityPerDay {
+
+    private final NavigableMap<Long, Integer> uniquePerDay;
+    private final NavigableMap<Long, Integer> newPerDay;
+    private final NavigableMap<Long, Long> playtimePerDay;
+    private final NavigableMap<Long, Integer> sessionsPerDay;
+
+    public ActivityPerDay() {
+        uniquePerDay = new TreeMap<>();
+        newPerDay = new TreeMap<>();
+        playtimePerDay = new TreeMap<>();
+        sessionsPerDay = new TreeMap<>();
+    }
+
+    /**
+     * Add values of a day, days without any value are left out.
+     *
+     * @param day           Epoch ms of the start of the day.
+     * @param uniquePlayers Number of unique players who played on the day.
+     * @param newPlayers    Number of players who registered on the day.
+     * @param playtime      Playtime of sessions that started on the day in ms.
+     * @param sessionCount  Number of sessions that started on the day.
+     */
+    public void put(long day, int uniquePlayers, int newPlayers, long playtime, int sessionCount) {
+        if (uniquePlayers > 0) uniquePerDay.put(day, uniquePlayers);
+        if (newPlayers > 0) newPerDay.put(day, newPlayers);
+        if (sessionCount > 0) {
+            playtimePerDay.put(day, playtime);
+            sessionsPerDay.put(day, sessionCount);
+        }
+    }
+
+    public NavigableMap<Long, Integer> getUniquePerDay() {
+        return uniquePerDay;
+    }
+
+    public NavigableMap<Long, Integer> getNewPerDay() {
+        return newPerDay;
+    }
+
+    public NavigableMap<Long, Long> getPlaytimePerDay() {
+        return playtimePerDay;
+    }
+
+    public NavigableMap<Long, Integer> getSessionsPerDay() {
+        return sessionsPerDay;
+    }
+}
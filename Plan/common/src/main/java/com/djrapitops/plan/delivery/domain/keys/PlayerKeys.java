@@ -48,6 +48,7 @@ public class PlayerKeys {
 
     public static final Key<Session> ACTIVE_SESSION = new Key<>(Session.class, "active_session");
     public static final Key<List<Session>> SESSIONS = CommonKeys.SESSIONS;
+    public static final Key<Integer> SESSION_COUNT = new Key<>(Integer.class, "session_count");
     public static final Key<WorldTimes> WORLD_TIMES = CommonKeys.WORLD_TIMES;
 
     public static final Key<List<PlayerKill>> PLAYER_KILLS = CommonKeys.PLAYER_KILLS;
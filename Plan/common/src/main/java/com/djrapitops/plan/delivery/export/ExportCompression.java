@@ -0,0 +1,91 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decides which exported files get a gzip compressed .gz file next to them.
+ * <p>
+ * Web servers can serve the pre-compressed files directly (eg. nginx gzip_static),
+ * instead of compressing every response.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class ExportCompression {
+
+    private final PlanConfig config;
+
+    @Inject
+    public ExportCompression(PlanConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Check if a .gz file should be written next to an exported file.
+     *
+     * @param file Exported file.
+     * @return true if gzip files are enabled and the extension of the file is listed in the config.
+     */
+    public boolean shouldCompress(Path file) {
+        if (config.isFalse(ExportSettings.GZIP_ENABLED)) return false;
+
+        String fileName = file.getFileName().toString();
+        List<String> extensions = config.get(ExportSettings.GZIP_EXTENSIONS);
+        for (String extension : extensions) {
+            if (StringUtils.endsWithIgnoreCase(fileName, '.' + StringUtils.removeStart(extension, "."))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Path toGzipPath(Path file) {
+        return file.resolveSibling(file.getFileName().toString() + ".gz");
+    }
+
+    /**
+     * Compress content to a stream.
+     *
+     * @param content Content to compress.
+     * @param out     Stream the compressed content is written to, closed after writing.
+     * @throws IOException If the stream can not be written to.
+     */
+    public void gzip(byte[] content, OutputStream out) throws IOException {
+        try (GZIPOutputStream gzip = new LeveledGZIPOutputStream(out, config.get(ExportSettings.GZIP_LEVEL))) {
+            gzip.write(content);
+        }
+    }
+
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+        LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
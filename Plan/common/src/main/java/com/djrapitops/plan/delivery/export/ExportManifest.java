@@ -0,0 +1,263 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps track of the content of exported files so that files that have not changed are not written again.
+ * <p>
+ * Each exported file is recorded with a hash of its content, and the size and modification time it had after writing,
+ * so that a file that was changed or removed by something else is exported again.
+ * Player exports are recorded with the time they were started, since files with unchanged content keep their old
+ * modification time.
+ * The manifest is stored in the plugin folder so that it survives restarts.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class ExportManifest {
+
+    private static final String FILE_NAME = "export_manifest.txt";
+    private static final String PLAYER_EXPORT = "player";
+
+    private final PlanFiles files;
+    private final String currentVersion;
+    private final ErrorLogger errorLogger;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> playerExports;
+    private final AtomicBoolean loaded;
+    private final AtomicBoolean changed;
+
+    @Inject
+    public ExportManifest(
+            PlanFiles files,
+            @Named("currentVersion") String currentVersion,
+            ErrorLogger errorLogger
+    ) {
+        this.files = files;
+        this.currentVersion = currentVersion;
+        this.errorLogger = errorLogger;
+
+        entries = new ConcurrentHashMap<>();
+        playerExports = new ConcurrentHashMap<>();
+        loaded = new AtomicBoolean(false);
+        changed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Calculate the hash that is stored for exported content.
+     *
+     * @param content Content of a file.
+     * @return SHA-256 of the content in URL-safe base64.
+     */
+    public static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Check if a file already has the given content.
+     *
+     * @param file File that is being exported.
+     * @param hash Hash of the new content, given by {@link #hash(byte[])}.
+     * @return true if the file was exported with the same content and has not been modified since.
+     */
+    public boolean isUnchanged(Path file, String hash) {
+        Entry entry = getEntry(file);
+        return entry != null && entry.hash.equals(hash) && entry.matches(file);
+    }
+
+    /**
+     * Check if a static resource was already exported by this version of the plugin.
+     *
+     * @param file File that is being exported.
+     * @return true if the file was exported by current version and has not been modified since.
+     */
+    public boolean isExportedByCurrentVersion(Path file) {
+        Entry entry = getEntry(file);
+        return entry != null && entry.version.equals(currentVersion) && entry.matches(file);
+    }
+
+    /**
+     * Record a file that was just written.
+     *
+     * @param file File that was written.
+     * @param hash Hash of the written content.
+     * @throws IOException If the size or modification time of the file can not be read.
+     */
+    public void record(Path file, String hash) throws IOException {
+        loadIfNeeded();
+        Entry entry = new Entry(hash, Files.size(file), Files.getLastModifiedTime(file).toMillis(), currentVersion);
+        entries.put(file.toAbsolutePath().toString(), entry);
+        changed.set(true);
+    }
+
+    /**
+     * Forget a file that was removed.
+     *
+     * @param file File that was deleted.
+     */
+    public void remove(Path file) {
+        loadIfNeeded();
+        if (entries.remove(file.toAbsolutePath().toString()) != null) {
+            changed.set(true);
+        }
+    }
+
+    /**
+     * Record an export of a player that has finished.
+     *
+     * @param kind       What was exported, eg. "page" or "json".
+     * @param playerUUID UUID of the player.
+     * @param startTime  Epoch ms when the export started, the exported data is at least as new.
+     */
+    public void recordPlayerExport(String kind, UUID playerUUID, long startTime) {
+        loadIfNeeded();
+        playerExports.merge(kind + '\t' + playerUUID, startTime, Math::max);
+        changed.set(true);
+    }
+
+    /**
+     * Get the time of the last finished export of a player.
+     *
+     * @param kind       What was exported, eg. "page" or "json".
+     * @param playerUUID UUID of the player.
+     * @return Epoch ms when the export started, or empty if the player has not been exported.
+     */
+    public OptionalLong getPlayerExportTime(String kind, UUID playerUUID) {
+        loadIfNeeded();
+        Long startTime = playerExports.get(kind + '\t' + playerUUID);
+        return startTime != null ? OptionalLong.of(startTime) : OptionalLong.empty();
+    }
+
+    private Entry getEntry(Path file) {
+        loadIfNeeded();
+        return entries.get(file.toAbsolutePath().toString());
+    }
+
+    private void loadIfNeeded() {
+        if (loaded.get()) return;
+        synchronized (this) {
+            if (loaded.get()) return;
+            Path manifestFile = getManifestFile();
+            if (Files.exists(manifestFile)) {
+                try {
+                    List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+                    for (String line : lines) {
+                        parseLine(line);
+                    }
+                } catch (IOException e) {
+                    // Everything is exported again
+                    errorLogger.log(L.WARN, e, ErrorContext.builder().related("Reading " + manifestFile).build());
+                }
+            }
+            loaded.set(true);
+        }
+    }
+
+    private void parseLine(String line) {
+        String[] parts = StringUtils.split(line, '\t');
+        try {
+            if (parts.length == 5) {
+                entries.putIfAbsent(parts[0], new Entry(parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]), parts[4]));
+            } else if (parts.length == 4 && PLAYER_EXPORT.equals(parts[0])) {
+                playerExports.putIfAbsent(parts[1] + '\t' + parts[2], Long.parseLong(parts[3]));
+            }
+        } catch (NumberFormatException ignored) {
+            // Skip the broken line, the file or player is exported again
+        }
+    }
+
+    /**
+     * Write the manifest to the plugin folder if files have been exported since last save.
+     */
+    public void save() {
+        if (!changed.compareAndSet(true, false)) return;
+
+        StringBuilder content = new StringBuilder();
+        for (Map.Entry<String, Entry> recorded : entries.entrySet()) {
+            Entry entry = recorded.getValue();
+            content.append(recorded.getKey()).append('\t')
+                    .append(entry.hash).append('\t')
+                    .append(entry.size).append('\t')
+                    .append(entry.lastModified).append('\t')
+                    .append(entry.version).append('\n');
+        }
+        for (Map.Entry<String, Long> playerExport : playerExports.entrySet()) {
+            content.append(PLAYER_EXPORT).append('\t')
+                    .append(playerExport.getKey()).append('\t')
+                    .append(playerExport.getValue()).append('\n');
+        }
+        Path manifestFile = getManifestFile();
+        try {
+            FileExporter.writeAtomically(manifestFile, content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            changed.set(true);
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("Writing " + manifestFile).build());
+        }
+    }
+
+    private Path getManifestFile() {
+        return files.getDataDirectory().resolve(FILE_NAME);
+    }
+
+    private static class Entry {
+        final String hash;
+        final long size;
+        final long lastModified;
+        final String version;
+
+        Entry(String hash, long size, long lastModified, String version) {
+            this.hash = hash;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.version = version;
+        }
+
+        boolean matches(Path file) {
+            try {
+                return Files.size(file) == size && Files.getLastModifiedTime(file).toMillis() == lastModified;
+            } catch (IOException fileDoesNotExist) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.exceptions.ExportException;
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
+import com.djrapitops.plan.storage.database.queries.objects.UserIdentifierQueries;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of threads that perform exports, so that independent exports run in parallel
+ * without taking more than the configured amount of database connections.
+ * <p>
+ * Exporting all players is done in batches, and the last finished batch is stored in the plugin folder
+ * so that an export that was interrupted by a restart continues where it left off.
+ * Players that have not been seen since their files were exported are skipped.
+ * Only a part of the queue is used for exporting all players, so that scheduled exports can still be added.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class ExportQueue {
+
+    static final int BATCH_SIZE = 500;
+    private static final int QUEUE_SIZE = 500;
+    static final int PLAYER_EXPORT_SLOTS = QUEUE_SIZE / 5;
+    private static final int MAX_PENDING_TRANSACTIONS = 50;
+    private static final String PROGRESS_FILE_NAME = "export_progress.txt";
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final Exporter exporter;
+    private final PlanFiles files;
+    private final PluginLogger logger;
+    private final ErrorLogger errorLogger;
+
+    private final AtomicBoolean exportingPlayers;
+    private final Semaphore playerExportSlots;
+    private volatile ThreadPoolExecutor executor;
+
+    @Inject
+    public ExportQueue(
+            PlanConfig config,
+            DBSystem dbSystem,
+            Exporter exporter,
+            PlanFiles files,
+            PluginLogger logger,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.exporter = exporter;
+        this.files = files;
+        this.logger = logger;
+        this.errorLogger = errorLogger;
+
+        exportingPlayers = new AtomicBoolean(false);
+        playerExportSlots = new Semaphore(PLAYER_EXPORT_SLOTS);
+    }
+
+    public void start() {
+        int threads = config.get(ExportSettings.THREADS);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+                new BasicThreadFactory.Builder().namingPattern("Plan Export Thread-%d").build()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    public void stop() {
+        ThreadPoolExecutor pool = executor;
+        executor = null;
+        if (pool == null) return;
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                logDropped(pool.shutdownNow());
+            }
+        } catch (InterruptedException e) {
+            logDropped(pool.shutdownNow());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void logDropped(List<Runnable> dropped) {
+        if (!dropped.isEmpty()) {
+            logger.warn("Export queue stopped, " + dropped.size() + " queued exports were not done.");
+        }
+    }
+
+    /**
+     * Add an export to the queue.
+     *
+     * @param export Export to perform on an export thread.
+     * @return false if the queue is full or the queue has been stopped, and the export was not added.
+     */
+    public boolean submit(Runnable export) {
+        ThreadPoolExecutor pool = executor;
+        if (pool == null) return false;
+        try {
+            pool.execute(export);
+            return true;
+        } catch (RejectedExecutionException queueIsFull) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove an export from the queue if it has not started yet.
+     *
+     * @param export Export given to {@link #submit(Runnable)}.
+     * @return true if the export was removed and will not be performed.
+     */
+    public boolean remove(Runnable export) {
+        ThreadPoolExecutor pool = executor;
+        return pool != null && pool.remove(export);
+    }
+
+    public int getQueueLength() {
+        ThreadPoolExecutor pool = executor;
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+
+    public int getActiveCount() {
+        ThreadPoolExecutor pool = executor;
+        return pool != null ? pool.getActiveCount() : 0;
+    }
+
+    public boolean isExportingPlayers() {
+        return exportingPlayers.get();
+    }
+
+    /**
+     * Check if an export of all players was interrupted before it finished.
+     *
+     * @return true if the export should be continued.
+     */
+    public boolean hasUnfinishedPlayerExport() {
+        return Files.exists(getProgressFile());
+    }
+
+    /**
+     * Export page and/or JSON of every player, as enabled in the config.
+     * <p>
+     * Blocks until the export is done, so this should be called on a non-critical thread.
+     *
+     * @param progressListener Receives the progress after every finished batch of players.
+     * @return Progress at the end of the export, or empty if all players are already being exported.
+     */
+    public Optional<Progress> exportAllPlayers(Consumer<Progress> progressListener) {
+        if (!exportingPlayers.compareAndSet(false, true)) return Optional.empty();
+        try {
+            return Optional.of(performPlayerExport(progressListener));
+        } finally {
+            exportingPlayers.set(false);
+        }
+    }
+
+    private Progress performPlayerExport(Consumer<Progress> progressListener) {
+        boolean exportJSON = config.isTrue(ExportSettings.PLAYER_JSON);
+        boolean exportHtml = config.isTrue(ExportSettings.PLAYER_PAGES);
+
+        Database database = dbSystem.getDatabase();
+        NavigableMap<UUID, String> players = new TreeMap<>(database.query(UserIdentifierQueries.fetchAllPlayerNames()));
+        Map<UUID, Long> lastSeen = database.query(SessionQueries.lastSeenOfAllPlayers());
+
+        Progress progress = new Progress(players.size());
+        Optional<UUID> resumeAfter = readProgress();
+        if (resumeAfter.isPresent()) {
+            NavigableMap<UUID, String> remaining = players.tailMap(resumeAfter.get(), false);
+            progress.done.addAndGet(players.size() - remaining.size());
+            players = remaining;
+        }
+
+        List<Map.Entry<UUID, String>> batch = new ArrayList<>(BATCH_SIZE);
+        for (Map.Entry<UUID, String> player : players.entrySet()) {
+            batch.add(player);
+            if (batch.size() == BATCH_SIZE) {
+                if (!exportBatch(batch, lastSeen, exportJSON, exportHtml, progress)) return progress;
+                progressListener.accept(progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty() && !exportBatch(batch, lastSeen, exportJSON, exportHtml, progress)) return progress;
+
+        deleteProgress();
+        return progress;
+    }
+
+    private boolean exportBatch(
+            List<Map.Entry<UUID, String>> batch, Map<UUID, Long> lastSeen,
+            boolean exportJSON, boolean exportHtml, Progress progress
+    ) {
+        CountDownLatch finished = new CountDownLatch(batch.size());
+        try {
+            for (Map.Entry<UUID, String> player : batch) {
+                if (!waitForDatabase()) return false;
+
+                UUID playerUUID = player.getKey();
+                String playerName = player.getValue();
+                boolean online = SessionCache.getCachedSession(playerUUID).isPresent();
+                if (!online && exporter.isPlayerExportUpToDate(playerUUID, playerName, lastSeen.getOrDefault(playerUUID, 0L))) {
+                    progress.skipped.incrementAndGet();
+                    progress.done.incrementAndGet();
+                    finished.countDown();
+                    continue;
+                }
+
+                Runnable export = () -> {
+                    try {
+                        if (exportJSON) exporter.exportPlayerJSON(playerUUID, playerName);
+                        if (exportHtml) exporter.exportPlayerPage(playerUUID, playerName);
+                    } catch (ExportException | RuntimeException e) {
+                        progress.failed.incrementAndGet();
+                    } finally {
+                        playerExportSlots.release();
+                        progress.done.incrementAndGet();
+                        finished.countDown();
+                    }
+                };
+                if (!submitPlayerExport(export)) return false;
+            }
+            // Exports that were still queued when the queue stopped never count down.
+            while (!finished.await(1, TimeUnit.SECONDS)) {
+                if (executor == null) return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        writeProgress(batch.get(batch.size() - 1).getKey());
+        return true;
+    }
+
+    private boolean submitPlayerExport(Runnable export) throws InterruptedException {
+        // Wait for the export threads to catch up
+        while (!playerExportSlots.tryAcquire(50, TimeUnit.MILLISECONDS)) {
+            if (executor == null) return false;
+        }
+        while (!submit(export)) {
+            if (executor == null) {
+                playerExportSlots.release();
+                return false;
+            }
+            // Queue is full of scheduled exports
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until the database is not busy storing data, so that the export does not delay saving of player data.
+     *
+     * @return false if the database was closed.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private boolean waitForDatabase() throws InterruptedException {
+        Database database = dbSystem.getDatabase();
+        while (database.getState() == Database.State.OPEN) {
+            if (!(database instanceof SQLDB) || ((SQLDB) database).getPendingTransactionCount() <= MAX_PENDING_TRANSACTIONS) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private Path getProgressFile() {
+        return files.getDataDirectory().resolve(PROGRESS_FILE_NAME);
+    }
+
+    private Optional<UUID> readProgress() {
+        Path progressFile = getProgressFile();
+        if (!Files.exists(progressFile)) return Optional.empty();
+        try {
+            String lastExported = new String(Files.readAllBytes(progressFile), StandardCharsets.UTF_8).trim();
+            return Optional.of(UUID.fromString(lastExported));
+        } catch (IOException | IllegalArgumentException e) {
+            // Start from the beginning
+            return Optional.empty();
+        }
+    }
+
+    private void writeProgress(UUID lastExported) {
+        Path progressFile = getProgressFile();
+        try {
+            FileExporter.writeAtomically(progressFile, lastExported.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("Writing " + progressFile).build());
+        }
+    }
+
+    private void deleteProgress() {
+        try {
+            Files.deleteIfExists(getProgressFile());
+        } catch (IOException e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("Deleting " + getProgressFile()).build());
+        }
+    }
+
+    /**
+     * Progress of an export of all players.
+     */
+    public static class Progress {
+        private final int total;
+        private final AtomicInteger done;
+        private final AtomicInteger skipped;
+        private final AtomicInteger failed;
+
+        Progress(int total) {
+            this.total = total;
+            done = new AtomicInteger(0);
+            skipped = new AtomicInteger(0);
+            failed = new AtomicInteger(0);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getDone() {
+            return done.get();
+        }
+
+        public int getSkipped() {
+            return skipped.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public boolean isFinished() {
+            return done.get() >= total;
+        }
+    }
+}
@@ -45,6 +45,7 @@ public class ExportScheduler {
     private final TaskSystem taskSystem;
 
     private final Exporter exporter;
+    private final ExportQueue exportQueue;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
@@ -54,6 +55,7 @@ public class ExportScheduler {
             DBSystem dbSystem,
             TaskSystem taskSystem,
             Exporter exporter,
+            ExportQueue exportQueue,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -61,6 +63,7 @@ public class ExportScheduler {
         this.dbSystem = dbSystem;
         this.taskSystem = taskSystem;
         this.exporter = exporter;
+        this.exportQueue = exportQueue;
         this.logger = logger;
         this.errorLogger = errorLogger;
     }
@@ -73,7 +76,7 @@ public class ExportScheduler {
     private void schedulePlayersPageExport() {
         long period = TimeAmount.toTicks(config.get(ExportSettings.EXPORT_PERIOD), TimeUnit.MILLISECONDS);
         taskSystem.registerTask("Players page export",
-                new ExportTask(exporter, Exporter::exportPlayersPage, errorLogger)
+                new ExportTask(exportQueue, exporter, Exporter::exportPlayersPage, errorLogger)
         ).runTaskTimerAsynchronously(0L, period);
     }
 
@@ -89,14 +92,14 @@ public class ExportScheduler {
 
         Optional<Server> proxy = servers.stream().filter(Server::isProxy).findFirst();
         proxy.ifPresent(mainServer -> taskSystem.registerTask("Network export",
-                new ExportTask(exporter, exporter -> exporter.exportServerPage(mainServer), errorLogger))
+                new ExportTask(exportQueue, exporter, exporter -> exporter.exportServerPage(mainServer), errorLogger))
                 .runTaskTimerAsynchronously(0L, period)
         );
 
         int offsetMultiplier = proxy.isPresent() ? 1 : 0; // Delay first server export if on a network.
         for (Server server : servers) {
             taskSystem.registerTask("Server export",
-                    new ExportTask(exporter, same -> {
+                    new ExportTask(exportQueue, exporter, same -> {
                         same.exportServerPage(server);
                         same.exportServerJSON(server);
                     }, errorLogger))
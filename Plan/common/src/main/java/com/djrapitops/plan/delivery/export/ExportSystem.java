@@ -18,9 +18,13 @@ package com.djrapitops.plan.delivery.export;
 
 import com.djrapitops.plan.SubSystem;
 import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
+import com.djrapitops.plugin.logging.console.PluginLogger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -33,23 +37,45 @@ import javax.inject.Singleton;
 @Singleton
 public class ExportSystem implements SubSystem {
 
+    private final PlanConfig config;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
+    private final Processing processing;
     private final ExportScheduler exportScheduler;
+    private final ExportQueue exportQueue;
+    private final PlayerExportDebouncer playerExportDebouncer;
+    private final ExportManifest exportManifest;
+    private final PluginLogger logger;
 
     @Inject
     public ExportSystem(
+            PlanConfig config,
             DBSystem dbSystem,
             ServerInfo serverInfo,
-            ExportScheduler exportScheduler
+            Processing processing,
+            ExportScheduler exportScheduler,
+            ExportQueue exportQueue,
+            PlayerExportDebouncer playerExportDebouncer,
+            ExportManifest exportManifest,
+            PluginLogger logger
     ) {
+        this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
+        this.processing = processing;
         this.exportScheduler = exportScheduler;
+        this.exportQueue = exportQueue;
+        this.playerExportDebouncer = playerExportDebouncer;
+        this.exportManifest = exportManifest;
+        this.logger = logger;
     }
 
     @Override
     public void enable() {
+        exportQueue.start();
+        playerExportDebouncer.start();
+        resumePlayerExport();
+
         Database database = dbSystem.getDatabase();
         boolean hasProxy = database.query(ServerQueries.fetchProxyServerInformation()).isPresent();
         if (serverInfo.getServer().isNotProxy() && hasProxy) {
@@ -59,8 +85,23 @@ public class ExportSystem implements SubSystem {
         exportScheduler.scheduleExport();
     }
 
+    private void resumePlayerExport() {
+        if (!exportQueue.hasUnfinishedPlayerExport()) return;
+        if (config.isFalse(ExportSettings.PLAYER_JSON) && config.isFalse(ExportSettings.PLAYER_PAGES)) return;
+
+        processing.submitNonCritical(() -> {
+            logger.info("Continuing export of all players..");
+            exportQueue.exportAllPlayers(progress -> {})
+                    .filter(ExportQueue.Progress::isFinished)
+                    .ifPresent(progress -> logger.info("Export of all players finished, "
+                            + progress.getSkipped() + " unchanged, " + progress.getFailed() + " failed."));
+        });
+    }
+
     @Override
     public void disable() {
-        // Nothing to disable
+        playerExportDebouncer.stop();
+        exportQueue.stop();
+        exportManifest.save();
     }
 }
\ No newline at end of file
@@ -24,17 +24,27 @@ import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.task.AbsRunnable;
 
+/**
+ * Timer task that adds an export to the {@link ExportQueue}.
+ * <p>
+ * The export is skipped for this period if the queue is full.
+ *
+ * @author Rsl1122
+ */
 public class ExportTask extends AbsRunnable {
 
+    private final ExportQueue exportQueue;
     private final Exporter exporter;
     private final ThrowingConsumer<Exporter, ExportException> exportAction;
     private final ErrorLogger errorLogger;
 
     public ExportTask(
+            ExportQueue exportQueue,
             Exporter exporter,
             ThrowingConsumer<Exporter, ExportException> exportAction,
             ErrorLogger errorLogger
     ) {
+        this.exportQueue = exportQueue;
         this.exporter = exporter;
         this.exportAction = exportAction;
         this.errorLogger = errorLogger;
@@ -42,6 +52,10 @@ public class ExportTask extends AbsRunnable {
 
     @Override
     public void run() {
+        exportQueue.submit(this::export);
+    }
+
+    private void export() {
         try {
             exportAction.accept(exporter);
         } catch (ExportException e) {
@@ -25,10 +25,12 @@ import com.djrapitops.plan.settings.config.paths.ExportSettings;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashSet;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles export for different pages.
@@ -38,6 +40,9 @@ import java.util.UUID;
 @Singleton
 public class Exporter extends FileExporter {
 
+    private static final String PLAYER_PAGE = "page";
+    private static final String PLAYER_JSON = "json";
+
     private final PlanConfig config;
     private final PlayerJSONExporter playerJSONExporter;
     private final PlayerPageExporter playerPageExporter;
@@ -54,8 +59,11 @@ public class Exporter extends FileExporter {
             PlayerPageExporter playerPageExporter,
             PlayersPageExporter playersPageExporter,
             ServerPageExporter serverPageExporter,
-            NetworkPageExporter networkPageExporter
+            NetworkPageExporter networkPageExporter,
+            ExportManifest manifest,
+            ExportCompression compression
     ) {
+        super(manifest, compression);
         this.config = config;
         this.playerJSONExporter = playerJSONExporter;
         this.playerPageExporter = playerPageExporter;
@@ -63,7 +71,7 @@ public class Exporter extends FileExporter {
         this.serverPageExporter = serverPageExporter;
         this.networkPageExporter = networkPageExporter;
 
-        failedServers = new HashSet<>();
+        failedServers = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -84,6 +92,7 @@ public class Exporter extends FileExporter {
             } else {
                 serverPageExporter.export(toDirectory, server);
             }
+            manifest.save();
             return true;
         } catch (IOException | NotFoundException e) {
             failedServers.add(serverUUID);
@@ -100,7 +109,7 @@ public class Exporter extends FileExporter {
             if (server.isProxy()) {
                 networkPageExporter.exportJSON(new ExportPaths(), toDirectory, server);
             } else {
-                serverPageExporter.exportJSON(toDirectory, server);
+                serverPageExporter.exportJSON(new ExportPaths(), toDirectory, server);
             }
             return true;
         } catch (IOException | NotFoundException e) {
@@ -122,19 +131,46 @@ public class Exporter extends FileExporter {
         if (config.isFalse(ExportSettings.PLAYER_PAGES)) return false;
 
         try {
+            long exportStart = System.currentTimeMillis();
             playerPageExporter.export(toDirectory, playerUUID, playerName);
+            manifest.recordPlayerExport(PLAYER_PAGE, playerUUID, exportStart);
             return true;
         } catch (IOException | NotFoundException e) {
             throw new ExportException("Failed to export player: " + playerName + ", " + e.toString(), e);
         }
     }
 
+    /**
+     * Check if the player has been exported after they were last seen.
+     *
+     * @param playerUUID UUID of the player.
+     * @param playerName Name of the player.
+     * @param lastSeen   Epoch ms when the player was last seen.
+     * @return true if player page and JSON, if enabled, exist and were exported after the player was last seen.
+     */
+    public boolean isPlayerExportUpToDate(UUID playerUUID, String playerName, long lastSeen) {
+        String fileName = toFileName(playerName);
+        if (config.isTrue(ExportSettings.PLAYER_PAGES) && !isExportedAfter(PLAYER_PAGE, playerUUID,
+                config.getPageExportPath().resolve("player/" + fileName).resolve("index.html"), lastSeen)) {
+            return false;
+        }
+        return config.isFalse(ExportSettings.PLAYER_JSON) || isExportedAfter(PLAYER_JSON, playerUUID,
+                config.getJSONExportPath().resolve("player/" + fileName + ".json"), lastSeen);
+    }
+
+    private boolean isExportedAfter(String kind, UUID playerUUID, Path file, long time) {
+        // Unchanged files are not written again, so their modification time is older than the export.
+        OptionalLong exportTime = manifest.getPlayerExportTime(kind, playerUUID);
+        return exportTime.isPresent() && exportTime.getAsLong() >= time && Files.exists(file);
+    }
+
     public boolean exportPlayersPage() throws ExportException {
         Path toDirectory = config.getPageExportPath();
         if (config.isFalse(ExportSettings.PLAYERS_PAGE)) return false;
 
         try {
             playersPageExporter.export(toDirectory);
+            manifest.save();
             return true;
         } catch (IOException | NotFoundException e) {
             throw new ExportException("Failed to export players page, " + e.toString(), e);
@@ -154,7 +190,9 @@ public class Exporter extends FileExporter {
         if (config.isFalse(ExportSettings.PLAYER_JSON)) return false;
 
         try {
+            long exportStart = System.currentTimeMillis();
             playerJSONExporter.export(toDirectory, playerUUID, playerName);
+            manifest.recordPlayerExport(PLAYER_JSON, playerUUID, exportStart);
             return true;
         } catch (IOException e) {
             throw new ExportException("Failed to export player: " + playerName + ", " + e.toString(), e);
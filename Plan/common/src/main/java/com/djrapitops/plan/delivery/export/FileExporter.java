@@ -18,69 +18,134 @@ package com.djrapitops.plan.delivery.export;
 
 import com.djrapitops.plan.delivery.rendering.html.Html;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
+import com.djrapitops.plan.utilities.java.ThrowingConsumer;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.nio.file.OpenOption;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
 
 /**
  * Code that handles writing the actual files that are exported.
+ * <p>
+ * Files are written to a temporary file that is then moved in place, so a partially written file is never served.
+ * Files with content that has not changed since last export are not written again, see {@link ExportManifest}.
+ * Text files can have a gzip compressed copy written next to them, see {@link ExportCompression}.
  *
  * @author Rsl1122
  */
 abstract class FileExporter {
 
-    private static final OpenOption[] OPEN_OPTIONS = {StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
+    private static final Set<PosixFilePermission> DEFAULT_PERMISSIONS = PosixFilePermissions.fromString("rw-r--r--");
 
-    private static void copy(InputStream in, OutputStream out) throws IOException {
-        int read;
-        byte[] bytes = new byte[1024];
+    protected final ExportManifest manifest;
+    protected final ExportCompression compression;
 
-        while ((read = in.read(bytes)) != -1) {
-            out.write(bytes, 0, read);
+    protected FileExporter(ExportManifest manifest, ExportCompression compression) {
+        this.manifest = manifest;
+        this.compression = compression;
+    }
+
+    /**
+     * Write a file by writing a temporary file in the same directory and moving it in place.
+     *
+     * @param to      Path of the file.
+     * @param content Content of the file.
+     * @throws IOException If the file can not be written.
+     */
+    static void writeAtomically(Path to, byte[] content) throws IOException {
+        writeAtomically(to, out -> out.write(content));
+    }
+
+    /**
+     * Write a file by writing a temporary file in the same directory and moving it in place.
+     * <p>
+     * The file keeps the permissions of the file it replaces, new files can be read by everyone (eg. a web server).
+     *
+     * @param to     Path of the file.
+     * @param writer Writes the content of the file to the given stream.
+     * @throws IOException If the file can not be written.
+     */
+    static void writeAtomically(Path to, ThrowingConsumer<OutputStream, IOException> writer) throws IOException {
+        Path directory = to.getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, to.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                writer.accept(out);
+            }
+            copyPermissions(to, temporary);
+            try {
+                Files.move(temporary, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, to, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
         }
     }
 
-    void export(Path to, List<String> content) throws IOException {
-        Files.createDirectories(to.getParent());
-        Files.write(to, content, StandardCharsets.UTF_8, OPEN_OPTIONS);
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        // Temporary files are only readable by the owner
+        if (!Files.getFileStore(to).supportsFileAttributeView(PosixFileAttributeView.class)) return;
+        Set<PosixFilePermission> permissions = Files.exists(from) ? Files.getPosixFilePermissions(from) : DEFAULT_PERMISSIONS;
+        Files.setPosixFilePermissions(to, permissions);
     }
 
     void export(Path to, String content) throws IOException {
-        export(to, Arrays.asList(StringUtils.split(content, "\r\n")));
+        export(to, content.getBytes(StandardCharsets.UTF_8));
     }
 
     void export(Path to, WebResource resource) throws IOException {
-        Files.createDirectories(to.getParent());
-
-        try (
-                InputStream in = resource.asStream();
-                OutputStream out = Files.newOutputStream(to, OPEN_OPTIONS)
-        ) {
-            copy(in, out);
-        }
+        export(to, resource.asBytes());
     }
 
     void export(Path to, byte[] resource) throws IOException {
-        Files.createDirectories(to.getParent());
+        String hash = ExportManifest.hash(resource);
+        if (!manifest.isUnchanged(to, hash)) {
+            writeAtomically(to, resource);
+            manifest.record(to, hash);
+        }
 
-        try (
-                InputStream in = new ByteArrayInputStream(resource);
-                OutputStream out = Files.newOutputStream(to, OPEN_OPTIONS)
-        ) {
-            copy(in, out);
+        if (compression.shouldCompress(to)) {
+            // Recorded with the hash of the uncompressed content, which it was compressed from.
+            Path gzipped = compression.toGzipPath(to);
+            if (!manifest.isUnchanged(gzipped, hash)) {
+                writeAtomically(gzipped, out -> compression.gzip(resource, out));
+                manifest.record(gzipped, hash);
+            }
+        } else {
+            // Left over from when the file was compressed, would be served instead of the new content
+            Path gzipped = compression.toGzipPath(to);
+            Files.deleteIfExists(gzipped);
+            manifest.remove(gzipped);
         }
     }
 
+    /**
+     * Check if a static resource does not need to be exported.
+     * <p>
+     * Vendor libraries only change when the plugin is updated, so they are exported once per version.
+     *
+     * @param to           Path the resource would be exported to.
+     * @param resourceName Name of the resource, eg. vendor/jquery/jquery.min.js
+     * @return true if the resource can be skipped.
+     */
+    boolean isExportedStaticResource(Path to, String resourceName) {
+        return resourceName.startsWith("vendor/") && manifest.isExportedByCurrentVersion(to)
+                && (compression.shouldCompress(to)
+                ? manifest.isExportedByCurrentVersion(compression.toGzipPath(to))
+                : !Files.exists(compression.toGzipPath(to)));
+    }
+
     String toFileName(String resourceName) {
         return StringUtils.replaceEach(
                 Html.encodeToURL(resourceName),
@@ -89,4 +154,4 @@ abstract class FileExporter {
         );
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.exceptions.ExportException;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Combines player page exports caused by logins and logouts.
+ * <p>
+ * An export is performed once no new login or logout of the player has happened within
+ * {@link ExportSettings#PLAYER_EXPORT_DELAY}, so a player reconnecting many times is exported once.
+ * At most {@link ExportSettings#THREADS} of these exports are given to the {@link ExportQueue} at a time,
+ * the rest wait here. Exports that are still waiting when the plugin disables are done right away,
+ * until {@link #STOP_TIMEOUT_MS} has passed, after which the rest are skipped.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class PlayerExportDebouncer {
+
+    static final long STOP_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(5L);
+
+    private final PlanConfig config;
+    private final Exporter exporter;
+    private final ExportQueue exportQueue;
+    private final PluginLogger logger;
+    private final ErrorLogger errorLogger;
+
+    private final Map<UUID, PendingExport> pending;
+    private ScheduledExecutorService scheduler;
+    private Semaphore exportSlots;
+    private long delayMs;
+
+    @Inject
+    public PlayerExportDebouncer(
+            PlanConfig config,
+            Exporter exporter,
+            ExportQueue exportQueue,
+            PluginLogger logger,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.exporter = exporter;
+        this.exportQueue = exportQueue;
+        this.logger = logger;
+        this.errorLogger = errorLogger;
+
+        pending = new ConcurrentHashMap<>();
+    }
+
+    public void start() {
+        delayMs = config.get(ExportSettings.PLAYER_EXPORT_DELAY);
+        exportSlots = new Semaphore(config.get(ExportSettings.THREADS));
+        scheduler = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                .namingPattern("Plan Player Export Scheduler-%d")
+                .daemon(true)
+                .build());
+        scheduler.scheduleWithFixedDelay(this::exportDuePlayers, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) scheduler.shutdownNow();
+        scheduler = null;
+        // Pages would stay outdated until the player joins again.
+        List<StopExport> exports = new ArrayList<>();
+        for (Map.Entry<UUID, PendingExport> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                exports.add(new StopExport(entry.getKey(), entry.getValue().playerName));
+            }
+        }
+        if (exports.isEmpty()) return;
+
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MS;
+        List<StopExport> notQueued = new ArrayList<>();
+        for (StopExport export : exports) {
+            if (!exportQueue.submit(export)) notQueued.add(export);
+        }
+        for (StopExport export : notQueued) {
+            if (System.currentTimeMillis() >= deadline) break;
+            export.run();
+        }
+        try {
+            for (StopExport export : exports) {
+                long timeLeft = deadline - System.currentTimeMillis();
+                if (timeLeft <= 0 || !export.finished.await(timeLeft, TimeUnit.MILLISECONDS)) break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int skipped = 0;
+        for (StopExport export : exports) {
+            if (export.claim()) {
+                exportQueue.remove(export);
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            logger.warn("Skipped exporting " + skipped + " players on disable, their pages are exported when they join again.");
+        }
+    }
+
+    /**
+     * Export the player page after the delay, unless the player logs in or out again before that.
+     *
+     * @param playerUUID UUID of the player.
+     * @param playerName Name of the player.
+     */
+    public void exportLater(UUID playerUUID, String playerName) {
+        pending.put(playerUUID, new PendingExport(playerName, System.currentTimeMillis() + delayMs));
+    }
+
+    /**
+     * Get the number of players waiting for their page to be exported.
+     *
+     * @return Players that have not yet been given to the export queue.
+     */
+    public int getQueueLength() {
+        return pending.size();
+    }
+
+    void exportDuePlayers() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, PendingExport> entry : pending.entrySet()) {
+            PendingExport export = entry.getValue();
+            if (export.exportAfter > now) continue;
+            if (!exportSlots.tryAcquire()) return;
+
+            UUID playerUUID = entry.getKey();
+            // Not removed if the player logged in or out again after the loop started
+            if (!pending.remove(playerUUID, export)) {
+                exportSlots.release();
+                continue;
+            }
+            if (!exportQueue.submit(() -> exportPlayerInSlot(playerUUID, export.playerName))) {
+                exportSlots.release();
+                pending.putIfAbsent(playerUUID, export);
+                return;
+            }
+        }
+    }
+
+    private void exportPlayerInSlot(UUID playerUUID, String playerName) {
+        try {
+            exportPlayer(playerUUID, playerName);
+        } finally {
+            exportSlots.release();
+        }
+    }
+
+    private void exportPlayer(UUID playerUUID, String playerName) {
+        try {
+            exporter.exportPlayerPage(playerUUID, playerName);
+        } catch (ExportException | RuntimeException e) {
+            errorLogger.log(L.WARN, e, ErrorContext.builder().related("Exporting player " + playerName).build());
+        }
+    }
+
+    private class StopExport implements Runnable {
+        final UUID playerUUID;
+        final String playerName;
+        final CountDownLatch finished;
+        private final AtomicBoolean claimed;
+
+        StopExport(UUID playerUUID, String playerName) {
+            this.playerUUID = playerUUID;
+            this.playerName = playerName;
+            finished = new CountDownLatch(1);
+            claimed = new AtomicBoolean(false);
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!claim()) return; // Already done or skipped
+            try {
+                exportPlayer(playerUUID, playerName);
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    private static class PendingExport {
+        final String playerName;
+        final long exportAfter;
+
+        PendingExport(String playerName, long exportAfter) {
+            this.playerName = playerName;
+            this.exportAfter = exportAfter;
+        }
+    }
+}
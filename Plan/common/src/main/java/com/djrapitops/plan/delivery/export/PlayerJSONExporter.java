@@ -41,8 +41,11 @@ public class PlayerJSONExporter extends FileExporter {
     @Inject
     public PlayerJSONExporter(
             DBSystem dbSystem,
-            ResponseFactory responseFactory
+            ResponseFactory responseFactory,
+            ExportManifest manifest,
+            ExportCompression compression
     ) {
+        super(manifest, compression);
         this.dbSystem = dbSystem;
         this.responseFactory = responseFactory;
     }
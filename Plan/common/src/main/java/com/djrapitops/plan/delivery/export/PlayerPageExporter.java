@@ -61,8 +61,11 @@ public class PlayerPageExporter extends FileExporter {
             DBSystem dbSystem,
             PageFactory pageFactory,
             RootJSONResolver jsonHandler,
-            Theme theme
+            Theme theme,
+            ExportManifest manifest,
+            ExportCompression compression
     ) {
+        super(manifest, compression);
         this.files = files;
         this.dbSystem = dbSystem;
         this.pageFactory = pageFactory;
@@ -185,9 +188,11 @@ public class PlayerPageExporter extends FileExporter {
     }
 
     private void exportResource(Path toDirectory, String resourceName) throws IOException {
+        Path to = toDirectory.resolve(resourceName);
+        if (isExportedStaticResource(to, resourceName)) return;
+
         WebResource resource = ResourceService.getInstance().getResource("Plan", resourceName,
                 () -> files.getResourceFromJar("web/" + resourceName).asWebResource());
-        Path to = toDirectory.resolve(resourceName);
 
         if (resourceName.endsWith(".css")) {
             export(to, theme.replaceThemeColors(resource.asString()));
@@ -64,8 +64,11 @@ public class PlayersPageExporter extends FileExporter {
             PageFactory pageFactory,
             RootJSONResolver jsonHandler,
             Theme theme,
-            ServerInfo serverInfo
+            ServerInfo serverInfo,
+            ExportManifest manifest,
+            ExportCompression compression
     ) {
+        super(manifest, compression);
         this.files = files;
         this.dbSystem = dbSystem;
         this.pageFactory = pageFactory;
@@ -76,7 +79,7 @@ public class PlayersPageExporter extends FileExporter {
         exportPaths = new ExportPaths();
     }
 
-    public void export(Path toDirectory) throws IOException {
+    public synchronized void export(Path toDirectory) throws IOException {
         Database.State dbState = dbSystem.getDatabase().getState();
         if (dbState == Database.State.CLOSED || dbState == Database.State.CLOSING) return;
 
@@ -156,13 +159,16 @@ public class PlayersPageExporter extends FileExporter {
     private void exportResources(Path toDirectory, String... resourceNames) throws IOException {
         for (String resourceName : resourceNames) {
             exportResource(toDirectory, resourceName);
+            exportPaths.put(resourceName, toRelativePathFromRoot(resourceName));
         }
     }
 
     private void exportResource(Path toDirectory, String resourceName) throws IOException {
+        Path to = toDirectory.resolve(resourceName);
+        if (isExportedStaticResource(to, resourceName)) return;
+
         WebResource resource = ResourceService.getInstance().getResource("Plan", resourceName,
                 () -> files.getResourceFromJar("web/" + resourceName).asWebResource());
-        Path to = toDirectory.resolve(resourceName);
 
         if (resourceName.endsWith(".css")) {
             export(to, theme.replaceThemeColors(resource.asString()));
@@ -171,8 +177,6 @@ public class PlayersPageExporter extends FileExporter {
         } else {
             export(to, resource);
         }
-
-        exportPaths.put(resourceName, toRelativePathFromRoot(resourceName));
     }
 
     private String toRelativePathFromRoot(String resourceName) {
@@ -57,8 +57,6 @@ public class ServerPageExporter extends FileExporter {
     private final Theme theme;
     private final ServerInfo serverInfo;
 
-    private final ExportPaths exportPaths;
-
     @Inject
     public ServerPageExporter(
             PlanFiles files,
@@ -66,16 +64,17 @@ public class ServerPageExporter extends FileExporter {
             DBSystem dbSystem,
             RootJSONResolver jsonHandler,
             Theme theme,
-            ServerInfo serverInfo // To know if current server is a Proxy
+            ServerInfo serverInfo, // To know if current server is a Proxy
+            ExportManifest manifest,
+            ExportCompression compression
     ) {
+        super(manifest, compression);
         this.files = files;
         this.pageFactory = pageFactory;
         this.dbSystem = dbSystem;
         this.jsonHandler = jsonHandler;
         this.theme = theme;
         this.serverInfo = serverInfo;
-
-        exportPaths = new ExportPaths();
     }
 
     /**
@@ -90,14 +89,14 @@ public class ServerPageExporter extends FileExporter {
         Database.State dbState = dbSystem.getDatabase().getState();
         if (dbState == Database.State.CLOSED || dbState == Database.State.CLOSING) return;
 
+        ExportPaths exportPaths = new ExportPaths();
         exportPaths.put("../network", toRelativePathFromRoot("network"));
-        exportRequiredResources(toDirectory);
-        exportJSON(toDirectory, server);
-        exportHtml(toDirectory, server);
-        exportPaths.clear();
+        exportRequiredResources(exportPaths, toDirectory);
+        exportJSON(exportPaths, toDirectory, server);
+        exportHtml(exportPaths, toDirectory, server);
     }
 
-    private void exportHtml(Path toDirectory, Server server) throws IOException {
+    private void exportHtml(ExportPaths exportPaths, Path toDirectory, Server server) throws IOException {
         UUID serverUUID = server.getUuid();
         Path to = toDirectory
                 .resolve(serverInfo.getServer().isProxy() ? "server/" + toFileName(server.getName()) : "server")
@@ -110,15 +109,16 @@ public class ServerPageExporter extends FileExporter {
     /**
      * Perform export for a server page json payload.
      *
+     * @param exportPaths Paths of exported files are added here
      * @param toDirectory Path to Export directory
      * @param server      Server to export
      * @throws IOException       If a template can not be read from jar/disk or the result written
      * @throws NotFoundException If a file or resource that is being exported can not be found
      */
-    public void exportJSON(Path toDirectory, Server server) throws IOException {
+    public void exportJSON(ExportPaths exportPaths, Path toDirectory, Server server) throws IOException {
         String serverUUID = server.getUuid().toString();
 
-        exportJSON(toDirectory,
+        exportJSON(exportPaths, toDirectory,
                 "serverOverview?server=" + serverUUID,
                 "onlineOverview?server=" + serverUUID,
                 "sessionsOverview?server=" + serverUUID,
@@ -140,13 +140,13 @@ public class ServerPageExporter extends FileExporter {
         );
     }
 
-    private void exportJSON(Path toDirectory, String... resources) throws IOException {
+    private void exportJSON(ExportPaths exportPaths, Path toDirectory, String... resources) throws IOException {
         for (String resource : resources) {
-            exportJSON(toDirectory, resource);
+            exportJSON(exportPaths, toDirectory, resource);
         }
     }
 
-    private void exportJSON(Path toDirectory, String resource) throws IOException {
+    private void exportJSON(ExportPaths exportPaths, Path toDirectory, String resource) throws IOException {
         Optional<Response> found = getJSONResponse(resource);
         if (!found.isPresent()) {
             throw new NotFoundException(resource + " was not properly exported: not found");
@@ -174,9 +174,9 @@ public class ServerPageExporter extends FileExporter {
         }
     }
 
-    private void exportRequiredResources(Path toDirectory) throws IOException {
+    private void exportRequiredResources(ExportPaths exportPaths, Path toDirectory) throws IOException {
         // Style
-        exportResources(toDirectory,
+        exportResources(exportPaths, toDirectory,
                 "../img/Flaticon_circle.png",
                 "../css/sb-admin-2.css",
                 "../css/style.css",
@@ -216,7 +216,7 @@ public class ServerPageExporter extends FileExporter {
         );
     }
 
-    private void exportResources(Path toDirectory, String... resourceNames) throws IOException {
+    private void exportResources(ExportPaths exportPaths, Path toDirectory, String... resourceNames) throws IOException {
         for (String resourceName : resourceNames) {
             String nonRelativePath = toNonRelativePath(resourceName);
             exportResource(toDirectory, nonRelativePath);
@@ -225,9 +225,11 @@ public class ServerPageExporter extends FileExporter {
     }
 
     private void exportResource(Path toDirectory, String resourceName) throws IOException {
+        Path to = toDirectory.resolve(resourceName);
+        if (isExportedStaticResource(to, resourceName)) return;
+
         WebResource resource = ResourceService.getInstance().getResource("Plan", resourceName,
                 () -> files.getResourceFromJar("web/" + resourceName).asWebResource());
-        Path to = toDirectory.resolve(resourceName);
 
         if (resourceName.endsWith(".css")) {
             export(to, theme.replaceThemeColors(resource.asString()));
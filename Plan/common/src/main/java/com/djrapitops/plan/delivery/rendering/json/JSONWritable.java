@@ -0,0 +1,41 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * JSON value that is written straight to the output instead of building a String first.
+ * <p>
+ * Used for large values like graph data, see {@link com.djrapitops.plan.delivery.webserver.cache.JSONCache}.
+ *
+ * @author Rsl1122
+ */
+@FunctionalInterface
+public interface JSONWritable {
+
+    /**
+     * Write this value.
+     *
+     * @param writer Writer to write the JSON value to.
+     * @throws IOException If the writer fails to write.
+     */
+    void writeTo(JsonWriter writer) throws IOException;
+
+}
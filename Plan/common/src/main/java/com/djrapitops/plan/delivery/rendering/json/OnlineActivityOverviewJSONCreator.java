@@ -16,7 +16,6 @@
  */
 package com.djrapitops.plan.delivery.rendering.json;
 
-import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
 import com.djrapitops.plan.delivery.domain.mutators.PlayersOnlineResolver;
 import com.djrapitops.plan.delivery.domain.mutators.RetentionData;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -33,7 +32,7 @@ import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQuerie
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
-import com.djrapitops.plan.storage.database.queries.objects.UserInfoQueries;
+import com.djrapitops.plan.utilities.java.Lists;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -207,16 +206,11 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
 
         Map<String, Object> insights = new HashMap<>();
 
-        SessionsMutator sessions = new SessionsMutator(db.query(SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID)));
+        List<Long> sessionStarts = db.query(SessionQueries.fetchSessionStartsOfServer(monthAgo, now, serverUUID));
         List<TPS> tpsData = db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
-        Map<UUID, Long> registerDates = db.query(UserInfoQueries.fetchRegisterDates(monthAgo, now, serverUUID));
 
         PlayersOnlineResolver playersOnlineResolver = new PlayersOnlineResolver(new TPSMutator(tpsData));
-        SessionsMutator firstSessions = sessions.filterBy(session -> {
-            long registered = registerDates.getOrDefault(session.getValue(SessionKeys.UUID).orElse(null), -501L);
-            long start = session.getDate();
-            return Math.abs(registered - start) < 500L;
-        });
+        SessionsMutator firstSessions = new SessionsMutator(db.query(SessionQueries.fetchFirstSessionsOfServer(monthAgo, now, serverUUID)));
         SessionsMutator firstSessionsBefore = firstSessions.filterSessionsBetween(monthAgo, halfMonthAgo);
         SessionsMutator firstSessionsAfter = firstSessions.filterSessionsBetween(halfMonthAgo, now);
 
@@ -232,9 +226,9 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         insights.put("first_session_length_median", timeAmountFormatter.apply(medianFirstSessionLength));
         insights.put("first_session_length_median_trend", new Trend(medianFirstSessionLengthBefore, medianFirstSessionLengthAfter, false, timeAmountFormatter));
 
-        int lonelyJoins = playersOnlineResolver.findLonelyJoins(sessions.toSessionStarts());
-        int loneJoinsBefore = playersOnlineResolver.findLonelyJoins(sessions.filterSessionsBetween(monthAgo, halfMonthAgo).toSessionStarts());
-        int loneJoinsAfter = playersOnlineResolver.findLonelyJoins(sessions.filterSessionsBetween(halfMonthAgo, now).toSessionStarts());
+        int lonelyJoins = playersOnlineResolver.findLonelyJoins(sessionStarts);
+        int loneJoinsBefore = playersOnlineResolver.findLonelyJoins(Lists.filter(sessionStarts, start -> start <= halfMonthAgo));
+        int loneJoinsAfter = playersOnlineResolver.findLonelyJoins(Lists.filter(sessionStarts, start -> start >= halfMonthAgo));
         insights.put("lone_joins", lonelyJoins);
         insights.put("lone_joins_trend", new Trend(loneJoinsBefore, loneJoinsAfter, true));
 
@@ -16,10 +16,11 @@
  */
 package com.djrapitops.plan.delivery.rendering.json.graphs;
 
+import com.djrapitops.plan.delivery.domain.ActivityPerDay;
 import com.djrapitops.plan.delivery.domain.DateMap;
 import com.djrapitops.plan.delivery.domain.mutators.MutatorFunctions;
-import com.djrapitops.plan.delivery.domain.mutators.PingMutator;
 import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
+import com.djrapitops.plan.delivery.rendering.json.JSONWritable;
 import com.djrapitops.plan.delivery.rendering.json.graphs.bar.BarGraph;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.LineGraphFactory;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.PingGraph;
@@ -77,39 +78,57 @@ public class GraphJSONCreator {
         this.graphs = graphs;
     }
 
-    public String performanceGraphJSON(UUID serverUUID) {
+    /**
+     * Create performance graph JSON.
+     *
+     * @param serverUUID UUID of the server.
+     * @param resolution Number of points to downsample each series to, 0 for all points.
+     * @return JSON of the performance graph series.
+     */
+    public JSONWritable performanceGraphJSON(UUID serverUUID, int resolution) {
         Database db = dbSystem.getDatabase();
         LineGraphFactory lineGraphs = graphs.line();
         long now = System.currentTimeMillis();
         long halfYearAgo = now - TimeUnit.DAYS.toMillis(180L);
         TPSMutator tpsMutator = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServer(serverUUID)))
                 .filterDataBetween(halfYearAgo, now);
-        return '{' +
-                "\"playersOnline\":" + lineGraphs.playersOnlineGraph(tpsMutator).toHighChartsSeries() +
-                ",\"tps\":" + lineGraphs.tpsGraph(tpsMutator).toHighChartsSeries() +
-                ",\"cpu\":" + lineGraphs.cpuGraph(tpsMutator).toHighChartsSeries() +
-                ",\"ram\":" + lineGraphs.ramGraph(tpsMutator).toHighChartsSeries() +
-                ",\"entities\":" + lineGraphs.entityGraph(tpsMutator).toHighChartsSeries() +
-                ",\"chunks\":" + lineGraphs.chunkGraph(tpsMutator).toHighChartsSeries() +
-                ",\"disk\":" + lineGraphs.diskGraph(tpsMutator).toHighChartsSeries() +
-                ",\"colors\":{" +
-                "\"playersOnline\":\"" + theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE) + "\"," +
-                "\"cpu\":\"" + theme.getValue(ThemeVal.GRAPH_CPU) + "\"," +
-                "\"ram\":\"" + theme.getValue(ThemeVal.GRAPH_RAM) + "\"," +
-                "\"entities\":\"" + theme.getValue(ThemeVal.GRAPH_ENTITIES) + "\"," +
-                "\"chunks\":\"" + theme.getValue(ThemeVal.GRAPH_CHUNKS) + "\"," +
-                "\"low\":\"" + theme.getValue(ThemeVal.GRAPH_TPS_LOW) + "\"," +
-                "\"med\":\"" + theme.getValue(ThemeVal.GRAPH_TPS_MED) + "\"," +
-                "\"high\":\"" + theme.getValue(ThemeVal.GRAPH_TPS_HIGH) + "\"}" +
-                ",\"zones\":{" +
-                "\"tpsThresholdMed\":" + config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_MED) + ',' +
-                "\"tpsThresholdHigh\":" + config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_HIGH) + ',' +
-                "\"diskThresholdMed\":" + config.get(DisplaySettings.GRAPH_DISK_THRESHOLD_MED) + ',' +
-                "\"diskThresholdHigh\":" + config.get(DisplaySettings.GRAPH_DISK_THRESHOLD_HIGH) +
-                "}}";
+        return writer -> {
+            writer.beginObject();
+            writer.name("playersOnline");
+            lineGraphs.playersOnlineGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("tps");
+            lineGraphs.tpsGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("cpu");
+            lineGraphs.cpuGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("ram");
+            lineGraphs.ramGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("entities");
+            lineGraphs.entityGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("chunks");
+            lineGraphs.chunkGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("disk");
+            lineGraphs.diskGraph(tpsMutator).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("colors").beginObject()
+                    .name("playersOnline").value(theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE))
+                    .name("cpu").value(theme.getValue(ThemeVal.GRAPH_CPU))
+                    .name("ram").value(theme.getValue(ThemeVal.GRAPH_RAM))
+                    .name("entities").value(theme.getValue(ThemeVal.GRAPH_ENTITIES))
+                    .name("chunks").value(theme.getValue(ThemeVal.GRAPH_CHUNKS))
+                    .name("low").value(theme.getValue(ThemeVal.GRAPH_TPS_LOW))
+                    .name("med").value(theme.getValue(ThemeVal.GRAPH_TPS_MED))
+                    .name("high").value(theme.getValue(ThemeVal.GRAPH_TPS_HIGH))
+                    .endObject();
+            writer.name("zones").beginObject()
+                    .name("tpsThresholdMed").value(config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_MED))
+                    .name("tpsThresholdHigh").value(config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_HIGH))
+                    .name("diskThresholdMed").value(config.get(DisplaySettings.GRAPH_DISK_THRESHOLD_MED))
+                    .name("diskThresholdHigh").value(config.get(DisplaySettings.GRAPH_DISK_THRESHOLD_HIGH))
+                    .endObject();
+            writer.endObject();
+        };
     }
 
-    public String playersOnlineGraph(UUID serverUUID) {
+    public JSONWritable playersOnlineGraph(UUID serverUUID, int resolution) {
         Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long halfYearAgo = now - TimeUnit.DAYS.toMillis(180L);
@@ -117,11 +136,15 @@ public class GraphJSONCreator {
         List<Point> points = Lists.map(db.query(TPSQueries.fetchPlayersOnlineOfServer(halfYearAgo, now, serverUUID)),
                 point -> new Point(point.getDate(), point.getValue())
         );
-        return "{\"playersOnline\":" + graphs.line().lineGraph(points).toHighChartsSeries() +
-                ",\"color\":\"" + theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE) + "\"}";
+        return writer -> {
+            writer.beginObject().name("playersOnline");
+            graphs.line().lineGraph(points).downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("color").value(theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE))
+                    .endObject();
+        };
     }
 
-    public String uniqueAndNewGraphJSON(UUID serverUUID) {
+    public JSONWritable uniqueAndNewGraphJSON(UUID serverUUID) {
         Database db = dbSystem.getDatabase();
         LineGraphFactory lineGraphs = graphs.line();
         long now = System.currentTimeMillis();
@@ -137,7 +160,7 @@ public class GraphJSONCreator {
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.DAYS.toMillis(1L));
     }
 
-    public String hourlyUniqueAndNewGraphJSON(UUID serverUUID) {
+    public JSONWritable hourlyUniqueAndNewGraphJSON(UUID serverUUID) {
         Database db = dbSystem.getDatabase();
         LineGraphFactory lineGraphs = graphs.line();
         long now = System.currentTimeMillis();
@@ -153,22 +176,25 @@ public class GraphJSONCreator {
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.HOURS.toMillis(1L));
     }
 
-    public String createUniqueAndNewJSON(LineGraphFactory lineGraphs, NavigableMap<Long, Integer> uniquePerDay, NavigableMap<Long, Integer> newPerDay, long gapFillPeriod) {
-        return "{\"uniquePlayers\":" +
-                lineGraphs.lineGraph(MutatorFunctions.toPoints(
-                        MutatorFunctions.addMissing(uniquePerDay, gapFillPeriod, 0)
-                )).toHighChartsSeries() +
-                ",\"newPlayers\":" +
-                lineGraphs.lineGraph(MutatorFunctions.toPoints(
-                        MutatorFunctions.addMissing(newPerDay, gapFillPeriod, 0)
-                )).toHighChartsSeries() +
-                ",\"colors\":{" +
-                "\"playersOnline\":\"" + theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE) + "\"," +
-                "\"newPlayers\":\"" + theme.getValue(ThemeVal.LIGHT_GREEN) + "\"" +
-                "}}";
+    public JSONWritable createUniqueAndNewJSON(LineGraphFactory lineGraphs, NavigableMap<Long, Integer> uniquePerDay, NavigableMap<Long, Integer> newPerDay, long gapFillPeriod) {
+        return writer -> {
+            writer.beginObject().name("uniquePlayers");
+            lineGraphs.lineGraph(MutatorFunctions.toPoints(
+                    MutatorFunctions.addMissing(uniquePerDay, gapFillPeriod, 0)
+            )).writeHighChartsSeries(writer);
+            writer.name("newPlayers");
+            lineGraphs.lineGraph(MutatorFunctions.toPoints(
+                    MutatorFunctions.addMissing(newPerDay, gapFillPeriod, 0)
+            )).writeHighChartsSeries(writer);
+            writer.name("colors").beginObject()
+                    .name("playersOnline").value(theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE))
+                    .name("newPlayers").value(theme.getValue(ThemeVal.LIGHT_GREEN))
+                    .endObject();
+            writer.endObject();
+        };
     }
 
-    public String uniqueAndNewGraphJSON() {
+    public JSONWritable uniqueAndNewGraphJSON() {
         Database db = dbSystem.getDatabase();
         LineGraphFactory lineGraphs = graphs.line();
         long now = System.currentTimeMillis();
@@ -184,7 +210,7 @@ public class GraphJSONCreator {
         return createUniqueAndNewJSON(lineGraphs, uniquePerDay, newPerDay, TimeUnit.DAYS.toMillis(1L));
     }
 
-    public String hourlyUniqueAndNewGraphJSON() {
+    public JSONWritable hourlyUniqueAndNewGraphJSON() {
         Database db = dbSystem.getDatabase();
         LineGraphFactory lineGraphs = graphs.line();
         long now = System.currentTimeMillis();
@@ -205,24 +231,15 @@ public class GraphJSONCreator {
         long now = System.currentTimeMillis();
         long twoYearsAgo = now - TimeUnit.DAYS.toMillis(730L);
         int timeZoneOffset = config.getTimeZone().getOffset(now);
-        NavigableMap<Long, Integer> uniquePerDay = db.query(
-                PlayerCountQueries.uniquePlayerCounts(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> newPerDay = db.query(
-                PlayerCountQueries.newPlayerCounts(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Long> playtimePerDay = db.query(
-                SessionQueries.playtimePerDay(twoYearsAgo, now, timeZoneOffset, serverUUID)
-        );
-        NavigableMap<Long, Integer> sessionsPerDay = db.query(
-                SessionQueries.sessionCountPerDay(twoYearsAgo, now, timeZoneOffset, serverUUID)
+        ActivityPerDay activityPerDay = db.query(
+                SessionQueries.activityPerDay(twoYearsAgo, now, timeZoneOffset, serverUUID)
         );
         return "{\"data\":" +
                 graphs.calendar().serverCalendar(
-                        uniquePerDay,
-                        newPerDay,
-                        playtimePerDay,
-                        sessionsPerDay
+                        activityPerDay.getUniquePerDay(),
+                        activityPerDay.getNewPerDay(),
+                        activityPerDay.getPlaytimePerDay(),
+                        activityPerDay.getSessionsPerDay()
                 ).toCalendarSeries() +
                 ",\"firstDay\":" + 1 + '}';
     }
@@ -305,31 +322,42 @@ public class GraphJSONCreator {
         return createGeolocationJSON(geolocationCounts);
     }
 
-    public String pingGraphsJSON(UUID serverUUID) {
+    public JSONWritable pingGraphsJSON(UUID serverUUID, int resolution) {
         Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
-        List<Ping> pings = db.query(PingQueries.fetchPingDataOfServer(now - TimeUnit.DAYS.toMillis(180L), now, serverUUID));
-
-        PingGraph pingGraph = graphs.line().pingGraph(new PingMutator(pings).mutateToByMinutePings().all());// TODO Optimize in query
-
-        return "{\"min_ping_series\":" + pingGraph.getMinGraph().toHighChartsSeries() +
-                ",\"avg_ping_series\":" + pingGraph.getAvgGraph().toHighChartsSeries() +
-                ",\"max_ping_series\":" + pingGraph.getMaxGraph().toHighChartsSeries() +
-                ",\"colors\":{" +
-                "\"min\":\"" + theme.getValue(ThemeVal.GRAPH_MIN_PING) + "\"," +
-                "\"avg\":\"" + theme.getValue(ThemeVal.GRAPH_AVG_PING) + "\"," +
-                "\"max\":\"" + theme.getValue(ThemeVal.GRAPH_MAX_PING) + "\"" +
-                "}}";
+        long timePerPoint = Math.max(TimeUnit.MINUTES.toMillis(1L), config.get(DisplaySettings.GRAPH_PING_TIME_PER_POINT));
+        List<Ping> pings = db.query(PingQueries.fetchAggregatedPingDataOfServer(
+                now - TimeUnit.DAYS.toMillis(180L), now, timePerPoint, serverUUID
+        ));
+
+        PingGraph pingGraph = graphs.line().pingGraph(pings, timePerPoint);
+
+        return writer -> {
+            writer.beginObject();
+            writer.name("min_ping_series");
+            pingGraph.getMinGraph().downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("avg_ping_series");
+            pingGraph.getAvgGraph().downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("max_ping_series");
+            pingGraph.getMaxGraph().downsample(resolution).writeHighChartsSeries(writer);
+            writer.name("colors").beginObject()
+                    .name("min").value(theme.getValue(ThemeVal.GRAPH_MIN_PING))
+                    .name("avg").value(theme.getValue(ThemeVal.GRAPH_AVG_PING))
+                    .name("max").value(theme.getValue(ThemeVal.GRAPH_MAX_PING))
+                    .endObject();
+            writer.endObject();
+        };
     }
 
     public Map<String, Object> punchCardJSONAsMap(UUID serverUUID) {
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
-        List<Session> sessions = dbSystem.getDatabase().query(
-                SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID)
+        int timeZoneOffset = config.getTimeZone().getOffset(now);
+        int[][] sessionCounts = dbSystem.getDatabase().query(
+                SessionQueries.sessionCountPerDayOfWeekAndHour(monthAgo, now, timeZoneOffset, serverUUID)
         );
         return Maps.builder(String.class, Object.class)
-                .put("punchCard", graphs.special().punchCard(sessions).getDots())
+                .put("punchCard", graphs.special().punchCard(sessionCounts).getDots())
                 .put("color", theme.getValue(ThemeVal.GRAPH_PUNCHCARD))
                 .build();
     }
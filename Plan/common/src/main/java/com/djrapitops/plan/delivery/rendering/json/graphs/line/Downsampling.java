@@ -0,0 +1,178 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json.graphs.line;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Utility for reducing the number of points in line graphs with Largest-Triangle-Three-Buckets algorithm.
+ * <p>
+ * LTTB keeps the points that affect the shape of the line the most, so peaks and dips remain visible.
+ * https://skemman.is/bitstream/1946/15343/3/SS_MSthesis.pdf
+ *
+ * @author Rsl1122
+ */
+public class Downsampling {
+
+    private Downsampling() {
+        // Static method class
+    }
+
+    /**
+     * Downsample points of a line graph, keeping gaps in the data.
+     * <p>
+     * Points are split into continuous segments at null values and at gaps longer than gapLength.
+     * Each segment is downsampled separately with a share of the resolution matching its size,
+     * and the segments are separated by a null point so that the gap is still drawn.
+     * If there are more gaps than fit in the resolution, only the longest gaps are kept.
+     *
+     * @param points     Points sorted by x.
+     * @param resolution Number of points to reduce to, at least 2.
+     * @param gapLength  Distance between points that is considered a gap, or 0 or less to not look for gaps.
+     * @return Downsampled points, or the same list if it already fits in the resolution.
+     */
+    public static List<Point> downsample(List<Point> points, int resolution, long gapLength) {
+        if (points.size() <= resolution) return points;
+
+        List<Point> values = new ArrayList<>(points.size());
+        List<Gap> gaps = new ArrayList<>();
+        Point separator = null;
+        for (Point point : points) {
+            if (point.getY() == null) {
+                // Only one separator is needed for consecutive null points
+                if (separator == null) separator = point;
+                continue;
+            }
+            if (!values.isEmpty()) {
+                Point previous = values.get(values.size() - 1);
+                double distance = point.getX() - previous.getX();
+                if (separator == null && gapLength > 0 && distance > gapLength) {
+                    // Same gap marker as the first one added by LineGraph
+                    separator = new Point(previous.getX() + LineGraph.GAP_MARKER_OFFSET, (Double) null);
+                }
+                if (separator != null) gaps.add(new Gap(values.size(), distance, separator));
+            }
+            // Null points before the first value do not separate anything
+            separator = null;
+            values.add(point);
+        }
+
+        // Every kept gap needs a separator and at most 2 points for the segment after it.
+        int maxGaps = Math.max(0, (resolution - 2) / 3);
+        if (gaps.size() > maxGaps) {
+            gaps.sort(Comparator.comparingDouble((Gap gap) -> gap.distance).reversed());
+            gaps = new ArrayList<>(gaps.subList(0, maxGaps));
+            gaps.sort(Comparator.comparingInt((Gap gap) -> gap.startIndex));
+        }
+
+        List<List<Point>> segments = new ArrayList<>(gaps.size() + 1);
+        int segmentStart = 0;
+        for (Gap gap : gaps) {
+            segments.add(values.subList(segmentStart, gap.startIndex));
+            segmentStart = gap.startIndex;
+        }
+        segments.add(values.subList(segmentStart, values.size()));
+
+        // Segments keep their first and last point, rest of the resolution is shared by segment size.
+        int minimumPoints = 0;
+        for (List<Point> segment : segments) {
+            minimumPoints += Math.min(2, segment.size());
+        }
+        int extraPoints = Math.max(0, resolution - gaps.size() - minimumPoints);
+        int extraValues = values.size() - minimumPoints;
+
+        List<Point> downsampled = new ArrayList<>(resolution);
+        for (int i = 0; i < segments.size(); i++) {
+            List<Point> segment = segments.get(i);
+            int kept = Math.min(2, segment.size());
+            int share = kept + (extraValues > 0 ? (int) ((long) extraPoints * (segment.size() - kept) / extraValues) : 0);
+            downsampled.addAll(largestTriangleThreeBuckets(segment, Math.max(2, share)));
+            if (i < gaps.size()) downsampled.add(gaps.get(i).separator);
+        }
+        return downsampled;
+    }
+
+    /**
+     * Downsample continuous points with Largest-Triangle-Three-Buckets.
+     *
+     * @param points    Points sorted by x, without null values.
+     * @param threshold Number of points to reduce to, at least 2.
+     * @return Downsampled points, first and last point are always included.
+     */
+    public static List<Point> largestTriangleThreeBuckets(List<Point> points, int threshold) {
+        int size = points.size();
+        if (threshold >= size || size <= 2) return points;
+
+        List<Point> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+        if (threshold > 2) {
+            // First and last point are not in any bucket
+            double bucketSize = (double) (size - 2) / (threshold - 2);
+            Point selected = points.get(0);
+            for (int bucket = 0; bucket < threshold - 2; bucket++) {
+                int start = (int) (bucket * bucketSize) + 1;
+                int end = (int) ((bucket + 1) * bucketSize) + 1;
+
+                // Average of the next bucket is the third point of the triangle
+                int nextStart = end;
+                int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+                double averageX = 0;
+                double averageY = 0;
+                for (int i = nextStart; i < nextEnd; i++) {
+                    averageX += points.get(i).getX();
+                    averageY += points.get(i).getY();
+                }
+                int nextCount = nextEnd - nextStart;
+                averageX /= nextCount;
+                averageY /= nextCount;
+
+                double selectedX = selected.getX();
+                double selectedY = selected.getY();
+                double largestArea = -1;
+                Point largest = points.get(start);
+                for (int i = start; i < end; i++) {
+                    Point point = points.get(i);
+                    // Double the triangle area, only used for comparison
+                    double area = Math.abs((selectedX - averageX) * (point.getY() - selectedY)
+                            - (selectedX - point.getX()) * (averageY - selectedY));
+                    if (area > largestArea) {
+                        largestArea = area;
+                        largest = point;
+                    }
+                }
+                sampled.add(largest);
+                selected = largest;
+            }
+        }
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+
+    private static class Gap {
+        private final int startIndex;
+        private final double distance;
+        private final Point separator;
+
+        Gap(int startIndex, double distance, Point separator) {
+            this.startIndex = startIndex;
+            this.distance = distance;
+            this.separator = separator;
+        }
+    }
+}
@@ -18,7 +18,11 @@ package com.djrapitops.plan.delivery.rendering.json.graphs.line;
 
 import com.djrapitops.plan.delivery.domain.mutators.MutatorFunctions;
 import com.djrapitops.plan.delivery.rendering.json.graphs.HighChart;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -29,6 +33,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class LineGraph implements HighChart {
 
+    static final long GAP_LENGTH = TimeUnit.MINUTES.toMillis(3L);
+    static final long GAP_MARKER_OFFSET = TimeUnit.MINUTES.toMillis(1L);
+
     private final boolean displayGaps;
     private final List<Point> points;
 
@@ -39,28 +46,48 @@ public class LineGraph implements HighChart {
 
     @Override
     public String toHighChartsSeries() {
-        StringBuilder arrayBuilder = new StringBuilder("[");
+        StringWriter json = new StringWriter();
+        try {
+            writeHighChartsSeries(new JsonWriter(json));
+        } catch (IOException e) {
+            // StringWriter does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
 
-        int size = points.size();
+    /**
+     * Write the series without building a String, for large graphs.
+     *
+     * @param writer Writer to write the array of [x, y] points to.
+     * @throws IOException If the writer fails to write.
+     */
+    public void writeHighChartsSeries(JsonWriter writer) throws IOException {
+        writer.setLenient(true); // NaN values are allowed
+        writer.beginArray();
         Long lastX = null;
-        for (int i = 0; i < size; i++) {
-            Point point = points.get(i);
-            Double y = point.getY();
+        for (Point point : points) {
             long date = (long) point.getX();
 
-            if (displayGaps && lastX != null && date - lastX > TimeUnit.MINUTES.toMillis(3L)) {
-                addMissingPoints(arrayBuilder, lastX, date);
+            if (displayGaps && lastX != null && date - lastX > GAP_LENGTH) {
+                writeMissingPoints(writer, lastX, date);
             }
             lastX = date;
 
-            arrayBuilder.append("[").append(date).append(",").append(y).append("]");
-            if (i < size - 1) {
-                arrayBuilder.append(",");
-            }
+            writer.beginArray().value(date).value(point.getY()).endArray();
         }
+        writer.endArray();
+    }
 
-        arrayBuilder.append("]");
-        return arrayBuilder.toString();
+    /**
+     * Reduce the number of points in this graph, see {@link Downsampling}.
+     *
+     * @param resolution Number of points the graph is displayed with, or 0 or less to keep all points.
+     * @return LineGraph with at most roughly resolution points, gaps are kept as null points.
+     */
+    public LineGraph downsample(int resolution) {
+        if (resolution <= 0 || points.size() <= resolution) return this;
+        return new LineGraph(Downsampling.downsample(points, resolution, displayGaps ? GAP_LENGTH : -1), false);
     }
 
     public List<Point> getPoints() {
@@ -70,10 +97,10 @@ public class LineGraph implements HighChart {
         return points;
     }
 
-    private void addMissingPoints(StringBuilder arrayBuilder, Long lastX, long date) {
-        long iterate = lastX + TimeUnit.MINUTES.toMillis(1L);
+    private void writeMissingPoints(JsonWriter writer, Long lastX, long date) throws IOException {
+        long iterate = lastX + GAP_MARKER_OFFSET;
         while (iterate < date) {
-            arrayBuilder.append("[").append(iterate).append(",null],");
+            writer.beginArray().value(iterate).nullValue().endArray();
             iterate += TimeUnit.MINUTES.toMillis(30L);
         }
     }
@@ -64,8 +64,15 @@ public class LineGraphFactory {
         return new PlayersOnlineGraph(mutator, shouldDisplayGapsInData());
     }
 
-    public PingGraph pingGraph(List<Ping> pingList) {
-        return new PingGraph(pingList, shouldDisplayGapsInData());
+    /**
+     * Create ping graph.
+     *
+     * @param pingList     Ping values with a single entry for each date.
+     * @param timePerPoint Milliseconds between the dates of the entries, gaps are not displayed if points are further apart than a gap.
+     * @return PingGraph with min, max and average series.
+     */
+    public PingGraph pingGraph(List<Ping> pingList, long timePerPoint) {
+        return new PingGraph(pingList, shouldDisplayGapsInData() && timePerPoint < LineGraph.GAP_LENGTH);
     }
 
     public LineGraph ramGraph(TPSMutator mutator) {
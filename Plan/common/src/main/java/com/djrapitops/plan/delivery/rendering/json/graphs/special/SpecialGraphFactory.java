@@ -17,12 +17,10 @@
 package com.djrapitops.plan.delivery.rendering.json.graphs.special;
 
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
-import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.settings.config.PlanConfig;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,14 +39,14 @@ public class SpecialGraphFactory {
         this.config = config;
     }
 
-    public PunchCard punchCard(List<Session> sessions) {
-        return punchCard(new SessionsMutator(sessions));
-    }
-
     public PunchCard punchCard(SessionsMutator sessions) {
         return new PunchCard(sessions, config.getTimeZone());
     }
 
+    public PunchCard punchCard(int[][] sessionCountPerDayAndHour) {
+        return new PunchCard(sessionCountPerDayAndHour);
+    }
+
     public WorldMap worldMap(Map<String, Integer> geolocationCounts) {
         return new WorldMap(geolocationCounts);
     }
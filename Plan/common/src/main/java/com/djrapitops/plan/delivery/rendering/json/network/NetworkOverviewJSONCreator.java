@@ -25,8 +25,7 @@ import com.djrapitops.plan.gathering.ServerSensor;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.QueryFanOut;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -38,7 +37,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Creates JSON payload for /network-page Network Overview tab.
@@ -50,7 +51,7 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
 
     private final Formatter<Long> day;
     private final PlanConfig config;
-    private final DBSystem dbSystem;
+    private final QueryFanOut queryFanOut;
     private final ServerInfo serverInfo;
     private final ServerSensor<?> serverSensor;
     private final Formatter<Long> timeAmount;
@@ -59,13 +60,13 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
     @Inject
     public NetworkOverviewJSONCreator(
             PlanConfig config,
-            DBSystem dbSystem,
+            QueryFanOut queryFanOut,
             ServerInfo serverInfo,
             ServerSensor<?> serverSensor,
             Formatters formatters
     ) {
         this.config = config;
-        this.dbSystem = dbSystem;
+        this.queryFanOut = queryFanOut;
         this.serverInfo = serverInfo;
         this.serverSensor = serverSensor;
 
@@ -75,118 +76,152 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
     }
 
     public Map<String, Object> createJSONAsMap() {
+        QueryFanOut.Batch queries = queryFanOut.batch("Network overview");
+        Supplier<Map<String, Object>> players = createPlayersMap(queries);
+        Supplier<Map<String, Object>> numbers = createNumbersMap(queries);
+        Supplier<Map<String, Object>> weeks = createWeeksMap(queries);
+        queries.awaitAll();
+
         Map<String, Object> serverOverview = new HashMap<>();
-        serverOverview.put("players", createPlayersMap());
-        serverOverview.put("numbers", createNumbersMap());
-        serverOverview.put("weeks", createWeeksMap());
+        serverOverview.put("players", players.get());
+        serverOverview.put("numbers", numbers.get());
+        serverOverview.put("weeks", weeks.get());
         return serverOverview;
     }
 
-    private Map<String, Object> createPlayersMap() {
-        Database db = dbSystem.getDatabase();
+    private Supplier<Map<String, Object>> createPlayersMap(QueryFanOut.Batch queries) {
         long now = System.currentTimeMillis();
         long dayAgo = now - TimeUnit.DAYS.toMillis(1L);
         long weekAgo = now - TimeUnit.DAYS.toMillis(7L);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
 
-        Map<String, Object> sevenDays = new HashMap<>();
+        CompletableFuture<Integer> unique1d = queries.query("unique_players_1d", PlayerCountQueries.uniquePlayerCount(dayAgo, now));
+        CompletableFuture<Integer> unique7d = queries.query("unique_players_7d", PlayerCountQueries.uniquePlayerCount(weekAgo, now));
+        CompletableFuture<Integer> unique30d = queries.query("unique_players_30d", PlayerCountQueries.uniquePlayerCount(monthAgo, now));
+        CompletableFuture<Integer> new1d = queries.query("new_players_1d", PlayerCountQueries.newPlayerCount(dayAgo, now));
+        CompletableFuture<Integer> new7d = queries.query("new_players_7d", PlayerCountQueries.newPlayerCount(weekAgo, now));
+        CompletableFuture<Integer> new30d = queries.query("new_players_30d", PlayerCountQueries.newPlayerCount(monthAgo, now));
+
+        return () -> {
+            Map<String, Object> sevenDays = new HashMap<>();
 
-        sevenDays.put("unique_players_1d", db.query(PlayerCountQueries.uniquePlayerCount(dayAgo, now)));
-        sevenDays.put("unique_players_7d", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now)));
-        sevenDays.put("unique_players_30d", db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, now)));
+            sevenDays.put("unique_players_1d", unique1d.join());
+            sevenDays.put("unique_players_7d", unique7d.join());
+            sevenDays.put("unique_players_30d", unique30d.join());
 
-        sevenDays.put("new_players_1d", db.query(PlayerCountQueries.newPlayerCount(dayAgo, now)));
-        sevenDays.put("new_players_7d", db.query(PlayerCountQueries.newPlayerCount(weekAgo, now)));
-        sevenDays.put("new_players_30d", db.query(PlayerCountQueries.newPlayerCount(monthAgo, now)));
+            sevenDays.put("new_players_1d", new1d.join());
+            sevenDays.put("new_players_7d", new7d.join());
+            sevenDays.put("new_players_30d", new30d.join());
 
-        return sevenDays;
+            return sevenDays;
+        };
     }
 
-    private Map<String, Object> createNumbersMap() {
-        Database db = dbSystem.getDatabase();
+    private Supplier<Map<String, Object>> createNumbersMap(QueryFanOut.Batch queries) {
         long now = System.currentTimeMillis();
         long twoDaysAgo = now - TimeUnit.DAYS.toMillis(2L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
-
-        Map<String, Object> numbers = new HashMap<>();
-
-        Integer userCount = db.query(PlayerCountQueries.newPlayerCount(0L, now));
-        numbers.put("total_players", userCount);
-        numbers.put("regular_players", db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold)));
-        numbers.put("online_players", serverSensor.getOnlinePlayerCount());
         UUID serverUUID = serverInfo.getServerUUID();
-        Optional<DateObj<Integer>> lastPeak = db.query(TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
-        Optional<DateObj<Integer>> allTimePeak = db.query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
-        numbers.put("last_peak_date", lastPeak.map(year).orElse("-"));
-        numbers.put("last_peak_players", lastPeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
-        numbers.put("best_peak_date", allTimePeak.map(year).orElse("-"));
-        numbers.put("best_peak_players", allTimePeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
-        Long totalPlaytime = db.query(SessionQueries.playtime(0L, now));
-        numbers.put("playtime", timeAmount.apply(totalPlaytime));
-        numbers.put("player_playtime", userCount != 0 ? timeAmount.apply(totalPlaytime / userCount) : "-");
-        Long sessionCount = db.query(SessionQueries.sessionCount(0L, now));
-        numbers.put("sessions", sessionCount);
-        numbers.put("session_length_avg", sessionCount != 0 ? timeAmount.apply(totalPlaytime / sessionCount) : "-");
-
-        return numbers;
+
+        CompletableFuture<Integer> userCountQuery = queries.query("total_players", PlayerCountQueries.newPlayerCount(0L, now));
+        CompletableFuture<Integer> regularPlayers = queries.query("regular_players", NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
+        CompletableFuture<Optional<DateObj<Integer>>> lastPeakQuery = queries.query("last_peak", TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
+        CompletableFuture<Optional<DateObj<Integer>>> allTimePeakQuery = queries.query("best_peak", TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
+        CompletableFuture<Long> totalPlaytimeQuery = queries.query("playtime", SessionQueries.playtime(0L, now));
+        CompletableFuture<Long> sessionCountQuery = queries.query("sessions", SessionQueries.sessionCount(0L, now));
+
+        return () -> {
+            Map<String, Object> numbers = new HashMap<>();
+
+            Integer userCount = userCountQuery.join();
+            numbers.put("total_players", userCount);
+            numbers.put("regular_players", regularPlayers.join());
+            numbers.put("online_players", serverSensor.getOnlinePlayerCount());
+            Optional<DateObj<Integer>> lastPeak = lastPeakQuery.join();
+            Optional<DateObj<Integer>> allTimePeak = allTimePeakQuery.join();
+            numbers.put("last_peak_date", lastPeak.map(year).orElse("-"));
+            numbers.put("last_peak_players", lastPeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
+            numbers.put("best_peak_date", allTimePeak.map(year).orElse("-"));
+            numbers.put("best_peak_players", allTimePeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
+            Long totalPlaytime = totalPlaytimeQuery.join();
+            numbers.put("playtime", timeAmount.apply(totalPlaytime));
+            numbers.put("player_playtime", userCount != 0 ? timeAmount.apply(totalPlaytime / userCount) : "-");
+            Long sessionCount = sessionCountQuery.join();
+            numbers.put("sessions", sessionCount);
+            numbers.put("session_length_avg", sessionCount != 0 ? timeAmount.apply(totalPlaytime / sessionCount) : "-");
+
+            return numbers;
+        };
     }
 
-    private Map<String, Object> createWeeksMap() {
-        Database db = dbSystem.getDatabase();
+    private Supplier<Map<String, Object>> createWeeksMap(QueryFanOut.Batch queries) {
         long now = System.currentTimeMillis();
         long oneWeekAgo = now - TimeUnit.DAYS.toMillis(7L);
         long twoWeeksAgo = now - TimeUnit.DAYS.toMillis(14L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        Map<String, Object> weeks = new HashMap<>();
-
-        weeks.put("start", day.apply(twoWeeksAgo));
-        weeks.put("midpoint", day.apply(oneWeekAgo));
-        weeks.put("end", day.apply(now));
-
-        Integer uniqueBefore = db.query(PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo));
-        Integer uniqueAfter = db.query(PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now));
-        Trend uniqueTrend = new Trend(uniqueBefore, uniqueAfter, false);
-        weeks.put("unique_before", uniqueBefore);
-        weeks.put("unique_after", uniqueAfter);
-        weeks.put("unique_trend", uniqueTrend);
-
-        Integer newBefore = db.query(PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo));
-        Integer newAfter = db.query(PlayerCountQueries.newPlayerCount(oneWeekAgo, now));
-        Trend newTrend = new Trend(newBefore, newAfter, false);
-        weeks.put("new_before", newBefore);
-        weeks.put("new_after", newAfter);
-        weeks.put("new_trend", newTrend);
-
-        int regularBefore = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, playtimeThreshold));
-        int regularAfter = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
-        weeks.put("regular_before", regularBefore);
-        weeks.put("regular_after", regularAfter);
-        weeks.put("regular_trend", new Trend(regularBefore, regularAfter, false));
-
-        Long playtimeBefore = db.query(SessionQueries.playtime(twoWeeksAgo, oneWeekAgo));
-        Long playtimeAfter = db.query(SessionQueries.playtime(oneWeekAgo, now));
-        long avgPlaytimeBefore = uniqueBefore != 0 ? playtimeBefore / uniqueBefore : 0L;
-        long avgPlaytimeAfter = uniqueAfter != 0 ? playtimeAfter / uniqueAfter : 0L;
-        Trend avgPlaytimeTrend = new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount);
-        weeks.put("average_playtime_before", timeAmount.apply(avgPlaytimeBefore));
-        weeks.put("average_playtime_after", timeAmount.apply(avgPlaytimeAfter));
-        weeks.put("average_playtime_trend", avgPlaytimeTrend);
-
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(oneWeekAgo, now));
-        Trend sessionsTrend = new Trend(sessionsBefore, sessionsAfter, false);
-        weeks.put("sessions_before", sessionsBefore);
-        weeks.put("sessions_after", sessionsAfter);
-        weeks.put("sessions_trend", sessionsTrend);
-
-        long avgSessionLengthBefore = sessionsBefore != 0 ? playtimeBefore / sessionsBefore : 0;
-        long avgSessionLengthAfter = sessionsAfter != 0 ? playtimeAfter / sessionsAfter : 0;
-        Trend avgSessionLengthTrend = new Trend(avgSessionLengthBefore, avgSessionLengthAfter, false, timeAmount);
-        weeks.put("session_length_average_before", timeAmount.apply(avgSessionLengthBefore));
-        weeks.put("session_length_average_after", timeAmount.apply(avgSessionLengthAfter));
-        weeks.put("session_length_average_trend", avgSessionLengthTrend);
-
-        return weeks;
+        CompletableFuture<Integer> uniqueBeforeQuery = queries.query("unique_before", PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo));
+        CompletableFuture<Integer> uniqueAfterQuery = queries.query("unique_after", PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now));
+        CompletableFuture<Integer> newBeforeQuery = queries.query("new_before", PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo));
+        CompletableFuture<Integer> newAfterQuery = queries.query("new_after", PlayerCountQueries.newPlayerCount(oneWeekAgo, now));
+        CompletableFuture<Integer> regularBeforeQuery = queries.query("regular_before", NetworkActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, playtimeThreshold));
+        CompletableFuture<Integer> regularAfterQuery = queries.query("regular_after", NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playtimeThreshold));
+        CompletableFuture<Long> playtimeBeforeQuery = queries.query("playtime_before", SessionQueries.playtime(twoWeeksAgo, oneWeekAgo));
+        CompletableFuture<Long> playtimeAfterQuery = queries.query("playtime_after", SessionQueries.playtime(oneWeekAgo, now));
+        CompletableFuture<Long> sessionsBeforeQuery = queries.query("sessions_before", SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo));
+        CompletableFuture<Long> sessionsAfterQuery = queries.query("sessions_after", SessionQueries.sessionCount(oneWeekAgo, now));
+
+        return () -> {
+            Map<String, Object> weeks = new HashMap<>();
+
+            weeks.put("start", day.apply(twoWeeksAgo));
+            weeks.put("midpoint", day.apply(oneWeekAgo));
+            weeks.put("end", day.apply(now));
+
+            Integer uniqueBefore = uniqueBeforeQuery.join();
+            Integer uniqueAfter = uniqueAfterQuery.join();
+            Trend uniqueTrend = new Trend(uniqueBefore, uniqueAfter, false);
+            weeks.put("unique_before", uniqueBefore);
+            weeks.put("unique_after", uniqueAfter);
+            weeks.put("unique_trend", uniqueTrend);
+
+            Integer newBefore = newBeforeQuery.join();
+            Integer newAfter = newAfterQuery.join();
+            Trend newTrend = new Trend(newBefore, newAfter, false);
+            weeks.put("new_before", newBefore);
+            weeks.put("new_after", newAfter);
+            weeks.put("new_trend", newTrend);
+
+            int regularBefore = regularBeforeQuery.join();
+            int regularAfter = regularAfterQuery.join();
+            weeks.put("regular_before", regularBefore);
+            weeks.put("regular_after", regularAfter);
+            weeks.put("regular_trend", new Trend(regularBefore, regularAfter, false));
+
+            Long playtimeBefore = playtimeBeforeQuery.join();
+            Long playtimeAfter = playtimeAfterQuery.join();
+            long avgPlaytimeBefore = uniqueBefore != 0 ? playtimeBefore / uniqueBefore : 0L;
+            long avgPlaytimeAfter = uniqueAfter != 0 ? playtimeAfter / uniqueAfter : 0L;
+            Trend avgPlaytimeTrend = new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount);
+            weeks.put("average_playtime_before", timeAmount.apply(avgPlaytimeBefore));
+            weeks.put("average_playtime_after", timeAmount.apply(avgPlaytimeAfter));
+            weeks.put("average_playtime_trend", avgPlaytimeTrend);
+
+            Long sessionsBefore = sessionsBeforeQuery.join();
+            Long sessionsAfter = sessionsAfterQuery.join();
+            Trend sessionsTrend = new Trend(sessionsBefore, sessionsAfter, false);
+            weeks.put("sessions_before", sessionsBefore);
+            weeks.put("sessions_after", sessionsAfter);
+            weeks.put("sessions_trend", sessionsTrend);
+
+            long avgSessionLengthBefore = sessionsBefore != 0 ? playtimeBefore / sessionsBefore : 0;
+            long avgSessionLengthAfter = sessionsAfter != 0 ? playtimeAfter / sessionsAfter : 0;
+            Trend avgSessionLengthTrend = new Trend(avgSessionLengthBefore, avgSessionLengthAfter, false, timeAmount);
+            weeks.put("session_length_average_before", timeAmount.apply(avgSessionLengthBefore));
+            weeks.put("session_length_average_after", timeAmount.apply(avgSessionLengthAfter));
+            weeks.put("session_length_average_trend", avgSessionLengthTrend);
+
+            return weeks;
+        };
     }
-}
\ No newline at end of file
+}
@@ -21,8 +21,7 @@ import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.Trend;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.QueryFanOut;
 import com.djrapitops.plan.storage.database.queries.analysis.NetworkActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -31,7 +30,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Creates JSON payload for /network-page Playerbase Overview tab.
@@ -42,7 +43,7 @@ import java.util.concurrent.TimeUnit;
 public class NetworkPlayerBaseOverviewJSONCreator implements NetworkTabJSONCreator<Map<String, Object>> {
 
     private final PlanConfig config;
-    private final DBSystem dbSystem;
+    private final QueryFanOut queryFanOut;
 
     private final Formatter<Long> timeAmount;
     private final Formatter<Double> percentage;
@@ -50,102 +51,125 @@ public class NetworkPlayerBaseOverviewJSONCreator implements NetworkTabJSONCreat
     @Inject
     public NetworkPlayerBaseOverviewJSONCreator(
             PlanConfig config,
-            DBSystem dbSystem,
+            QueryFanOut queryFanOut,
             Formatters formatters
     ) {
         this.config = config;
-        this.dbSystem = dbSystem;
+        this.queryFanOut = queryFanOut;
 
         timeAmount = formatters.timeAmount();
         percentage = formatters.percentage();
     }
 
     public Map<String, Object> createJSONAsMap() {
+        QueryFanOut.Batch queries = queryFanOut.batch("Network playerbase overview");
+        Supplier<Map<String, Object>> trends = createTrendsMap(queries);
+        Supplier<Map<String, Object>> insights = createInsightsMap(queries);
+        queries.awaitAll();
+
         Map<String, Object> serverOverview = new HashMap<>();
-        serverOverview.put("trends", createTrendsMap());
-        serverOverview.put("insights", createInsightsMap());
+        serverOverview.put("trends", trends.get());
+        serverOverview.put("insights", insights.get());
         return serverOverview;
     }
 
-    private Map<String, Object> createTrendsMap() {
-        Database db = dbSystem.getDatabase();
+    private Supplier<Map<String, Object>> createTrendsMap(QueryFanOut.Batch queries) {
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        Map<String, Object> trends = new HashMap<>();
-
-        Integer playersBefore = db.query(PlayerCountQueries.newPlayerCount(0L, monthAgo));
-        Integer playersAfter = db.query(PlayerCountQueries.newPlayerCount(0L, now));
-        trends.put("total_players_then", playersBefore);
-        trends.put("total_players_now", playersAfter);
-        trends.put("total_players_trend", new Trend(playersBefore, playersAfter, false));
-
-        Integer regularBefore = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(monthAgo, playThreshold));
-        Integer regularAfter = db.query(NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playThreshold));
-        trends.put("regular_players_then", regularBefore);
-        trends.put("regular_players_now", regularAfter);
-        trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
-
-        Long avgPlaytimeBefore = db.query(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo));
-        Long avgPlaytimeAfter = db.query(SessionQueries.averagePlaytimePerPlayer(monthAgo, now));
-        trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
-        trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
-        trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
-
-        Long avgAfkBefore = db.query(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo));
-        Long avgAfkAfter = db.query(SessionQueries.averageAfkPerPlayer(monthAgo, now));
-        double afkPercBefore = avgPlaytimeBefore != 0 ? (double) avgAfkBefore / avgPlaytimeBefore : 0;
-        double afkPercAfter = avgPlaytimeAfter != 0 ? (double) avgAfkAfter / avgPlaytimeAfter : 0;
-        trends.put("afk_then", percentage.apply(afkPercBefore));
-        trends.put("afk_now", percentage.apply(afkPercAfter));
-        trends.put("afk_trend", new Trend(afkPercBefore, afkPercAfter, Trend.REVERSED, percentage));
-
-        Long avgRegularPlaytimeBefore = db.query(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularPlaytimeAfter = db.query(NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, playThreshold));
-        trends.put("regular_playtime_avg_then", timeAmount.apply(avgRegularPlaytimeBefore));
-        trends.put("regular_playtime_avg_now", timeAmount.apply(avgRegularPlaytimeAfter));
-        trends.put("regular_playtime_avg_trend", new Trend(avgRegularPlaytimeBefore, avgRegularPlaytimeAfter, false, timeAmount));
-
-        Long avgRegularSessionLengthBefore = db.query(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularSessionLengthAfter = db.query(NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, playThreshold));
-        trends.put("regular_session_avg_then", timeAmount.apply(avgRegularSessionLengthBefore));
-        trends.put("regular_session_avg_now", timeAmount.apply(avgRegularSessionLengthAfter));
-        trends.put("regular_session_avg_trend", new Trend(avgRegularSessionLengthBefore, avgRegularSessionLengthAfter, false, timeAmount));
-
-        Long avgRegularAfkBefore = db.query(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
-        Long avgRegularAfkAfter = db.query(NetworkActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, playThreshold));
-        double afkRegularPercBefore = avgRegularPlaytimeBefore != 0 ? (double) avgRegularAfkBefore / avgRegularPlaytimeBefore : 0;
-        double afkRegularPercAfter = avgRegularPlaytimeAfter != 0 ? (double) avgRegularAfkAfter / avgRegularPlaytimeAfter : 0;
-        trends.put("regular_afk_avg_then", percentage.apply(afkRegularPercBefore));
-        trends.put("regular_afk_avg_now", percentage.apply(afkRegularPercAfter));
-        trends.put("regular_afk_avg_trend", new Trend(afkRegularPercBefore, afkRegularPercAfter, Trend.REVERSED, percentage));
-
-        return trends;
+        CompletableFuture<Integer> playersBeforeQuery = queries.query("total_players_then", PlayerCountQueries.newPlayerCount(0L, monthAgo));
+        CompletableFuture<Integer> playersAfterQuery = queries.query("total_players_now", PlayerCountQueries.newPlayerCount(0L, now));
+        CompletableFuture<Integer> regularBeforeQuery = queries.query("regular_players_then", NetworkActivityIndexQueries.fetchRegularPlayerCount(monthAgo, playThreshold));
+        CompletableFuture<Integer> regularAfterQuery = queries.query("regular_players_now", NetworkActivityIndexQueries.fetchRegularPlayerCount(now, playThreshold));
+        CompletableFuture<Long> avgPlaytimeBeforeQuery = queries.query("playtime_avg_then", SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo));
+        CompletableFuture<Long> avgPlaytimeAfterQuery = queries.query("playtime_avg_now", SessionQueries.averagePlaytimePerPlayer(monthAgo, now));
+        CompletableFuture<Long> avgAfkBeforeQuery = queries.query("afk_then", SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo));
+        CompletableFuture<Long> avgAfkAfterQuery = queries.query("afk_now", SessionQueries.averageAfkPerPlayer(monthAgo, now));
+        CompletableFuture<Long> avgRegularPlaytimeBeforeQuery = queries.query("regular_playtime_avg_then", NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        CompletableFuture<Long> avgRegularPlaytimeAfterQuery = queries.query("regular_playtime_avg_now", NetworkActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, playThreshold));
+        CompletableFuture<Long> avgRegularSessionLengthBeforeQuery = queries.query("regular_session_avg_then", NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        CompletableFuture<Long> avgRegularSessionLengthAfterQuery = queries.query("regular_session_avg_now", NetworkActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, playThreshold));
+        CompletableFuture<Long> avgRegularAfkBeforeQuery = queries.query("regular_afk_avg_then", NetworkActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, playThreshold));
+        CompletableFuture<Long> avgRegularAfkAfterQuery = queries.query("regular_afk_avg_now", NetworkActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, playThreshold));
+
+        return () -> {
+            Map<String, Object> trends = new HashMap<>();
+
+            Integer playersBefore = playersBeforeQuery.join();
+            Integer playersAfter = playersAfterQuery.join();
+            trends.put("total_players_then", playersBefore);
+            trends.put("total_players_now", playersAfter);
+            trends.put("total_players_trend", new Trend(playersBefore, playersAfter, false));
+
+            Integer regularBefore = regularBeforeQuery.join();
+            Integer regularAfter = regularAfterQuery.join();
+            trends.put("regular_players_then", regularBefore);
+            trends.put("regular_players_now", regularAfter);
+            trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
+
+            Long avgPlaytimeBefore = avgPlaytimeBeforeQuery.join();
+            Long avgPlaytimeAfter = avgPlaytimeAfterQuery.join();
+            trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
+            trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
+            trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
+
+            Long avgAfkBefore = avgAfkBeforeQuery.join();
+            Long avgAfkAfter = avgAfkAfterQuery.join();
+            double afkPercBefore = avgPlaytimeBefore != 0 ? (double) avgAfkBefore / avgPlaytimeBefore : 0;
+            double afkPercAfter = avgPlaytimeAfter != 0 ? (double) avgAfkAfter / avgPlaytimeAfter : 0;
+            trends.put("afk_then", percentage.apply(afkPercBefore));
+            trends.put("afk_now", percentage.apply(afkPercAfter));
+            trends.put("afk_trend", new Trend(afkPercBefore, afkPercAfter, Trend.REVERSED, percentage));
+
+            Long avgRegularPlaytimeBefore = avgRegularPlaytimeBeforeQuery.join();
+            Long avgRegularPlaytimeAfter = avgRegularPlaytimeAfterQuery.join();
+            trends.put("regular_playtime_avg_then", timeAmount.apply(avgRegularPlaytimeBefore));
+            trends.put("regular_playtime_avg_now", timeAmount.apply(avgRegularPlaytimeAfter));
+            trends.put("regular_playtime_avg_trend", new Trend(avgRegularPlaytimeBefore, avgRegularPlaytimeAfter, false, timeAmount));
+
+            Long avgRegularSessionLengthBefore = avgRegularSessionLengthBeforeQuery.join();
+            Long avgRegularSessionLengthAfter = avgRegularSessionLengthAfterQuery.join();
+            trends.put("regular_session_avg_then", timeAmount.apply(avgRegularSessionLengthBefore));
+            trends.put("regular_session_avg_now", timeAmount.apply(avgRegularSessionLengthAfter));
+            trends.put("regular_session_avg_trend", new Trend(avgRegularSessionLengthBefore, avgRegularSessionLengthAfter, false, timeAmount));
+
+            Long avgRegularAfkBefore = avgRegularAfkBeforeQuery.join();
+            Long avgRegularAfkAfter = avgRegularAfkAfterQuery.join();
+            double afkRegularPercBefore = avgRegularPlaytimeBefore != 0 ? (double) avgRegularAfkBefore / avgRegularPlaytimeBefore : 0;
+            double afkRegularPercAfter = avgRegularPlaytimeAfter != 0 ? (double) avgRegularAfkAfter / avgRegularPlaytimeAfter : 0;
+            trends.put("regular_afk_avg_then", percentage.apply(afkRegularPercBefore));
+            trends.put("regular_afk_avg_now", percentage.apply(afkRegularPercAfter));
+            trends.put("regular_afk_avg_trend", new Trend(afkRegularPercBefore, afkRegularPercAfter, Trend.REVERSED, percentage));
+
+            return trends;
+        };
     }
 
-    private Map<String, Object> createInsightsMap() {
-        Database db = dbSystem.getDatabase();
+    private Supplier<Map<String, Object>> createInsightsMap(QueryFanOut.Batch queries) {
         long now = System.currentTimeMillis();
         long halfMonthAgo = now - TimeUnit.DAYS.toMillis(15L);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        Map<String, Object> insights = new HashMap<>();
+        CompletableFuture<Integer> newToRegular = queries.query("new_to_regular", NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, playThreshold));
+        CompletableFuture<Integer> newToRegularBefore = queries.query("new_to_regular_before", NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, playThreshold));
+        CompletableFuture<Integer> newToRegularAfter = queries.query("new_to_regular_after", NetworkActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, playThreshold));
+        CompletableFuture<Integer> regularToInactive = queries.query("regular_to_inactive", NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, playThreshold));
+        CompletableFuture<Integer> regularToInactiveBefore = queries.query("regular_to_inactive_before", NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, playThreshold));
+        CompletableFuture<Integer> regularToInactiveAfter = queries.query("regular_to_inactive_after", NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, playThreshold));
+
+        return () -> {
+            Map<String, Object> insights = new HashMap<>();
 
-        int newToRegular = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, playThreshold));
-        Integer newToRegularBefore = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, playThreshold));
-        Integer newToRegularAfter = db.query(NetworkActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, playThreshold));
-        insights.put("new_to_regular", newToRegular);
-        insights.put("new_to_regular_trend", new Trend(newToRegularBefore, newToRegularAfter, false));
+            insights.put("new_to_regular", newToRegular.join());
+            insights.put("new_to_regular_trend", new Trend(newToRegularBefore.join(), newToRegularAfter.join(), false));
 
-        Integer regularToInactive = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, playThreshold));
-        Integer regularToInactiveBefore = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, playThreshold));
-        Integer regularToInactiveAfter = db.query(NetworkActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, playThreshold));
-        insights.put("regular_to_inactive", regularToInactive);
-        insights.put("regular_to_inactive_trend", new Trend(regularToInactiveBefore, regularToInactiveAfter, Trend.REVERSED));
+            insights.put("regular_to_inactive", regularToInactive.join());
+            insights.put("regular_to_inactive_trend", new Trend(regularToInactiveBefore.join(), regularToInactiveAfter.join(), Trend.REVERSED));
 
-        return insights;
+            return insights;
+        };
     }
-}
\ No newline at end of file
+}
@@ -18,8 +18,7 @@ package com.djrapitops.plan.delivery.rendering.json.network;
 
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.QueryFanOut;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
 
 import javax.inject.Inject;
@@ -27,6 +26,7 @@ import javax.inject.Singleton;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -37,17 +37,17 @@ import java.util.concurrent.TimeUnit;
 @Singleton
 public class NetworkSessionsOverviewJSONCreator implements NetworkTabJSONCreator<Map<String, Object>> {
 
-    private final DBSystem dbSystem;
+    private final QueryFanOut queryFanOut;
 
     private final Formatter<Long> timeAmount;
     private final Formatter<Double> percentage;
 
     @Inject
     public NetworkSessionsOverviewJSONCreator(
-            DBSystem dbSystem,
+            QueryFanOut queryFanOut,
             Formatters formatters
     ) {
-        this.dbSystem = dbSystem;
+        this.queryFanOut = queryFanOut;
 
         timeAmount = formatters.timeAmount();
         percentage = formatters.percentage();
@@ -58,14 +58,18 @@ public class NetworkSessionsOverviewJSONCreator implements NetworkTabJSONCreator
     }
 
     private Map<String, Object> createInsightsMap() {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
 
+        QueryFanOut.Batch queries = queryFanOut.batch("Network sessions overview");
+        CompletableFuture<Long> playtimeQuery = queries.query("total_playtime", SessionQueries.playtime(monthAgo, now));
+        CompletableFuture<Long> afkTimeQuery = queries.query("afk_time", SessionQueries.afkTime(monthAgo, now));
+        queries.awaitAll();
+
         Map<String, Object> insights = new HashMap<>();
 
-        Long playtime = db.query(SessionQueries.playtime(monthAgo, now));
-        Long afkTime = db.query(SessionQueries.afkTime(monthAgo, now));
+        Long playtime = playtimeQuery.join();
+        Long afkTime = afkTimeQuery.join();
         insights.put("total_playtime", timeAmount.apply(playtime));
         insights.put("afk_time", timeAmount.apply(afkTime));
         insights.put("afk_time_perc", playtime != 0 ? percentage.apply(1.0 * afkTime / playtime) : "-");
@@ -24,6 +24,7 @@ import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.Html;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.delivery.rendering.html.structure.TabsElement;
+import com.djrapitops.plan.delivery.webserver.RequestExecutor;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.Session;
@@ -57,6 +58,7 @@ public class DebugPage implements Page {
     private final CombineDebugLogger debugLogger;
     private final Timings timings;
     private final ErrorLogger errorLogger;
+    private final RequestExecutor requestExecutor;
 
     private final Formatter<Long> yearFormatter;
 
@@ -69,7 +71,8 @@ public class DebugPage implements Page {
             VersionChecker versionChecker,
             DebugLogger debugLogger,
             Timings timings,
-            ErrorLogger errorLogger
+            ErrorLogger errorLogger,
+            RequestExecutor requestExecutor
     ) {
         this.template = htmlTemplate;
 
@@ -79,6 +82,7 @@ public class DebugPage implements Page {
         this.debugLogger = (CombineDebugLogger) debugLogger;
         this.timings = timings;
         this.errorLogger = errorLogger;
+        this.requestExecutor = requestExecutor;
 
         this.yearFormatter = formatters.yearLong();
     }
@@ -193,6 +197,7 @@ public class DebugPage implements Page {
         StringBuilder content = new StringBuilder();
 
         appendServerInformation(content);
+        appendWebserverLoad(content);
         appendBenchmarks(content);
 
         return content.toString();
@@ -238,6 +243,14 @@ public class DebugPage implements Page {
         content.append("</pre>");
     }
 
+    private void appendWebserverLoad(StringBuilder content) {
+        content.append("<pre>### Webserver Requests<br>")
+                .append("**Active:** ").append(requestExecutor.getActiveCount()).append("<br>")
+                .append("**Queued:** ").append(requestExecutor.getQueuedCount()).append("<br>")
+                .append("**Rejected (503):** ").append(requestExecutor.getRejectedCount()).append("<br>")
+                .append("</pre>");
+    }
+
     private void appendBenchmarks(StringBuilder content) {
         content.append("<pre>### Benchmarks<br>&#96;&#96;&#96;<br>");
         try {
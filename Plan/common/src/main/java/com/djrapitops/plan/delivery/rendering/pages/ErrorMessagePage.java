@@ -17,12 +17,8 @@
 package com.djrapitops.plan.delivery.rendering.pages;
 
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
-import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.settings.locale.Locale;
-import com.djrapitops.plan.settings.theme.Theme;
-import com.djrapitops.plan.utilities.java.UnaryChain;
-import com.djrapitops.plan.version.VersionChecker;
 
 /**
  * Page to display error stacktrace.
@@ -37,43 +33,31 @@ public class ErrorMessagePage implements Page {
     private final String errorMsg;
 
     private final Locale locale;
-    private final Theme theme;
-    private final VersionChecker versionChecker;
 
     public ErrorMessagePage(
             String template, Icon icon, String errorTitle, String errorMsg,
-            Locale locale, Theme theme, VersionChecker versionChecker
+            Locale locale
     ) {
         this.template = template;
         this.icon = icon;
         this.errorTitle = errorTitle;
         this.errorMsg = errorMsg;
         this.locale = locale;
-        this.theme = theme;
-        this.versionChecker = versionChecker;
     }
 
     public ErrorMessagePage(
             String template, String errorTitle, String errorMsg,
-            VersionChecker versionChecker,
-            Locale locale,
-            Theme theme) {
-        this(template, Icon.called("exclamation-circle").build(), errorTitle, errorMsg, locale, theme, versionChecker);
+            Locale locale
+    ) {
+        this(template, Icon.called("exclamation-circle").build(), errorTitle, errorMsg, locale);
     }
 
     @Override
     public String toHtml() {
         PlaceholderReplacer placeholders = new PlaceholderReplacer();
-        placeholders.put("title", icon.toHtml() + " " + errorTitle);
-        placeholders.put("titleText", errorTitle);
-        placeholders.put("paragraph", errorMsg);
-        placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
-        placeholders.put("updateModal", versionChecker.getUpdateModal());
-        placeholders.put("contributors", Contributors.generateContributorHtml());
-        return UnaryChain.of(template)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        placeholders.put("title", icon.toHtml() + " " + locale.replaceLanguageInHtml(errorTitle));
+        placeholders.put("titleText", locale.replaceLanguageInHtml(errorTitle));
+        placeholders.put("paragraph", locale.replaceLanguageInHtml(errorMsg));
+        return placeholders.apply(template);
     }
 }
\ No newline at end of file
@@ -19,7 +19,6 @@ package com.djrapitops.plan.delivery.rendering.pages;
 import com.djrapitops.plan.delivery.domain.container.CachingSupplier;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
-import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.implementation.results.ExtensionData;
@@ -32,7 +31,6 @@ import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.utilities.java.UnaryChain;
-import com.djrapitops.plan.version.VersionChecker;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
@@ -48,7 +46,6 @@ public class NetworkPage implements Page {
     private final String templateHtml;
     private final DBSystem dbSystem;
 
-    private final VersionChecker versionChecker;
     private final PlanConfig config;
     private final Theme theme;
     private final Locale locale;
@@ -59,7 +56,6 @@ public class NetworkPage implements Page {
             String templateHtml,
 
             DBSystem dbSystem,
-            VersionChecker versionChecker,
             PlanConfig config,
             Theme theme,
             Locale locale,
@@ -68,7 +64,6 @@ public class NetworkPage implements Page {
     ) {
         this.templateHtml = templateHtml;
         this.dbSystem = dbSystem;
-        this.versionChecker = versionChecker;
         this.config = config;
         this.theme = theme;
         this.locale = locale;
@@ -94,17 +89,15 @@ public class NetworkPage implements Page {
         placeholders.put("avgPingColor", theme.getValue(ThemeVal.GRAPH_AVG_PING));
         placeholders.put("timeZone", config.getTimeZoneOffsetHours());
 
-        placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
-        placeholders.put("updateModal", versionChecker.getUpdateModal());
-        placeholders.put("contributors", Contributors.generateContributorHtml());
 
         CachingSupplier<ServerPluginTabs> pluginTabs = new CachingSupplier<>(() -> {
             List<ExtensionData> extensionData = dbSystem.getDatabase().query(new ExtensionServerDataQuery(serverUUID));
             return new ServerPluginTabs(extensionData, formatters);
         });
 
-        String nav = JSONCache.getOrCacheString(DataID.EXTENSION_NAV, serverUUID, () -> pluginTabs.get().getNav());
-        String tabs = JSONCache.getOrCacheString(DataID.EXTENSION_TABS, serverUUID, () -> pluginTabs.get().getTabs());
+        // Extension tabs are cached translated, until ExtensionSvc updates the values of the server.
+        String nav = JSONCache.getOrCacheString(DataID.EXTENSION_NAV, serverUUID, () -> locale.replaceLanguageInHtml(pluginTabs.get().getNav()));
+        String tabs = JSONCache.getOrCacheString(DataID.EXTENSION_TABS, serverUUID, () -> locale.replaceLanguageInHtml(pluginTabs.get().getTabs()));
 
         PlaceholderReplacer pluginPlaceholders = new PlaceholderReplacer();
         pluginPlaceholders.put("networkDisplayName", config.get(ProxySettings.NETWORK_NAME));
@@ -114,10 +107,8 @@ public class NetworkPage implements Page {
         pluginPlaceholders.put("tabsPlugins", StringUtils.remove(tabs, "${backButton}"));
 
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
                 .chain(placeholders::apply)
                 .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
                 .apply();
     }
 }
\ No newline at end of file
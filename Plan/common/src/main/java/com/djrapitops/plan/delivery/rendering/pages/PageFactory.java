@@ -18,9 +18,12 @@ package com.djrapitops.plan.delivery.rendering.pages;
 
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
+import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.delivery.web.ResourceService;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
+import com.djrapitops.plan.delivery.webserver.RequestExecutor;
 import com.djrapitops.plan.extension.implementation.results.ExtensionData;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionPlayerDataQuery;
 import com.djrapitops.plan.identification.Server;
@@ -33,10 +36,13 @@ import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
 import com.djrapitops.plan.storage.database.queries.objects.ServerQueries;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plan.version.VersionChecker;
 import com.djrapitops.plugin.benchmarking.Timings;
 import com.djrapitops.plugin.logging.debug.DebugLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import dagger.Lazy;
 
 import javax.inject.Inject;
@@ -44,6 +50,7 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for creating different {@link Page} objects.
@@ -64,6 +71,9 @@ public class PageFactory {
     private final Lazy<DebugLogger> debugLogger;
     private final Lazy<Timings> timings;
     private final Lazy<ErrorLogger> errorLogger;
+    private final Lazy<RequestExecutor> requestExecutor;
+
+    private final Cache<String, String> pageShells;
 
     @Inject
     public PageFactory(
@@ -77,7 +87,8 @@ public class PageFactory {
             Lazy<Formatters> formatters,
             Lazy<DebugLogger> debugLogger,
             Lazy<Timings> timings,
-            Lazy<ErrorLogger> errorLogger
+            Lazy<ErrorLogger> errorLogger,
+            Lazy<RequestExecutor> requestExecutor
     ) {
         this.versionChecker = versionChecker;
         this.files = files;
@@ -90,19 +101,23 @@ public class PageFactory {
         this.debugLogger = debugLogger;
         this.timings = timings;
         this.errorLogger = errorLogger;
+        this.requestExecutor = requestExecutor;
+
+        pageShells = Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
     }
 
     public DebugPage debugPage() throws IOException {
         return new DebugPage(
                 getResource("error.html"),
                 dbSystem.get().getDatabase(), serverInfo.get(), formatters.get(), versionChecker.get(),
-                debugLogger.get(), timings.get(), errorLogger.get()
+                debugLogger.get(), timings.get(), errorLogger.get(), requestExecutor.get()
         );
     }
 
     public PlayersPage playersPage() throws IOException {
-        return new PlayersPage(getResource("players.html"), versionChecker.get(),
-                config.get(), locale.get(), theme.get(), serverInfo.get());
+        return new PlayersPage(getPageShell("players.html"), config.get(), serverInfo.get());
     }
 
     /**
@@ -117,12 +132,11 @@ public class PageFactory {
         Server server = dbSystem.get().getDatabase().query(ServerQueries.fetchServerMatchingIdentifier(serverUUID))
                 .orElseThrow(() -> new NotFoundException("Server not found in the database"));
         return new ServerPage(
-                getResource("server.html"),
+                getPageShell("server.html"),
                 server,
                 config.get(),
                 theme.get(),
                 locale.get(),
-                versionChecker.get(),
                 dbSystem.get(),
                 serverInfo.get(),
                 formatters.get()
@@ -133,8 +147,7 @@ public class PageFactory {
         Database db = dbSystem.get().getDatabase();
         PlayerContainer player = db.query(ContainerFetchQueries.fetchPlayerContainer(playerUUID));
         return new PlayerPage(
-                getResource("player.html"), player,
-                versionChecker.get(),
+                getPageShell("player.html"), player,
                 config.get(), this, theme.get(), locale.get(),
                 formatters.get(), serverInfo.get()
         );
@@ -174,9 +187,8 @@ public class PageFactory {
     }
 
     public NetworkPage networkPage() throws IOException {
-        return new NetworkPage(getResource("network.html"),
+        return new NetworkPage(getPageShell("network.html"),
                 dbSystem.get(),
-                versionChecker.get(),
                 config.get(), theme.get(), locale.get(),
                 serverInfo.get(), formatters.get());
     }
@@ -194,15 +206,49 @@ public class PageFactory {
     }
 
     public Page errorPage(String title, String error) throws IOException {
-        return new ErrorMessagePage(
-                getResource("error.html"), title, error,
-                versionChecker.get(), locale.get(), theme.get());
+        return new ErrorMessagePage(getPageShell("error.html"), title, error, locale.get());
     }
 
     public Page errorPage(Icon icon, String title, String error) throws IOException {
-        return new ErrorMessagePage(
-                getResource("error.html"), icon, title, error,
-                locale.get(), theme.get(), versionChecker.get());
+        return new ErrorMessagePage(getPageShell("error.html"), icon, title, error, locale.get());
+    }
+
+    /**
+     * Get a page template with theme colors, locale and version information already applied.
+     * <p>
+     * Shells are cached for a minute so that customized files and resource snippets added by other plugins are
+     * picked up. Reloading the plugin (theme, locale or config) creates a new PageFactory with an empty cache.
+     *
+     * @param name Name of the template, eg. server.html
+     * @return Template with placeholders for the data of the page.
+     * @throws IOException If the template file can not be read.
+     */
+    public String getPageShell(String name) throws IOException {
+        // Update button and modal change when the version check finishes
+        String key = versionChecker.get().isNewVersionAvailable() ? name + "?update" : name;
+        try {
+            return pageShells.get(key, k -> compilePageShell(name));
+        } catch (UncheckedIOException readFail) {
+            throw readFail.getCause();
+        }
+    }
+
+    private String compilePageShell(String name) {
+        try {
+            VersionChecker versions = versionChecker.get();
+            PlaceholderReplacer placeholders = new PlaceholderReplacer();
+            placeholders.put("version", locale.get().replaceLanguageInHtml(versions.getUpdateButton().orElse(versions.getCurrentVersionButton())));
+            placeholders.put("updateModal", locale.get().replaceLanguageInHtml(versions.getUpdateModal()));
+            placeholders.put("contributors", Contributors.generateContributorHtml());
+
+            return UnaryChain.of(getResource(name))
+                    .chain(theme.get()::replaceThemeColors)
+                    .chain(locale.get()::translateTemplate)
+                    .chain(placeholders::apply)
+                    .apply();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public String getResource(String name) throws IOException {
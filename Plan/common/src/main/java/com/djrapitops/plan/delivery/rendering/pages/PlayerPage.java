@@ -21,7 +21,6 @@ import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
-import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.Html;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -29,7 +28,6 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.utilities.java.UnaryChain;
-import com.djrapitops.plan.version.VersionChecker;
 
 import java.util.UUID;
 
@@ -43,8 +41,6 @@ public class PlayerPage implements Page {
     private final String templateHtml;
     private final PlayerContainer player;
 
-    private final VersionChecker versionChecker;
-
     private final PlanConfig config;
     private final PageFactory pageFactory;
     private final Theme theme;
@@ -57,7 +53,6 @@ public class PlayerPage implements Page {
     PlayerPage(
             String templateHtml,
             PlayerContainer player,
-            VersionChecker versionChecker,
             PlanConfig config,
             PageFactory pageFactory,
             Theme theme,
@@ -67,7 +62,6 @@ public class PlayerPage implements Page {
     ) {
         this.templateHtml = templateHtml;
         this.player = player;
-        this.versionChecker = versionChecker;
         this.config = config;
         this.pageFactory = pageFactory;
         this.theme = theme;
@@ -94,8 +88,6 @@ public class PlayerPage implements Page {
 
         placeholders.put("refresh", clockLongFormatter.apply(now));
         placeholders.put("refreshFull", secondLongFormatter.apply(now));
-        placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
-        placeholders.put("updateModal", versionChecker.getUpdateModal());
 
         String playerName = player.getValue(PlayerKeys.NAME).orElse(playerUUID.toString());
         placeholders.put("playerName", playerName);
@@ -103,21 +95,18 @@ public class PlayerPage implements Page {
         placeholders.put("timeZone", config.getTimeZoneOffsetHours());
         placeholders.put("gmPieColors", theme.getValue(ThemeVal.GRAPH_GM_PIE));
 
-        placeholders.put("contributors", Contributors.generateContributorHtml());
-
         PlaceholderReplacer pluginPlaceholders = new PlaceholderReplacer();
         PlayerPluginTab pluginTabs = pageFactory.inspectPluginTabs(playerUUID);
 
         pluginPlaceholders.put("playerName", playerName);
-        pluginPlaceholders.put("backButton", (serverInfo.getServer().isProxy() ? Html.BACK_BUTTON_NETWORK : Html.BACK_BUTTON_SERVER).create());
-        pluginPlaceholders.put("navPluginsTabs", pluginTabs.getNav());
-        pluginPlaceholders.put("pluginsTabs", pluginTabs.getTab());
+        // Values are placed after the template has been translated, so they are translated separately.
+        pluginPlaceholders.put("backButton", locale.replaceLanguageInHtml((serverInfo.getServer().isProxy() ? Html.BACK_BUTTON_NETWORK : Html.BACK_BUTTON_SERVER).create()));
+        pluginPlaceholders.put("navPluginsTabs", locale.replaceLanguageInHtml(pluginTabs.getNav()));
+        pluginPlaceholders.put("pluginsTabs", locale.replaceLanguageInHtml(pluginTabs.getTab()));
 
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
                 .chain(placeholders::apply)
                 .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
                 .apply();
     }
 }
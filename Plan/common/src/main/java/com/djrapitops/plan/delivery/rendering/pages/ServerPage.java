@@ -19,7 +19,6 @@ package com.djrapitops.plan.delivery.rendering.pages;
 import com.djrapitops.plan.delivery.domain.container.CachingSupplier;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
-import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.Html;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
@@ -33,7 +32,6 @@ import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.utilities.java.UnaryChain;
-import com.djrapitops.plan.version.VersionChecker;
 
 import java.util.List;
 import java.util.UUID;
@@ -50,7 +48,6 @@ public class ServerPage implements Page {
     private final PlanConfig config;
     private final Theme theme;
     private final Locale locale;
-    private final VersionChecker versionChecker;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final Formatters formatters;
@@ -60,7 +57,6 @@ public class ServerPage implements Page {
             PlanConfig config,
             Theme theme,
             Locale locale,
-            VersionChecker versionChecker,
             DBSystem dbSystem,
             ServerInfo serverInfo,
             Formatters formatters
@@ -70,7 +66,6 @@ public class ServerPage implements Page {
         this.config = config;
         this.theme = theme;
         this.locale = locale;
-        this.versionChecker = versionChecker;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.formatters = formatters;
@@ -88,31 +83,26 @@ public class ServerPage implements Page {
         placeholders.put("timeZone", config.getTimeZoneOffsetHours());
         placeholders.put("gmPieColors", theme.getValue(ThemeVal.GRAPH_GM_PIE));
 
-        placeholders.put("contributors", Contributors.generateContributorHtml());
-        placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
-        placeholders.put("updateModal", versionChecker.getUpdateModal());
-
         CachingSupplier<ServerPluginTabs> pluginTabs = new CachingSupplier<>(() -> {
             List<ExtensionData> extensionData = dbSystem.getDatabase().query(new ExtensionServerDataQuery(serverUUID));
             return new ServerPluginTabs(extensionData, formatters);
         });
 
-        String nav = JSONCache.getOrCacheString(DataID.EXTENSION_NAV, serverUUID, () -> pluginTabs.get().getNav());
-        String tabs = JSONCache.getOrCacheString(DataID.EXTENSION_TABS, serverUUID, () -> pluginTabs.get().getTabs());
+        // Extension tabs are cached translated, until ExtensionSvc updates the values of the server.
+        String nav = JSONCache.getOrCacheString(DataID.EXTENSION_NAV, serverUUID, () -> locale.replaceLanguageInHtml(pluginTabs.get().getNav()));
+        String tabs = JSONCache.getOrCacheString(DataID.EXTENSION_TABS, serverUUID, () -> locale.replaceLanguageInHtml(pluginTabs.get().getTabs()));
 
         PlaceholderReplacer pluginPlaceholders = new PlaceholderReplacer();
         pluginPlaceholders.put("serverUUID", serverUUID.toString());
         pluginPlaceholders.put("serverName", server.getIdentifiableName());
         pluginPlaceholders.put("serverDisplayName", server.getName());
-        pluginPlaceholders.put("backButton", serverInfo.getServer().isProxy() ? Html.BACK_BUTTON_NETWORK.create() : "");
+        pluginPlaceholders.put("backButton", serverInfo.getServer().isProxy() ? locale.replaceLanguageInHtml(Html.BACK_BUTTON_NETWORK.create()) : "");
         pluginPlaceholders.put("navPluginsTabs", nav);
         pluginPlaceholders.put("tabsPlugins", tabs);
 
         return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
                 .chain(placeholders::apply)
                 .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
                 .apply();
     }
 }
\ No newline at end of file
@@ -16,7 +16,9 @@
  */
 package com.djrapitops.plan.delivery.web;
 
+import com.djrapitops.plan.delivery.web.resolver.CompositeResolver;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -90,6 +92,34 @@ public class ResolverSvc implements ResolverService {
         return Optional.empty();
     }
 
+    /**
+     * Get the route that a target belongs to, based on what the resolver in charge of it was registered for.
+     * <p>
+     * Targets of a {@link CompositeResolver} include the prefix of the child, eg. "/v1/players" for "/v1/players".
+     *
+     * @param target Target path, eg. "/v1/players"
+     * @return Registered start or pattern of the resolver, empty if no resolver is in charge of the target.
+     */
+    public Optional<String> getRouteOf(String target) {
+        for (Container container : basicResolvers) {
+            if (container.matcher.test(target)) return Optional.of(getRouteOf(container, target));
+        }
+        for (Container container : regexResolvers) {
+            if (container.matcher.test(target)) return Optional.of(container.sortBy);
+        }
+        return Optional.empty();
+    }
+
+    private String getRouteOf(Container container, String target) {
+        if (!(container.resolver instanceof CompositeResolver)) return container.sortBy;
+
+        String childTarget = target.substring(container.sortBy.length());
+        return new URIPath(childTarget).getPart(0)
+                .filter(((CompositeResolver) container.resolver).getPrefixes()::contains)
+                .map(prefix -> container.sortBy + '/' + prefix)
+                .orElse(container.sortBy);
+    }
+
     private static class Container implements Comparable<Container> {
         final String plugin;
         final Predicate<String> matcher;
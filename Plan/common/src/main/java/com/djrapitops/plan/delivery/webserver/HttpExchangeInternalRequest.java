@@ -0,0 +1,77 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.apache.commons.text.TextStringBuilder;
+
+import java.util.*;
+
+/**
+ * {@link InternalRequest} of the JDK HttpServer.
+ *
+ * @author Rsl1122
+ */
+public class HttpExchangeInternalRequest implements InternalRequest {
+
+    private final HttpExchange exchange;
+
+    public HttpExchangeInternalRequest(HttpExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    @Override
+    public String getAccessAddress() {
+        return exchange.getRemoteAddress().getAddress().getHostAddress();
+    }
+
+    @Override
+    public String getMethod() {
+        return exchange.getRequestMethod();
+    }
+
+    @Override
+    public String getRequestedPath() {
+        return exchange.getRequestURI().getPath();
+    }
+
+    @Override
+    public String getRequestedURIString() {
+        return exchange.getRequestURI().toASCIIString();
+    }
+
+    @Override
+    public String getRawQuery() {
+        return exchange.getRequestURI().getRawQuery();
+    }
+
+    @Override
+    public List<String> getHeaders(String name) {
+        List<String> values = exchange.getRequestHeaders().get(name);
+        return values != null ? values : Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> e : exchange.getRequestHeaders().entrySet()) {
+            List<String> value = e.getValue();
+            headers.put(e.getKey(), new TextStringBuilder().appendWithSeparators(value, ";").build());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a HTTP request received by a {@link WebServerBackend}, before it is turned into a Request for resolvers.
+ *
+ * @author Rsl1122
+ */
+public interface InternalRequest {
+
+    /**
+     * Get the IP address the request came from.
+     *
+     * @return IP address as a String.
+     */
+    String getAccessAddress();
+
+    String getMethod();
+
+    /**
+     * Get the requested path.
+     *
+     * @return Decoded path, eg. /server/Server 1
+     */
+    String getRequestedPath();
+
+    /**
+     * Get the requested path and query as it was sent.
+     *
+     * @return eg. /v1/graph?type=performance&amp;server=...
+     */
+    String getRequestedURIString();
+
+    /**
+     * Get the query part of the requested URI.
+     *
+     * @return Raw query, or null if the request had no query.
+     */
+    String getRawQuery();
+
+    /**
+     * Get all values of a request header.
+     *
+     * @param name Name of the header, case insensitive.
+     * @return Values of the header, empty if the header was not sent.
+     */
+    List<String> getHeaders(String name);
+
+    /**
+     * Get all request headers.
+     *
+     * @return Map of header name - header values separated by ';'
+     */
+    Map<String, String> getHeaders();
+}
@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * {@link WebServerBackend} using the HttpServer of the JDK.
+ * <p>
+ * Requests are executed on the thread pool of {@link RequestExecutor}.
+ *
+ * @author Rsl1122
+ */
+public class JdkHttpServerBackend implements WebServerBackend {
+
+    private final RequestHandler requestHandler;
+    private final RequestExecutor requestExecutor;
+    private final PluginLogger logger;
+
+    private HttpServer server;
+
+    public JdkHttpServerBackend(
+            RequestHandler requestHandler,
+            RequestExecutor requestExecutor,
+            PluginLogger logger
+    ) {
+        this.requestHandler = requestHandler;
+        this.requestExecutor = requestExecutor;
+        this.logger = logger;
+    }
+
+    @Override
+    public void start(InetSocketAddress address, int backlog, SSLContext sslContext) throws IOException {
+        if (sslContext != null) {
+            server = HttpsServer.create(address, backlog);
+            ((HttpsServer) server).setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+                @Override
+                public void configure(HttpsParameters params) {
+                    SSLEngine engine = sslContext.createSSLEngine();
+
+                    params.setNeedClientAuth(false);
+                    params.setCipherSuites(engine.getEnabledCipherSuites());
+                    params.setProtocols(engine.getEnabledProtocols());
+
+                    SSLParameters defaultSSLParameters = sslContext.getDefaultSSLParameters();
+                    params.setSSLParameters(defaultSSLParameters);
+                }
+            });
+        } else {
+            server = HttpServer.create(address, backlog);
+        }
+        server.createContext("/", requestHandler);
+
+        requestExecutor.startThreadPools();
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    @Override
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) return;
+        server.stop(0);
+        try {
+            requestExecutor.shutdown();
+        } catch (InterruptedException e) {
+            logger.error("WebServer request executor shutdown thread interrupted on disable: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+}
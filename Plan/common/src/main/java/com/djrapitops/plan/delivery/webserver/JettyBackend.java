@@ -0,0 +1,322 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.cache.CompressedContentCache;
+import com.djrapitops.plan.delivery.webserver.live.LiveConnection;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.*;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import javax.net.ssl.SSLContext;
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@link WebServerBackend} using Jetty.
+ * <p>
+ * - Connections are handled by an event loop (selector) and kept alive between requests.
+ * - HTTP/2 is used over HTTPS when the client and the Java version support ALPN, and over HTTP when the client asks for it (h2c).
+ * - Response bodies are written without blocking the request thread.
+ * - Requests that were queued behind more than Queue_size jobs are answered with 503 instead of being resolved.
+ *
+ * @author Rsl1122
+ */
+public class JettyBackend implements WebServerBackend {
+
+    // Threads that Jetty takes from the pool for accepting and selecting connections.
+    private static final int CONNECTION_THREADS = 2;
+
+    private final RequestHandler requestHandler;
+    private final RequestExecutor requestExecutor;
+    private final Addresses addresses;
+    private final LiveFeed liveFeed;
+    private final PlanConfig config;
+
+    private Server server;
+    private ServerConnector connector;
+    private QueuedThreadPool threadPool;
+    private int maxQueuedJobs;
+
+    public JettyBackend(
+            RequestHandler requestHandler,
+            RequestExecutor requestExecutor,
+            Addresses addresses,
+            LiveFeed liveFeed,
+            PlanConfig config
+    ) {
+        this.requestHandler = requestHandler;
+        this.requestExecutor = requestExecutor;
+        this.addresses = addresses;
+        this.liveFeed = liveFeed;
+        this.config = config;
+    }
+
+    @Override
+    public void start(InetSocketAddress address, int backlog, SSLContext sslContext) throws IOException {
+        int poolSize = config.get(WebserverSettings.THREAD_POOL_SIZE);
+        int queueSize = config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE);
+
+        maxQueuedJobs = queueSize;
+        // Jetty also runs its own jobs on the pool, so its queue is not limited, requests over the limit get 503 in PlanHandler.
+        threadPool = new QueuedThreadPool(poolSize + CONNECTION_THREADS, CONNECTION_THREADS + 1, 30000);
+        threadPool.setName("Plan WebServer");
+        threadPool.setReservedThreads(0);
+
+        server = new Server(threadPool);
+        HttpConfiguration httpConfig = new HttpConfiguration();
+        httpConfig.setSendServerVersion(false);
+        connector = sslContext != null
+                ? createHttpsConnector(httpConfig, sslContext)
+                : new ServerConnector(server, 1, 1, new HttpConnectionFactory(httpConfig), new HTTP2CServerConnectionFactory(httpConfig));
+        connector.setHost(address.getHostString());
+        connector.setPort(address.getPort());
+        connector.setAcceptQueueSize(backlog);
+        server.addConnector(connector);
+        server.setHandler(new PlanHandler());
+        requestExecutor.setQueuedRequests(threadPool::getQueueSize);
+
+        try {
+            server.start();
+        } catch (Exception e) {
+            throw asIOException(e);
+        }
+    }
+
+    private ServerConnector createHttpsConnector(HttpConfiguration httpConfig, SSLContext sslContext) {
+        SslContextFactory.Server sslContextFactory = new SslContextFactory.Server();
+        sslContextFactory.setSslContext(sslContext);
+
+        HttpConfiguration httpsConfig = new HttpConfiguration(httpConfig);
+        // Self signed certificates often do not match the host name
+        httpsConfig.addCustomizer(new SecureRequestCustomizer(false));
+        HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfig);
+
+        try {
+            HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpsConfig);
+            ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+            alpn.setDefaultProtocol(http11.getProtocol());
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            SslConnectionFactory tls = new SslConnectionFactory(sslContextFactory, alpn.getProtocol());
+            return new ServerConnector(server, 1, 1, tls, alpn, http2, http11);
+        } catch (IllegalStateException noALPNProcessors) {
+            // ALPN is not supported by this Java version, so only HTTP/1.1 is used.
+            SslConnectionFactory tls = new SslConnectionFactory(sslContextFactory, http11.getProtocol());
+            return new ServerConnector(server, 1, 1, tls, http11);
+        }
+    }
+
+    private IOException asIOException(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof BindException) return (BindException) cause;
+            cause = cause.getCause();
+        }
+        return e instanceof IOException ? (IOException) e : new IOException(e);
+    }
+
+    @Override
+    public int getPort() {
+        return connector.getLocalPort();
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) return;
+        try {
+            server.stop();
+        } catch (Exception ignored) {
+            // Stopping, nothing can be done
+        }
+        try {
+            requestExecutor.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    private class PlanHandler extends AbstractHandler {
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            baseRequest.setHandled(true);
+            Response planResponse;
+            if (threadPool.getQueueSize() > maxQueuedJobs) {
+                // Answered right away so that the queue can empty, like the JDK backend does when its queue is full.
+                requestExecutor.countRejectedRequest();
+                planResponse = requestHandler.getServiceUnavailableResponse();
+            } else {
+                planResponse = requestHandler.getResponse(new JettyInternalRequest(baseRequest));
+            }
+            Optional<UUID> liveStream = liveFeed.takePreparedStream(planResponse);
+            if (liveStream.isPresent() && !"HEAD".equals(request.getMethod())) {
+                openLiveStream(request, response, planResponse, liveStream.get());
+            } else {
+                send(baseRequest, request, response, planResponse);
+            }
+        }
+    }
+
+    private void openLiveStream(HttpServletRequest request, HttpServletResponse response, Response planResponse, UUID serverUUID) throws IOException {
+        for (Map.Entry<String, String> header : planResponse.getHeaders().entrySet()) {
+            response.setHeader(header.getKey(), header.getValue());
+        }
+        response.setStatus(planResponse.getCode());
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0); // The stream is open until either side closes it.
+        EventStream eventStream = new EventStream(async, response.getOutputStream());
+        LiveConnection connection = liveFeed.connect(serverUUID, eventStream);
+        response.getOutputStream().setWriteListener(eventStream);
+        connection.send(planResponse.getBytes());
+    }
+
+    private void send(Request baseRequest, HttpServletRequest request, HttpServletResponse response, Response planResponse) throws IOException {
+        Map<String, String> headers = planResponse.getHeaders();
+        ResponseSender.correctRedirect(addresses, headers);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            response.setHeader(header.getKey(), header.getValue());
+        }
+
+        if (ResponseSender.isNotModified(planResponse, request.getHeader("If-None-Match"))) {
+            response.setHeader("Content-Length", null);
+            response.setHeader("Content-Type", null);
+            response.setStatus(304);
+            return;
+        }
+        response.setStatus(planResponse.getCode());
+        if ("HEAD".equals(request.getMethod())) return;
+
+        byte[] body = planResponse.getBytes();
+        if (CompressedContentCache.isCompressible(planResponse)) {
+            response.setHeader("Vary", "Accept-Encoding");
+            if (ResponseSender.acceptsGzip(Collections.list(request.getHeaders("Accept-Encoding")))) {
+                String etag = headers.get("ETag");
+                body = etag != null ? CompressedContentCache.getGzipped(etag, body) : CompressedContentCache.gzip(body);
+                response.setHeader("Content-Encoding", "gzip");
+                response.setHeader("Accept-Ranges", null);
+            }
+        }
+        response.setContentLength(body.length);
+
+        // The body is written by the selector when the connection can take it, the request thread is free meanwhile.
+        AsyncContext async = request.startAsync();
+        baseRequest.getResponse().getHttpOutput().sendContent(ByteBuffer.wrap(body), new Callback() {
+            @Override
+            public void succeeded() {
+                async.complete();
+            }
+
+            @Override
+            public void failed(Throwable x) {
+                async.complete();
+            }
+        });
+    }
+
+    /**
+     * {@link LiveConnection.Sink} that writes without blocking with a servlet {@link WriteListener}.
+     * <p>
+     * When isReady() returns false the write is in progress, and Jetty calls onWritePossible when it has completed.
+     */
+    private static class EventStream implements LiveConnection.Sink, WriteListener {
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+
+        private byte[] toWrite;
+        private boolean flushNeeded;
+        private Consumer<Boolean> done;
+
+        EventStream(AsyncContext async, ServletOutputStream out) {
+            this.async = async;
+            this.out = out;
+        }
+
+        @Override
+        public synchronized void write(byte[] bytes, Consumer<Boolean> done) {
+            this.toWrite = bytes;
+            this.done = done;
+            onWritePossible();
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            try {
+                if (toWrite != null) {
+                    if (!out.isReady()) return;
+                    out.write(toWrite);
+                    toWrite = null;
+                    flushNeeded = true;
+                }
+                if (flushNeeded) {
+                    if (!out.isReady()) return;
+                    out.flush();
+                    flushNeeded = false;
+                }
+                if (done != null && out.isReady()) {
+                    Consumer<Boolean> written = done;
+                    done = null;
+                    written.accept(true);
+                }
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            toWrite = null;
+            flushNeeded = false;
+            if (done != null) {
+                Consumer<Boolean> failed = done;
+                done = null;
+                failed.accept(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                async.complete();
+            } catch (IllegalStateException alreadyCompleted) {
+                // Connection was closed by the client
+            }
+        }
+    }
+}
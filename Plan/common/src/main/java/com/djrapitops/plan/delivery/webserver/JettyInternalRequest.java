@@ -0,0 +1,75 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.server.Request;
+
+import java.util.*;
+
+/**
+ * {@link InternalRequest} of {@link JettyBackend}.
+ *
+ * @author Rsl1122
+ */
+public class JettyInternalRequest implements InternalRequest {
+
+    private final Request baseRequest;
+
+    public JettyInternalRequest(Request baseRequest) {
+        this.baseRequest = baseRequest;
+    }
+
+    @Override
+    public String getAccessAddress() {
+        return baseRequest.getRemoteAddr();
+    }
+
+    @Override
+    public String getMethod() {
+        return baseRequest.getMethod();
+    }
+
+    @Override
+    public String getRequestedPath() {
+        return baseRequest.getHttpURI().getDecodedPath();
+    }
+
+    @Override
+    public String getRequestedURIString() {
+        return baseRequest.getHttpURI().getPathQuery();
+    }
+
+    @Override
+    public String getRawQuery() {
+        return baseRequest.getQueryString();
+    }
+
+    @Override
+    public List<String> getHeaders(String name) {
+        return Collections.list(baseRequest.getHeaders(name));
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        for (HttpField field : baseRequest.getHttpFields()) {
+            headers.merge(field.getName(), field.getValue(), (one, two) -> one + ';' + two);
+        }
+        return headers;
+    }
+}
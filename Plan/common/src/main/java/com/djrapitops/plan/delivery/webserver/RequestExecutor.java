@@ -0,0 +1,278 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.PluginSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Executor and request limits for the requests of the {@link WebServer}.
+ * <p>
+ * - Requests that do not fit in the thread pool or its queue are handled on a separate thread that only answers
+ * 503 Service Unavailable, instead of the connection being dropped.
+ * - Concurrent requests to the same route (eg. /v1/graph) are limited below the pool size, so that a flood of requests
+ * to one route can not take the threads that answer other requests. Requests over the limit are answered with 503
+ * right away. The routes are what the resolvers were registered for, see {@link ResolverSvc#getRouteOf(String)}.
+ * - Active, queued and rejected request counts are available for monitoring.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class RequestExecutor implements Executor {
+
+    public static final int RETRY_AFTER_SECONDS = 5;
+    public static final int ROUTE_RETRY_AFTER_SECONDS = 1;
+
+    private static final String OTHER_ROUTE = "other";
+
+    private static final ThreadLocal<Boolean> rejectedRequest = ThreadLocal.withInitial(() -> false);
+
+    private final PlanConfig config;
+    private final ResolverSvc resolverService;
+    private final ErrorLogger errorLogger;
+
+    private final AtomicLong rejected;
+    private final AtomicInteger activeRequests;
+    private final Map<String, Semaphore> routeLimits;
+
+    private ThreadPoolExecutor requestPool;
+    private ThreadPoolExecutor rejectionPool;
+    private IntSupplier queuedRequests;
+    private int maxConcurrentRouteRequests;
+
+    @Inject
+    public RequestExecutor(
+            PlanConfig config,
+            ResolverSvc resolverService,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.resolverService = resolverService;
+        this.errorLogger = errorLogger;
+
+        rejected = new AtomicLong(0);
+        activeRequests = new AtomicInteger(0);
+        queuedRequests = () -> 0;
+        routeLimits = new ConcurrentHashMap<>();
+    }
+
+    void start() {
+        int poolSize = config.get(WebserverSettings.THREAD_POOL_SIZE);
+        // At least one thread is always left for other routes.
+        maxConcurrentRouteRequests = Math.max(1, Math.min(
+                config.get(WebserverSettings.MAX_CONCURRENT_ROUTE_REQUESTS), poolSize - 1
+        ));
+        routeLimits.clear();
+        rejected.set(0);
+    }
+
+    /**
+     * Start the thread pools used when this is used as the Executor of the JDK HttpServer.
+     */
+    void startThreadPools() {
+        int poolSize = config.get(WebserverSettings.THREAD_POOL_SIZE);
+        int queueSize = config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE);
+
+        requestPool = new ThreadPoolExecutor(
+                poolSize, poolSize, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                threadFactory("Plan WebServer Thread-%d")
+        );
+        requestPool.allowCoreThreadTimeOut(true);
+        startRejectionPool();
+        queuedRequests = () -> requestPool.getQueue().size();
+    }
+
+    /**
+     * Start the thread that answers requests with 503 when the thread pool that executes requests is full.
+     *
+     * @see #executeRejected(Runnable)
+     */
+    void startRejectionPool() {
+        int queueSize = config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE);
+        rejectionPool = new ThreadPoolExecutor(
+                1, 1, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                threadFactory("Plan WebServer Rejection Thread-%d")
+        );
+        rejectionPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Set where the number of queued requests is read from when the requests are not executed by this executor.
+     *
+     * @param queuedRequests Supplier for the queue size of the thread pool that executes requests.
+     */
+    void setQueuedRequests(IntSupplier queuedRequests) {
+        this.queuedRequests = queuedRequests;
+    }
+
+    /**
+     * Count a request that was answered with 503 because the thread pool of a backend was full.
+     */
+    void countRejectedRequest() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Handle a request that the thread pool did not have room for on the rejection thread.
+     * <p>
+     * {@link #isRejectedRequest()} is true while the request runs, so it is answered with 503 without resolving it.
+     *
+     * @param request Request that was rejected.
+     * @throws RejectedExecutionException If the rejection thread is full too, and the connection should be dropped.
+     */
+    void executeRejected(Runnable request) {
+        rejected.incrementAndGet();
+        ThreadPoolExecutor pool = rejectionPool;
+        if (pool == null) throw new RejectedExecutionException("Rejection thread is not running");
+        pool.execute(() -> {
+            rejectedRequest.set(true);
+            try {
+                request.run();
+            } finally {
+                rejectedRequest.set(false);
+            }
+        });
+    }
+
+    private ThreadFactory threadFactory(String namingPattern) {
+        return new BasicThreadFactory.Builder()
+                .namingPattern(namingPattern)
+                .uncaughtExceptionHandler((thread, throwable) -> {
+                    if (config.isTrue(PluginSettings.DEV_MODE)) {
+                        errorLogger.log(L.WARN, throwable, ErrorContext.builder()
+                                .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                                .build());
+                    }
+                }).build();
+    }
+
+    @Override
+    public void execute(Runnable request) {
+        try {
+            requestPool.execute(request);
+        } catch (RejectedExecutionException poolIsFull) {
+            // Throws RejectedExecutionException if the rejection pool is full too, and the connection is dropped.
+            executeRejected(request);
+        }
+    }
+
+    /**
+     * Check if the request being handled on this thread was rejected by the thread pool.
+     *
+     * @return true if the request should be answered with 503 Service Unavailable.
+     */
+    public boolean isRejectedRequest() {
+        return rejectedRequest.get();
+    }
+
+    /**
+     * Start handling a request, unless too many requests to the same route are being handled.
+     *
+     * @param path Path of the request, eg. /v1/players
+     * @return Permit to close when the request has been handled, or empty if the request should be answered with 503
+     * and {@link #ROUTE_RETRY_AFTER_SECONDS}.
+     */
+    public Optional<RequestPermit> startRequest(String path) {
+        String route = getRoute(path);
+        if (route == null) return Optional.of(new RequestPermit(null));
+
+        Semaphore limit = routeLimits.computeIfAbsent(route, key -> new Semaphore(maxConcurrentRouteRequests));
+        if (limit.tryAcquire()) {
+            return Optional.of(new RequestPermit(limit));
+        }
+        rejected.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Get the route a request is limited by.
+     *
+     * @param path Path of the request.
+     * @return eg. "/v1/players" for /v1/players, "/server" for /server/Name, "other" for addresses without a resolver,
+     * or null for static files.
+     */
+    String getRoute(String path) {
+        String[] parts = StringUtils.split(path, '/');
+        if (parts.length > 0 && "favicon.ico".equals(parts[0])) return null;
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (StringUtils.equalsAny(parts[i], "css", "js", "vendor", "img")) return null;
+        }
+        return resolverService.getRouteOf(path).orElse(OTHER_ROUTE);
+    }
+
+    public int getActiveCount() {
+        return activeRequests.get();
+    }
+
+    public int getQueuedCount() {
+        return queuedRequests.getAsInt();
+    }
+
+    /**
+     * Get the number of requests answered with 503 Service Unavailable since the WebServer was enabled.
+     *
+     * @return Count of requests rejected by the thread pool or by a route limit.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public class RequestPermit implements AutoCloseable {
+        private final Semaphore limit;
+
+        RequestPermit(Semaphore limit) {
+            this.limit = limit;
+            activeRequests.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            activeRequests.decrementAndGet();
+            if (limit != null) limit.release();
+        }
+    }
+
+    void shutdown() throws InterruptedException {
+        queuedRequests = () -> 0;
+        if (rejectionPool != null) {
+            rejectionPool.shutdownNow();
+            rejectionPool = null;
+        }
+        if (requestPool == null) return;
+        requestPool.shutdown();
+        if (!requestPool.awaitTermination(5, TimeUnit.SECONDS)) {
+            requestPool.shutdownNow();
+        }
+        requestPool = null;
+    }
+}
@@ -26,6 +26,9 @@ import com.djrapitops.plan.delivery.webserver.auth.Authentication;
 import com.djrapitops.plan.delivery.webserver.auth.BasicAuthentication;
 import com.djrapitops.plan.delivery.webserver.auth.CookieAuthentication;
 import com.djrapitops.plan.delivery.webserver.auth.FailReason;
+import com.djrapitops.plan.delivery.webserver.live.LiveConnection;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.PluginSettings;
@@ -44,10 +47,9 @@ import org.apache.commons.text.TextStringBuilder;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
 
 /**
  * HttpHandler for WebServer request management.
@@ -62,6 +64,9 @@ public class RequestHandler implements HttpHandler {
     private final Addresses addresses;
     private final ResponseResolver responseResolver;
     private final ResponseFactory responseFactory;
+    private final RequestExecutor requestExecutor;
+    private final LiveFeed liveFeed;
+    private final PlanMetrics metrics;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
@@ -74,6 +79,9 @@ public class RequestHandler implements HttpHandler {
             Addresses addresses,
             ResponseResolver responseResolver,
             ResponseFactory responseFactory,
+            RequestExecutor requestExecutor,
+            LiveFeed liveFeed,
+            PlanMetrics metrics,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -82,6 +90,9 @@ public class RequestHandler implements HttpHandler {
         this.addresses = addresses;
         this.responseResolver = responseResolver;
         this.responseFactory = responseFactory;
+        this.requestExecutor = requestExecutor;
+        this.liveFeed = liveFeed;
+        this.metrics = metrics;
         this.logger = logger;
         this.errorLogger = errorLogger;
 
@@ -90,13 +101,17 @@ public class RequestHandler implements HttpHandler {
 
     @Override
     public void handle(HttpExchange exchange) {
+        boolean keepOpen = false;
         try {
-            Response response = getResponse(exchange);
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Origin", config.get(WebserverSettings.CORS_ALLOW_ORIGIN));
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Methods", "GET, OPTIONS");
-            response.getHeaders().putIfAbsent("Access-Control-Allow-Credentials", "true");
-            ResponseSender sender = new ResponseSender(addresses, exchange, response);
-            sender.send();
+            Response response = getResponse(new HttpExchangeInternalRequest(exchange));
+            Optional<UUID> liveStream = liveFeed.takePreparedStream(response);
+            if (liveStream.isPresent() && !"HEAD".equals(exchange.getRequestMethod())) {
+                openLiveStream(exchange, response, liveStream.get());
+                keepOpen = true;
+            } else {
+                ResponseSender sender = new ResponseSender(addresses, exchange, response);
+                sender.send();
+            }
         } catch (Exception e) {
             if (config.isTrue(PluginSettings.DEV_MODE)) {
                 logger.warn("THIS ERROR IS ONLY LOGGED IN DEV MODE:");
@@ -106,16 +121,76 @@ public class RequestHandler implements HttpHandler {
                         .build());
             }
         } finally {
-            exchange.close();
+            if (!keepOpen) exchange.close();
+        }
+    }
+
+    private void openLiveStream(HttpExchange exchange, Response response, UUID serverUUID) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            headers.set(header.getKey(), header.getValue());
         }
+        // Length 0 uses chunked encoding, the exchange stays open after this thread returns to the pool.
+        exchange.sendResponseHeaders(response.getCode(), 0);
+        LiveConnection connection = liveFeed.connect(serverUUID, liveFeed.createBlockingSink(bytes -> {
+            // The JDK HttpServer only has blocking writes, to a SocketChannel that an interrupt closes.
+            OutputStream out = exchange.getResponseBody();
+            out.write(bytes);
+            out.flush();
+        }, exchange::close));
+        connection.send(response.getBytes());
     }
 
-    public Response getResponse(HttpExchange exchange) {
-        String accessor = exchange.getRemoteAddress().getAddress().getHostAddress();
+    /**
+     * Get the response to a request received by any {@link WebServerBackend}.
+     *
+     * @param internalRequest The request.
+     * @return Response to send, 503 if the thread pool was full or too many requests to the same route are being handled.
+     */
+    public Response getResponse(InternalRequest internalRequest) {
+        long start = System.nanoTime();
+        if (requestExecutor.isRejectedRequest()) {
+            return serviceUnavailable(start, RequestExecutor.RETRY_AFTER_SECONDS);
+        }
+        Optional<RequestExecutor.RequestPermit> permit = requestExecutor.startRequest(internalRequest.getRequestedPath());
+        if (!permit.isPresent()) {
+            return serviceUnavailable(start, RequestExecutor.ROUTE_RETRY_AFTER_SECONDS);
+        }
+        try (RequestExecutor.RequestPermit handling = permit.get()) {
+            Response response = addCORSHeaders(resolveResponse(internalRequest));
+            metrics.recordRequest(System.nanoTime() - start, response.getCode());
+            return response;
+        }
+    }
+
+    /**
+     * Get the response to a request that a {@link WebServerBackend} does not have room for.
+     *
+     * @return 503 Service Unavailable.
+     */
+    public Response getServiceUnavailableResponse() {
+        return serviceUnavailable(System.nanoTime(), RequestExecutor.RETRY_AFTER_SECONDS);
+    }
+
+    private Response serviceUnavailable(long start, int retryAfterSeconds) {
+        Response response = addCORSHeaders(responseFactory.serviceUnavailable503(retryAfterSeconds));
+        metrics.recordRequest(System.nanoTime() - start, response.getCode());
+        return response;
+    }
+
+    private Response addCORSHeaders(Response response) {
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Origin", config.get(WebserverSettings.CORS_ALLOW_ORIGIN));
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Methods", "GET, OPTIONS");
+        response.getHeaders().putIfAbsent("Access-Control-Allow-Credentials", "true");
+        return response;
+    }
+
+    private Response resolveResponse(InternalRequest internalRequest) {
+        String accessor = internalRequest.getAccessAddress();
         Request request = null;
         Response response;
         try {
-            request = buildRequest(exchange);
+            request = buildRequest(internalRequest);
             if (bruteForceGuard.shouldPreventRequest(accessor)) {
                 response = responseFactory.failedLoginAttempts403();
             } else {
@@ -127,7 +202,7 @@ public class RequestHandler implements HttpHandler {
                 bruteForceGuard.increaseAttemptCountOnFailedLogin(accessor);
                 response = responseFactory.badRequest(failReason.getReason(), "/auth/login");
             } else {
-                String from = exchange.getRequestURI().toASCIIString();
+                String from = internalRequest.getRequestedURIString();
                 response = Response.builder()
                         .redirectTo(StringUtils.startsWithAny(from, "/auth/", "/login") ? "/login" : "/login?from=" + from)
                         .setHeader("Set-Cookie", "auth=expired; Path=/; Max-Age=1")
@@ -147,37 +222,28 @@ public class RequestHandler implements HttpHandler {
         return response;
     }
 
-    private Request buildRequest(HttpExchange exchange) {
-        String requestMethod = exchange.getRequestMethod();
-        URIPath path = new URIPath(exchange.getRequestURI().getPath());
-        URIQuery query = new URIQuery(exchange.getRequestURI().getRawQuery());
-        WebUser user = getWebUser(exchange);
-        Map<String, String> headers = getRequestHeaders(exchange);
+    private Request buildRequest(InternalRequest internalRequest) {
+        String requestMethod = internalRequest.getMethod();
+        URIPath path = new URIPath(internalRequest.getRequestedPath());
+        URIQuery query = new URIQuery(internalRequest.getRawQuery());
+        WebUser user = getWebUser(internalRequest);
+        Map<String, String> headers = internalRequest.getHeaders();
         return new Request(requestMethod, path, query, user, headers);
     }
 
-    private WebUser getWebUser(HttpExchange exchange) {
-        return getAuthentication(exchange.getRequestHeaders())
+    private WebUser getWebUser(InternalRequest internalRequest) {
+        return getAuthentication(internalRequest)
                 .map(Authentication::getUser) // Can throw WebUserAuthException
                 .map(User::toWebUser)
                 .orElse(null);
     }
 
-    private Map<String, String> getRequestHeaders(HttpExchange exchange) {
-        Map<String, String> headers = new HashMap<>();
-        for (Map.Entry<String, List<String>> e : exchange.getResponseHeaders().entrySet()) {
-            List<String> value = e.getValue();
-            headers.put(e.getKey(), new TextStringBuilder().appendWithSeparators(value, ";").build());
-        }
-        return headers;
-    }
-
-    private Optional<Authentication> getAuthentication(Headers requestHeaders) {
+    private Optional<Authentication> getAuthentication(InternalRequest internalRequest) {
         if (config.isTrue(WebserverSettings.DISABLED_AUTHENTICATION)) {
             return Optional.empty();
         }
 
-        List<String> cookies = requestHeaders.get("Cookie");
+        List<String> cookies = internalRequest.getHeaders("Cookie");
         if (cookies != null && !cookies.isEmpty()) {
             for (String cookie : new TextStringBuilder().appendWithSeparators(cookies, ";").build().split(";")) {
                 String[] split = cookie.trim().split("=", 2);
@@ -189,7 +255,7 @@ public class RequestHandler implements HttpHandler {
             }
         }
 
-        List<String> authorization = requestHeaders.get("Authorization");
+        List<String> authorization = internalRequest.getHeaders("Authorization");
         if (Verify.isEmpty(authorization)) return Optional.empty();
 
         String authLine = authorization.get(0);
@@ -27,6 +27,7 @@ import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
 import com.djrapitops.plan.delivery.webserver.auth.FailReason;
+import com.djrapitops.plan.delivery.webserver.cache.CompressedContentCache;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.ErrorPageLang;
@@ -181,11 +182,11 @@ public class ResponseFactory {
                         return locale.replaceLanguageInJavascript(resource);
                     })
                     .apply();
-            return Response.builder()
+            return withETag(Response.builder()
                     .setMimeType(MimeType.JS)
                     .setContent(content)
                     .setStatus(200)
-                    .build();
+                    .build());
         } catch (UncheckedIOException e) {
             return notFound404("JS File not found from jar: " + fileName + ", " + e.toString());
         }
@@ -194,11 +195,11 @@ public class ResponseFactory {
     public Response cssResponse(String fileName) {
         try {
             String content = theme.replaceThemeColors(getResource(fileName).asString());
-            return Response.builder()
+            return withETag(Response.builder()
                     .setMimeType(MimeType.CSS)
                     .setContent(content)
                     .setStatus(200)
-                    .build();
+                    .build());
         } catch (UncheckedIOException e) {
             return notFound404("CSS File not found from jar: " + fileName + ", " + e.toString());
         }
@@ -206,11 +207,11 @@ public class ResponseFactory {
 
     public Response imageResponse(String fileName) {
         try {
-            return Response.builder()
+            return withETag(Response.builder()
                     .setMimeType(MimeType.IMAGE)
                     .setContent(getResource(fileName))
                     .setStatus(200)
-                    .build();
+                    .build());
         } catch (UncheckedIOException e) {
             return notFound404("Image File not found from jar: " + fileName + ", " + e.toString());
         }
@@ -230,25 +231,30 @@ public class ResponseFactory {
             type = MimeType.FONT_BYTESTREAM;
         }
         try {
-            return Response.builder()
+            return withETag(Response.builder()
                     .setMimeType(type)
                     .setContent(getResource(fileName))
-                    .build();
+                    .build());
         } catch (UncheckedIOException e) {
             return notFound404("Font File not found from jar: " + fileName + ", " + e.toString());
         }
     }
 
+    private Response withETag(Response response) {
+        CompressedContentCache.register(response);
+        return response;
+    }
+
     public Response redirectResponse(String location) {
         return Response.builder().redirectTo(location).build();
     }
 
     public Response faviconResponse() {
         try {
-            return Response.builder()
+            return withETag(Response.builder()
                     .setMimeType(MimeType.FAVICON)
                     .setContent(getResource("favicon.ico"))
-                    .build();
+                    .build());
         } catch (UncheckedIOException e) {
             return forInternalError(e, "Could not read favicon");
         }
@@ -349,6 +355,20 @@ public class ResponseFactory {
                 .build();
     }
 
+    public Response serviceUnavailable503() {
+        return serviceUnavailable503(RequestExecutor.RETRY_AFTER_SECONDS);
+    }
+
+    public Response serviceUnavailable503(int retryAfterSeconds) {
+        return Response.builder()
+                .setMimeType(MimeType.HTML)
+                .setContent("<h1>503 Service Unavailable</h1>" +
+                        "<p>The server is handling too many requests. Please try again in a moment.</p>")
+                .setHeader("Retry-After", retryAfterSeconds)
+                .setStatus(503)
+                .build();
+    }
+
     public Response basicAuth() {
         try {
             String tips = "<br>- Ensure you have registered a user with <b>/plan register</b><br>"
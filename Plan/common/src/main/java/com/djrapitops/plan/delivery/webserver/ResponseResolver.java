@@ -31,6 +31,8 @@ import com.djrapitops.plan.delivery.webserver.resolver.auth.*;
 import com.djrapitops.plan.delivery.webserver.resolver.json.RootJSONResolver;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.exceptions.connection.ForbiddenException;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plugin.logging.L;
@@ -65,6 +67,8 @@ public class ResponseResolver {
     private final LoginResolver loginResolver;
     private final LogoutResolver logoutResolver;
     private final RegisterResolver registerResolver;
+    private final MetricsResolver metricsResolver;
+    private final PlanConfig config;
     private final ErrorLogger errorLogger;
 
     private final ResolverService resolverService;
@@ -90,7 +94,9 @@ public class ResponseResolver {
             LoginResolver loginResolver,
             LogoutResolver logoutResolver,
             RegisterResolver registerResolver,
+            MetricsResolver metricsResolver,
 
+            PlanConfig config,
             ErrorLogger errorLogger
     ) {
         this.resolverService = resolverService;
@@ -108,6 +114,8 @@ public class ResponseResolver {
         this.loginResolver = loginResolver;
         this.logoutResolver = logoutResolver;
         this.registerResolver = registerResolver;
+        this.metricsResolver = metricsResolver;
+        this.config = config;
         this.errorLogger = errorLogger;
     }
 
@@ -130,6 +138,9 @@ public class ResponseResolver {
         resolverService.registerResolverForMatches(plugin, Pattern.compile("^.*/(vendor|css|js|img)/.*"), staticResourceResolver);
 
         resolverService.registerResolver(plugin, "/v1", rootJSONResolver.getResolver());
+        if (config.isTrue(WebserverSettings.PROMETHEUS_METRICS)) {
+            resolverService.registerResolver(plugin, "/metrics", metricsResolver);
+        }
     }
 
     public Response getResponse(Request request) {
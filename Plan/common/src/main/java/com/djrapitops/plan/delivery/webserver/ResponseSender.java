@@ -17,14 +17,15 @@
 package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.cache.CompressedContentCache;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
+import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility for sending a Response to HttpExchange.
@@ -45,12 +46,14 @@ public class ResponseSender {
 
     public void send() throws IOException {
         setResponseHeaders();
-        if ("HEAD".equals(exchange.getRequestMethod())) {
+        if (isNotModified(response, exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            sendNotModified();
+        } else if ("HEAD".equals(exchange.getRequestMethod())) {
             sendHeadResponse();
-        } else if ("bytes".equalsIgnoreCase(response.getHeaders().get("Accept-Ranges"))) {
-            sendRawBytes();
-        } else {
+        } else if (acceptsGzip(exchange.getRequestHeaders().get("Accept-Encoding")) && CompressedContentCache.isCompressible(response)) {
             sendCompressed();
+        } else {
+            sendRawBytes();
         }
     }
 
@@ -67,14 +70,14 @@ public class ResponseSender {
         Headers headers = exchange.getResponseHeaders();
 
         Map<String, String> responseHeaders = response.getHeaders();
-        correctRedirect(responseHeaders);
+        correctRedirect(addresses, responseHeaders);
 
         for (Map.Entry<String, String> header : responseHeaders.entrySet()) {
             headers.set(header.getKey(), header.getValue());
         }
     }
 
-    private void correctRedirect(Map<String, String> responseHeaders) {
+    static void correctRedirect(Addresses addresses, Map<String, String> responseHeaders) {
         String redirect = responseHeaders.get("Location");
         if (redirect != null) {
             if (redirect.startsWith("http") || !redirect.startsWith("/")) return;
@@ -82,12 +85,51 @@ public class ResponseSender {
         }
     }
 
-    private void sendCompressed() throws IOException {
-        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
-        beginSend();
-        try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
-            send(out);
+    static boolean isNotModified(Response response, String ifNoneMatch) {
+        String etag = response.getHeaders().get("ETag");
+        if (etag == null || response.getCode() != 200) return false;
+        if (ifNoneMatch == null) return false;
+        for (String candidate : StringUtils.split(ifNoneMatch, ',')) {
+            // If-None-Match uses weak comparison
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(tag) || etag.equals(tag)) return true;
         }
+        return false;
+    }
+
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String encodings : acceptEncoding) {
+            if (StringUtils.containsIgnoreCase(encodings, "gzip")) return true;
+        }
+        return false;
+    }
+
+    private void sendNotModified() throws IOException {
+        try {
+            Headers headers = exchange.getResponseHeaders();
+            headers.remove("Content-Length");
+            headers.remove("Content-Type");
+            exchange.sendResponseHeaders(304, -1);
+        } finally {
+            exchange.getRequestBody().close();
+            exchange.getResponseBody().close();
+        }
+    }
+
+    private void sendCompressed() throws IOException {
+        byte[] bytes = response.getBytes();
+        String etag = response.getHeaders().get("ETag");
+        // Registered content (with ETag) is compressed only once, other content is compressed for each request.
+        byte[] compressed = etag != null ? CompressedContentCache.getGzipped(etag, bytes) : CompressedContentCache.gzip(bytes);
+
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Encoding", "gzip");
+        headers.set("Vary", "Accept-Encoding");
+        // Byte ranges would be for the compressed content, which is not supported.
+        headers.remove("Accept-Ranges");
+        headers.remove("Content-Length");
+        send(compressed);
     }
 
     private void beginSend() throws IOException {
@@ -95,21 +137,18 @@ public class ResponseSender {
     }
 
     private void sendRawBytes() throws IOException {
-        beginSend();
-        try (OutputStream out = exchange.getResponseBody()) {
-            send(out);
+        if (CompressedContentCache.isCompressible(response)) {
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
         }
+        exchange.getResponseHeaders().remove("Content-Length");
+        send(response.getBytes());
     }
 
-    private void send(OutputStream out) throws IOException {
-        try (
-                ByteArrayInputStream bis = new ByteArrayInputStream(response.getBytes())
-        ) {
-            byte[] buffer = new byte[2048];
-            int count;
-            while ((count = bis.read(buffer)) != -1) {
-                out.write(buffer, 0, count);
-            }
+    private void send(byte[] bytes) throws IOException {
+        // Content-Length is set by sendResponseHeaders, -1 means there is no body.
+        exchange.sendResponseHeaders(response.getCode(), bytes.length > 0 ? bytes.length : -1);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
         }
     }
-}
\ No newline at end of file
+}
@@ -17,8 +17,8 @@
 package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.settings.config.PlanConfig;
-import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
@@ -27,11 +27,6 @@ import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plugin.logging.L;
 import com.djrapitops.plugin.logging.console.PluginLogger;
-import com.sun.net.httpserver.HttpServer;
-import com.sun.net.httpserver.HttpsConfigurator;
-import com.sun.net.httpserver.HttpsParameters;
-import com.sun.net.httpserver.HttpsServer;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,7 +39,6 @@ import java.nio.file.Paths;
 import java.security.*;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
-import java.util.concurrent.*;
 
 /**
  * @author Rsl1122
@@ -58,13 +52,15 @@ public class WebServer implements SubSystem {
 
     private final Addresses addresses;
     private final RequestHandler requestHandler;
+    private final RequestExecutor requestExecutor;
+    private final LiveFeed liveFeed;
 
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
     private int port;
     private boolean enabled = false;
-    private HttpServer server;
+    private WebServerBackend backend;
 
     private boolean usingHttps = false;
 
@@ -76,7 +72,9 @@ public class WebServer implements SubSystem {
             Addresses addresses,
             PluginLogger logger,
             ErrorLogger errorLogger,
-            RequestHandler requestHandler
+            RequestHandler requestHandler,
+            RequestExecutor requestExecutor,
+            LiveFeed liveFeed
     ) {
         this.locale = locale;
         this.files = files;
@@ -84,6 +82,8 @@ public class WebServer implements SubSystem {
         this.addresses = addresses;
 
         this.requestHandler = requestHandler;
+        this.requestExecutor = requestExecutor;
+        this.liveFeed = liveFeed;
 
         this.logger = logger;
         this.errorLogger = errorLogger;
@@ -111,7 +111,7 @@ public class WebServer implements SubSystem {
     }
 
     /**
-     * Starts up the WebServer in a new Thread Pool.
+     * Starts up the WebServer with the configured {@link WebServerBackend}.
      */
     private void initServer() {
         if (config.isTrue(WebserverSettings.DISABLED)) {
@@ -125,40 +125,34 @@ public class WebServer implements SubSystem {
         }
 
         try {
-            usingHttps = startHttpsServer();
+            String keyStorePath = config.get(WebserverSettings.CERTIFICATE_PATH);
+            boolean proxyMode = "proxy".equalsIgnoreCase(keyStorePath);
+            SSLContext sslContext = proxyMode ? null : loadSSLContext(keyStorePath);
+            usingHttps = proxyMode || sslContext != null;
 
             logger.debug(usingHttps ? "Https Start Successful." : "Https Start Failed.");
 
             if (!usingHttps) {
                 logger.log(L.INFO_COLOR, "§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTP_USER_AUTH));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
-            } else if (server == null) {
+            } else if (proxyMode) {
                 logger.log(L.INFO_COLOR, "§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_USING_PROXY_MODE));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
             } else if (config.isTrue(WebserverSettings.DISABLED_AUTHENTICATION)) {
                 logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTPS_USER_AUTH));
             }
-            server.createContext("/", requestHandler);
-
-            ExecutorService executor = new ThreadPoolExecutor(
-                    4, 8, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
-                    new BasicThreadFactory.Builder()
-                            .namingPattern("Plan WebServer Thread-%d")
-                            .uncaughtExceptionHandler((thread, throwable) -> {
-                                if (config.isTrue(PluginSettings.DEV_MODE)) {
-                                    errorLogger.log(L.WARN, throwable, ErrorContext.builder()
-                                            .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                                            .build());
-                                }
-                            }).build()
+
+            requestExecutor.start();
+            liveFeed.start();
+            backend = createBackend();
+            backend.start(
+                    new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port),
+                    config.get(WebserverSettings.CONNECTION_BACKLOG),
+                    sslContext
             );
-            server.setExecutor(executor);
-            server.start();
 
             enabled = true;
 
             String address = addresses.getAccessAddress().orElse(addresses.getFallbackLocalhostAddress());
-            logger.info(locale.getString(PluginLang.ENABLED_WEB_SERVER, server.getAddress().getPort(), address));
+            logger.info(locale.getString(PluginLang.ENABLED_WEB_SERVER, backend.getPort(), address));
 
             boolean usingAlternativeIP = config.isTrue(WebserverSettings.SHOW_ALTERNATIVE_IP);
             if (!usingAlternativeIP && !addresses.getAccessAddress().isPresent()) {
@@ -166,20 +160,24 @@ public class WebServer implements SubSystem {
             }
         } catch (BindException failedToBind) {
             logger.error("Webserver failed to bind port: " + failedToBind.toString());
+            stopBackend();
             enabled = false;
         } catch (IllegalArgumentException | IllegalStateException | IOException e) {
             errorLogger.log(L.ERROR, e, ErrorContext.builder().related("Trying to enable webserver", config.get(WebserverSettings.INTERNAL_IP) + ":" + port).build());
+            stopBackend();
             enabled = false;
         }
     }
 
-    private boolean startHttpsServer() throws BindException {
-        String keyStorePath = config.get(WebserverSettings.CERTIFICATE_PATH);
-
-        if ("proxy".equalsIgnoreCase(keyStorePath)) {
-            return true;
+    private WebServerBackend createBackend() {
+        String implementation = config.get(WebserverSettings.IMPLEMENTATION);
+        if ("Jetty".equalsIgnoreCase(implementation)) {
+            return new JettyBackend(requestHandler, requestExecutor, addresses, liveFeed, config);
         }
+        return new JdkHttpServerBackend(requestHandler, requestExecutor, logger);
+    }
 
+    private SSLContext loadSSLContext(String keyStorePath) {
         try {
             if (!Paths.get(keyStorePath).isAbsolute()) {
                 keyStorePath = files.getDataFolder() + File.separator + keyStorePath;
@@ -195,7 +193,6 @@ public class WebServer implements SubSystem {
         char[] keypass = config.get(WebserverSettings.CERTIFICATE_KEYPASS).toCharArray();
         String alias = config.get(WebserverSettings.CERTIFICATE_ALIAS);
 
-        boolean startSuccessful = false;
         String keyStoreKind = keyStorePath.endsWith(".p12") ? "PKCS12" : "JKS";
         try (FileInputStream fIn = new FileInputStream(keyStorePath)) {
             KeyStore keystore = KeyStore.getInstance(keyStoreKind);
@@ -215,24 +212,9 @@ public class WebServer implements SubSystem {
             TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance("SunX509");
             trustManagerFactory.init(keystore);
 
-            server = HttpsServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
             SSLContext sslContext = SSLContext.getInstance("TLSv1.2");
             sslContext.init(keyManagerFactory.getKeyManagers(), null/*trustManagerFactory.getTrustManagers()*/, null);
-
-            ((HttpsServer) server).setHttpsConfigurator(new HttpsConfigurator(sslContext) {
-                @Override
-                public void configure(HttpsParameters params) {
-                    SSLEngine engine = sslContext.createSSLEngine();
-
-                    params.setNeedClientAuth(false);
-                    params.setCipherSuites(engine.getEnabledCipherSuites());
-                    params.setProtocols(engine.getEnabledProtocols());
-
-                    SSLParameters defaultSSLParameters = sslContext.getDefaultSSLParameters();
-                    params.setSSLParameters(defaultSSLParameters);
-                }
-            });
-            startSuccessful = true;
+            return sslContext;
         } catch (IllegalStateException e) {
             logger.error(e.getMessage());
         } catch (KeyManagementException | NoSuchAlgorithmException e) {
@@ -243,8 +225,6 @@ public class WebServer implements SubSystem {
         } catch (FileNotFoundException e) {
             logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_NO_CERT_FILE, keyStorePath));
             logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTP));
-        } catch (BindException e) {
-            throw e; // Pass to above error handler
         } catch (IOException e) {
             errorLogger.log(L.ERROR, e, ErrorContext.builder().related(config.get(WebserverSettings.INTERNAL_IP) + ":" + port).build());
         } catch (KeyStoreException | CertificateException | UnrecoverableKeyException e) {
@@ -253,7 +233,7 @@ public class WebServer implements SubSystem {
                     .whatToDo("Make sure the Certificate settings are correct / You can try remaking the keystore without -passin or -passout parameters.")
                     .related(keyStorePath).build());
         }
-        return startSuccessful;
+        return null;
     }
 
     /**
@@ -268,27 +248,18 @@ public class WebServer implements SubSystem {
      */
     @Override
     public void disable() {
-        if (server != null) {
-            shutdown();
+        if (backend != null) {
+            stopBackend();
             logger.info(locale.getString(PluginLang.DISABLED_WEB_SERVER));
         }
         enabled = false;
     }
 
-    private void shutdown() {
-        server.stop(0);
-        Executor executor = server.getExecutor();
-        if (executor instanceof ExecutorService) {
-            ExecutorService service = (ExecutorService) executor;
-            service.shutdown();
-            try {
-                if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
-                    service.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                logger.error("WebServer ExecutorService shutdown thread interrupted on disable: " + e.getMessage());
-                Thread.currentThread().interrupt();
-            }
+    private void stopBackend() {
+        liveFeed.stop();
+        if (backend != null) {
+            backend.stop();
+            backend = null;
         }
     }
 
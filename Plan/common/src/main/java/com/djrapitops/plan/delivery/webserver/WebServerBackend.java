@@ -0,0 +1,52 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Server implementation that receives the requests of the {@link WebServer} and passes them to {@link RequestHandler}.
+ *
+ * @author Rsl1122
+ */
+public interface WebServerBackend {
+
+    /**
+     * Start listening for requests.
+     *
+     * @param address    Address to bind to.
+     * @param backlog    Maximum number of connections waiting to be accepted.
+     * @param sslContext SSLContext to use for HTTPS, or null for HTTP.
+     * @throws java.net.BindException if the address could not be bound.
+     * @throws IOException            if the server could not be started.
+     */
+    void start(InetSocketAddress address, int backlog, SSLContext sslContext) throws IOException;
+
+    /**
+     * Get the port the server is listening on.
+     *
+     * @return port number.
+     */
+    int getPort();
+
+    /**
+     * Stop the server.
+     */
+    void stop();
+}
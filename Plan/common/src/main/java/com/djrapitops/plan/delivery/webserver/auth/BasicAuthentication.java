@@ -26,6 +26,7 @@ import com.djrapitops.plan.utilities.Base64Util;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * Authentication handling for Basic Auth.
@@ -47,6 +48,9 @@ public class BasicAuthentication implements Authentication {
 
     @Override
     public User getUser() {
+        Optional<User> verified = VerifiedCredentialCache.getUser(authenticationString);
+        if (verified.isPresent()) return verified.get();
+
         String decoded = Base64Util.decode(authenticationString);
 
         String[] userInfo = StringUtils.split(decoded, ':');
@@ -70,6 +74,7 @@ public class BasicAuthentication implements Authentication {
             if (!correctPass) {
                 throw new WebUserAuthException(FailReason.USER_PASS_MISMATCH, username);
             }
+            VerifiedCredentialCache.verified(authenticationString, user);
             return user;
         } catch (DBOpException | PassEncryptException e) {
             throw new WebUserAuthException(e);
@@ -0,0 +1,93 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.auth;
+
+import com.djrapitops.plan.delivery.domain.auth.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache for Basic authentication credentials that have been verified recently.
+ * <p>
+ * Verifying a password takes tens of milliseconds, so repeated requests by scripts with the same credentials
+ * are authenticated from this cache instead.
+ * The credentials are stored as a HMAC with a key that is random for each start, so the cache does not contain passwords.
+ *
+ * @author Rsl1122
+ */
+public class VerifiedCredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec KEY = generateKey();
+
+    private static final Cache<String, User> USERS_BY_CREDENTIALS = Caffeine.newBuilder()
+            .maximumSize(500)
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+
+    private VerifiedCredentialCache() {
+        // Static class
+    }
+
+    private static SecretKeySpec generateKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, ALGORITHM);
+    }
+
+    static String hash(String credentials) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(KEY);
+            byte[] hash = mac.doFinal(credentials.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            // Every Java platform is required to support HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Optional<User> getUser(String credentials) {
+        return Optional.ofNullable(USERS_BY_CREDENTIALS.getIfPresent(hash(credentials)));
+    }
+
+    public static void verified(String credentials, User user) {
+        USERS_BY_CREDENTIALS.put(hash(credentials), user);
+    }
+
+    /**
+     * Remove cached credentials of a user, so that a changed or removed user has to be verified again.
+     *
+     * @param username Name of the web user.
+     */
+    public static void invalidate(String username) {
+        USERS_BY_CREDENTIALS.asMap().values().removeIf(user -> user.getUsername().equals(username));
+    }
+
+    public static void invalidateAll() {
+        USERS_BY_CREDENTIALS.invalidateAll();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache for gzip compressed response bodies, identified by the ETag of the uncompressed body.
+ * <p>
+ * Content from {@link JSONCache} and static resources is registered here so that it is compressed only once,
+ * repeated requests are served the already compressed bytes.
+ *
+ * @author Rsl1122
+ */
+public class CompressedContentCache {
+
+    private static final Cache<String, byte[]> cache = Caffeine.newBuilder()
+            .maximumWeight(32L * 1024L * 1024L) // 32 MB
+            .weigher((String etag, byte[] compressed) -> compressed.length)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
+    private CompressedContentCache() {
+        // Static class
+    }
+
+    /**
+     * Set ETag header for a response and compress its body ahead of time if it is compressible.
+     *
+     * @param response Response with a successful status code.
+     * @return the ETag of the response body.
+     */
+    public static String register(Response response) {
+        byte[] bytes = response.getBytes();
+        String etag = etagOf(bytes);
+        response.getHeaders().put("ETag", etag);
+        if (isCompressible(response)) {
+            getGzipped(etag, bytes);
+        }
+        return etag;
+    }
+
+    /**
+     * Get gzip compressed body, compressing it if it is not cached.
+     *
+     * @param etag  ETag of the uncompressed body, given by {@link #etagOf(byte[])}.
+     * @param bytes Uncompressed body.
+     * @return gzip compressed body.
+     */
+    public static byte[] getGzipped(String etag, byte[] bytes) {
+        return cache.get(etag, key -> gzip(bytes));
+    }
+
+    /**
+     * Calculate a strong ETag for response body.
+     *
+     * @param bytes Response body.
+     * @return Quoted ETag, eg. "abc123"
+     */
+    public static String etagOf(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Check if the response body benefits from gzip compression.
+     * <p>
+     * Images and fonts other than ttf are already compressed.
+     *
+     * @param response Response to check.
+     * @return true if the Content-Type of the response is text based.
+     */
+    public static boolean isCompressible(Response response) {
+        String contentType = response.getHeaders().get("Content-Type");
+        if (contentType == null) return false;
+        return StringUtils.startsWithAny(contentType, "text/", MimeType.JSON, MimeType.JS, MimeType.FONT_TTF);
+    }
+
+    public static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public static void cleanUp() {
+        cache.cleanUp();
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.delivery.webserver.cache;
 
+import com.djrapitops.plan.delivery.rendering.json.JSONWritable;
 import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.webserver.resolver.json.RootJSONResolver;
@@ -23,123 +24,400 @@ import com.djrapitops.plan.storage.file.ResourceCache;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import org.apache.commons.lang3.StringUtils;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Cache for any JSON data sent via {@link RootJSONResolver}.
+ * <p>
+ * - Only one caller computes the value of a missing key, other callers wait for that result.
+ * - Invalidation marks entries stale instead of removing them, stale entries are served while a single background refresh runs.
+ * - Entries that are still in use are refreshed in the background after {@link #REFRESH_AFTER_MS}, before they expire.
+ * - Entries are keyed by DataID, server UUID and request parameters, and indexed by DataID and server for invalidation.
+ * - Size of the cached JSON is limited, least used entries are evicted first.
  *
  * @author Rsl1122
  */
 public class JSONCache {
 
-    private static final Cache<String, byte[]> cache = Caffeine.newBuilder()
+    static final long REFRESH_AFTER_MS = TimeUnit.MINUTES.toMillis(1L);
+
+    private static final Gson GSON = new Gson();
+
+    private static final Cache<Key, CachedJSON> cache = Caffeine.newBuilder()
+            .maximumWeight(64L * 1024L * 1024L) // 64 MB
+            .weigher((Key key, CachedJSON json) -> json.bytes.length)
             .expireAfterAccess(2, TimeUnit.MINUTES)
             .build();
+    private static final Map<Key, CompletableFuture<CachedJSON>> loading = new ConcurrentHashMap<>();
+    // Indexes for invalidation, keys of expired entries are pruned in cleanUp()
+    private static final Map<DataID, Set<Key>> keysByDataID = new EnumMap<>(DataID.class);
+    private static final Map<UUID, Set<Key>> keysByServer = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(2, 2,
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
+            new BasicThreadFactory.Builder()
+                    .namingPattern("Plan JSONCache-refresh-%d")
+                    .daemon(true)
+                    .build()
+    );
+
+    static {
+        refreshExecutor.allowCoreThreadTimeOut(true);
+        for (DataID dataID : DataID.values()) {
+            keysByDataID.put(dataID, ConcurrentHashMap.newKeySet());
+        }
+    }
 
     private JSONCache() {
         // Static class
     }
 
-    public static Response getOrCache(String identifier, Supplier<Response> jsonResponseSupplier) {
-        byte[] found = cache.getIfPresent(identifier);
-        if (found == null) {
+    private static Response getOrCacheResponse(Key key, Supplier<Response> jsonResponseSupplier) {
+        CachedJSON found = getOrLoad(key, () -> {
             Response response = jsonResponseSupplier.get();
-            cache.put(identifier, response.getBytes());
-            return response;
-        }
+            return new CachedJSON(response.getBytes(), CompressedContentCache.register(response));
+        });
         return Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setContent(found)
+                .setContent(found.bytes)
+                .setHeader("ETag", found.etag)
                 .build();
     }
 
     public static String getOrCacheString(DataID dataID, UUID serverUUID, Supplier<String> stringSupplier) {
-        String identifier = dataID.of(serverUUID);
-        byte[] found = cache.getIfPresent(identifier);
-        if (found == null) {
-            String result = stringSupplier.get();
-            cache.put(identifier, result.getBytes(StandardCharsets.UTF_8));
-            return result;
+        CachedJSON found = getOrLoad(new Key(dataID, serverUUID, null), () -> {
+            byte[] bytes = stringSupplier.get().getBytes(StandardCharsets.UTF_8);
+            return new CachedJSON(bytes, CompressedContentCache.etagOf(bytes));
+        });
+        return new String(found.bytes, StandardCharsets.UTF_8);
+    }
+
+    private static CachedJSON getOrLoad(Key key, Supplier<CachedJSON> loader) {
+        CachedJSON found = cache.getIfPresent(key);
+        if (found != null) {
+            hits.increment();
+            if (found.needsRefresh()) refreshInBackground(key, found, loader);
+            return found;
+        }
+        misses.increment();
+
+        CompletableFuture<CachedJSON> load = new CompletableFuture<>();
+        CompletableFuture<CachedJSON> alreadyLoading = loading.putIfAbsent(key, load);
+        if (alreadyLoading != null) return waitFor(alreadyLoading);
+        try {
+            // Another caller might have finished loading between the cache check and putIfAbsent.
+            CachedJSON loaded = cache.getIfPresent(key);
+            if (loaded == null) {
+                loaded = loader.get();
+                cache.put(key, loaded);
+                index(key);
+            }
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private static CachedJSON waitFor(CompletableFuture<CachedJSON> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private static void index(Key key) {
+        keysByDataID.get(key.dataID).add(key);
+        if (key.serverUUID != null) {
+            keysByServer.computeIfAbsent(key.serverUUID, uuid -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private static void refreshInBackground(Key key, CachedJSON entry, Supplier<CachedJSON> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) return; // Refresh already running
+
+        int invalidationsBeforeRefresh = entry.invalidations.get();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    CachedJSON refreshed = loader.get();
+                    if (entry.invalidations.get() != invalidationsBeforeRefresh) {
+                        // Invalidated during refresh, the refreshed value might already be out of date.
+                        refreshed.invalidations.incrementAndGet();
+                    }
+                    cache.asMap().replace(key, entry, refreshed);
+                } catch (RuntimeException e) {
+                    // Next caller loads the value again and receives the error.
+                    cache.asMap().remove(key, entry);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
         }
-        return new String(found, StandardCharsets.UTF_8);
     }
 
     public static <T> Response getOrCache(DataID dataID, Supplier<T> objectSupplier) {
-        return getOrCache(dataID.name(), () -> Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(objectSupplier.get())
-                .build());
+        return getOrCache(new Key(dataID, null, null), objectSupplier);
     }
 
     public static <T> Response getOrCache(DataID dataID, UUID serverUUID, Supplier<T> objectSupplier) {
-        return getOrCache(dataID.of(serverUUID), () -> Response.builder()
+        return getOrCache(new Key(dataID, serverUUID, null), objectSupplier);
+    }
+
+    /**
+     * Get or cache a JSON value that depends on request parameters.
+     * <p>
+     * Values with different parameters are invalidated together with the value of the same DataID and server.
+     *
+     * @param dataID         DataID of the value.
+     * @param serverUUID     UUID of the server the value is for, null for network values.
+     * @param params         Parameters that change the value, eg. "resolution=1000"
+     * @param objectSupplier Supplier of the object that is serialized into JSON.
+     * @param <T>            Type of the object.
+     * @return JSON Response.
+     */
+    public static <T> Response getOrCache(DataID dataID, UUID serverUUID, String params, Supplier<T> objectSupplier) {
+        return getOrCache(new Key(dataID, serverUUID, params), objectSupplier);
+    }
+
+    private static <T> Response getOrCache(Key key, Supplier<T> objectSupplier) {
+        return getOrCacheResponse(key, () -> Response.builder()
                 .setMimeType(MimeType.JSON)
-                .setJSONContent(objectSupplier.get())
+                .setContent(toJSONBytes(objectSupplier.get()))
                 .build());
     }
 
-    public static void invalidate(String identifier) {
-        cache.invalidate(identifier);
+    /**
+     * Encode a value into UTF-8 JSON bytes without building the JSON String first.
+     *
+     * @param value {@link JSONWritable}, String that is valid JSON, or an object to serialize with Gson.
+     * @return UTF-8 bytes of the JSON.
+     */
+    static byte[] toJSONBytes(Object value) {
+        if (value instanceof String) return ((String) value).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            if (value instanceof JSONWritable) {
+                ((JSONWritable) value).writeTo(writer);
+            } else if (value == null) {
+                writer.nullValue();
+            } else {
+                GSON.toJson(value, value.getClass(), writer);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Mark cached value as stale.
+     * <p>
+     * Stale value is still served while it is being refreshed.
+     *
+     * @param key Key of the cached value.
+     */
+    private static void invalidate(Key key) {
+        CachedJSON found = cache.getIfPresent(key);
+        if (found != null) {
+            found.invalidations.incrementAndGet();
+        }
     }
 
+    /**
+     * Invalidate network value of a DataID.
+     *
+     * @param dataID DataID of the value.
+     */
     public static void invalidate(DataID dataID) {
-        invalidate(dataID.name());
+        for (Key key : keysByDataID.get(dataID)) {
+            if (key.serverUUID == null) invalidate(key);
+        }
     }
 
     public static void invalidate(UUID serverUUID, DataID... dataIDs) {
+        Set<Key> keys = keysByServer.get(serverUUID);
+        if (keys == null) return;
         for (DataID dataID : dataIDs) {
-            invalidate(dataID.of(serverUUID));
+            invalidate(keys, dataID);
         }
     }
 
     public static void invalidate(DataID dataID, UUID serverUUID) {
-        invalidate(dataID.of(serverUUID));
+        Set<Key> keys = keysByServer.get(serverUUID);
+        if (keys == null) return;
+        invalidate(keys, dataID);
+    }
+
+    private static void invalidate(Set<Key> keysOfServer, DataID dataID) {
+        for (Key key : keysOfServer) {
+            if (key.dataID == dataID) invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidate all values of a server.
+     *
+     * @param serverUUID UUID of the server.
+     */
+    public static void invalidateMatching(UUID serverUUID) {
+        Set<Key> keys = keysByServer.get(serverUUID);
+        if (keys == null) return;
+        keys.forEach(JSONCache::invalidate);
     }
 
     public static void invalidateMatching(DataID... dataIDs) {
-        Set<String> toInvalidate = Arrays.stream(dataIDs)
-                .map(DataID::name)
-                .collect(Collectors.toSet());
-        for (String identifier : cache.asMap().keySet()) {
-            for (String identifierToInvalidate : toInvalidate) {
-                if (StringUtils.startsWith(identifier, identifierToInvalidate)) {
-                    invalidate(identifier);
-                }
-            }
+        for (DataID dataID : dataIDs) {
+            invalidateMatching(dataID);
         }
     }
 
+    /**
+     * Invalidate network and server values of a DataID.
+     *
+     * @param dataID DataID of the values.
+     */
     public static void invalidateMatching(DataID dataID) {
-        String toInvalidate = dataID.name();
-        for (String identifier : cache.asMap().keySet()) {
-            if (StringUtils.startsWith(identifier, toInvalidate)) {
-                invalidate(identifier);
-            }
-        }
+        keysByDataID.get(dataID).forEach(JSONCache::invalidate);
     }
 
     public static void invalidateAll() {
         cache.invalidateAll();
+        keysByDataID.values().forEach(Set::clear);
+        keysByServer.clear();
+        CompressedContentCache.invalidateAll();
     }
 
     public static void cleanUp() {
         cache.cleanUp();
+        Set<Key> cached = cache.asMap().keySet();
+        for (Set<Key> keys : keysByDataID.values()) {
+            keys.retainAll(cached);
+        }
+        for (Set<Key> keys : keysByServer.values()) {
+            keys.retainAll(cached);
+        }
+        // Keys cached while pruning might have been removed, index them again.
+        cached.forEach(JSONCache::index);
+        CompressedContentCache.cleanUp();
     }
 
+    /**
+     * Get the number of requests that were answered from the cache.
+     *
+     * @return Hits since the plugin was enabled.
+     */
+    public static long getHitCount() {
+        return hits.sum();
+    }
+
+    public static long getMissCount() {
+        return misses.sum();
+    }
+
+    public static long getEntryCount() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Get identifiers of cached values that have not been invalidated.
+     *
+     * @return Sorted list of identifiers.
+     */
     public static List<String> getCachedIDs() {
-        List<String> identifiers = new ArrayList<>(cache.asMap().keySet());
+        List<String> identifiers = new ArrayList<>();
+        for (Map.Entry<Key, CachedJSON> entry : cache.asMap().entrySet()) {
+            if (!entry.getValue().isStale()) identifiers.add(entry.getKey().toString());
+        }
         Collections.sort(identifiers);
         return identifiers;
     }
 
+    static final class Key {
+        private final DataID dataID;
+        private final UUID serverUUID;
+        private final String params;
+        private final int hash;
+
+        Key(DataID dataID, UUID serverUUID, String params) {
+            this.dataID = dataID;
+            this.serverUUID = serverUUID;
+            this.params = params;
+            hash = Objects.hash(dataID, serverUUID, params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return dataID == key.dataID &&
+                    Objects.equals(serverUUID, key.serverUUID) &&
+                    Objects.equals(params, key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            String identifier = serverUUID != null ? dataID.of(serverUUID) : dataID.name();
+            return params != null ? identifier + '?' + params : identifier;
+        }
+    }
+
+    private static class CachedJSON {
+        private final byte[] bytes;
+        private final String etag;
+        private final long createdAt;
+        private final AtomicInteger invalidations;
+        private final AtomicBoolean refreshing;
+
+        private CachedJSON(byte[] bytes, String etag) {
+            this.bytes = bytes;
+            this.etag = etag;
+            createdAt = System.currentTimeMillis();
+            invalidations = new AtomicInteger(0);
+            refreshing = new AtomicBoolean(false);
+        }
+
+        private boolean isStale() {
+            return invalidations.get() > 0;
+        }
+
+        private boolean needsRefresh() {
+            return isStale() || System.currentTimeMillis() - createdAt > REFRESH_AFTER_MS;
+        }
+    }
+
     @Singleton
     public static class CleanTask extends AbsRunnable {
 
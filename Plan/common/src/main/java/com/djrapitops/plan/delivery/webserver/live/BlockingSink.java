@@ -0,0 +1,99 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.live;
+
+import com.djrapitops.plan.utilities.java.ThrowingConsumer;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * {@link LiveConnection.Sink} for backends that can only write to a connection by blocking.
+ * <p>
+ * Writes run on the writer pool of {@link LiveFeed} and closing on a separate pool, so that a close is never queued
+ * behind writes that do not finish. Closing interrupts a write in progress, which closes an interruptible channel
+ * (the JDK HttpServer writes to a SocketChannel) and frees the writer thread.
+ *
+ * @author Rsl1122
+ */
+class BlockingSink implements LiveConnection.Sink {
+
+    private final Executor writers;
+    private final Executor closers;
+    private final ThrowingConsumer<byte[], IOException> output;
+    private final Runnable closeOutput;
+
+    // Guarded by this
+    private Thread writingThread;
+    private boolean closed;
+
+    BlockingSink(
+            Executor writers,
+            Executor closers,
+            ThrowingConsumer<byte[], IOException> output,
+            Runnable closeOutput
+    ) {
+        this.writers = writers;
+        this.closers = closers;
+        this.output = output;
+        this.closeOutput = closeOutput;
+    }
+
+    @Override
+    public void write(byte[] bytes, Consumer<Boolean> done) {
+        try {
+            writers.execute(() -> done.accept(writeBlocking(bytes)));
+        } catch (RejectedExecutionException poolIsFull) {
+            done.accept(false);
+        }
+    }
+
+    private boolean writeBlocking(byte[] bytes) {
+        synchronized (this) {
+            if (closed) return false;
+            writingThread = Thread.currentThread();
+        }
+        try {
+            output.accept(bytes);
+            return true;
+        } catch (IOException closedOrInterrupted) {
+            return false;
+        } finally {
+            synchronized (this) {
+                writingThread = null;
+            }
+            // The interrupt was meant for this write, not for the next task of the pool thread.
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            if (writingThread != null) writingThread.interrupt();
+        }
+        try {
+            closers.execute(closeOutput);
+        } catch (RejectedExecutionException feedStopped) {
+            closeOutput.run();
+        }
+    }
+}
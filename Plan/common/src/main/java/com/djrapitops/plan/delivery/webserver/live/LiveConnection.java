@@ -0,0 +1,134 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.live;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Server-Sent Events connection of {@link LiveFeed}.
+ * <p>
+ * Events wait in a bounded buffer while a previous write is in progress.
+ * A connection that is not read fast enough to stay within the buffer, or whose write does not finish within
+ * {@link LiveFeed#WRITE_TIMEOUT_MS}, is closed. Browsers reconnect automatically.
+ *
+ * @author Rsl1122
+ */
+public class LiveConnection {
+
+    private final Sink sink;
+    private final BlockingQueue<byte[]> buffer;
+    private final Runnable onClose;
+
+    private final AtomicBoolean writing;
+    private final AtomicBoolean closed;
+    private volatile long writeStarted;
+
+    LiveConnection(Sink sink, int bufferSize, Runnable onClose) {
+        this.sink = sink;
+        this.onClose = onClose;
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        writing = new AtomicBoolean(false);
+        closed = new AtomicBoolean(false);
+    }
+
+    /**
+     * Send an event, or add it to the buffer if a write is in progress.
+     *
+     * @param event Bytes of the event, eg. "event: join\ndata: {...}\n\n"
+     */
+    public void send(byte[] event) {
+        if (closed.get()) return;
+        if (!buffer.offer(event)) {
+            // The client is not keeping up.
+            close();
+            return;
+        }
+        flush();
+    }
+
+    private void flush() {
+        if (closed.get() || buffer.isEmpty() || !writing.compareAndSet(false, true)) return;
+
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        byte[] event;
+        while ((event = buffer.poll()) != null) {
+            pending.write(event, 0, event.length);
+        }
+        writeStarted = System.currentTimeMillis();
+        sink.write(pending.toByteArray(), this::written);
+    }
+
+    private void written(boolean success) {
+        writing.set(false);
+        if (success) {
+            // Events that arrived during the write
+            flush();
+        } else {
+            close();
+        }
+    }
+
+    /**
+     * Check if a write to this connection has been in progress for too long.
+     *
+     * @param now        Current epoch ms.
+     * @param timeoutMs  How long a write is allowed to take.
+     * @return true if the client has likely stopped reading.
+     */
+    boolean isWriteStalled(long now, long timeoutMs) {
+        return writing.get() && now - writeStarted > timeoutMs;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        buffer.clear();
+        try {
+            sink.close();
+        } finally {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Connection of a {@link com.djrapitops.plan.delivery.webserver.WebServerBackend} that the events are written to.
+     */
+    public interface Sink {
+
+        /**
+         * Write bytes to the connection.
+         * <p>
+         * Only one write is in progress at a time.
+         *
+         * @param bytes Bytes to write.
+         * @param done  Called with true when the bytes have been written, false if the connection failed.
+         */
+        void write(byte[] bytes, Consumer<Boolean> done);
+
+        /**
+         * Close the connection.
+         */
+        void close();
+    }
+}
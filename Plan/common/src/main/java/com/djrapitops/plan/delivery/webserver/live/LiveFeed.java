@@ -0,0 +1,399 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.live;
+
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.Session;
+import com.djrapitops.plan.gathering.domain.TPS;
+import com.djrapitops.plan.utilities.java.ThrowingConsumer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Pushes changes to online players and TPS to the Server-Sent Events connections of /v1/live.
+ * <p>
+ * - Changes are published to a queue and written to the connections by a single broadcaster thread.
+ * - Each connection has a bounded buffer, see {@link LiveConnection}.
+ * - Comment lines are sent periodically so that closed connections are noticed and idle connections are not timed out.
+ * - Backends that can only write blocking use small separate thread pools, see {@link #createBlockingSink},
+ * and a connection with a write that has not finished by the next comment line is closed, which interrupts the write.
+ * - Events are only serialized when there are connections for the server.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class LiveFeed {
+
+    public static final String MIME_TYPE = "text/event-stream";
+
+    static final int MAX_CONNECTIONS = 100;
+    static final int CONNECTION_BUFFER_SIZE = 64;
+    static final long POLL_INTERVAL_MS = TimeUnit.SECONDS.toMillis(5L);
+    static final long HEARTBEAT_INTERVAL_MS = TimeUnit.SECONDS.toMillis(15L);
+    static final long WRITE_TIMEOUT_MS = HEARTBEAT_INTERVAL_MS;
+    static final int BLOCKING_WRITER_THREADS = 4;
+    static final int BLOCKING_CLOSER_THREADS = 2;
+
+    private static final int QUEUE_SIZE = 1024;
+    private static final long RECONNECT_DELAY_MS = TimeUnit.SECONDS.toMillis(10L);
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final Gson GSON = new Gson();
+
+    private final Map<UUID, Set<LiveConnection>> connections;
+    private final AtomicInteger connectionCount;
+    private final BlockingQueue<Event> queue;
+    private final Map<UUID, byte[]> latestTPS;
+    private final Set<UUID> afkPlayers;
+    private final List<LongConsumer> pollTasks;
+    private final Cache<Response, UUID> preparedStreams;
+
+    private volatile Thread broadcaster;
+    private volatile ThreadPoolExecutor blockingWriters;
+    private volatile ThreadPoolExecutor blockingClosers;
+
+    @Inject
+    public LiveFeed() {
+        connections = new ConcurrentHashMap<>();
+        connectionCount = new AtomicInteger(0);
+        queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        latestTPS = new ConcurrentHashMap<>();
+        afkPlayers = ConcurrentHashMap.newKeySet();
+        pollTasks = new CopyOnWriteArrayList<>();
+        // Weak keys compare Responses by identity.
+        preparedStreams = Caffeine.newBuilder()
+                .weakKeys()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public synchronized void start() {
+        if (broadcaster != null) return;
+        broadcaster = new Thread(this::broadcast, "Plan Live Feed");
+        broadcaster.setDaemon(true);
+        broadcaster.start();
+        // Each connection has at most one write and one close in the queue at a time.
+        blockingWriters = blockingPool(BLOCKING_WRITER_THREADS, "Plan Live Feed Writer-%d");
+        blockingClosers = blockingPool(BLOCKING_CLOSER_THREADS, "Plan Live Feed Closer-%d");
+    }
+
+    private static ThreadPoolExecutor blockingPool(int threads, String namingPattern) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(MAX_CONNECTIONS * 2),
+                new BasicThreadFactory.Builder().namingPattern(namingPattern).daemon(true).build()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public synchronized void stop() {
+        if (broadcaster == null) return;
+        broadcaster.interrupt();
+        broadcaster = null;
+        for (Set<LiveConnection> ofServer : connections.values()) {
+            ofServer.forEach(LiveConnection::close);
+        }
+        // Closes queued above still run.
+        blockingWriters.shutdown();
+        blockingWriters = null;
+        blockingClosers.shutdown();
+        blockingClosers = null;
+        connections.clear();
+        queue.clear();
+        latestTPS.clear();
+        afkPlayers.clear();
+    }
+
+    public boolean isRunning() {
+        return broadcaster != null;
+    }
+
+    /**
+     * Add a task that the broadcaster thread runs every {@link #POLL_INTERVAL_MS}, for changes that are not events.
+     *
+     * @param task Task that is given the current epoch ms.
+     */
+    public void addPollTask(LongConsumer task) {
+        pollTasks.add(task);
+    }
+
+    public void playerJoined(UUID serverUUID, UUID playerUUID, long time) {
+        if (!hasConnections(serverUUID)) return;
+        Map<String, Object> data = new HashMap<>();
+        data.put("playerUUID", playerUUID);
+        data.put("time", time);
+        data.put("online", countOnline(serverUUID));
+        publish(serverUUID, event("join", data));
+    }
+
+    public void playerLeft(UUID serverUUID, UUID playerUUID, long time) {
+        afkPlayers.remove(playerUUID);
+        if (!hasConnections(serverUUID)) return;
+        Map<String, Object> data = new HashMap<>();
+        data.put("playerUUID", playerUUID);
+        data.put("time", time);
+        data.put("online", countOnline(serverUUID));
+        publish(serverUUID, event("leave", data));
+    }
+
+    public void afkChanged(UUID serverUUID, UUID playerUUID, boolean afk, long time) {
+        if (!isRunning()) return;
+        boolean changed = afk ? afkPlayers.add(playerUUID) : afkPlayers.remove(playerUUID);
+        if (!changed || !hasConnections(serverUUID)) return;
+        Map<String, Object> data = new HashMap<>();
+        data.put("playerUUID", playerUUID);
+        data.put("afk", afk);
+        data.put("time", time);
+        publish(serverUUID, event("afk", data));
+    }
+
+    public void tpsPoint(UUID serverUUID, TPS tps) {
+        if (!isRunning()) return;
+        Map<String, Object> data = new HashMap<>();
+        data.put("date", tps.getDate());
+        data.put("tps", tps.getTicksPerSecond());
+        data.put("players", tps.getPlayers());
+        data.put("cpu", tps.getCPUUsage());
+        data.put("ram", tps.getUsedMemory());
+        data.put("entities", tps.getEntityCount());
+        data.put("chunks", tps.getChunksLoaded());
+        data.put("disk", tps.getFreeDiskSpace());
+        byte[] event = event("tps", data);
+        // Sent to new connections so that they do not need to wait for the next minute.
+        latestTPS.put(serverUUID, event);
+        publish(serverUUID, event);
+    }
+
+    private boolean hasConnections(UUID serverUUID) {
+        return connections.containsKey(serverUUID);
+    }
+
+    private void publish(UUID serverUUID, byte[] event) {
+        if (!hasConnections(serverUUID)) return;
+        // Dropped if the broadcaster has fallen this far behind, connections would be closed for it anyway.
+        queue.offer(new Event(serverUUID, event));
+    }
+
+    private static int countOnline(UUID serverUUID) {
+        int online = 0;
+        for (Session session : SessionCache.getActiveSessions().values()) {
+            if (serverUUID.equals(session.getUnsafe(SessionKeys.SERVER_UUID))) online++;
+        }
+        return online;
+    }
+
+    static byte[] event(String name, Object data) {
+        return ("event: " + name + "\ndata: " + GSON.toJson(data) + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean canConnect() {
+        return isRunning() && connectionCount.get() < MAX_CONNECTIONS;
+    }
+
+    /**
+     * Create the Response that begins an event stream.
+     * <p>
+     * The {@link com.djrapitops.plan.delivery.webserver.WebServerBackend} keeps the connection of this Response open,
+     * see {@link #takePreparedStream(Response)}.
+     *
+     * @param serverUUID UUID of the server the events are for.
+     * @return Response with the currently online players (and latest TPS) as the first events.
+     */
+    public Response prepareStream(UUID serverUUID) {
+        Response response = Response.builder()
+                .setMimeType(MIME_TYPE)
+                .setHeader("Cache-Control", "no-cache")
+                .setContent(snapshot(serverUUID))
+                .build();
+        // The stream does not have a length and can not be requested in parts.
+        response.getHeaders().remove("Content-Length");
+        response.getHeaders().remove("Accept-Ranges");
+        preparedStreams.put(response, serverUUID);
+        return response;
+    }
+
+    private byte[] snapshot(UUID serverUUID) {
+        List<Map<String, Object>> players = new ArrayList<>();
+        for (Map.Entry<UUID, Session> online : SessionCache.getActiveSessions().entrySet()) {
+            Session session = online.getValue();
+            if (!serverUUID.equals(session.getUnsafe(SessionKeys.SERVER_UUID))) continue;
+            Map<String, Object> player = new HashMap<>();
+            player.put("playerUUID", online.getKey());
+            player.put("start", session.getUnsafe(SessionKeys.START));
+            player.put("afk", afkPlayers.contains(online.getKey()));
+            players.add(player);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("online", players.size());
+        data.put("players", players);
+        data.put("time", System.currentTimeMillis());
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        byte[] retry = ("retry: " + RECONNECT_DELAY_MS + "\n\n").getBytes(StandardCharsets.UTF_8);
+        byte[] online = event("online", data);
+        snapshot.write(retry, 0, retry.length);
+        snapshot.write(online, 0, online.length);
+        byte[] tps = latestTPS.get(serverUUID);
+        if (tps != null) snapshot.write(tps, 0, tps.length);
+        return snapshot.toByteArray();
+    }
+
+    /**
+     * Check if a Response should be kept open as an event stream.
+     *
+     * @param response Response given by the resolvers.
+     * @return UUID of the server to pass to {@link #connect(UUID, LiveConnection.Sink)}, empty for other responses.
+     */
+    public Optional<UUID> takePreparedStream(Response response) {
+        UUID serverUUID = preparedStreams.getIfPresent(response);
+        if (serverUUID != null) preparedStreams.invalidate(response);
+        return Optional.ofNullable(serverUUID);
+    }
+
+    /**
+     * Start sending events to a connection.
+     * <p>
+     * The body of the prepared Response should be sent with {@link LiveConnection#send(byte[])} after this.
+     *
+     * @param serverUUID UUID of the server the events are for.
+     * @param sink       The connection.
+     * @return Connection to send the body of the prepared Response to.
+     */
+    public LiveConnection connect(UUID serverUUID, LiveConnection.Sink sink) {
+        Set<LiveConnection> ofServer = connections.computeIfAbsent(serverUUID, key -> ConcurrentHashMap.newKeySet());
+        LiveConnection connection = new LiveConnection(sink, CONNECTION_BUFFER_SIZE, () -> disconnected(serverUUID));
+        connectionCount.incrementAndGet();
+        ofServer.add(connection);
+        return connection;
+    }
+
+    private void disconnected(UUID serverUUID) {
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(serverUUID, (key, ofServer) -> {
+            ofServer.removeIf(LiveConnection::isClosed);
+            return ofServer.isEmpty() ? null : ofServer;
+        });
+    }
+
+    /**
+     * Create a {@link LiveConnection.Sink} for a connection that can only be written to by blocking.
+     * <p>
+     * The writes run on a pool that is separate from the request threads of the webserver, so that clients that stop
+     * reading can not take the threads that answer other requests. Closing a stalled connection interrupts its write,
+     * so the close must not block on the stalled write.
+     *
+     * @param output      Writes and flushes the bytes, should throw an IOException when interrupted.
+     * @param closeOutput Closes the connection.
+     * @return Sink to pass to {@link #connect(UUID, LiveConnection.Sink)}.
+     */
+    public LiveConnection.Sink createBlockingSink(ThrowingConsumer<byte[], IOException> output, Runnable closeOutput) {
+        return new BlockingSink(runningPool(() -> blockingWriters), runningPool(() -> blockingClosers), output, closeOutput);
+    }
+
+    private static Executor runningPool(Supplier<ThreadPoolExecutor> pool) {
+        return task -> {
+            ThreadPoolExecutor running = pool.get();
+            if (running == null) throw new RejectedExecutionException("Live feed is not running");
+            running.execute(task);
+        };
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private void broadcast() {
+        long lastPoll = 0;
+        long lastHeartbeat = System.currentTimeMillis();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Event event = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                while (event != null) {
+                    sendToConnections(event.serverUUID, event.bytes);
+                    event = queue.poll();
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastPoll >= POLL_INTERVAL_MS) {
+                    lastPoll = now;
+                    runPollTasks(now);
+                }
+                if (now - lastHeartbeat >= HEARTBEAT_INTERVAL_MS) {
+                    lastHeartbeat = now;
+                    sendHeartbeat(now);
+                }
+            }
+        } catch (InterruptedException stopped) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendToConnections(UUID serverUUID, byte[] bytes) {
+        Set<LiveConnection> ofServer = connections.get(serverUUID);
+        if (ofServer == null) return;
+        for (LiveConnection connection : ofServer) {
+            connection.send(bytes);
+        }
+    }
+
+    void sendHeartbeat(long now) {
+        for (Set<LiveConnection> ofServer : connections.values()) {
+            for (LiveConnection connection : ofServer) {
+                if (connection.isWriteStalled(now, WRITE_TIMEOUT_MS)) {
+                    connection.close();
+                } else {
+                    connection.send(HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    private void runPollTasks(long time) {
+        for (LongConsumer task : pollTasks) {
+            try {
+                task.accept(time);
+            } catch (RuntimeException e) {
+                // A failing task must not stop the events of other tasks, it is tried again on the next poll.
+            }
+        }
+    }
+
+    private static class Event {
+        private final UUID serverUUID;
+        private final byte[] bytes;
+
+        Event(UUID serverUUID, byte[] bytes) {
+            this.serverUUID = serverUUID;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prometheus histogram with fixed buckets.
+ * <p>
+ * Observing a value only increments counters, so it can be done on hot paths.
+ *
+ * @author Rsl1122
+ */
+public class Histogram {
+
+    private final double[] upperBounds;
+    private final LongAdder[] buckets; // Last bucket is for values above the highest bound
+    private final DoubleAdder sum;
+
+    /**
+     * Create a new Histogram.
+     *
+     * @param upperBounds Upper bounds of the buckets in ascending order, +Inf bucket is added automatically.
+     */
+    public Histogram(double... upperBounds) {
+        this.upperBounds = Arrays.copyOf(upperBounds, upperBounds.length);
+        Arrays.sort(this.upperBounds);
+        buckets = new LongAdder[upperBounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        sum = new DoubleAdder();
+    }
+
+    public void observe(double value) {
+        // Buckets are not cumulative here, they are summed when rendering
+        int bucket = Arrays.binarySearch(upperBounds, value);
+        if (bucket < 0) bucket = -bucket - 1;
+        buckets[bucket].increment();
+        sum.add(value);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Write the samples of this histogram in Prometheus text format.
+     *
+     * @param name Name of the metric.
+     * @param out  Output to append to.
+     */
+    void writeTo(String name, StringBuilder out) {
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{le=\"").append(PlanMetrics.format(upperBounds[i])).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[upperBounds.length].sum();
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum ").append(PlanMetrics.format(sum.sum())).append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.metrics;
+
+import com.djrapitops.plan.delivery.export.ExportQueue;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
+import com.djrapitops.plan.delivery.webserver.RequestExecutor;
+import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.TPS;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.utilities.Predicates;
+import dagger.Lazy;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the server and of Plan itself, rendered in Prometheus text format for /metrics.
+ * <p>
+ * Values are recorded as they happen or read from objects that are already in memory,
+ * so rendering does not query the database.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class PlanMetrics {
+
+    public static final String MIME_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final DBSystem dbSystem;
+    private final Processing processing;
+    private final RequestExecutor requestExecutor;
+    private final LiveFeed liveFeed;
+    private final Lazy<ExportQueue> exportQueue;
+    private final Lazy<PlayerExportDebouncer> playerExportDebouncer;
+
+    private final AtomicReference<TPS> latestTPS;
+    private final Histogram ping;
+    private final Histogram requestDuration;
+    private final LongAdder[] responsesByStatusClass;
+
+    @Inject
+    public PlanMetrics(
+            DBSystem dbSystem,
+            Processing processing,
+            RequestExecutor requestExecutor,
+            LiveFeed liveFeed,
+            Lazy<ExportQueue> exportQueue,
+            Lazy<PlayerExportDebouncer> playerExportDebouncer
+    ) {
+        this.dbSystem = dbSystem;
+        this.processing = processing;
+        this.requestExecutor = requestExecutor;
+        this.liveFeed = liveFeed;
+        this.exportQueue = exportQueue;
+        this.playerExportDebouncer = playerExportDebouncer;
+
+        latestTPS = new AtomicReference<>();
+        ping = new Histogram(25, 50, 75, 100, 150, 200, 300, 500, 1000, 2000);
+        requestDuration = new Histogram(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10);
+        responsesByStatusClass = new LongAdder[5];
+        for (int i = 0; i < responsesByStatusClass.length; i++) {
+            responsesByStatusClass[i] = new LongAdder();
+        }
+    }
+
+    public void recordTPS(TPS tps) {
+        latestTPS.set(tps);
+    }
+
+    public void recordPing(int pingMs) {
+        if (Predicates.pingInRange(pingMs)) ping.observe(pingMs);
+    }
+
+    /**
+     * Record a request handled by the webserver.
+     *
+     * @param durationNs How long it took to respond, including waiting for a permit, in nanoseconds.
+     * @param statusCode Status code of the response.
+     */
+    public void recordRequest(long durationNs, int statusCode) {
+        requestDuration.observe(durationNs / (double) TimeUnit.SECONDS.toNanos(1L));
+        int statusClass = statusCode / 100 - 1;
+        if (statusClass >= 0 && statusClass < responsesByStatusClass.length) {
+            responsesByStatusClass[statusClass].increment();
+        }
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "plan_players_online", "gauge", "Players online on this server.");
+        sample(out, "plan_players_online", null, SessionCache.getActiveSessionCount());
+
+        TPS tps = latestTPS.get();
+        if (tps != null) {
+            writeTPS(out, tps);
+        }
+
+        header(out, "plan_player_ping_milliseconds", "histogram", "Ping of online players.");
+        ping.writeTo("plan_player_ping_milliseconds", out);
+
+        Database database = dbSystem.getDatabase();
+        if (database instanceof SQLDB) {
+            header(out, "plan_database_transactions_pending", "gauge", "Transactions waiting for or being executed by the transaction thread.");
+            sample(out, "plan_database_transactions_pending", null, ((SQLDB) database).getPendingTransactionCount());
+        }
+
+        writeProcessingPools(out);
+        writeExport(out);
+        writeJSONCache(out);
+        writeWebServer(out);
+        return out.toString();
+    }
+
+    private void writeTPS(StringBuilder out, TPS tps) {
+        header(out, "plan_tps_sample_timestamp_seconds", "gauge", "Time of the latest TPS sample, the values below are averages of the minute before it.");
+        sample(out, "plan_tps_sample_timestamp_seconds", null, TimeUnit.MILLISECONDS.toSeconds(tps.getDate()));
+        // Proxies do not have TPS, entities or chunks, those are stored as -1.
+        if (tps.getTicksPerSecond() >= 0) {
+            header(out, "plan_tps", "gauge", "Ticks per second.");
+            sample(out, "plan_tps", null, tps.getTicksPerSecond());
+        }
+        if (tps.getCPUUsage() >= 0) {
+            header(out, "plan_cpu_usage_percent", "gauge", "CPU usage of the server process.");
+            sample(out, "plan_cpu_usage_percent", null, tps.getCPUUsage());
+        }
+        header(out, "plan_ram_used_megabytes", "gauge", "Memory used by the server.");
+        sample(out, "plan_ram_used_megabytes", null, tps.getUsedMemory());
+        if (tps.getEntityCount() >= 0) {
+            header(out, "plan_entities", "gauge", "Loaded entities.");
+            sample(out, "plan_entities", null, tps.getEntityCount());
+        }
+        if (tps.getChunksLoaded() >= 0) {
+            header(out, "plan_chunks_loaded", "gauge", "Loaded chunks.");
+            sample(out, "plan_chunks_loaded", null, tps.getChunksLoaded());
+        }
+        if (tps.getFreeDiskSpace() >= 0) {
+            header(out, "plan_disk_free_megabytes", "gauge", "Free disk space.");
+            sample(out, "plan_disk_free_megabytes", null, tps.getFreeDiskSpace());
+        }
+    }
+
+    private void writeProcessingPools(StringBuilder out) {
+        ExecutorService[] pools = {processing.getCriticalExecutor(), processing.getNonCriticalExecutor()};
+        String[] labels = {"pool=\"critical\"", "pool=\"non_critical\""};
+
+        header(out, "plan_processing_threads_active", "gauge", "Threads executing tasks in a processing pool.");
+        for (int i = 0; i < pools.length; i++) {
+            if (pools[i] instanceof ThreadPoolExecutor) {
+                sample(out, "plan_processing_threads_active", labels[i], ((ThreadPoolExecutor) pools[i]).getActiveCount());
+            }
+        }
+        header(out, "plan_processing_threads_max", "gauge", "Maximum size of a processing pool.");
+        for (int i = 0; i < pools.length; i++) {
+            if (pools[i] instanceof ThreadPoolExecutor) {
+                sample(out, "plan_processing_threads_max", labels[i], ((ThreadPoolExecutor) pools[i]).getMaximumPoolSize());
+            }
+        }
+        header(out, "plan_processing_tasks_queued", "gauge", "Tasks waiting for a thread in a processing pool.");
+        for (int i = 0; i < pools.length; i++) {
+            if (pools[i] instanceof ThreadPoolExecutor) {
+                sample(out, "plan_processing_tasks_queued", labels[i], ((ThreadPoolExecutor) pools[i]).getQueue().size());
+            }
+        }
+    }
+
+    private void writeExport(StringBuilder out) {
+        header(out, "plan_export_threads_active", "gauge", "Threads performing exports.");
+        sample(out, "plan_export_threads_active", null, exportQueue.get().getActiveCount());
+        header(out, "plan_export_tasks_queued", "gauge", "Exports waiting for an export thread.");
+        sample(out, "plan_export_tasks_queued", null, exportQueue.get().getQueueLength());
+        header(out, "plan_export_players_pending", "gauge", "Players waiting for their page to be exported after login or logout.");
+        sample(out, "plan_export_players_pending", null, playerExportDebouncer.get().getQueueLength());
+    }
+
+    private void writeJSONCache(StringBuilder out) {
+        header(out, "plan_json_cache_requests_total", "counter", "JSON requests answered from cache (hit) or by creating the JSON (miss).");
+        sample(out, "plan_json_cache_requests_total", "result=\"hit\"", JSONCache.getHitCount());
+        sample(out, "plan_json_cache_requests_total", "result=\"miss\"", JSONCache.getMissCount());
+        header(out, "plan_json_cache_entries", "gauge", "JSON documents in cache.");
+        sample(out, "plan_json_cache_entries", null, JSONCache.getEntryCount());
+    }
+
+    private void writeWebServer(StringBuilder out) {
+        header(out, "plan_webserver_requests_active", "gauge", "Requests being handled.");
+        sample(out, "plan_webserver_requests_active", null, requestExecutor.getActiveCount());
+        header(out, "plan_webserver_requests_queued", "gauge", "Requests waiting for a thread.");
+        sample(out, "plan_webserver_requests_queued", null, requestExecutor.getQueuedCount());
+        header(out, "plan_webserver_requests_rejected_total", "counter", "Requests answered with 503 since the webserver was enabled.");
+        sample(out, "plan_webserver_requests_rejected_total", null, requestExecutor.getRejectedCount());
+
+        header(out, "plan_webserver_responses_total", "counter", "Responses by status code class.");
+        for (int i = 0; i < responsesByStatusClass.length; i++) {
+            sample(out, "plan_webserver_responses_total", "code=\"" + (i + 1) + "xx\"", responsesByStatusClass[i].sum());
+        }
+        header(out, "plan_webserver_request_duration_seconds", "histogram", "Time taken to respond to requests, including 503 responses.");
+        requestDuration.writeTo("plan_webserver_request_duration_seconds", out);
+
+        header(out, "plan_live_feed_connections", "gauge", "Open /v1/live event streams.");
+        sample(out, "plan_live_feed_connections", null, liveFeed.getConnectionCount());
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) out.append('{').append(labels).append('}');
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -40,6 +40,13 @@ import java.util.UUID;
 @Singleton
 public class GraphsJSONResolver implements Resolver {
 
+    /**
+     * Resolutions that graphs are downsampled to, the 'resolution' parameter is rounded up to one of these.
+     * <p>
+     * Each is cached separately, so there are only a few.
+     */
+    static final int[] RESOLUTIONS = {500, 1000, 2000, 4000};
+
     private final Identifiers identifiers;
     private final GraphJSONCreator graphJSON;
 
@@ -64,6 +71,7 @@ public class GraphsJSONResolver implements Resolver {
      * @return JSON response.
      * @throws BadRequestException If 'type' parameter is not defined or supported.
      * @throws BadRequestException If 'server' parameter is not defined or server is not found in database.
+     * @throws BadRequestException If 'resolution' parameter is not a positive number.
      */
     @Override
     public Optional<Response> resolve(Request request) {
@@ -78,12 +86,47 @@ public class GraphsJSONResolver implements Resolver {
 
         if (request.getQuery().get("server").isPresent()) {
             UUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
-            return JSONCache.getOrCache(dataID, serverUUID, () -> generateGraphDataJSONOfType(dataID, serverUUID));
+            int resolution = getResolution(request);
+            if (resolution > 0 && isDownsampled(dataID)) {
+                return JSONCache.getOrCache(dataID, serverUUID, "resolution=" + resolution,
+                        () -> generateGraphDataJSONOfType(dataID, serverUUID, resolution));
+            }
+            return JSONCache.getOrCache(dataID, serverUUID, () -> generateGraphDataJSONOfType(dataID, serverUUID, 0));
         }
         // Assume network
         return JSONCache.getOrCache(dataID, () -> generateGraphDataJSONOfType(dataID));
     }
 
+    /**
+     * Get the number of points line graphs should be downsampled to.
+     * <p>
+     * The value is rounded up to one of {@link #RESOLUTIONS} so that screens of different size share the cached value.
+     *
+     * @param request Request with optional 'resolution' parameter.
+     * @return Number of points, or 0 if all points should be returned.
+     * @throws BadRequestException If the parameter is not a positive number.
+     */
+    static int getResolution(Request request) {
+        Optional<String> parameter = request.getQuery().get("resolution");
+        if (!parameter.isPresent()) return 0;
+        try {
+            int resolution = Integer.parseInt(parameter.get());
+            if (resolution <= 0) {
+                throw new BadRequestException("'resolution' parameter should be a positive number, was: " + resolution);
+            }
+            for (int bucket : RESOLUTIONS) {
+                if (resolution <= bucket) return bucket;
+            }
+            return RESOLUTIONS[RESOLUTIONS.length - 1];
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("'resolution' parameter was not a number: " + parameter.get());
+        }
+    }
+
+    private boolean isDownsampled(DataID dataID) {
+        return dataID == DataID.GRAPH_PERFORMANCE || dataID == DataID.GRAPH_ONLINE || dataID == DataID.GRAPH_PING;
+    }
+
     private DataID getDataID(String type) {
         switch (type) {
             case "performance":
@@ -113,12 +156,12 @@ public class GraphsJSONResolver implements Resolver {
         }
     }
 
-    private Object generateGraphDataJSONOfType(DataID id, UUID serverUUID) {
+    private Object generateGraphDataJSONOfType(DataID id, UUID serverUUID, int resolution) {
         switch (id) {
             case GRAPH_PERFORMANCE:
-                return graphJSON.performanceGraphJSON(serverUUID);
+                return graphJSON.performanceGraphJSON(serverUUID, resolution);
             case GRAPH_ONLINE:
-                return graphJSON.playersOnlineGraph(serverUUID);
+                return graphJSON.playersOnlineGraph(serverUUID, resolution);
             case GRAPH_UNIQUE_NEW:
                 return graphJSON.uniqueAndNewGraphJSON(serverUUID);
             case GRAPH_HOURLY_UNIQUE_NEW:
@@ -132,7 +175,7 @@ public class GraphsJSONResolver implements Resolver {
             case GRAPH_WORLD_MAP:
                 return graphJSON.geolocationGraphsJSONAsMap(serverUUID);
             case GRAPH_PING:
-                return graphJSON.pingGraphsJSON(serverUUID);
+                return graphJSON.pingGraphsJSON(serverUUID, resolution);
             case GRAPH_PUNCHCARD:
                 return graphJSON.punchCardJSONAsMap(serverUUID);
             default:
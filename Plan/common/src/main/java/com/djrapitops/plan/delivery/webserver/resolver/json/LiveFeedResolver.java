@@ -0,0 +1,77 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.ResponseFactory;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.identification.Identifiers;
+import com.djrapitops.plan.identification.ServerInfo;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves /v1/live?server= Server-Sent Events stream of online players and TPS.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class LiveFeedResolver implements Resolver {
+
+    private final Identifiers identifiers;
+    private final ServerInfo serverInfo;
+    private final LiveFeed liveFeed;
+    private final ResponseFactory responseFactory;
+
+    @Inject
+    public LiveFeedResolver(
+            Identifiers identifiers,
+            ServerInfo serverInfo,
+            LiveFeed liveFeed,
+            ResponseFactory responseFactory
+    ) {
+        this.identifiers = identifiers;
+        this.serverInfo = serverInfo;
+        this.liveFeed = liveFeed;
+        this.responseFactory = responseFactory;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return request.getUser().orElse(new WebUser("")).hasPermission("page.server");
+    }
+
+    @Override
+    public Optional<Response> resolve(Request request) {
+        UUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+        if (!serverInfo.getServerUUID().equals(serverUUID)) {
+            // Sessions and TPS of other servers are not seen by this server.
+            throw new NotFoundException("Live feed is only available for the server running this webserver");
+        }
+        if (!liveFeed.canConnect()) {
+            return Optional.of(responseFactory.serviceUnavailable503());
+        }
+        return Optional.of(liveFeed.prepareStream(serverUUID));
+    }
+}
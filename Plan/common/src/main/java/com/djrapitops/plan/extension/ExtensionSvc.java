@@ -198,9 +198,6 @@ public class ExtensionSvc implements ExtensionService {
         for (ProviderValueGatherer gatherer : extensionGatherers.values()) {
             updateServerValues(gatherer, event);
         }
-        UUID serverUUID = serverInfo.getServerUUID();
-        JSONCache.invalidate(DataID.EXTENSION_NAV, serverUUID);
-        JSONCache.invalidate(DataID.EXTENSION_TABS, serverUUID);
     }
 
     public void updateServerValues(ProviderValueGatherer gatherer, CallEvents event) {
@@ -211,6 +208,11 @@ public class ExtensionSvc implements ExtensionService {
 
             gatherer.updateValues();
 
+            // Also registration and manual updates change the extension tabs of the server page.
+            UUID serverUUID = serverInfo.getServerUUID();
+            JSONCache.invalidate(DataID.EXTENSION_NAV, serverUUID);
+            JSONCache.invalidate(DataID.EXTENSION_TABS, serverUUID);
+
             logger.getDebugLogger().logOn(DebugChannels.DATA_EXTENSIONS, "Gathering completed for server");
         } catch (DataExtensionMethodCallException methodCallFailed) {
             logFailure("server", methodCallFailed);
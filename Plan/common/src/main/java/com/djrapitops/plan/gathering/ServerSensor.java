@@ -55,4 +55,19 @@ public interface ServerSensor<W> {
     default int getEntityCount(W world) {
         return -1;
     }
+
+    /**
+     * Count entities in a part of the loaded chunks of a world.
+     * <p>
+     * Allows counting the entities of a large world over multiple pulses.
+     * By default the whole world is counted as the first part.
+     *
+     * @param world World to count entities of.
+     * @param part  Part to count, from 0 to parts - 1.
+     * @param parts How many parts the loaded chunks are split into.
+     * @return Entity count of the part, -1 if the platform doesn't count entities.
+     */
+    default int getEntityCount(W world, int part, int parts) {
+        return part == 0 ? getEntityCount(world) : 0;
+    }
 }
@@ -16,11 +16,16 @@
  */
 package com.djrapitops.plan.gathering.afk;
 
+import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Keeps track how long player has been afk during a session
@@ -31,13 +36,30 @@ public class AFKTracker {
 
     private final Set<UUID> usedAFKCommand;
     private final Map<UUID, Long> lastMovement;
+    private final Set<UUID> afk;
     private final PlanConfig config;
     private Long afkThresholdMs;
+    private volatile LiveFeed liveFeed;
 
     public AFKTracker(PlanConfig config) {
         this.config = config;
-        usedAFKCommand = new HashSet<>();
-        lastMovement = new HashMap<>();
+        // Concurrent, since AFK is also checked on the broadcaster thread of LiveFeed
+        usedAFKCommand = ConcurrentHashMap.newKeySet();
+        lastMovement = new ConcurrentHashMap<>();
+        afk = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Publish AFK state changes to a LiveFeed.
+     * <p>
+     * The tracker outlives /reload, so the LiveFeed of the reloaded plugin replaces the previous one.
+     *
+     * @param liveFeed LiveFeed of the plugin.
+     */
+    public synchronized void setLiveFeed(LiveFeed liveFeed) {
+        if (this.liveFeed == liveFeed) return;
+        this.liveFeed = liveFeed;
+        liveFeed.addPollTask(this::checkAFK);
     }
 
     public long getAfkThreshold() {
@@ -54,6 +76,30 @@ public class AFKTracker {
     public void usedAfkCommand(UUID uuid, long time) {
         usedAFKCommand.add(uuid);
         lastMovement.put(uuid, time - getAfkThreshold());
+        afkChanged(uuid, true, time);
+    }
+
+    /**
+     * Notice players that have not performed actions within the AFK threshold.
+     *
+     * @param time Current epoch ms.
+     */
+    void checkAFK(long time) {
+        for (Map.Entry<UUID, Long> entry : lastMovement.entrySet()) {
+            long lastMoved = entry.getValue();
+            if (lastMoved != -1 && time - lastMoved > getAfkThreshold()) {
+                afkChanged(entry.getKey(), true, time);
+            }
+        }
+    }
+
+    private void afkChanged(UUID uuid, boolean isAfk, long time) {
+        boolean changed = isAfk ? afk.add(uuid) : afk.remove(uuid);
+        LiveFeed feed = liveFeed;
+        if (!changed || feed == null) return;
+        SessionCache.getCachedSession(uuid).ifPresent(
+                session -> feed.afkChanged(session.getUnsafe(SessionKeys.SERVER_UUID), uuid, isAfk, time)
+        );
     }
 
     public void performedAction(UUID uuid, long time) {
@@ -70,6 +116,7 @@ public class AFKTracker {
                 return;
             }
 
+            afkChanged(uuid, false, time);
             long removeAfkCommandEffect = usedAFKCommand.contains(uuid) ? getAfkThreshold() : 0;
             long timeAFK = time - lastMoved - removeAfkCommandEffect;
 
@@ -84,6 +131,7 @@ public class AFKTracker {
         performedAction(uuid, time);
         lastMovement.remove(uuid);
         usedAFKCommand.remove(uuid);
+        afk.remove(uuid);
     }
 
     public boolean isAfk(UUID uuid) {
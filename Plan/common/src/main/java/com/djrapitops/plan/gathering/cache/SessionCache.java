@@ -17,6 +17,7 @@
 package com.djrapitops.plan.gathering.cache;
 
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.domain.Session;
 
 import javax.inject.Inject;
@@ -34,9 +35,11 @@ public class SessionCache {
 
     private static final Map<UUID, Session> ACTIVE_SESSIONS = new ConcurrentHashMap<>();
 
+    private final LiveFeed liveFeed;
+
     @Inject
-    public SessionCache() {
-        // Dagger requires empty inject constructor
+    public SessionCache(LiveFeed liveFeed) {
+        this.liveFeed = liveFeed;
     }
 
     public static Map<UUID, Session> getActiveSessions() {
@@ -44,6 +47,10 @@ public class SessionCache {
         return Collections.unmodifiableMap(new HashMap<>(ACTIVE_SESSIONS));
     }
 
+    public static int getActiveSessionCount() {
+        return ACTIVE_SESSIONS.size();
+    }
+
     public static void clear() {
         ACTIVE_SESSIONS.clear();
     }
@@ -77,6 +84,7 @@ public class SessionCache {
             inProgress = endSession(playerUUID, session.getUnsafe(SessionKeys.START));
         }
         ACTIVE_SESSIONS.put(playerUUID, session);
+        liveFeed.playerJoined(session.getUnsafe(SessionKeys.SERVER_UUID), playerUUID, session.getUnsafe(SessionKeys.START));
         return inProgress;
     }
 
@@ -94,6 +102,7 @@ public class SessionCache {
         }
         ACTIVE_SESSIONS.remove(playerUUID);
         session.endSession(time);
+        liveFeed.playerLeft(session.getUnsafe(SessionKeys.SERVER_UUID), playerUUID, time);
         return Optional.of(session);
     }
 }
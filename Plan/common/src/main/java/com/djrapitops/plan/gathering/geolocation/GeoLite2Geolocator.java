@@ -20,6 +20,7 @@ import com.djrapitops.plan.exceptions.PreparationException;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CountryResponse;
@@ -34,11 +35,15 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.InetAddress;
 import java.net.URL;
+import java.net.UnknownHostException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -46,6 +51,10 @@ import java.util.zip.GZIPInputStream;
  * <p>
  * This product includes GeoLite2 data created by MaxMind, available from
  * <a href="http://www.maxmind.com">http://www.maxmind.com</a>.
+ * <p>
+ * The database is kept open (memory mapped) between lookups, and swapped when {@link #prepare()} downloads a new one.
+ * The previous database is closed after the lookups that were using it have finished.
+ * If a new database can not be downloaded, the old one is used until it is {@link #MAX_AGE_DAYS} days old.
  *
  * @author Rsl1122
  * @see <a href="http://maxmind.com">http://maxmind.com</a>
@@ -53,15 +62,21 @@ import java.util.zip.GZIPInputStream;
 @Singleton
 public class GeoLite2Geolocator implements Geolocator {
 
+    static final long REFRESH_AGE_DAYS = 7L;
+    static final long MAX_AGE_DAYS = 30L;
+
     private final PlanFiles files;
     private final PlanConfig config;
 
     private File geolocationDB;
+    private final AtomicReference<OpenDatabase> database;
 
     @Inject
     public GeoLite2Geolocator(PlanFiles files, PlanConfig config) {
         this.files = files;
         this.config = config;
+
+        database = new AtomicReference<>();
     }
 
     @Override
@@ -73,20 +88,69 @@ public class GeoLite2Geolocator implements Geolocator {
 
         geolocationDB = files.getFileFromPluginFolder("GeoLite2-Country.mmdb");
 
-        if (geolocationDB.exists()) {
-            if (geolocationDB.lastModified() >= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(7L)) {
-                return; // Database is new enough
-            } else {
+        if (geolocationDB.exists() && isYoungerThan(geolocationDB, REFRESH_AGE_DAYS)) {
+            if (database.get() == null) swapDatabase(openReader(geolocationDB));
+            return; // Database is new enough
+        }
+
+        File downloadTo = new File(geolocationDB.getParentFile(), geolocationDB.getName() + ".download");
+        try {
+            downloadDatabase(downloadTo);
+        } catch (IOException failedDownload) {
+            Files.deleteIfExists(downloadTo.toPath());
+            if (geolocationDB.exists() && isYoungerThan(geolocationDB, MAX_AGE_DAYS)) {
+                if (database.get() == null) swapDatabase(openReader(geolocationDB)); // Old database can still be used
+            } else if (geolocationDB.exists()) {
+                close();
                 Files.delete(geolocationDB.toPath()); // Delete old data according to restriction 3. in EULA
             }
+            throw failedDownload;
         }
+        // Replace the file only after a successful download to avoid a no-file situation
+        Files.move(downloadTo.toPath(), geolocationDB.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        swapDatabase(openReader(geolocationDB));
 
-        downloadDatabase();
         // Delete old Geolocation database file if it still exists (on success to avoid a no-file situation)
         Files.deleteIfExists(files.getFileFromPluginFolder("GeoIP.dat").toPath());
     }
 
-    private void downloadDatabase() throws IOException {
+    private boolean isYoungerThan(File file, long days) {
+        return file.lastModified() >= System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+    }
+
+    /**
+     * Check if a database is open for lookups.
+     *
+     * @return false if the database has not been downloaded, or was deleted after failing to refresh it.
+     */
+    public boolean isOpen() {
+        return database.get() != null;
+    }
+
+    private DatabaseReader openReader(File database) throws IOException {
+        // See https://github.com/maxmind/MaxMind-DB-Reader-java#file-lock-on-windows
+        // for why the database is read to memory on Windows instead.
+        boolean windows = System.getProperty("os.name", "").toLowerCase().contains("win");
+        return new DatabaseReader.Builder(database)
+                .fileMode(windows ? Reader.FileMode.MEMORY : Reader.FileMode.MEMORY_MAPPED)
+                .build();
+    }
+
+    private void swapDatabase(DatabaseReader newReader) {
+        OpenDatabase previous = database.getAndSet(new OpenDatabase(newReader));
+        if (previous != null) previous.retire();
+    }
+
+    private OpenDatabase startLookup() {
+        while (true) {
+            OpenDatabase open = database.get();
+            if (open == null) throw new UncheckedIOException(new IOException("GeoLite2 database is not open"));
+            if (open.startUsing()) return open;
+            // The database was swapped, the new one is used instead
+        }
+    }
+
+    private void downloadDatabase(File downloadTo) throws IOException {
         // Avoid Socket leak with the parameters in case download url has proxy
         // https://rsl1122.github.io/mishaps/java_socket_leak_incident
         Properties properties = System.getProperties();
@@ -100,7 +164,7 @@ public class GeoLite2Geolocator implements Geolocator {
                 InputStream in = downloadSite.openStream();
                 GZIPInputStream gzipIn = new GZIPInputStream(in);
                 TarArchiveInputStream tarIn = new TarArchiveInputStream(gzipIn);
-                FileOutputStream fos = new FileOutputStream(geolocationDB.getAbsoluteFile())
+                FileOutputStream fos = new FileOutputStream(downloadTo.getAbsoluteFile())
         ) {
             findAndCopyFromTar(tarIn, fos);
         }
@@ -132,19 +196,109 @@ public class GeoLite2Geolocator implements Geolocator {
         if (inetAddress == null) return Optional.empty();
         if (inetAddress.getHostAddress().contains("127.0.0.1")) return Optional.of("Local Machine");
 
-        try (
-                // See https://github.com/maxmind/MaxMind-DB-Reader-java#file-lock-on-windows
-                // for why InputStream is being used here instead.
-                InputStream in = Files.newInputStream(geolocationDB.toPath());
-                DatabaseReader reader = new DatabaseReader.Builder(in).build()
-        ) {
-            CountryResponse response = reader.country(inetAddress);
+        OpenDatabase open = startLookup();
+        try {
+            return getCountry(open.reader, inetAddress);
+        } finally {
+            open.stopUsing();
+        }
+    }
+
+    private Optional<String> getCountry(DatabaseReader databaseReader, InetAddress inetAddress) {
+        try {
+            CountryResponse response = databaseReader.country(inetAddress);
             Country country = response.getCountry();
             String countryName = country.getName();
 
             return Optional.ofNullable(countryName);
-        } catch (IOException | GeoIp2Exception e) {
+        } catch (GeoIp2Exception notInDatabase) {
             return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> getCountries(Collection<String> addresses) {
+        Map<String, String> countries = new HashMap<>();
+        OpenDatabase open;
+        try {
+            open = startLookup();
+        } catch (UncheckedIOException notOpen) {
+            return countries;
+        }
+        // Same database is used for all lookups in case the database is swapped during the lookup.
+        try {
+            for (String address : addresses) {
+                try {
+                    InetAddress inetAddress = InetAddress.getByName(address);
+                    if (inetAddress.getHostAddress().contains("127.0.0.1")) {
+                        countries.put(address, "Local Machine");
+                    } else {
+                        countries.put(address, getCountry(open.reader, inetAddress).orElse(NOT_FOUND));
+                    }
+                } catch (UnknownHostException e) {
+                    countries.put(address, NOT_FOUND); // Address can not be geolocated
+                } catch (UncheckedIOException failedLookup) {
+                    // Tried again on the next lookup
+                }
+            }
+        } finally {
+            open.stopUsing();
+        }
+        return countries;
+    }
+
+    @Override
+    public void close() {
+        OpenDatabase previous = database.getAndSet(null);
+        if (previous != null) previous.retire();
+    }
+
+    /**
+     * Database that is closed after it has been swapped and the lookups using it have finished.
+     * <p>
+     * Closing a memory mapped database while it is being read would fail the lookups.
+     */
+    private static class OpenDatabase {
+        private final DatabaseReader reader;
+        // Guarded by this
+        private int users;
+        private boolean retired;
+
+        OpenDatabase(DatabaseReader reader) {
+            this.reader = reader;
+        }
+
+        synchronized boolean startUsing() {
+            if (retired) return false;
+            users++;
+            return true;
+        }
+
+        void stopUsing() {
+            boolean close;
+            synchronized (this) {
+                close = --users == 0 && retired;
+            }
+            if (close) closeReader();
+        }
+
+        void retire() {
+            boolean close;
+            synchronized (this) {
+                retired = true;
+                close = users == 0;
+            }
+            if (close) closeReader();
+        }
+
+        private void closeReader() {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // Closing the reader only releases the database buffer.
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -22,17 +22,21 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
+import com.djrapitops.plugin.api.TimeAmount;
 import com.djrapitops.plugin.logging.console.PluginLogger;
 import com.djrapitops.plugin.task.AbsRunnable;
 import com.djrapitops.plugin.task.RunnableFactory;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.UnknownHostException;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * This class contains the geolocation cache.
@@ -50,11 +54,13 @@ public class GeolocationCache implements SubSystem {
     private final PluginLogger logger;
     private final RunnableFactory runnableFactory;
     private final Cache<String, String> cache;
+    private final Map<String, CompletableFuture<String>> inProgress;
 
-    private final Geolocator geoLite2Geolocator;
+    private final GeoLite2Geolocator geoLite2Geolocator;
     private final Geolocator ip2cGeolocator;
 
-    private Geolocator inUseGeolocator;
+    private volatile Geolocator inUseGeolocator;
+    private ExecutorService geolocationExecutor;
 
     @Inject
     public GeolocationCache(
@@ -73,12 +79,25 @@ public class GeolocationCache implements SubSystem {
         this.runnableFactory = runnableFactory;
 
         this.cache = Caffeine.newBuilder()
-                .expireAfterAccess(1, TimeUnit.MINUTES)
+                .maximumSize(10000)
+                .expireAfterAccess(1, TimeUnit.HOURS)
                 .build();
+        this.inProgress = new ConcurrentHashMap<>();
+        this.geolocationExecutor = createExecutor();
+    }
+
+    private ExecutorService createExecutor() {
+        return new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(500),
+                new BasicThreadFactory.Builder().namingPattern("Plan Geolocation-pool-%d").build()
+        );
     }
 
     @Override
     public void enable() {
+        if (geolocationExecutor.isShutdown()) {
+            geolocationExecutor = createExecutor();
+        }
         if (config.isTrue(DataGatheringSettings.GEOLOCATIONS)) {
             runnableFactory.create("Geolocator init", new AbsRunnable() {
                 @Override
@@ -88,11 +107,25 @@ public class GeolocationCache implements SubSystem {
                     if (inUseGeolocator == null) logger.error("Failed to enable geolocation.");
                 }
             }).runTaskAsynchronously();
+            scheduleGeoLite2Refresh();
         } else {
             logger.info(locale.getString(PluginLang.ENABLE_NOTIFY_GEOLOCATIONS_DISABLED));
         }
     }
 
+    private void scheduleGeoLite2Refresh() {
+        long period = TimeAmount.toTicks(1L, TimeUnit.DAYS);
+        runnableFactory.create("Geolocation DB refresh", new AbsRunnable() {
+            @Override
+            public void run() {
+                // Downloads and swaps the database if it has become too old, or retries after falling back to IP2C.
+                if (inUseGeolocator != null && config.isTrue(DataGatheringSettings.ACCEPT_GEOLITE2_EULA)) {
+                    tryToPrepareGeoLite2();
+                }
+            }
+        }).runTaskTimerAsynchronously(period, period);
+    }
+
     public boolean canGeolocate() {
         return inUseGeolocator != null;
     }
@@ -117,8 +150,22 @@ public class GeolocationCache implements SubSystem {
             logger.info(e.getMessage());
         } catch (UnknownHostException e) {
             logger.error(locale.getString(PluginLang.ENABLE_NOTIFY_GEOLOCATIONS_INTERNET_REQUIRED));
+            useFallbackAfterGeoLite2Failure();
         } catch (IOException e) {
             logger.error(locale.getString(PluginLang.ENABLE_FAIL_GEODB_WRITE) + ": " + e.getMessage());
+            useFallbackAfterGeoLite2Failure();
+        }
+    }
+
+    private void useFallbackAfterGeoLite2Failure() {
+        if (geoLite2Geolocator.isOpen()) {
+            // Previous database is still new enough to be used.
+            inUseGeolocator = geoLite2Geolocator;
+        } else if (inUseGeolocator == geoLite2Geolocator) {
+            // Database was deleted, lookups made with it would be 'Not Found'
+            inUseGeolocator = null;
+            cache.invalidateAll();
+            tryToPrepareIP2CGeolocator();
         }
     }
 
@@ -129,15 +176,90 @@ public class GeolocationCache implements SubSystem {
      * @return The name of the country in full length or null if the country could not be fetched.
      */
     public String getCountry(String ipAddress) {
-        return cache.get(ipAddress, this::getUnCachedCountry);
+        try {
+            return cache.get(ipAddress, this::getUnCachedCountry);
+        } catch (UncheckedIOException failedLookup) {
+            // Not cached so that the lookup is tried again
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the country in full length (e.g. United States) from the IP Address without blocking.
+     * <p>
+     * Geolocation is done on a separate bounded executor so that network or file access does not block the caller.
+     * Concurrent calls for the same IP Address share the same lookup.
+     *
+     * @param ipAddress The IP Address for which the country is retrieved
+     * @return Future that completes with the name of the country in full length, or null if the country could not be fetched.
+     */
+    public CompletableFuture<String> getCountryAsync(String ipAddress) {
+        String cached = cache.getIfPresent(ipAddress);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> existing = inProgress.putIfAbsent(ipAddress, lookup);
+        if (existing != null) return existing;
+
+        try {
+            geolocationExecutor.execute(() -> {
+                try {
+                    lookup.complete(getCountry(ipAddress));
+                } catch (Exception e) {
+                    lookup.complete(null);
+                } finally {
+                    inProgress.remove(ipAddress, lookup);
+                }
+            });
+        } catch (RejectedExecutionException tooManyLookups) {
+            inProgress.remove(ipAddress, lookup);
+            lookup.complete(null);
+        }
+        return lookup;
     }
 
     /**
      * Retrieves the country in full length (e.g. United States) from the IP Address.
+     *
+     * @throws UncheckedIOException If the lookup failed.
      */
     private String getUnCachedCountry(String ipAddress) {
         if (inUseGeolocator == null) return null;
-        return inUseGeolocator.getCountry(ipAddress).orElse("Not Found");
+        return inUseGeolocator.getCountry(ipAddress).orElse(Geolocator.NOT_FOUND);
+    }
+
+    /**
+     * Retrieves the countries in full length (e.g. United States) of multiple IP Addresses.
+     * <p>
+     * Addresses that are not cached are geolocated in bulk.
+     *
+     * @param ipAddresses The IP Addresses for which the countries are retrieved
+     * @return Map: IP Address - Country, addresses which lookup failed are not included.
+     */
+    public Map<String, String> getCountries(Collection<String> ipAddresses) {
+        Map<String, String> countries = new LinkedHashMap<>();
+        List<String> notCached = new ArrayList<>();
+        for (String ipAddress : ipAddresses) {
+            String country = cache.getIfPresent(ipAddress);
+            if (country != null) {
+                countries.put(ipAddress, country);
+            } else {
+                notCached.add(ipAddress);
+            }
+        }
+        if (notCached.isEmpty()) return countries;
+
+        Geolocator geolocator = inUseGeolocator;
+        if (geolocator == null) return countries;
+
+        Map<String, String> found = geolocator.getCountries(notCached);
+        for (String ipAddress : notCached) {
+            String country = found.get(ipAddress);
+            if (country == null) continue; // Lookup failed, not cached so that it is tried again
+            cache.put(ipAddress, country);
+            countries.put(ipAddress, country);
+        }
+        return countries;
     }
 
     /**
@@ -152,7 +274,15 @@ public class GeolocationCache implements SubSystem {
 
     @Override
     public void disable() {
+        geolocationExecutor.shutdownNow();
+        // Lookups that were still queued are never run.
+        for (CompletableFuture<String> lookup : inProgress.values()) {
+            lookup.complete(null);
+        }
+        inProgress.clear();
         clearCache();
+        geoLite2Geolocator.close();
+        ip2cGeolocator.close();
     }
 
     /**
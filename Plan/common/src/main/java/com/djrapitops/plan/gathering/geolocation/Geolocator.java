@@ -19,8 +19,12 @@ package com.djrapitops.plan.gathering.geolocation;
 import com.djrapitops.plan.exceptions.PreparationException;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,6 +34,8 @@ import java.util.Optional;
  */
 public interface Geolocator {
 
+    String NOT_FOUND = "Not Found";
+
     /**
      * Do everything that is needed for the geolocator to function.
      *
@@ -39,6 +45,13 @@ public interface Geolocator {
      */
     void prepare() throws IOException;
 
+    /**
+     * Geolocate an address.
+     *
+     * @param inetAddress IP address to geolocate.
+     * @return Name of the country, or empty if the address is not in the database.
+     * @throws UncheckedIOException If the lookup failed, and should not be remembered as not found.
+     */
     Optional<String> getCountry(InetAddress inetAddress);
 
     default Optional<String> getCountry(String address) {
@@ -50,4 +63,29 @@ public interface Geolocator {
         }
     }
 
+    /**
+     * Geolocate multiple addresses at once.
+     *
+     * @param addresses IP addresses to geolocate.
+     * @return Map: address - country name or {@link #NOT_FOUND}, addresses which lookup failed are not included.
+     */
+    default Map<String, String> getCountries(Collection<String> addresses) {
+        Map<String, String> countries = new HashMap<>();
+        for (String address : addresses) {
+            try {
+                countries.put(address, getCountry(address).orElse(NOT_FOUND));
+            } catch (UncheckedIOException failedLookup) {
+                // Tried again on the next lookup
+            }
+        }
+        return countries;
+    }
+
+    /**
+     * Release any resources held by the geolocator.
+     */
+    default void close() {
+        // Nothing to release by default.
+    }
+
 }
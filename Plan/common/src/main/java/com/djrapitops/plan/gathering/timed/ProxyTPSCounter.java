@@ -16,7 +16,10 @@
  */
 package com.djrapitops.plan.gathering.timed;
 
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.gathering.ServerSensor;
+import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.storage.database.DBSystem;
@@ -29,6 +32,7 @@ import com.djrapitops.plugin.logging.console.PluginLogger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,6 +47,8 @@ public class ProxyTPSCounter extends TPSCounter {
     private final SystemUsageBuffer systemUsage;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
+    private final LiveFeed liveFeed;
+    private final PlanMetrics metrics;
     private final Maximum.ForInteger playersOnline;
     private final Average cpu;
     private final TimerAverage ram;
@@ -53,6 +59,8 @@ public class ProxyTPSCounter extends TPSCounter {
             SystemUsageBuffer systemUsage,
             DBSystem dbSystem,
             ServerInfo serverInfo,
+            LiveFeed liveFeed,
+            PlanMetrics metrics,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -61,6 +69,8 @@ public class ProxyTPSCounter extends TPSCounter {
         this.serverSensor = serverSensor;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
+        this.liveFeed = liveFeed;
+        this.metrics = metrics;
         this.systemUsage = systemUsage;
         playersOnline = new Maximum.ForInteger(0);
         cpu = new Average();
@@ -83,15 +93,16 @@ public class ProxyTPSCounter extends TPSCounter {
         long averageRAM = (long) ram.getAverageAndReset(time);
         long freeDiskSpace = systemUsage.getFreeDiskSpace();
 
-        dbSystem.getDatabase().executeTransaction(new TPSStoreTransaction(
-                serverInfo.getServerUUID(),
-                TPSBuilder.get()
-                        .date(timeLastMinute)
-                        .playersOnline(maxPlayers)
-                        .usedCPU(averageCPU)
-                        .usedMemory(averageRAM)
-                        .freeDiskSpace(freeDiskSpace)
-                        .toTPS()
-        ));
+        TPS tps = TPSBuilder.get()
+                .date(timeLastMinute)
+                .playersOnline(maxPlayers)
+                .usedCPU(averageCPU)
+                .usedMemory(averageRAM)
+                .freeDiskSpace(freeDiskSpace)
+                .toTPS();
+        UUID serverUUID = serverInfo.getServerUUID();
+        dbSystem.getDatabase().executeTransaction(new TPSStoreTransaction(serverUUID, tps));
+        liveFeed.tpsPoint(serverUUID, tps);
+        metrics.recordTPS(tps);
     }
 }
@@ -16,7 +16,10 @@
  */
 package com.djrapitops.plan.gathering.timed;
 
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.gathering.ServerSensor;
+import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.storage.database.DBSystem;
@@ -30,6 +33,7 @@ import com.djrapitops.plugin.logging.console.PluginLogger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -42,9 +46,12 @@ public class ServerTPSCounter<W> extends TPSCounter {
 
     private final boolean noDirectTPS;
     private final ServerSensor<W> serverSensor;
+    private final WorldCountSampler<W> worldCounts;
     private final SystemUsageBuffer systemUsage;
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
+    private final LiveFeed liveFeed;
+    private final PlanMetrics metrics;
     private TPSCalculator indirectTPS;
     private TimerAverage directTPS;
     private final Maximum.ForInteger playersOnline;
@@ -57,6 +64,8 @@ public class ServerTPSCounter<W> extends TPSCounter {
             SystemUsageBuffer systemUsage,
             DBSystem dbSystem,
             ServerInfo serverInfo,
+            LiveFeed liveFeed,
+            PlanMetrics metrics,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -64,8 +73,11 @@ public class ServerTPSCounter<W> extends TPSCounter {
 
         noDirectTPS = !serverSensor.supportsDirectTPS();
         this.serverSensor = serverSensor;
+        this.worldCounts = new WorldCountSampler<>(serverSensor);
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
+        this.liveFeed = liveFeed;
+        this.metrics = metrics;
         this.systemUsage = systemUsage;
         if (noDirectTPS) {
             indirectTPS = new TPSCalculator();
@@ -84,6 +96,7 @@ public class ServerTPSCounter<W> extends TPSCounter {
         playersOnline.add(serverSensor.getOnlinePlayerCount());
         cpu.add(systemUsage.getCpu());
         ram.add(systemUsage.getRam());
+        worldCounts.pulse();
         result.ifPresent(tps -> save(tps, time));
     }
 
@@ -92,27 +105,24 @@ public class ServerTPSCounter<W> extends TPSCounter {
         int maxPlayers = playersOnline.getMaxAndReset();
         double averageCPU = cpu.getAverageAndReset();
         long averageRAM = (long) ram.getAverageAndReset();
-        int entityCount = 0;
-        int chunkCount = 0;
-        for (W world : serverSensor.getWorlds()) {
-            entityCount += serverSensor.getEntityCount(world);
-            chunkCount += serverSensor.getChunkCount(world);
-        }
+        int entityCount = worldCounts.getEntityCount();
+        int chunkCount = worldCounts.getChunkCount();
         long freeDiskSpace = systemUsage.getFreeDiskSpace();
 
-        dbSystem.getDatabase().executeTransaction(new TPSStoreTransaction(
-                serverInfo.getServerUUID(),
-                TPSBuilder.get()
-                        .date(timeLastMinute)
-                        .tps(averageTPS)
-                        .playersOnline(maxPlayers)
-                        .usedCPU(averageCPU)
-                        .usedMemory(averageRAM)
-                        .entities(entityCount)
-                        .chunksLoaded(chunkCount)
-                        .freeDiskSpace(freeDiskSpace)
-                        .toTPS()
-        ));
+        TPS tps = TPSBuilder.get()
+                .date(timeLastMinute)
+                .tps(averageTPS)
+                .playersOnline(maxPlayers)
+                .usedCPU(averageCPU)
+                .usedMemory(averageRAM)
+                .entities(entityCount)
+                .chunksLoaded(chunkCount)
+                .freeDiskSpace(freeDiskSpace)
+                .toTPS();
+        UUID serverUUID = serverInfo.getServerUUID();
+        dbSystem.getDatabase().executeTransaction(new TPSStoreTransaction(serverUUID, tps));
+        liveFeed.tpsPoint(serverUUID, tps);
+        metrics.recordTPS(tps);
     }
 
     public Optional<Double> pulseTPS(long time) {
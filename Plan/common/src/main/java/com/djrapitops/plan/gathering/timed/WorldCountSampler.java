@@ -0,0 +1,140 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.ServerSensor;
+
+import java.util.*;
+
+/**
+ * Utility for sampling entity and chunk counts of worlds spread over a minute.
+ * <p>
+ * Counting entities and chunks of all worlds at once can take a long time on large servers,
+ * so instead the worlds are sampled one by one on different pulses.
+ * - Each round lasts {@link #ROUND_PULSES} pulses (1 minute with 1 second pulses)
+ * - Worlds are sampled at even intervals during the round
+ * - If there are more worlds than pulses in a round, multiple worlds are sampled per pulse.
+ * - Entities of a world are counted in up to {@link #MAX_SCAN_PARTS} parts on consecutive pulses,
+ * so that a single large world is not scanned all at once.
+ * - Totals are the sum of the latest sample of each world, worlds that have been unloaded are dropped at the start of a round.
+ *
+ * @param <W> Type of the class representing a minecraft world.
+ * @author Rsl1122
+ */
+public class WorldCountSampler<W> {
+
+    static final int ROUND_PULSES = 60;
+    static final int MAX_SCAN_PARTS = 10;
+
+    private final ServerSensor<W> serverSensor;
+    private final Map<W, int[]> latestSamples;
+    private final Deque<W> toSample;
+    private final Map<W, int[]> sampling;
+
+    private int pulseInRound;
+    private int sampleEvery;
+    private int samplesPerPulse;
+    private int scanParts;
+
+    public WorldCountSampler(ServerSensor<W> serverSensor) {
+        this.serverSensor = serverSensor;
+        latestSamples = new HashMap<>();
+        toSample = new ArrayDeque<>();
+        sampling = new HashMap<>();
+        pulseInRound = 0;
+    }
+
+    /**
+     * Sample the worlds that are due on this pulse.
+     */
+    public void pulse() {
+        if (pulseInRound == 0) {
+            startRound();
+        }
+        int part = pulseInRound % sampleEvery;
+        if (part == 0) {
+            startSamples();
+        }
+        if (part < scanParts) {
+            for (Map.Entry<W, int[]> entry : sampling.entrySet()) {
+                sampleEntities(entry.getKey(), entry.getValue(), part);
+            }
+            if (part == scanParts - 1) {
+                latestSamples.putAll(sampling);
+                sampling.clear();
+            }
+        }
+        pulseInRound = (pulseInRound + 1) % ROUND_PULSES;
+    }
+
+    private void startRound() {
+        List<W> worlds = new ArrayList<>();
+        for (W world : serverSensor.getWorlds()) {
+            worlds.add(world);
+        }
+        latestSamples.keySet().retainAll(worlds);
+        toSample.clear();
+        toSample.addAll(worlds);
+        sampling.clear();
+
+        int worldCount = Math.max(1, worlds.size());
+        sampleEvery = Math.max(1, ROUND_PULSES / worldCount);
+        samplesPerPulse = (worldCount + ROUND_PULSES - 1) / ROUND_PULSES;
+        scanParts = Math.min(MAX_SCAN_PARTS, sampleEvery);
+    }
+
+    private void startSamples() {
+        for (int i = 0; i < samplesPerPulse && !toSample.isEmpty(); i++) {
+            W world = toSample.poll();
+            sampling.put(world, new int[]{0, serverSensor.getChunkCount(world)});
+        }
+    }
+
+    private void sampleEntities(W world, int[] sample, int part) {
+        if (sample[0] < 0) {
+            return;
+        }
+        int entities = serverSensor.getEntityCount(world, part, scanParts);
+        sample[0] = entities < 0 ? -1 : sample[0] + entities;
+    }
+
+    /**
+     * Get the total entity count from latest samples.
+     *
+     * @return Sum of the latest entity count sample of each world.
+     */
+    public int getEntityCount() {
+        int total = 0;
+        for (int[] sample : latestSamples.values()) {
+            total += sample[0];
+        }
+        return total;
+    }
+
+    /**
+     * Get the total loaded chunk count from latest samples.
+     *
+     * @return Sum of the latest chunk count sample of each world.
+     */
+    public int getChunkCount() {
+        int total = 0;
+        for (int[] sample : latestSamples.values()) {
+            total += sample[1];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.placeholder;
+
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.ConfigNode;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.L;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache for placeholder values, so that placeholder requests never wait for the database.
+ * <p>
+ * The last value of a placeholder is returned right away, and if it is older than the cache time of the placeholder
+ * a new value is loaded on the Plan executor. Until the first value has loaded an empty value is returned.
+ *
+ * @author Rsl1122
+ * @see TimeSettings#PLACEHOLDER_CACHE_TIME_BY_NAME for cache times of different placeholders.
+ */
+@Singleton
+public class PlaceholderCache {
+
+    private final PlanConfig config;
+    private final Processing processing;
+    private final ErrorLogger errorLogger;
+
+    private final Cache<String, CachedValue> values;
+    private final Cache<String, Long> refreshing;
+    private final Map<String, Long> cacheTimes;
+
+    @Inject
+    public PlaceholderCache(
+            PlanConfig config,
+            Processing processing,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.processing = processing;
+        this.errorLogger = errorLogger;
+
+        values = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
+        // Refreshes that never finish (eg. executor was shut down) are forgotten so they can be attempted again.
+        refreshing = Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
+        cacheTimes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the cached value of a placeholder, loading a new value in the background if it is stale.
+     *
+     * @param playerUUID  UUID of the player viewing the placeholder, or null if the value does not depend on the player.
+     * @param placeholder Name of the placeholder.
+     * @param parameters  Parameters of the placeholder.
+     * @param loader      Loads the value of the placeholder, called on the Plan executor.
+     * @return Last loaded value, or empty String if the value has not been loaded yet.
+     */
+    public String get(UUID playerUUID, String placeholder, List<String> parameters, Supplier<String> loader) {
+        String key = playerUUID + ":" + placeholder + ':' + parameters;
+        CachedValue cached = values.getIfPresent(key);
+        long now = System.currentTimeMillis();
+        if (cached == null || now - cached.loadedAt > getCacheTime(placeholder)) {
+            refresh(key, loader);
+        }
+        return cached != null ? cached.value : "";
+    }
+
+    private void refresh(String key, Supplier<String> loader) {
+        if (refreshing.asMap().putIfAbsent(key, System.currentTimeMillis()) != null) {
+            return; // Already being loaded
+        }
+        processing.submitNonCritical(() -> {
+            try {
+                values.put(key, new CachedValue(loader.get(), System.currentTimeMillis()));
+            } catch (Exception e) {
+                errorLogger.log(L.WARN, e, ErrorContext.builder().related("Placeholder Request", key).build());
+            } finally {
+                refreshing.invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * Get how long value of a placeholder is used before it is loaded again.
+     *
+     * @param placeholder Name of the placeholder.
+     * @return Cache time in milliseconds, from the longest matching name in config, or the default cache time.
+     */
+    long getCacheTime(String placeholder) {
+        return cacheTimes.computeIfAbsent(placeholder, name -> getCacheTimeByName(name)
+                .orElseGet(() -> config.get(TimeSettings.PLACEHOLDER_CACHE_TIME)));
+    }
+
+    private Optional<Long> getCacheTimeByName(String placeholder) {
+        String longestMatch = null;
+        Long seconds = null;
+        for (ConfigNode byName : config.get(TimeSettings.PLACEHOLDER_CACHE_TIME_BY_NAME).getChildren()) {
+            String name = byName.getKey(false);
+            if (placeholder.startsWith(name) && (longestMatch == null || name.length() > longestMatch.length())) {
+                longestMatch = name;
+                seconds = byName.getLong();
+            }
+        }
+        return Optional.ofNullable(seconds).map(TimeUnit.SECONDS::toMillis);
+    }
+
+    private static class CachedValue {
+        private final String value;
+        private final long loadedAt;
+
+        CachedValue(String value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
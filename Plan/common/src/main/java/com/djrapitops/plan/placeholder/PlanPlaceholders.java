@@ -17,6 +17,7 @@
 package com.djrapitops.plan.placeholder;
 
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
+import com.djrapitops.plan.delivery.domain.keys.Key;
 import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.gathering.cache.SessionCache;
@@ -47,23 +48,28 @@ import java.util.function.Supplier;
 public final class PlanPlaceholders {
 
     private final Map<String, PlayerPlaceholderLoader> playerPlaceholders;
+    private final Map<String, Collection<Key<?>>> requiredKeys;
     private final Map<String, StaticPlaceholderLoader> staticPlaceholders;
 
     private final Map<String, BiFunction<String, PlayerContainer, Serializable>> rawHandlers;
 
     private final DBSystem dbSystem;
+    private final PlaceholderCache cache;
 
     @Inject
     public PlanPlaceholders(
             PlanConfig config,
             DBSystem dbSystem,
+            PlaceholderCache cache,
             ServerInfo serverInfo,
             Formatters formatters,
             Set<Placeholders> placeholderRegistries
     ) {
         this.dbSystem = dbSystem;
+        this.cache = cache;
 
         this.playerPlaceholders = new HashMap<>();
+        this.requiredKeys = new HashMap<>();
         this.staticPlaceholders = new HashMap<>();
         this.rawHandlers = new HashMap<>();
 
@@ -80,12 +86,24 @@ public final class PlanPlaceholders {
         staticPlaceholders.put(name, loader);
     }
 
-    public void register(String name, Function<PlayerContainer, Serializable> loader) {
-        register(name, (player, params) -> loader.apply(player));
+    /**
+     * Register a placeholder about a player.
+     *
+     * @param name         Name of the placeholder.
+     * @param loader       Function that gives the value from the player's data.
+     * @param requiredKeys {@link com.djrapitops.plan.delivery.domain.keys.PlayerKeys} the loader uses,
+     *                     so that only the queries for those values are run. If none are given, all data of the player
+     *                     might be loaded.
+     */
+    public void register(String name, Function<PlayerContainer, Serializable> loader, Key<?>... requiredKeys) {
+        register(name, (player, params) -> loader.apply(player), requiredKeys);
     }
 
-    public void register(String name, PlayerPlaceholderLoader loader) {
+    public void register(String name, PlayerPlaceholderLoader loader, Key<?>... requiredKeys) {
         playerPlaceholders.put(name, loader);
+        if (requiredKeys.length > 0) {
+            this.requiredKeys.put(name, Arrays.asList(requiredKeys));
+        }
     }
 
     public void registerRaw(String name, BiFunction<String, PlayerContainer, Serializable> loader) {
@@ -100,11 +118,46 @@ public final class PlanPlaceholders {
         return staticPlaceholders;
     }
 
+    /**
+     * Get the value of a placeholder without waiting for the database.
+     * <p>
+     * Values are served from {@link PlaceholderCache} and loaded again in the background when they get old.
+     *
+     * @param uuid        UUID of the player who is viewing the placeholder, or null if there is no player.
+     * @param placeholder the placeholder to look up to.
+     * @param parameters  additional placeholder parameters
+     * @return last value of the placeholder, empty {@link String} if the value has not been loaded yet,
+     * or {@code null} if the placeholder is not registered.
+     */
     public String onPlaceholderRequest(UUID uuid, String placeholder, List<String> parameters) {
+        if (isRawPlaceholder(placeholder)) {
+            return cache.get(uuid, placeholder, parameters, () -> loadPlaceholder(uuid, placeholder, parameters));
+        }
+        if (staticPlaceholders.containsKey(placeholder)) {
+            // Static placeholders have the same value for every player
+            return cache.get(null, placeholder, parameters, () -> onPlaceholderRequest((PlayerContainer) null, placeholder, parameters));
+        }
+        if (uuid != null && playerPlaceholders.containsKey(placeholder)) {
+            return cache.get(uuid, placeholder, parameters, () -> loadPlaceholder(uuid, placeholder, parameters));
+        }
+        return null;
+    }
+
+    private boolean isRawPlaceholder(String placeholder) {
+        for (String prefix : rawHandlers.keySet()) {
+            if (placeholder.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private String loadPlaceholder(UUID uuid, String placeholder, List<String> parameters) {
         PlayerContainer player;
 
         if (uuid != null) {
-            player = dbSystem.getDatabase().query(ContainerFetchQueries.fetchPlayerContainer(uuid));
+            Collection<Key<?>> keys = requiredKeys.get(placeholder);
+            player = dbSystem.getDatabase().query(keys != null
+                    ? ContainerFetchQueries.fetchPlayerContainer(uuid, keys)
+                    : ContainerFetchQueries.fetchPlayerContainer(uuid));
             SessionCache.getCachedSession(uuid).ifPresent(session -> player.putRawData(PlayerKeys.ACTIVE_SESSION, session));
         } else {
             player = null;
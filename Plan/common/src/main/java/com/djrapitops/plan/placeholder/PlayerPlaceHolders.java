@@ -19,7 +19,6 @@ package com.djrapitops.plan.placeholder;
 import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
 import com.djrapitops.plan.delivery.domain.mutators.PerServerMutator;
 import com.djrapitops.plan.delivery.domain.mutators.PingMutator;
-import com.djrapitops.plan.delivery.domain.mutators.PlayerVersusMutator;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
@@ -31,6 +30,7 @@ import com.djrapitops.plan.utilities.Predicates;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 
 import static com.djrapitops.plan.utilities.MiscUtils.*;
 
@@ -67,147 +67,178 @@ public class PlayerPlaceHolders implements Placeholders {
 
         placeholders.register("player_banned",
                 player -> player.getValue(PlayerKeys.BANNED)
-                        .orElse(Boolean.FALSE)
+                        .orElse(Boolean.FALSE),
+                PlayerKeys.BANNED
         );
 
         placeholders.register("player_operator",
                 player -> player.getValue(PlayerKeys.OPERATOR)
-                        .orElse(Boolean.FALSE)
+                        .orElse(Boolean.FALSE),
+                PlayerKeys.OPERATOR
         );
 
         placeholders.register("player_sessions_count",
-                player -> SessionsMutator.forContainer(player)
-                        .count()
+                player -> player.getValue(PlayerKeys.SESSION_COUNT)
+                        .orElse(0),
+                PlayerKeys.SESSION_COUNT
         );
 
         placeholders.register("player_kick_count",
                 player -> player.getValue(PlayerKeys.KICK_COUNT)
-                        .orElse(0)
+                        .orElse(0),
+                PlayerKeys.KICK_COUNT
         );
 
         placeholders.register("player_death_count",
                 player -> player.getValue(PlayerKeys.DEATH_COUNT)
-                        .orElse(0)
+                        .orElse(0),
+                PlayerKeys.DEATH_COUNT
         );
 
         placeholders.register("player_mob_kill_count",
                 player -> player.getValue(PlayerKeys.MOB_KILL_COUNT)
-                        .orElse(0)
+                        .orElse(0),
+                PlayerKeys.MOB_KILL_COUNT
         );
 
         placeholders.register("player_player_kill_count",
                 player -> player.getValue(PlayerKeys.PLAYER_KILL_COUNT)
-                        .orElse(0)
+                        .orElse(0),
+                PlayerKeys.PLAYER_KILL_COUNT
         );
 
         placeholders.register("player_kill_death_ratio",
-                player -> PlayerVersusMutator.forContainer(player).toKillDeathRatio());
+                player -> {
+                    int kills = player.getValue(PlayerKeys.PLAYER_KILL_COUNT).orElse(0);
+                    int deaths = player.getValue(PlayerKeys.PLAYER_DEATHS_KILLS).map(List::size).orElse(0);
+                    return kills * 1.0 / (deaths != 0 ? deaths : 1);
+                },
+                PlayerKeys.PLAYER_KILL_COUNT, PlayerKeys.PLAYER_DEATHS_KILLS
+        );
 
         placeholders.register("player_ping_average_day",
                 player -> decimals.apply(PingMutator.forContainer(player)
                         .filterBy(Predicates.within(dayAgo(), now()))
-                        .average()) + " ms"
+                        .average()) + " ms",
+                PlayerKeys.PING
         );
 
         placeholders.register("player_ping_average_week",
                 player -> decimals.apply(PingMutator.forContainer(player)
                         .filterBy(Predicates.within(weekAgo(), now()))
-                        .average()) + " ms"
+                        .average()) + " ms",
+                PlayerKeys.PING
         );
 
         placeholders.register("player_ping_average_month",
                 player -> decimals.apply(PingMutator.forContainer(player)
                         .filterBy(Predicates.within(monthAgo(), now()))
-                        .average()) + " ms"
+                        .average()) + " ms",
+                PlayerKeys.PING
         );
 
         placeholders.register("player_lastseen",
                 player -> year.apply(player.getValue(PlayerKeys.LAST_SEEN)
-                        .orElse((long) 0))
+                        .orElse((long) 0)),
+                PlayerKeys.LAST_SEEN
         );
 
         placeholders.register("player_registered",
                 player -> year.apply(player.getValue(PlayerKeys.REGISTERED)
-                        .orElse((long) 0))
+                        .orElse((long) 0)),
+                PlayerKeys.REGISTERED
         );
 
         placeholders.register("player_time_active",
                 player -> time.apply(SessionsMutator.forContainer(player)
-                        .toActivePlaytime())
+                        .toActivePlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_time_afk",
                 player -> time.apply(SessionsMutator.forContainer(player)
-                        .toAfkTime())
+                        .toAfkTime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_time_total",
                 player -> time.apply(SessionsMutator.forContainer(player)
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_time_day",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(dayAgo(), now())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_time_week",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(weekAgo(), now())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_time_month",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(monthAgo(), now())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_active",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toActivePlaytime())
+                        .toActivePlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_afk",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toAfkTime())
+                        .toAfkTime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_total",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_day",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(dayAgo(), now())
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_week",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(weekAgo(), now())
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_server_time_month",
                 player -> time.apply(SessionsMutator.forContainer(player)
                         .filterSessionsBetween(monthAgo(), now())
                         .filterPlayedOnServer(serverInfo.getServerUUID())
-                        .toPlaytime())
+                        .toPlaytime()),
+                PlayerKeys.SESSIONS
         );
 
         placeholders.register("player_favorite_server",
                 player -> PerServerMutator.forContainer(player).favoriteServer()
                         .flatMap(serverUUID -> dbSystem.getDatabase().query(ServerQueries.fetchServerMatchingIdentifier(serverUUID)))
                         .map(Server::getName)
-                        .orElse("-")
+                        .orElse("-"),
+                PlayerKeys.PER_SERVER
         );
     }
 }
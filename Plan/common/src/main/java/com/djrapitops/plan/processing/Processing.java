@@ -134,6 +134,14 @@ public class Processing implements SubSystem {
         }, criticalExecutor).handle(this::exceptionHandlerCritical);
     }
 
+    public ExecutorService getNonCriticalExecutor() {
+        return nonCriticalExecutor;
+    }
+
+    public ExecutorService getCriticalExecutor() {
+        return criticalExecutor;
+    }
+
     @Override
     public void enable() {
         if (nonCriticalExecutor.isShutdown()) {
@@ -17,10 +17,14 @@
 package com.djrapitops.plan.settings.config.paths;
 
 import com.djrapitops.plan.settings.config.paths.key.BooleanSetting;
+import com.djrapitops.plan.settings.config.paths.key.IntegerSetting;
 import com.djrapitops.plan.settings.config.paths.key.Setting;
+import com.djrapitops.plan.settings.config.paths.key.StringListSetting;
 import com.djrapitops.plan.settings.config.paths.key.StringSetting;
 import com.djrapitops.plan.settings.config.paths.key.TimeSetting;
 
+import java.util.List;
+
 /**
  * {@link Setting} values that are in "Export" section.
  *
@@ -36,7 +40,12 @@ public class ExportSettings {
     public static final Setting<Boolean> SERVER_PAGE = new BooleanSetting("Export.Parts.Server_page");
     public static final Setting<Boolean> SERVER_JSON = new BooleanSetting("Export.Parts.Server_JSON");
     public static final Setting<Boolean> EXPORT_ON_ONLINE_STATUS_CHANGE = new BooleanSetting("Export.Export_player_on_login_and_logout");
+    public static final Setting<Long> PLAYER_EXPORT_DELAY = new TimeSetting("Export.Player_export_delay");
     public static final Setting<Long> EXPORT_PERIOD = new TimeSetting("Export.Server_refresh_period");
+    public static final Setting<Integer> THREADS = new IntegerSetting("Export.Threads", Setting::positiveIntegerValidator);
+    public static final Setting<Boolean> GZIP_ENABLED = new BooleanSetting("Export.Gzip.Enabled");
+    public static final Setting<Integer> GZIP_LEVEL = new IntegerSetting("Export.Gzip.Compression_level", level -> level >= 1 && level <= 9);
+    public static final Setting<List<String>> GZIP_EXTENSIONS = new StringListSetting("Export.Gzip.Extensions");
 
     private ExportSettings() {
         /* static variable class */
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.settings.config.paths;
 
+import com.djrapitops.plan.settings.config.ConfigNode;
 import com.djrapitops.plan.settings.config.paths.key.Setting;
 import com.djrapitops.plan.settings.config.paths.key.TimeSetting;
 
@@ -38,6 +39,13 @@ public class TimeSettings {
     public static final Setting<Long> EXTENSION_DATA_REFRESH_PERIOD = new TimeSetting("Time.Periodic_tasks.Extension_data_refresh_every");
     public static final Setting<Long> CLEAN_DATABASE_PERIOD = new TimeSetting("Time.Periodic_tasks.Clean_Database_every");
     public static final Setting<Long> CONFIG_UPDATE_INTERVAL = new TimeSetting("Time.Periodic_tasks.Check_DB_for_server_config_files_every");
+    public static final Setting<Long> PLACEHOLDER_CACHE_TIME = new TimeSetting("Time.Placeholder_cache_time");
+    public static final Setting<ConfigNode> PLACEHOLDER_CACHE_TIME_BY_NAME = new Setting<ConfigNode>("Time.Placeholder_cache_time_by_name", ConfigNode.class) {
+        @Override
+        public ConfigNode getValueFrom(ConfigNode node) {
+            return node.getNode(path).orElseGet(() -> node.addNode(path));
+        }
+    };
 
     private TimeSettings() {
         /* static variable class */
@@ -20,6 +20,7 @@ import com.djrapitops.plan.settings.config.paths.key.BooleanSetting;
 import com.djrapitops.plan.settings.config.paths.key.IntegerSetting;
 import com.djrapitops.plan.settings.config.paths.key.Setting;
 import com.djrapitops.plan.settings.config.paths.key.StringSetting;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * {@link Setting} values that are in "Webserver" section.
@@ -40,6 +41,12 @@ public class WebserverSettings {
     public static final Setting<Boolean> DISABLED = new BooleanSetting("Webserver.Disable_Webserver");
     public static final Setting<Boolean> DISABLED_AUTHENTICATION = new BooleanSetting("Webserver.Security.Disable_authentication");
     public static final Setting<String> EXTERNAL_LINK = new StringSetting("Webserver.External_Webserver_address");
+    public static final Setting<String> IMPLEMENTATION = new StringSetting("Webserver.Implementation", value -> StringUtils.equalsAnyIgnoreCase(value, "JDK", "Jetty"));
+    public static final Setting<Integer> THREAD_POOL_SIZE = new IntegerSetting("Webserver.Threads.Pool_size", Setting::positiveIntegerValidator);
+    public static final Setting<Integer> THREAD_POOL_QUEUE_SIZE = new IntegerSetting("Webserver.Threads.Queue_size", Setting::positiveIntegerValidator);
+    public static final Setting<Integer> MAX_CONCURRENT_ROUTE_REQUESTS = new IntegerSetting("Webserver.Threads.Max_concurrent_requests_per_route", Setting::positiveIntegerValidator);
+    public static final Setting<Integer> CONNECTION_BACKLOG = new IntegerSetting("Webserver.Threads.Connection_backlog", Setting::positiveIntegerValidator);
+    public static final Setting<Boolean> PROMETHEUS_METRICS = new BooleanSetting("Webserver.Prometheus_metrics");
 
     private WebserverSettings() {
         /* static variable class */
@@ -21,11 +21,14 @@ import com.djrapitops.plan.settings.locale.lang.JSLang;
 import com.djrapitops.plan.settings.locale.lang.Lang;
 import com.djrapitops.plan.storage.file.FileResource;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,8 +43,40 @@ public class Locale extends HashMap<Lang, Message> {
         return forLangCode(LangCode.fromString(code), files);
     }
 
+    private static final Pattern SCRIPTS = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+
+    // Used in graphs and tables that are created with javascript.
+    private static final Lang[] JS_EXTRA_LANG = new Lang[]{
+            HtmlLang.UNIT_NO_DATA,
+            HtmlLang.TITLE_WORLD_PLAYTIME,
+            HtmlLang.LABEL_OPERATOR,
+            HtmlLang.LABEL_BANNED,
+            HtmlLang.SIDE_SESSIONS,
+            HtmlLang.LABEL_PLAYTIME,
+            HtmlLang.LABEL_AFK_TIME,
+            HtmlLang.LABEL_LONGEST_SESSION,
+            HtmlLang.LABEL_SESSION_MEDIAN,
+            HtmlLang.LABEL_PLAYER_KILLS,
+            HtmlLang.LABEL_MOB_KILLS,
+            HtmlLang.LABEL_DEATHS,
+            HtmlLang.LABEL_PLAYERS_ONLINE,
+            HtmlLang.LABEL_REGISTERED,
+            HtmlLang.TITLE_SERVER,
+            HtmlLang.TITLE_LENGTH,
+            HtmlLang.TITLE_AVG_PING,
+            HtmlLang.TITLE_BEST_PING,
+            HtmlLang.TITLE_WORST_PING,
+            HtmlLang.LABEL_FREE_DISK_SPACE,
+            HtmlLang.LABEL_NEW_PLAYERS,
+            HtmlLang.LABEL_UNIQUE_PLAYERS
+    };
+
     private LangCode langCode;
 
+    private transient volatile LocaleTranslator htmlTranslator;
+    private transient volatile LocaleTranslator javascriptTranslator;
+    private transient volatile Cache<String, String> translatedTemplates;
+
     public Locale() {
         this(LangCode.EN);
     }
@@ -100,6 +135,40 @@ public class Locale extends HashMap<Lang, Message> {
     public void loadFromAnotherLocale(Locale locale) {
         putAll(locale);
         this.langCode = locale.langCode;
+        clearTranslations();
+    }
+
+    /**
+     * Translate a page template.
+     * <p>
+     * The translation is cached, so placeholders of the template should be replaced after translation.
+     *
+     * @param template Template with theme colors already replaced.
+     * @return Translated template.
+     */
+    public String translateTemplate(String template) {
+        if (isEmpty()) {
+            return template;
+        }
+        return getTranslatedTemplates().get(template, this::replaceLanguageInHtml);
+    }
+
+    private Cache<String, String> getTranslatedTemplates() {
+        Cache<String, String> cache = translatedTemplates;
+        if (cache == null) {
+            synchronized (this) {
+                cache = translatedTemplates;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumWeight(16L * 1024L * 1024L) // 16 MB
+                            .weigher((String template, String translated) -> template.length() + translated.length())
+                            .expireAfterAccess(30, TimeUnit.MINUTES)
+                            .build();
+                    translatedTemplates = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     public String replaceLanguageInHtml(String from) {
@@ -107,35 +176,18 @@ public class Locale extends HashMap<Lang, Message> {
             return from;
         }
 
-        Pattern scripts = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+        LocaleTranslator html = getHtmlTranslator();
+        LocaleTranslator javascript = getJavascriptTranslator();
 
-        Matcher scriptMatcher = scripts.matcher(from);
-        List<String> foundScripts = new ArrayList<>();
+        StringBuilder complete = new StringBuilder(from.length());
+        Matcher scriptMatcher = SCRIPTS.matcher(from);
+        int start = 0;
         while (scriptMatcher.find()) {
-            foundScripts.add(scriptMatcher.toMatchResult().group(0));
+            complete.append(html.translate(from.substring(start, scriptMatcher.start())))
+                    .append(javascript.translate(scriptMatcher.group()));
+            start = scriptMatcher.end();
         }
-
-        TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(HtmlLang.values())
-                // Longest first so that entries that contain each other don't partially replace.
-                .sorted((one, two) -> Integer.compare(
-                        two.getIdentifier().length(),
-                        one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
-
-        StringBuilder complete = new StringBuilder(translated.length());
-
-        String[] parts = scripts.split(translated.toString());
-        for (int i = 0; i < parts.length; i++) {
-            complete.append(parts[i]);
-            if (i < parts.length - 1) {
-                complete.append(replaceLanguageInJavascript(foundScripts.get(i)));
-            }
-        }
-
+        complete.append(html.translate(from.substring(start)));
         return complete.toString();
     }
 
@@ -143,48 +195,54 @@ public class Locale extends HashMap<Lang, Message> {
         if (isEmpty()) {
             return from;
         }
+        return getJavascriptTranslator().translate(from);
+    }
+
+    private LocaleTranslator getHtmlTranslator() {
+        LocaleTranslator translator = htmlTranslator;
+        if (translator == null) {
+            translator = createTranslator(HtmlLang.values());
+            htmlTranslator = translator;
+        }
+        return translator;
+    }
+
+    private LocaleTranslator getJavascriptTranslator() {
+        LocaleTranslator translator = javascriptTranslator;
+        if (translator == null) {
+            List<Lang> langs = new ArrayList<>(Arrays.asList(JSLang.values()));
+            langs.addAll(Arrays.asList(JS_EXTRA_LANG));
+            translator = createTranslator(langs.toArray(new Lang[0]));
+            javascriptTranslator = translator;
+        }
+        return translator;
+    }
 
-        TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(JSLang.values())
-                // Longest first so that entries that contain each other don't partially replace.
-                .sorted((one, two) -> Integer.compare(
-                        two.getIdentifier().length(),
-                        one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
-
-        for (Lang extra : new Lang[]{
-                HtmlLang.UNIT_NO_DATA,
-                HtmlLang.TITLE_WORLD_PLAYTIME,
-                HtmlLang.LABEL_OPERATOR,
-                HtmlLang.LABEL_BANNED,
-                HtmlLang.SIDE_SESSIONS,
-                HtmlLang.LABEL_PLAYTIME,
-                HtmlLang.LABEL_AFK_TIME,
-                HtmlLang.LABEL_LONGEST_SESSION,
-                HtmlLang.LABEL_SESSION_MEDIAN,
-                HtmlLang.LABEL_PLAYER_KILLS,
-                HtmlLang.LABEL_MOB_KILLS,
-                HtmlLang.LABEL_DEATHS,
-                HtmlLang.LABEL_PLAYERS_ONLINE,
-                HtmlLang.LABEL_REGISTERED,
-                HtmlLang.TITLE_SERVER,
-                HtmlLang.TITLE_LENGTH,
-                HtmlLang.TITLE_AVG_PING,
-                HtmlLang.TITLE_BEST_PING,
-                HtmlLang.TITLE_WORST_PING,
-                HtmlLang.LABEL_FREE_DISK_SPACE,
-                HtmlLang.LABEL_NEW_PLAYERS,
-                HtmlLang.LABEL_UNIQUE_PLAYERS,
-
-        }) {
-            getNonDefault(extra).ifPresent(replacement ->
-                    translated.translate(extra.getDefault(), replacement.toString()));
+    private LocaleTranslator createTranslator(Lang[] langs) {
+        Map<String, String> translations = new HashMap<>();
+        for (Lang lang : langs) {
+            getNonDefault(lang).ifPresent(replacement -> translations.put(lang.getDefault(), replacement.toString()));
         }
+        return new LocaleTranslator(translations);
+    }
+
+    private void clearTranslations() {
+        htmlTranslator = null;
+        javascriptTranslator = null;
+        Cache<String, String> cache = translatedTemplates;
+        if (cache != null) cache.invalidateAll();
+    }
 
-        return translated.toString();
+    @Override
+    public Message put(Lang key, Message value) {
+        clearTranslations();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends Lang, ? extends Message> m) {
+        clearTranslations();
+        super.putAll(m);
     }
 
     @Override
@@ -0,0 +1,158 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates all entries of a locale in a single pass over the text, using an Aho-Corasick automaton.
+ * <p>
+ * When entries overlap, the one that starts first is used, and of those the longest.
+ * Translated text is not translated again.
+ * Links and ${placeholders} are not translated.
+ *
+ * @author Rsl1122
+ */
+class LocaleTranslator {
+
+    private static final Pattern LOCKED = Pattern.compile("http(s|)://[\\w.\\-_%/?$#@!()&=]+|\\$\\{[^}]*}");
+
+    private final Node root;
+    private final boolean empty;
+
+    LocaleTranslator(Map<String, String> translations) {
+        root = new Node(0);
+        boolean noEntries = true;
+        for (Map.Entry<String, String> translation : translations.entrySet()) {
+            String replace = translation.getKey();
+            String with = translation.getValue();
+            if (replace.isEmpty() || replace.equals(with)) continue;
+            add(replace, with);
+            noEntries = false;
+        }
+        empty = noEntries;
+        buildFailureLinks();
+    }
+
+    private void add(String replace, String with) {
+        Node node = root;
+        for (char c : replace.toCharArray()) {
+            Node parent = node;
+            node = parent.children.computeIfAbsent(c, key -> new Node(parent.depth + 1));
+        }
+        node.replacement = with;
+    }
+
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            child.match = child.replacement != null ? child : null;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(c)) {
+                    failure = failure.failure;
+                }
+                Node failureChild = failure.children.get(c);
+                child.failure = failureChild != null && failureChild != child ? failureChild : root;
+                // Longest entry that ends at this node
+                child.match = child.replacement != null ? child : child.failure.match;
+                queue.add(child);
+            }
+        }
+    }
+
+    String translate(String text) {
+        if (empty || text.isEmpty()) return text;
+
+        StringBuilder translated = new StringBuilder(text.length());
+        Matcher locked = LOCKED.matcher(text);
+        int start = 0;
+        while (locked.find()) {
+            translate(text, start, locked.start(), translated);
+            translated.append(text, locked.start(), locked.end());
+            start = locked.end();
+        }
+        translate(text, start, text.length(), translated);
+        return translated.toString();
+    }
+
+    private void translate(String text, int from, int to, StringBuilder translated) {
+        int copied = from;
+        int i = from;
+        Node state = root;
+        int matchStart = -1;
+        int matchEnd = -1;
+        String matchReplacement = null;
+
+        while (i < to || matchStart != -1) {
+            if (i < to) {
+                state = next(state, text.charAt(i));
+                Node match = state.match;
+                if (match != null) {
+                    int start = i - match.depth + 1;
+                    if (matchStart == -1 || start <= matchStart) {
+                        matchStart = start;
+                        matchEnd = i + 1;
+                        matchReplacement = match.replacement;
+                    }
+                }
+                i++;
+            }
+            // Matches found later can not start before (i - state.depth), so the match is final.
+            if (matchStart != -1 && (i >= to || matchStart < i - state.depth)) {
+                translated.append(text, copied, matchStart).append(matchReplacement);
+                copied = matchEnd;
+                // Continue right after the match, so that matches overlapping it are not used.
+                i = matchEnd;
+                state = root;
+                matchStart = -1;
+            }
+        }
+        translated.append(text, copied, to);
+    }
+
+    private Node next(Node state, char c) {
+        Node node = state;
+        while (true) {
+            Node child = node.children.get(c);
+            if (child != null) return child;
+            if (node == root) return root;
+            node = node.failure;
+        }
+    }
+
+    private static class Node {
+        final int depth;
+        final Map<Character, Node> children = new HashMap<>();
+        Node failure;
+        Node match;
+        String replacement;
+
+        Node(int depth) {
+            this.depth = depth;
+        }
+    }
+}
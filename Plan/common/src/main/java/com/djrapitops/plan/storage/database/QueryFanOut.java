@@ -0,0 +1,205 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.DebugChannels;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent read queries of one JSON payload at the same time.
+ * <p>
+ * Queries are executed on a small thread pool when the database has a connection pool (MySQL),
+ * on other databases they are executed one after another on the calling thread.
+ * Time taken by each query is logged on the SQL debug channel.
+ *
+ * @author Rsl1122
+ */
+@Singleton
+public class QueryFanOut {
+
+    static final int READ_THREADS = 4; // MySQL connection pool has 8 connections, leave room for transactions
+
+    private final DBSystem dbSystem;
+    private final PluginLogger logger;
+    private final ThreadPoolExecutor readExecutor;
+
+    @Inject
+    public QueryFanOut(
+            DBSystem dbSystem,
+            PluginLogger logger
+    ) {
+        this.dbSystem = dbSystem;
+        this.logger = logger;
+
+        readExecutor = new ThreadPoolExecutor(READ_THREADS, READ_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("Plan DB-read-%d")
+                        .daemon(true)
+                        .build()
+        );
+        readExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Start a new batch of queries.
+     *
+     * @param name Name of the batch for the debug log, eg. "Network overview"
+     * @return Batch to submit the queries to.
+     */
+    public Batch batch(String name) {
+        Database db = dbSystem.getDatabase();
+        Executor executor = db.getType() == DBType.MYSQL ? readExecutor : Runnable::run;
+        return new Batch(name, db, executor, message -> logger.getDebugLogger().logOn(DebugChannels.SQL, message));
+    }
+
+    /**
+     * Queries of one JSON payload.
+     */
+    public static class Batch {
+        private final String name;
+        private final Database db;
+        private final Executor executor;
+        private final Consumer<String> timingLog;
+
+        private final long batchStart;
+        private final List<CompletableFuture<?>> futures;
+        private final List<QueryTiming> timings;
+
+        Batch(String name, Database db, Executor executor, Consumer<String> timingLog) {
+            this.name = name;
+            this.db = db;
+            this.executor = executor;
+            this.timingLog = timingLog;
+
+            batchStart = System.nanoTime();
+            futures = new ArrayList<>();
+            timings = new CopyOnWriteArrayList<>();
+        }
+
+        /**
+         * Submit a query to be executed.
+         *
+         * @param label Name of the query for the debug log, eg. "unique_players_1d"
+         * @param query Query to execute.
+         * @param <T>   Type of the result.
+         * @return Future that completes with the query result.
+         */
+        public <T> CompletableFuture<T> query(String label, Query<T> query) {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return db.query(query);
+                } finally {
+                    long end = System.nanoTime();
+                    timings.add(new QueryTiming(label, toMs(start - batchStart), toMs(end - start)));
+                }
+            }, executor);
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * Wait for all submitted queries to finish.
+         * <p>
+         * Results of the futures can be read with {@link CompletableFuture#join()} afterwards without waiting.
+         *
+         * @throws RuntimeException The exception of a failed query, eg. DBOpException.
+         */
+        public void awaitAll() {
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw e;
+            } finally {
+                timingLog.accept(createTimingMessage());
+            }
+        }
+
+        private String createTimingMessage() {
+            List<QueryTiming> slowestFirst = new ArrayList<>(timings);
+            slowestFirst.sort(Comparator.comparingLong(QueryTiming::getDurationMs).reversed());
+            StringBuilder message = new StringBuilder(name).append(": ")
+                    .append(slowestFirst.size()).append(" queries in ")
+                    .append(toMs(System.nanoTime() - batchStart)).append(" ms");
+            for (QueryTiming timing : slowestFirst) {
+                message.append(", ").append(timing);
+            }
+            return message.toString();
+        }
+
+        /**
+         * Get the time taken by each finished query.
+         *
+         * @return Timings in the order the queries finished.
+         */
+        public List<QueryTiming> getTimings() {
+            return timings;
+        }
+
+        private static long toMs(long nanos) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+
+    /**
+     * Time taken by a query in a {@link Batch}.
+     */
+    public static class QueryTiming {
+        private final String label;
+        private final long startMs;
+        private final long durationMs;
+
+        QueryTiming(String label, long startMs, long durationMs) {
+            this.label = label;
+            this.startMs = startMs;
+            this.durationMs = durationMs;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return Milliseconds from the start of the batch to the start of the query, time spent waiting for a thread.
+         */
+        public long getStartMs() {
+            return startMs;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        @Override
+        public String toString() {
+            return label + " " + durationMs + " ms (started at " + startMs + " ms)";
+        }
+    }
+}
@@ -47,6 +47,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -67,6 +68,7 @@ public abstract class SQLDB extends AbstractDatabase {
 
     private Supplier<ExecutorService> transactionExecutorServiceProvider;
     private ExecutorService transactionExecutor;
+    private final AtomicInteger pendingTransactions;
 
     private final boolean devMode;
 
@@ -86,6 +88,7 @@ public abstract class SQLDB extends AbstractDatabase {
         this.errorLogger = errorLogger;
 
         devMode = config.isTrue(PluginSettings.DEV_MODE);
+        pendingTransactions = new AtomicInteger(0);
 
         this.transactionExecutorServiceProvider = () -> {
             String nameFormat = "Plan " + getClass().getSimpleName() + "-transaction-thread-%d";
@@ -244,14 +247,33 @@ public abstract class SQLDB extends AbstractDatabase {
 
         Exception origin = new Exception();
 
-        return CompletableFuture.supplyAsync(() -> {
-            accessLock.checkAccess(transaction);
-            if (devMode) {
-                logger.getDebugLogger().logOn(DebugChannels.SQL, "Executing: " + transaction.getClass().getSimpleName());
-            }
-            transaction.executeTransaction(this);
-            return CompletableFuture.completedFuture(null);
-        }, getTransactionExecutor()).handle(errorHandler(transaction, origin));
+        pendingTransactions.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    accessLock.checkAccess(transaction);
+                    if (devMode) {
+                        logger.getDebugLogger().logOn(DebugChannels.SQL, "Executing: " + transaction.getClass().getSimpleName());
+                    }
+                    transaction.executeTransaction(this);
+                    return CompletableFuture.completedFuture(null);
+                } finally {
+                    pendingTransactions.decrementAndGet();
+                }
+            }, getTransactionExecutor()).handle(errorHandler(transaction, origin));
+        } catch (RejectedExecutionException e) {
+            pendingTransactions.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of transactions that are waiting for or being executed by the transaction thread.
+     *
+     * @return Count of transactions that have not finished.
+     */
+    public int getPendingTransactionCount() {
+        return pendingTransactions.get();
     }
 
     private BiFunction<CompletableFuture<Object>, Throwable, CompletableFuture<Object>> errorHandler(Transaction transaction, Exception origin) {
@@ -19,6 +19,7 @@ package com.djrapitops.plan.storage.database.queries;
 import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.delivery.domain.auth.User;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
+import com.djrapitops.plan.exceptions.database.DBOpException;
 import com.djrapitops.plan.gathering.domain.*;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.storage.database.sql.tables.*;
@@ -27,13 +28,14 @@ import com.djrapitops.plan.storage.database.transactions.Executable;
 import com.djrapitops.plugin.utilities.Verify;
 import org.apache.commons.lang3.StringUtils;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+
+import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
 
 /**
  * Static method class for large storage queries.
@@ -351,6 +353,202 @@ public class LargeStoreQueries {
         };
     }
 
+    /**
+     * Store sessions with their kills and world times in three batch statements.
+     * <p>
+     * Unlike {@link #storeAllSessionsWithKillAndWorldData(Collection)}, session and world ids are fetched once
+     * per server after the sessions have been inserted, instead of a sub-query for every kill and world time row.
+     * Used for saving all active sessions when the server is shutting down.
+     *
+     * @param sessions Sessions, of which {@link Session#endSession(long)} has been called.
+     * @return Executable, use inside a {@link com.djrapitops.plan.storage.database.transactions.Transaction}
+     */
+    public static Executable storeAllSessionsInBulk(Collection<Session> sessions) {
+        if (Verify.isEmpty(sessions)) {
+            return Executable.empty();
+        }
+
+        return connection -> {
+            storeAllSessionsWithoutKillOrWorldData(sessions).execute(connection);
+
+            Map<UUID, Long> earliestStartOfServers = new HashMap<>();
+            for (Session session : sessions) {
+                long start = session.getUnsafe(SessionKeys.START);
+                earliestStartOfServers.merge(session.getUnsafe(SessionKeys.SERVER_UUID), start, Math::min);
+            }
+
+            Map<String, Integer> sessionIds = new HashMap<>();
+            Map<UUID, Map<String, Integer>> worldIds = new HashMap<>();
+            for (Map.Entry<UUID, Long> entry : earliestStartOfServers.entrySet()) {
+                UUID serverUUID = entry.getKey();
+                sessionIds.putAll(queryInTransaction(connection, fetchSessionIds(serverUUID, entry.getValue())));
+                worldIds.put(serverUUID, fetchOrRegisterWorldIds(connection, serverUUID, sessions));
+            }
+
+            storeSessionKillData(sessions, sessionIds).execute(connection);
+            return storeSessionWorldTimeData(sessions, sessionIds, worldIds).execute(connection);
+        };
+    }
+
+    private static <T> T queryInTransaction(Connection connection, QueryStatement<T> query) {
+        // Uncommitted rows are only visible to the same connection.
+        try {
+            return query.executeQuery(connection.prepareStatement(query.getSql()));
+        } catch (SQLException e) {
+            throw DBOpException.forCause(query.getSql(), e);
+        }
+    }
+
+    private static String sessionIdKey(UUID playerUUID, long start, long end) {
+        return playerUUID.toString() + ';' + start + ';' + end;
+    }
+
+    private static String sessionIdKey(Session session) {
+        return sessionIdKey(session.getUnsafe(SessionKeys.UUID), session.getUnsafe(SessionKeys.START), session.getUnsafe(SessionKeys.END));
+    }
+
+    private static QueryStatement<Map<String, Integer>> fetchSessionIds(UUID serverUUID, long earliestStart) {
+        String sql = SELECT + SessionsTable.ID + ',' +
+                SessionsTable.USER_UUID + ',' +
+                SessionsTable.SESSION_START + ',' +
+                SessionsTable.SESSION_END +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SessionsTable.SESSION_START + ">=?";
+        return new QueryStatement<Map<String, Integer>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, earliestStart);
+            }
+
+            @Override
+            public Map<String, Integer> processResults(ResultSet set) throws SQLException {
+                Map<String, Integer> ids = new HashMap<>();
+                while (set.next()) {
+                    UUID playerUUID = UUID.fromString(set.getString(SessionsTable.USER_UUID));
+                    long start = set.getLong(SessionsTable.SESSION_START);
+                    long end = set.getLong(SessionsTable.SESSION_END);
+                    ids.put(sessionIdKey(playerUUID, start, end), set.getInt(SessionsTable.ID));
+                }
+                return ids;
+            }
+        };
+    }
+
+    private static Map<String, Integer> fetchOrRegisterWorldIds(Connection connection, UUID serverUUID, Collection<Session> sessions) {
+        Map<String, Integer> worldIds = queryInTransaction(connection, fetchWorldIds(serverUUID));
+
+        // World times of worlds that have not been stored yet would be lost.
+        Set<String> missingWorlds = new HashSet<>();
+        for (Session session : sessions) {
+            if (!serverUUID.equals(session.getUnsafe(SessionKeys.SERVER_UUID))) continue;
+            Map<String, GMTimes> worldTimes = session.getValue(SessionKeys.WORLD_TIMES)
+                    .map(WorldTimes::getWorldTimes).orElse(Collections.emptyMap());
+            for (String worldName : worldTimes.keySet()) {
+                String storedName = StringUtils.truncate(worldName, 100);
+                if (!worldIds.containsKey(storedName)) missingWorlds.add(storedName);
+            }
+        }
+        if (missingWorlds.isEmpty()) return worldIds;
+
+        insertWorldNames(serverUUID, missingWorlds).execute(connection);
+        return queryInTransaction(connection, fetchWorldIds(serverUUID));
+    }
+
+    private static Executable insertWorldNames(UUID serverUUID, Collection<String> worldNames) {
+        return new ExecBatchStatement(WorldTable.INSERT_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (String worldName : worldNames) {
+                    statement.setString(1, worldName);
+                    statement.setString(2, serverUUID.toString());
+                    statement.addBatch();
+                }
+            }
+        };
+    }
+
+    private static QueryStatement<Map<String, Integer>> fetchWorldIds(UUID serverUUID) {
+        String sql = SELECT + WorldTable.ID + ',' + WorldTable.NAME +
+                FROM + WorldTable.TABLE_NAME +
+                WHERE + WorldTable.SERVER_UUID + "=?";
+        return new QueryStatement<Map<String, Integer>>(sql, 100) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+            }
+
+            @Override
+            public Map<String, Integer> processResults(ResultSet set) throws SQLException {
+                Map<String, Integer> ids = new HashMap<>();
+                while (set.next()) {
+                    ids.put(set.getString(WorldTable.NAME), set.getInt(WorldTable.ID));
+                }
+                return ids;
+            }
+        };
+    }
+
+    private static Executable storeSessionKillData(Collection<Session> sessions, Map<String, Integer> sessionIds) {
+        return new ExecBatchStatement(KillsTable.INSERT_WITH_SESSION_ID_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                for (Session session : sessions) {
+                    Integer sessionId = sessionIds.get(sessionIdKey(session));
+                    if (sessionId == null) continue;
+                    String playerUUID = session.getUnsafe(SessionKeys.UUID).toString();
+                    String serverUUID = session.getUnsafe(SessionKeys.SERVER_UUID).toString();
+                    for (PlayerKill kill : session.getPlayerKills()) {
+                        statement.setInt(1, sessionId);
+                        statement.setString(2, playerUUID);
+                        statement.setString(3, kill.getVictim().toString());
+                        statement.setString(4, serverUUID);
+                        statement.setLong(5, kill.getDate());
+                        statement.setString(6, StringUtils.truncate(kill.getWeapon(), KillsTable.WEAPON_COLUMN_LENGTH));
+                        statement.addBatch();
+                    }
+                }
+            }
+        };
+    }
+
+    private static Executable storeSessionWorldTimeData(
+            Collection<Session> sessions,
+            Map<String, Integer> sessionIds,
+            Map<UUID, Map<String, Integer>> worldIds
+    ) {
+        return new ExecBatchStatement(WorldTimesTable.INSERT_WITH_IDS_STATEMENT) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                String[] gms = GMTimes.getGMKeyArray();
+                for (Session session : sessions) {
+                    Integer sessionId = sessionIds.get(sessionIdKey(session));
+                    if (sessionId == null) continue;
+                    UUID serverUUID = session.getUnsafe(SessionKeys.SERVER_UUID);
+                    Map<String, Integer> worldIdsOfServer = worldIds.getOrDefault(serverUUID, Collections.emptyMap());
+                    Map<String, GMTimes> worldTimes = session.getValue(SessionKeys.WORLD_TIMES)
+                            .map(WorldTimes::getWorldTimes).orElse(Collections.emptyMap());
+                    for (Map.Entry<String, GMTimes> worldTimesEntry : worldTimes.entrySet()) {
+                        Integer worldId = worldIdsOfServer.get(StringUtils.truncate(worldTimesEntry.getKey(), 100));
+                        if (worldId == null) continue;
+                        GMTimes gmTimes = worldTimesEntry.getValue();
+
+                        statement.setInt(1, sessionId);
+                        statement.setInt(2, worldId);
+                        statement.setString(3, session.getUnsafe(SessionKeys.UUID).toString());
+                        statement.setString(4, serverUUID.toString());
+                        statement.setLong(5, gmTimes.getTime(gms[0]));
+                        statement.setLong(6, gmTimes.getTime(gms[1]));
+                        statement.setLong(7, gmTimes.getTime(gms[2]));
+                        statement.setLong(8, gmTimes.getTime(gms[3]));
+                        statement.addBatch();
+                    }
+                }
+            }
+        };
+    }
+
     public static Executable storeAllPingData(Map<UUID, List<Ping>> ofUsers) {
         if (Verify.isEmpty(ofUsers)) {
             return Executable.empty();
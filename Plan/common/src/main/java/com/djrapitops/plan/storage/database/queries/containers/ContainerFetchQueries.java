@@ -19,8 +19,10 @@ package com.djrapitops.plan.storage.database.queries.containers;
 import com.djrapitops.plan.delivery.domain.container.DataContainer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.container.ServerContainer;
+import com.djrapitops.plan.delivery.domain.keys.Key;
 import com.djrapitops.plan.storage.database.queries.Query;
 
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -58,4 +60,18 @@ public class ContainerFetchQueries {
         return new PlayerContainerQuery(playerUUID);
     }
 
+    /**
+     * Used to get a PlayerContainer of a specific player, when only some keys are going to be used.
+     * <p>
+     * Values of the declared keys are fetched with as narrow queries as possible.
+     *
+     * @param playerUUID UUID of the player.
+     * @param keys       Keys that are going to be used.
+     * @return a new PlayerContainer.
+     * @see PlayerContainerQuery
+     */
+    public static Query<PlayerContainer> fetchPlayerContainer(UUID playerUUID, Collection<Key<?>> keys) {
+        return new PlayerContainerQuery(playerUUID, keys);
+    }
+
 }
\ No newline at end of file
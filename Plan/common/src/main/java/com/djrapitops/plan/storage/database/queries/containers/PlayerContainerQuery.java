@@ -38,15 +38,32 @@ import java.util.UUID;
  * Used to get a PlayerContainer of a specific player.
  * <p>
  * Blocking methods are not called until DataContainer getter methods are called.
+ * <p>
+ * If the keys that are going to be used are declared, values that would otherwise be calculated from all sessions of
+ * the player are fetched with narrow queries, eg. a count query for {@link PlayerKeys#SESSION_COUNT}, as long as
+ * {@link PlayerKeys#SESSIONS} or {@link PlayerKeys#PER_SERVER} are not among the declared keys.
+ * Keys that are not declared are still supported.
  *
  * @author Rsl1122
  */
 public class PlayerContainerQuery implements Query<PlayerContainer> {
 
     private final UUID uuid;
+    private final Collection<Key<?>> keys;
 
     public PlayerContainerQuery(UUID uuid) {
+        this(uuid, null);
+    }
+
+    /**
+     * Create a query for a PlayerContainer that is used for some keys.
+     *
+     * @param uuid UUID of the player.
+     * @param keys Keys that are going to be used, or null if any key might be used.
+     */
+    public PlayerContainerQuery(UUID uuid, Collection<Key<?>> keys) {
         this.uuid = uuid;
+        this.keys = keys;
     }
 
     @Override
@@ -65,9 +82,6 @@ public class PlayerContainerQuery implements Query<PlayerContainer> {
         container.putCachingSupplier(PlayerKeys.NICKNAMES, () -> db.query(NicknameQueries.fetchNicknameDataOfPlayer(uuid)));
         container.putCachingSupplier(PlayerKeys.PER_SERVER, () -> db.query(new PerServerContainerQuery(uuid)));
 
-        container.putSupplier(PlayerKeys.BANNED, () -> new PerServerMutator(container.getValue(PlayerKeys.PER_SERVER).orElse(new PerServerContainer())).isBanned());
-        container.putSupplier(PlayerKeys.OPERATOR, () -> new PerServerMutator(container.getValue(PlayerKeys.PER_SERVER).orElse(new PerServerContainer())).isOperator());
-
         container.putCachingSupplier(PlayerKeys.SESSIONS, () -> {
             List<Session> sessions = new PerServerMutator(container.getValue(PlayerKeys.PER_SERVER).orElse(new PerServerContainer())).flatMapSessions();
                     container.getValue(PlayerKeys.ACTIVE_SESSION).ifPresent(sessions::add);
@@ -83,13 +97,52 @@ public class PlayerContainerQuery implements Query<PlayerContainer> {
             return worldTimes;
         });
 
-        container.putSupplier(PlayerKeys.LAST_SEEN, () -> SessionsMutator.forContainer(container).toLastSeen());
         container.putSupplier(PlayerKeys.PLAYER_KILLS, () -> db.query(KillQueries.fetchPlayerKillsOfPlayer(uuid)));
         container.putSupplier(PlayerKeys.PLAYER_DEATHS_KILLS, () -> db.query(KillQueries.fetchPlayerDeathsOfPlayer(uuid)));
-        container.putSupplier(PlayerKeys.PLAYER_KILL_COUNT, () -> container.getValue(PlayerKeys.PLAYER_KILLS).map(Collection::size).orElse(0));
+
+        if (isDeclared(PlayerKeys.PLAYER_KILLS)) {
+            container.putSupplier(PlayerKeys.PLAYER_KILL_COUNT, () -> container.getValue(PlayerKeys.PLAYER_KILLS).map(Collection::size).orElse(0));
+        } else {
+            container.putSupplier(PlayerKeys.PLAYER_KILL_COUNT, () -> db.query(KillQueries.playerKillCountOfPlayer(uuid)));
+        }
+
+        if (isDeclared(PlayerKeys.SESSIONS) || isDeclared(PlayerKeys.PER_SERVER)) {
+            addSuppliersCalculatedFromSessions(container);
+        } else {
+            addSuppliersWithNarrowQueries(db, container);
+        }
+
+        return container;
+    }
+
+    private boolean isDeclared(Key<?> key) {
+        return keys == null || keys.contains(key);
+    }
+
+    private void addSuppliersCalculatedFromSessions(PlayerContainer container) {
+        container.putSupplier(PlayerKeys.BANNED, () -> new PerServerMutator(container.getValue(PlayerKeys.PER_SERVER).orElse(new PerServerContainer())).isBanned());
+        container.putSupplier(PlayerKeys.OPERATOR, () -> new PerServerMutator(container.getValue(PlayerKeys.PER_SERVER).orElse(new PerServerContainer())).isOperator());
+        container.putSupplier(PlayerKeys.SESSION_COUNT, () -> SessionsMutator.forContainer(container).count());
+        container.putSupplier(PlayerKeys.LAST_SEEN, () -> SessionsMutator.forContainer(container).toLastSeen());
         container.putSupplier(PlayerKeys.MOB_KILL_COUNT, () -> SessionsMutator.forContainer(container).toMobKillCount());
         container.putSupplier(PlayerKeys.DEATH_COUNT, () -> SessionsMutator.forContainer(container).toDeathCount());
+    }
 
-        return container;
+    private void addSuppliersWithNarrowQueries(SQLDB db, PlayerContainer container) {
+        container.putSupplier(PlayerKeys.BANNED, () -> db.query(UserInfoQueries.isBanned(uuid)));
+        container.putSupplier(PlayerKeys.OPERATOR, () -> db.query(UserInfoQueries.isOperator(uuid)));
+        // Active session is not in the database, so it is included separately
+        container.putSupplier(PlayerKeys.SESSION_COUNT, () -> db.query(SessionQueries.sessionCountOfPlayer(uuid))
+                + (container.supports(PlayerKeys.ACTIVE_SESSION) ? 1 : 0));
+        container.putSupplier(PlayerKeys.LAST_SEEN, () -> container.supports(PlayerKeys.ACTIVE_SESSION)
+                ? System.currentTimeMillis() : db.query(SessionQueries.lastSeen(uuid)));
+        container.putSupplier(PlayerKeys.MOB_KILL_COUNT, () -> db.query(SessionQueries.mobKillCountOfPlayer(uuid))
+                + getActiveSessionValue(container, SessionKeys.MOB_KILL_COUNT));
+        container.putSupplier(PlayerKeys.DEATH_COUNT, () -> db.query(SessionQueries.deathCountOfPlayer(uuid))
+                + getActiveSessionValue(container, SessionKeys.DEATH_COUNT));
+    }
+
+    private int getActiveSessionValue(PlayerContainer container, Key<Integer> key) {
+        return container.getValue(PlayerKeys.ACTIVE_SESSION).flatMap(session -> session.getValue(key)).orElse(0);
     }
 }
\ No newline at end of file
@@ -254,6 +254,33 @@ public class KillQueries {
         };
     }
 
+    /**
+     * Query the number of players a player has killed on all servers.
+     *
+     * @param playerUUID UUID of the killer.
+     * @return Number of player kills.
+     */
+    public static Query<Integer> playerKillCountOfPlayer(UUID playerUUID) {
+        String sql = SELECT + "COUNT(1) as count" +
+                FROM + KillsTable.TABLE_NAME +
+                WHERE + KillsTable.KILLER_UUID + "=?";
+        return countOfPlayer(sql, playerUUID);
+    }
+
+    private static Query<Integer> countOfPlayer(String sql, UUID playerUUID) {
+        return new QueryStatement<Integer>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+            }
+
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("count") : 0;
+            }
+        };
+    }
+
     public static Query<List<String>> topWeaponsOfServer(long after, long before, UUID serverUUID, int limit) {
         String innerSQL = SELECT + KillsTable.WEAPON + ", COUNT(1) as kills" +
                 FROM + KillsTable.TABLE_NAME +
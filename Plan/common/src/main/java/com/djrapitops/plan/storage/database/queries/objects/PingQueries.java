@@ -185,6 +185,66 @@ public class PingQueries {
         };
     }
 
+    /**
+     * Query database for Ping data of a server combined into one entry per time period.
+     * <p>
+     * Ping values outside 1-4000 ms are ignored like in {@link com.djrapitops.plan.delivery.domain.mutators.PingMutator}.
+     *
+     * @param after        Epoch ms, start of the time frame.
+     * @param before       Epoch ms, end of the time frame.
+     * @param bucketLength Milliseconds of each period, eg. 1 minute.
+     * @param serverUUID   UUID of the server.
+     * @return List of Ping entries, one per period that has data, with -1 as value for periods without valid values, sorted by date.
+     */
+    public static Query<List<Ping>> fetchAggregatedPingDataOfServer(long after, long before, long bucketLength, UUID serverUUID) {
+        String selectPingOfServer = SELECT +
+                PingTable.DATE + "-(" + PingTable.DATE + "%?) as bucket, " +
+                PingTable.MAX_PING + ", " +
+                PingTable.MIN_PING + ", " +
+                PingTable.AVG_PING +
+                FROM + PingTable.TABLE_NAME +
+                WHERE + PingTable.SERVER_UUID + "=?" +
+                AND + PingTable.DATE + ">=?" +
+                AND + PingTable.DATE + "<=?";
+        String sql = SELECT + "bucket" +
+                ", MIN(" + valueInRange(PingTable.MIN_PING) + ") as minPing" +
+                ", MAX(" + valueInRange(PingTable.MAX_PING) + ") as maxPing" +
+                ", AVG(" + valueInRange(PingTable.AVG_PING) + ") as avgPing" +
+                FROM + '(' + selectPingOfServer + ") q1" +
+                GROUP_BY + "bucket" +
+                ORDER_BY + "bucket";
+
+        return new QueryStatement<List<Ping>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setLong(1, bucketLength);
+                statement.setString(2, serverUUID.toString());
+                statement.setLong(3, after);
+                statement.setLong(4, before);
+            }
+
+            @Override
+            public List<Ping> processResults(ResultSet set) throws SQLException {
+                List<Ping> pings = new ArrayList<>();
+                while (set.next()) {
+                    int minPing = set.getInt("minPing");
+                    if (set.wasNull()) minPing = -1;
+                    int maxPing = set.getInt("maxPing");
+                    if (set.wasNull()) maxPing = -1;
+                    double avgPing = set.getDouble("avgPing");
+                    if (set.wasNull()) avgPing = -1;
+
+                    pings.add(new Ping(set.getLong("bucket"), null, minPing, maxPing, avgPing));
+                }
+                return pings;
+            }
+        };
+    }
+
+    private static String valueInRange(String column) {
+        return "CASE WHEN " + column + ">0" + AND + column + "<=4000 THEN " + column + " END";
+    }
+
     public static Query<Map<String, Ping>> fetchPingDataOfServerByGeolocation(UUID serverUUID) {
         String selectPingOfServer = SELECT +
                 PingTable.MAX_PING + ", " +
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.storage.database.queries.objects;
 
+import com.djrapitops.plan.delivery.domain.ActivityPerDay;
 import com.djrapitops.plan.delivery.domain.DateHolder;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -263,6 +264,226 @@ public class SessionQueries {
         };
     }
 
+    /**
+     * Query session start dates of a server without loading the sessions.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the Plan server
+     * @return Sorted list of session start epoch ms.
+     */
+    public static Query<List<Long>> fetchSessionStartsOfServer(long after, long before, UUID serverUUID) {
+        String sql = SELECT + SessionsTable.SESSION_START +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.SERVER_UUID + "=?" +
+                AND + SessionsTable.SESSION_START + ">=?" +
+                AND + SessionsTable.SESSION_START + "<=?" +
+                ORDER_BY + SessionsTable.SESSION_START;
+
+        return new QueryStatement<List<Long>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+            }
+
+            @Override
+            public List<Long> processResults(ResultSet set) throws SQLException {
+                List<Long> sessionStarts = new ArrayList<>();
+                while (set.next()) {
+                    sessionStarts.add(set.getLong(SessionsTable.SESSION_START));
+                }
+                return sessionStarts;
+            }
+        };
+    }
+
+    /**
+     * Query the first sessions of players who registered on a server during the time frame.
+     * <p>
+     * Session is the first session if it started less than 500 ms from the register date.
+     *
+     * @param after      After epoch ms
+     * @param before     Before epoch ms
+     * @param serverUUID UUID of the Plan server
+     * @return List of sessions without kill or world data.
+     */
+    public static Query<List<Session>> fetchFirstSessionsOfServer(long after, long before, UUID serverUUID) {
+        String sql = SELECT +
+                "s." + SessionsTable.ID + ',' +
+                "s." + SessionsTable.USER_UUID + ',' +
+                "s." + SessionsTable.SESSION_START + ',' +
+                "s." + SessionsTable.SESSION_END + ',' +
+                "s." + SessionsTable.DEATHS + ',' +
+                "s." + SessionsTable.MOB_KILLS + ',' +
+                "s." + SessionsTable.AFK_TIME +
+                FROM + SessionsTable.TABLE_NAME + " s" +
+                INNER_JOIN + UserInfoTable.TABLE_NAME + " u on u." + UserInfoTable.USER_UUID + "=s." + SessionsTable.USER_UUID +
+                AND + "u." + UserInfoTable.SERVER_UUID + "=s." + SessionsTable.SERVER_UUID +
+                WHERE + "s." + SessionsTable.SERVER_UUID + "=?" +
+                AND + "s." + SessionsTable.SESSION_START + ">=?" +
+                AND + "s." + SessionsTable.SESSION_START + "<=?" +
+                AND + "u." + UserInfoTable.REGISTERED + ">=?" +
+                AND + "u." + UserInfoTable.REGISTERED + "<=?" +
+                AND + "ABS(u." + UserInfoTable.REGISTERED + "-s." + SessionsTable.SESSION_START + ")<500";
+
+        return new QueryStatement<List<Session>>(sql, 1000) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, serverUUID.toString());
+                statement.setLong(2, after);
+                statement.setLong(3, before);
+                statement.setLong(4, after);
+                statement.setLong(5, before);
+            }
+
+            @Override
+            public List<Session> processResults(ResultSet set) throws SQLException {
+                List<Session> sessions = new ArrayList<>();
+                while (set.next()) {
+                    UUID uuid = UUID.fromString(set.getString(SessionsTable.USER_UUID));
+                    long start = set.getLong(SessionsTable.SESSION_START);
+                    long end = set.getLong(SessionsTable.SESSION_END);
+
+                    int deaths = set.getInt(SessionsTable.DEATHS);
+                    int mobKills = set.getInt(SessionsTable.MOB_KILLS);
+                    int id = set.getInt(SessionsTable.ID);
+
+                    long timeAFK = set.getLong(SessionsTable.AFK_TIME);
+
+                    sessions.add(new Session(id, uuid, serverUUID, start, end, mobKills, deaths, timeAFK));
+                }
+                return sessions;
+            }
+        };
+    }
+
+    /**
+     * Count sessions of a server by the day of week and hour of day they started.
+     *
+     * @param after          After epoch ms
+     * @param before         Before epoch ms
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the dates before grouping.
+     * @param serverUUID     UUID of the Plan server
+     * @return Matrix: Day of week (0 = Monday, 6 = Sunday) - Hour of day (0-23) - Session count
+     */
+    public static Query<int[][]> sessionCountPerDayOfWeekAndHour(long after, long before, long timeZoneOffset, UUID serverUUID) {
+        return database -> {
+            Sql sql = database.getSql();
+            String date = sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000");
+            String selectSessionsPerDayAndHour = SELECT +
+                    "day_of_week, hour_of_day, COUNT(1) as session_count" +
+                    FROM + '(' + SELECT +
+                    sql.dateToDayOfWeek(date) + " as day_of_week, " +
+                    sql.dateToHour(date) + " as hour_of_day" +
+                    FROM + SessionsTable.TABLE_NAME +
+                    WHERE + SessionsTable.SERVER_UUID + "=?" +
+                    AND + SessionsTable.SESSION_START + ">=?" +
+                    AND + SessionsTable.SESSION_START + "<=?" +
+                    ") q1" +
+                    GROUP_BY + "day_of_week, hour_of_day";
+
+            return database.query(new QueryStatement<int[][]>(selectSessionsPerDayAndHour, 200) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setLong(1, timeZoneOffset);
+                    statement.setLong(2, timeZoneOffset);
+                    statement.setString(3, serverUUID.toString());
+                    statement.setLong(4, after);
+                    statement.setLong(5, before);
+                }
+
+                @Override
+                public int[][] processResults(ResultSet set) throws SQLException {
+                    int[][] sessionCounts = new int[7][24];
+                    while (set.next()) {
+                        // Databases return 1 for Sunday, 2 for Monday
+                        int dayOfWeek = (set.getInt("day_of_week") + 5) % 7;
+                        int hourOfDay = set.getInt("hour_of_day");
+                        sessionCounts[dayOfWeek][hourOfDay] += set.getInt("session_count");
+                    }
+                    return sessionCounts;
+                }
+            });
+        };
+    }
+
+    /**
+     * Query unique players, new players, playtime and session count per day of a server in one go.
+     *
+     * @param after          After epoch ms
+     * @param before         Before epoch ms
+     * @param timeZoneOffset Offset from {@link java.util.TimeZone#getOffset(long)}, applied to the dates before grouping.
+     * @param serverUUID     UUID of the Plan server
+     * @return Values per day, Epoch ms (Start of day at 0 AM, no offset) as keys.
+     */
+    public static Query<ActivityPerDay> activityPerDay(long after, long before, long timeZoneOffset, UUID serverUUID) {
+        return database -> {
+            Sql sql = database.getSql();
+            String selectSessionsPerDay = SELECT +
+                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + SessionsTable.SESSION_START + "+?)/1000"))) +
+                    "*1000 as date," +
+                    "COUNT(DISTINCT " + SessionsTable.USER_UUID + ") as unique_players," +
+                    "0 as new_players," +
+                    "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
+                    "COUNT(1) as session_count" +
+                    FROM + SessionsTable.TABLE_NAME +
+                    WHERE + SessionsTable.SESSION_END + "<=?" +
+                    AND + SessionsTable.SESSION_START + ">=?" +
+                    AND + SessionsTable.SERVER_UUID + "=?" +
+                    GROUP_BY + "date";
+            String selectNewPlayersPerDay = SELECT +
+                    sql.dateToEpochSecond(sql.dateToDayStamp(sql.epochSecondToDate('(' + UserInfoTable.REGISTERED + "+?)/1000"))) +
+                    "*1000 as date," +
+                    "0 as unique_players," +
+                    "COUNT(1) as new_players," +
+                    "0 as playtime," +
+                    "0 as session_count" +
+                    FROM + UserInfoTable.TABLE_NAME +
+                    WHERE + UserInfoTable.REGISTERED + "<=?" +
+                    AND + UserInfoTable.REGISTERED + ">=?" +
+                    AND + UserInfoTable.SERVER_UUID + "=?" +
+                    GROUP_BY + "date";
+            String selectActivityPerDay = SELECT + "date," +
+                    "SUM(unique_players) as unique_players," +
+                    "SUM(new_players) as new_players," +
+                    "SUM(playtime) as playtime," +
+                    "SUM(session_count) as session_count" +
+                    FROM + '(' + selectSessionsPerDay + UNION_ALL + selectNewPlayersPerDay + ") q1" +
+                    GROUP_BY + "date";
+
+            return database.query(new QueryStatement<ActivityPerDay>(selectActivityPerDay, 1000) {
+                @Override
+                public void prepare(PreparedStatement statement) throws SQLException {
+                    statement.setLong(1, timeZoneOffset);
+                    statement.setLong(2, before);
+                    statement.setLong(3, after);
+                    statement.setString(4, serverUUID.toString());
+                    statement.setLong(5, timeZoneOffset);
+                    statement.setLong(6, before);
+                    statement.setLong(7, after);
+                    statement.setString(8, serverUUID.toString());
+                }
+
+                @Override
+                public ActivityPerDay processResults(ResultSet set) throws SQLException {
+                    ActivityPerDay activityPerDay = new ActivityPerDay();
+                    while (set.next()) {
+                        activityPerDay.put(
+                                set.getLong("date"),
+                                set.getInt("unique_players"),
+                                set.getInt("new_players"),
+                                set.getLong("playtime"),
+                                set.getInt("session_count")
+                        );
+                    }
+                    return activityPerDay;
+                }
+            });
+        };
+    }
+
     private static Query<Long> fetchLatestSessionStartLimitForServer(UUID serverUUID, int limit) {
         String sql = SELECT + SessionsTable.SESSION_START + FROM + SessionsTable.TABLE_NAME +
                 WHERE + SessionsTable.SERVER_UUID + "=?" +
@@ -784,6 +1005,111 @@ public class SessionQueries {
         };
     }
 
+    /**
+     * Query the last time a player was seen on any server.
+     * <p>
+     * Does not include the current session of the player.
+     *
+     * @param playerUUID UUID of the player.
+     * @return Epoch ms of the latest session end, or 0 if the player has no sessions.
+     */
+    public static Query<Long> lastSeen(UUID playerUUID) {
+        String sql = SELECT + "MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?";
+        return new QueryStatement<Long>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+            }
+
+            @Override
+            public Long processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getLong("last_seen") : 0;
+            }
+        };
+    }
+
+    /**
+     * Query the number of sessions a player has on all servers.
+     * <p>
+     * Does not include the current session of the player.
+     *
+     * @param playerUUID UUID of the player.
+     * @return Number of stored sessions.
+     */
+    public static Query<Integer> sessionCountOfPlayer(UUID playerUUID) {
+        String sql = SELECT + "COUNT(1) as count" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?";
+        return countOfPlayer(sql, playerUUID);
+    }
+
+    /**
+     * Query the number of mobs a player has killed on all servers.
+     * <p>
+     * Does not include the current session of the player.
+     *
+     * @param playerUUID UUID of the player.
+     * @return Number of mob kills.
+     */
+    public static Query<Integer> mobKillCountOfPlayer(UUID playerUUID) {
+        String sql = SELECT + "SUM(" + SessionsTable.MOB_KILLS + ") as count" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?";
+        return countOfPlayer(sql, playerUUID);
+    }
+
+    /**
+     * Query the number of times a player has died on all servers.
+     * <p>
+     * Does not include the current session of the player.
+     *
+     * @param playerUUID UUID of the player.
+     * @return Number of deaths.
+     */
+    public static Query<Integer> deathCountOfPlayer(UUID playerUUID) {
+        String sql = SELECT + "SUM(" + SessionsTable.DEATHS + ") as count" +
+                FROM + SessionsTable.TABLE_NAME +
+                WHERE + SessionsTable.USER_UUID + "=?";
+        return countOfPlayer(sql, playerUUID);
+    }
+
+    private static Query<Integer> countOfPlayer(String sql, UUID playerUUID) {
+        return new QueryStatement<Integer>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+            }
+
+            @Override
+            public Integer processResults(ResultSet set) throws SQLException {
+                return set.next() ? set.getInt("count") : 0;
+            }
+        };
+    }
+
+    /**
+     * Query the last time each player was seen on any server.
+     *
+     * @return Map: Player UUID - Epoch ms of the latest session end.
+     */
+    public static Query<Map<UUID, Long>> lastSeenOfAllPlayers() {
+        String sql = SELECT + SessionsTable.USER_UUID + ",MAX(" + SessionsTable.SESSION_END + ") as last_seen" +
+                FROM + SessionsTable.TABLE_NAME +
+                GROUP_BY + SessionsTable.USER_UUID;
+        return new QueryAllStatement<Map<UUID, Long>>(sql, 20000) {
+            @Override
+            public Map<UUID, Long> processResults(ResultSet set) throws SQLException {
+                Map<UUID, Long> lastSeen = new HashMap<>();
+                while (set.next()) {
+                    lastSeen.put(UUID.fromString(set.getString(SessionsTable.USER_UUID)), set.getLong("last_seen"));
+                }
+                return lastSeen;
+            }
+        };
+    }
+
     public static Query<Long> activePlaytime(long after, long before, UUID serverUUID) {
         String sql = SELECT + "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + '-' + SessionsTable.AFK_TIME +
                 ") as playtime" +
@@ -114,6 +114,46 @@ public class UserInfoQueries {
         };
     }
 
+    /**
+     * Query database for whether a player is banned on any server.
+     *
+     * @param playerUUID UUID of the player.
+     * @return true if the player is banned on at least one server.
+     */
+    public static Query<Boolean> isBanned(UUID playerUUID) {
+        return isTrueOnAnyServer(playerUUID, UserInfoTable.BANNED);
+    }
+
+    /**
+     * Query database for whether a player is an operator on any server.
+     *
+     * @param playerUUID UUID of the player.
+     * @return true if the player is an operator on at least one server.
+     */
+    public static Query<Boolean> isOperator(UUID playerUUID) {
+        return isTrueOnAnyServer(playerUUID, UserInfoTable.OP);
+    }
+
+    private static Query<Boolean> isTrueOnAnyServer(UUID playerUUID, String column) {
+        String sql = SELECT + "COUNT(1) as count" +
+                FROM + UserInfoTable.TABLE_NAME +
+                WHERE + UserInfoTable.USER_UUID + "=?" +
+                AND + column + "=?";
+
+        return new QueryStatement<Boolean>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                statement.setString(1, playerUUID.toString());
+                statement.setBoolean(2, true);
+            }
+
+            @Override
+            public Boolean processResults(ResultSet set) throws SQLException {
+                return set.next() && set.getInt("count") > 0;
+            }
+        };
+    }
+
     /**
      * Query database for all User information of a specific server.
      *
@@ -64,6 +64,15 @@ public class KillsTable {
             + WEAPON
             + ") VALUES (" + SessionsTable.SELECT_SESSION_ID_STATEMENT + ", ?, ?, ?, ?, ?)";
 
+    public static final String INSERT_WITH_SESSION_ID_STATEMENT = "INSERT INTO " + TABLE_NAME + " ("
+            + SESSION_ID + ','
+            + KILLER_UUID + ','
+            + VICTIM_UUID + ','
+            + SERVER_UUID + ','
+            + DATE + ','
+            + WEAPON
+            + ") VALUES (?, ?, ?, ?, ?, ?)";
+
     private KillsTable() {
         /* Static information class */
     }
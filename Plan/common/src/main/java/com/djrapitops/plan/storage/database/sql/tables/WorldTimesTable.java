@@ -71,6 +71,17 @@ public class WorldTimesTable {
             WorldTable.SELECT_WORLD_ID_STATEMENT + ',' +
             "?, ?, ?, ?, ?, ?)";
 
+    public static final String INSERT_WITH_IDS_STATEMENT = "INSERT INTO " + WorldTimesTable.TABLE_NAME + " (" +
+            WorldTimesTable.SESSION_ID + ',' +
+            WorldTimesTable.WORLD_ID + ',' +
+            WorldTimesTable.USER_UUID + ',' +
+            WorldTimesTable.SERVER_UUID + ',' +
+            WorldTimesTable.SURVIVAL + ',' +
+            WorldTimesTable.CREATIVE + ',' +
+            WorldTimesTable.ADVENTURE + ',' +
+            WorldTimesTable.SPECTATOR +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
     private WorldTimesTable() {
         /* Static information class */
     }
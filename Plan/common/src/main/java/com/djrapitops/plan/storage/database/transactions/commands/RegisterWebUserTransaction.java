@@ -17,6 +17,7 @@
 package com.djrapitops.plan.storage.database.transactions.commands;
 
 import com.djrapitops.plan.delivery.domain.auth.User;
+import com.djrapitops.plan.delivery.webserver.auth.VerifiedCredentialCache;
 import com.djrapitops.plan.storage.database.sql.tables.SecurityTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
@@ -53,5 +54,7 @@ public class RegisterWebUserTransaction extends Transaction {
                 statement.setInt(4, user.getPermissionLevel());
             }
         });
+        // Cached credentials of a previous user with the same name are no longer valid
+        VerifiedCredentialCache.invalidate(user.getUsername());
     }
 }
\ No newline at end of file
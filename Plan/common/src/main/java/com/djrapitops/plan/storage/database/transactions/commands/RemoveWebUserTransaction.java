@@ -18,6 +18,7 @@ package com.djrapitops.plan.storage.database.transactions.commands;
 
 import com.djrapitops.plan.delivery.domain.WebUser;
 import com.djrapitops.plan.delivery.webserver.auth.ActiveCookieStore;
+import com.djrapitops.plan.delivery.webserver.auth.VerifiedCredentialCache;
 import com.djrapitops.plan.storage.database.queries.objects.WebUserQueries;
 import com.djrapitops.plan.storage.database.sql.tables.SecurityTable;
 import com.djrapitops.plan.storage.database.transactions.ExecStatement;
@@ -55,5 +56,6 @@ public class RemoveWebUserTransaction extends Transaction {
                 statement.setString(1, username);
             }
         });
+        VerifiedCredentialCache.invalidate(username);
     }
 }
\ No newline at end of file
@@ -37,6 +37,6 @@ public class ServerShutdownTransaction extends Transaction {
 
     @Override
     protected void performOperations() {
-        execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(unsavedSessions));
+        execute(LargeStoreQueries.storeAllSessionsInBulk(unsavedSessions));
     }
 }
\ No newline at end of file
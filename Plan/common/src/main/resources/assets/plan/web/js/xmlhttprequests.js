@@ -2,8 +2,10 @@
  * Make an XMLHttpRequest for JSON data.
  * @param address Address to request from
  * @param callback function with (json, error) parameters to call after the request.
+ * @param attempt Number of earlier attempts that were answered with 503, omit when calling.
  */
-function jsonRequest(address, callback) {
+function jsonRequest(address, callback, attempt) {
+    attempt = attempt || 0;
     setTimeout(function () {
         var xhttp = new XMLHttpRequest();
         xhttp.withCredentials = true;
@@ -17,6 +19,14 @@ function jsonRequest(address, callback) {
                         }, 0);
                     } else if (this.status === 404 || this.status === 403 || this.status === 500) {
                         callback(null, "HTTP " + this.status + " (See " + address + ")")
+                    } else if (this.status === 503 && attempt < 5) {
+                        // The server is busy with requests to the same address, try again after Retry-After seconds.
+                        const retryAfter = Number(this.getResponseHeader("Retry-After")) || 1;
+                        setTimeout(function () {
+                            jsonRequest(address, callback, attempt + 1)
+                        }, retryAfter * 1000);
+                    } else if (this.status === 503) {
+                        callback(null, "HTTP 503, server is busy (See " + address + ")")
                     } else if (this.status === 400) {
                         const json = JSON.parse(this.responseText);
                         callback(json, json.error)
@@ -40,4 +50,18 @@ function jsonRequest(address, callback) {
         xhttp.open("GET", address, true);
         xhttp.send();
     }, 0);
+}
+
+/**
+ * Add the number of points line graphs can display to a graph address.
+ * Exported pages have addresses to static files, which are left as is.
+ * @param address Address of /v1/graph to request from
+ * @returns {string} Address with resolution parameter
+ */
+function withGraphResolution(address) {
+    if (!address.includes("v1/graph")) return address;
+    const pixelRatio = window.devicePixelRatio || 1;
+    // Twice the width so that zooming in on the graph still shows detail
+    const resolution = Math.round(2 * Math.max(screen.width, screen.height) * pixelRatio);
+    return address + "&resolution=" + resolution;
 }
\ No newline at end of file
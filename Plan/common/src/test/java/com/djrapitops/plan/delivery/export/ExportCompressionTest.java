@@ -0,0 +1,147 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ExportCompression} and writing of files in {@link FileExporter}.
+ *
+ * @author Rsl1122
+ */
+class ExportCompressionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PlanConfig config;
+    private FileExporter exporter;
+
+    @BeforeEach
+    void setUpExporter() {
+        config = Mockito.mock(PlanConfig.class);
+        when(config.isFalse(ExportSettings.GZIP_ENABLED)).thenReturn(false);
+        when(config.get(ExportSettings.GZIP_LEVEL)).thenReturn(9);
+        when(config.get(ExportSettings.GZIP_EXTENSIONS)).thenReturn(Arrays.asList("json", ".html"));
+
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getDataDirectory()).thenReturn(tempDir);
+        ExportManifest manifest = new ExportManifest(files, "1.0", Mockito.mock(ErrorLogger.class));
+        exporter = new FileExporter(manifest, new ExportCompression(config)) {};
+    }
+
+    @Test
+    void gzipFileIsWrittenForListedExtensions() throws IOException {
+        Path json = tempDir.resolve("data/players.json");
+        exporter.export(json, "{\"players\":[]}");
+
+        Path gzipped = tempDir.resolve("data/players.json.gz");
+        assertTrue(Files.exists(gzipped));
+        assertEquals("{\"players\":[]}", gunzip(gzipped));
+
+        Path html = tempDir.resolve("index.html");
+        exporter.export(html, "<html></html>");
+        assertTrue(Files.exists(tempDir.resolve("index.html.gz")));
+    }
+
+    @Test
+    void otherFilesAreNotCompressed() throws IOException {
+        exporter.export(tempDir.resolve("img/Flaticon_circle.png"), new byte[]{1, 2, 3});
+        assertFalse(Files.exists(tempDir.resolve("img/Flaticon_circle.png.gz")));
+    }
+
+    @Test
+    void missingGzipFileIsWrittenForUnchangedFile() throws IOException {
+        Path json = tempDir.resolve("data/players.json");
+        exporter.export(json, "{}");
+        Path gzipped = tempDir.resolve("data/players.json.gz");
+        Files.delete(gzipped);
+
+        exporter.export(json, "{}");
+        assertEquals("{}", gunzip(gzipped));
+    }
+
+    @Test
+    void gzipFileIsRemovedWhenExtensionIsNoLongerCompressed() throws IOException {
+        Path json = tempDir.resolve("data/players.json");
+        exporter.export(json, "{}");
+        Path gzipped = tempDir.resolve("data/players.json.gz");
+        assertTrue(Files.exists(gzipped));
+
+        when(config.get(ExportSettings.GZIP_EXTENSIONS)).thenReturn(Collections.singletonList("html"));
+        exporter.export(json, "{}");
+        assertFalse(Files.exists(gzipped));
+        assertTrue(Files.exists(json));
+    }
+
+    @Test
+    void exportedFilesAreReadableByOthers() throws IOException {
+        assumeTrue(Files.getFileStore(tempDir).supportsFileAttributeView(PosixFileAttributeView.class));
+
+        Path json = tempDir.resolve("data/players.json");
+        exporter.export(json, "{}");
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(json)));
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(tempDir.resolve("data/players.json.gz"))));
+    }
+
+    @Test
+    void replacedFileKeepsPermissions() throws IOException {
+        assumeTrue(Files.getFileStore(tempDir).supportsFileAttributeView(PosixFileAttributeView.class));
+
+        Path json = tempDir.resolve("data/players.json");
+        exporter.export(json, "{}");
+        Files.setPosixFilePermissions(json, PosixFilePermissions.fromString("rw-rw-r--"));
+
+        exporter.export(json, "{\"players\":[]}");
+        assertEquals("rw-rw-r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(json)));
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ExportManifest} and skipping of unchanged files in {@link FileExporter}.
+ *
+ * @author Rsl1122
+ */
+class ExportManifestTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PlanFiles files;
+
+    @BeforeEach
+    void setUpFiles() {
+        files = Mockito.mock(PlanFiles.class);
+        when(files.getDataDirectory()).thenReturn(tempDir);
+    }
+
+    private ExportManifest createManifest(String version) {
+        return new ExportManifest(files, version, Mockito.mock(ErrorLogger.class));
+    }
+
+    private static FileExporter createExporter(ExportManifest manifest) {
+        return new FileExporter(manifest, Mockito.mock(ExportCompression.class)) {};
+    }
+
+    @Test
+    void unchangedFileIsNotWrittenAgain() throws IOException {
+        FileExporter exporter = createExporter(createManifest("1.0"));
+        Path file = tempDir.resolve("export").resolve("index.html");
+
+        exporter.export(file, "<html></html>");
+        FileTime written = FileTime.fromMillis(1000L);
+        Files.setLastModifiedTime(file, written);
+        // Modification time is part of the manifest entry, record it again
+        exporter.manifest.record(file, ExportManifest.hash("<html></html>".getBytes(StandardCharsets.UTF_8)));
+
+        exporter.export(file, "<html></html>");
+        assertEquals(written, Files.getLastModifiedTime(file));
+
+        exporter.export(file, "<html>changed</html>");
+        assertEquals("<html>changed</html>", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void externallyModifiedFileIsWrittenAgain() throws IOException {
+        FileExporter exporter = createExporter(createManifest("1.0"));
+        Path file = tempDir.resolve("data.json");
+
+        exporter.export(file, "{}");
+        Files.write(file, "{\"modified\":true}".getBytes(StandardCharsets.UTF_8));
+
+        exporter.export(file, "{}");
+        assertEquals("{}", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void vendorResourcesAreExportedOncePerVersion() throws IOException {
+        ExportManifest manifest = createManifest("1.0");
+        FileExporter exporter = createExporter(manifest);
+        Path file = tempDir.resolve("vendor/jquery/jquery.min.js");
+
+        assertFalse(exporter.isExportedStaticResource(file, "vendor/jquery/jquery.min.js"));
+        exporter.export(file, "jquery");
+        assertTrue(exporter.isExportedStaticResource(file, "vendor/jquery/jquery.min.js"));
+        assertFalse(exporter.isExportedStaticResource(file, "js/graphs.js"));
+
+        manifest.save();
+        assertTrue(createManifest("1.0").isExportedByCurrentVersion(file));
+        assertFalse(createManifest("1.1").isExportedByCurrentVersion(file));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link ExportQueue}.
+ *
+ * @author Rsl1122
+ */
+class ExportQueueTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Map<UUID, String> players;
+    private AtomicInteger openStateChecksLeft;
+    private Exporter exporter;
+    private ExportQueue underTest;
+
+    @BeforeEach
+    void setUpQueue() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(ExportSettings.THREADS)).thenReturn(2);
+        when(config.isTrue(ExportSettings.PLAYER_JSON)).thenReturn(true);
+        when(config.isTrue(ExportSettings.PLAYER_PAGES)).thenReturn(false);
+
+        players = new HashMap<>();
+        openStateChecksLeft = new AtomicInteger(Integer.MAX_VALUE);
+        Database database = Mockito.mock(Database.class);
+        when(database.getState()).thenAnswer(invocation -> openStateChecksLeft.getAndDecrement() > 0
+                ? Database.State.OPEN : Database.State.CLOSED);
+        // Player names are queried first, then last seen dates.
+        AtomicInteger queries = new AtomicInteger(0);
+        when(database.query(any())).thenAnswer(invocation -> queries.getAndIncrement() % 2 == 0
+                ? new HashMap<>(players) : new HashMap<UUID, Long>());
+        DBSystem dbSystem = Mockito.mock(DBSystem.class);
+        when(dbSystem.getDatabase()).thenReturn(database);
+
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getDataDirectory()).thenReturn(tempDir);
+
+        exporter = Mockito.mock(Exporter.class);
+
+        underTest = new ExportQueue(config, dbSystem, exporter, files, Mockito.mock(PluginLogger.class), Mockito.mock(ErrorLogger.class));
+        underTest.start();
+    }
+
+    @AfterEach
+    void stopQueue() {
+        underTest.stop();
+    }
+
+    private void addPlayers(int count) {
+        for (int i = 0; i < count; i++) {
+            players.put(UUID.randomUUID(), "Player" + i);
+        }
+    }
+
+    @Test
+    void interruptedExportContinuesAfterLastFinishedBatch() throws Exception {
+        addPlayers(ExportQueue.BATCH_SIZE + 100);
+        // Database closes when the second batch starts
+        openStateChecksLeft.set(ExportQueue.BATCH_SIZE);
+
+        ExportQueue.Progress interrupted = underTest.exportAllPlayers(progress -> {}).orElseThrow(AssertionError::new);
+        assertEquals(ExportQueue.BATCH_SIZE, interrupted.getDone());
+        assertFalse(interrupted.isFinished());
+        assertTrue(underTest.hasUnfinishedPlayerExport());
+
+        openStateChecksLeft.set(Integer.MAX_VALUE);
+        ExportQueue.Progress resumed = underTest.exportAllPlayers(progress -> {}).orElseThrow(AssertionError::new);
+        assertEquals(players.size(), resumed.getDone());
+        assertTrue(resumed.isFinished());
+        assertFalse(underTest.hasUnfinishedPlayerExport());
+
+        for (Map.Entry<UUID, String> player : players.entrySet()) {
+            verify(exporter, times(1)).exportPlayerJSON(player.getKey(), player.getValue());
+        }
+    }
+
+    @Test
+    void upToDatePlayersAreSkipped() throws Exception {
+        addPlayers(10);
+        when(exporter.isPlayerExportUpToDate(any(), anyString(), anyLong()))
+                .thenAnswer(invocation -> "Player0".equals(invocation.getArgument(1)));
+
+        ExportQueue.Progress progress = underTest.exportAllPlayers(done -> {}).orElseThrow(AssertionError::new);
+        assertEquals(10, progress.getDone());
+        assertEquals(1, progress.getSkipped());
+        assertTrue(progress.isFinished());
+
+        verify(exporter, never()).exportPlayerJSON(any(), eq("Player0"));
+        verify(exporter, times(9)).exportPlayerJSON(any(), anyString());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for skipping players in {@link Exporter} that have not been seen since they were exported.
+ *
+ * @author Rsl1122
+ */
+class ExporterTest {
+
+    private static final UUID PLAYER_UUID = UUID.randomUUID();
+    private static final String PLAYER_NAME = "Test_Player";
+
+    @TempDir
+    Path tempDir;
+
+    private PlanConfig config;
+    private PlanFiles files;
+    private PlayerPageExporter playerPageExporter;
+    private Path page;
+
+    @BeforeEach
+    void setUpExport() throws Exception {
+        config = Mockito.mock(PlanConfig.class);
+        when(config.isTrue(ExportSettings.PLAYER_PAGES)).thenReturn(true);
+        when(config.isFalse(ExportSettings.PLAYER_JSON)).thenReturn(true);
+        when(config.getPageExportPath()).thenReturn(tempDir.resolve("export"));
+        files = Mockito.mock(PlanFiles.class);
+        when(files.getDataDirectory()).thenReturn(tempDir);
+
+        page = tempDir.resolve("export/player/" + PLAYER_NAME + "/index.html");
+        playerPageExporter = Mockito.mock(PlayerPageExporter.class);
+        doAnswer(invocation -> {
+            // The page does not change between exports, so it is not written again.
+            if (!Files.exists(page)) {
+                Files.createDirectories(page.getParent());
+                Files.write(page, "<html></html>".getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(playerPageExporter).export(any(), eq(PLAYER_UUID), eq(PLAYER_NAME));
+    }
+
+    private Exporter createExporter(ExportManifest manifest) {
+        return new Exporter(
+                config,
+                Mockito.mock(PlayerJSONExporter.class),
+                playerPageExporter,
+                Mockito.mock(PlayersPageExporter.class),
+                Mockito.mock(ServerPageExporter.class),
+                Mockito.mock(NetworkPageExporter.class),
+                manifest,
+                Mockito.mock(ExportCompression.class)
+        );
+    }
+
+    private ExportManifest createManifest() {
+        return new ExportManifest(files, "1.0", Mockito.mock(ErrorLogger.class));
+    }
+
+    @Test
+    void playerExportedAfterLastSessionIsSkipped() throws Exception {
+        ExportManifest manifest = createManifest();
+        Exporter underTest = createExporter(manifest);
+        long firstSessionEnd = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        assertFalse(underTest.isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, firstSessionEnd));
+
+        underTest.exportPlayerPage(PLAYER_UUID, PLAYER_NAME);
+        assertTrue(underTest.isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, firstSessionEnd));
+        Files.setLastModifiedTime(page, FileTime.fromMillis(firstSessionEnd));
+
+        Thread.sleep(5);
+        long secondSessionEnd = System.currentTimeMillis();
+        assertFalse(underTest.isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, secondSessionEnd));
+
+        Thread.sleep(5);
+        underTest.exportPlayerPage(PLAYER_UUID, PLAYER_NAME);
+        assertTrue(Files.getLastModifiedTime(page).toMillis() < secondSessionEnd);
+        assertTrue(underTest.isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, secondSessionEnd));
+
+        manifest.save();
+        assertTrue(createExporter(createManifest()).isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, secondSessionEnd));
+    }
+
+    @Test
+    void playerWithRemovedPageIsNotSkipped() throws Exception {
+        Exporter underTest = createExporter(createManifest());
+        long lastSeen = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        underTest.exportPlayerPage(PLAYER_UUID, PLAYER_NAME);
+
+        Files.delete(page);
+        assertFalse(underTest.isPlayerExportUpToDate(PLAYER_UUID, PLAYER_NAME, lastSeen));
+    }
+}
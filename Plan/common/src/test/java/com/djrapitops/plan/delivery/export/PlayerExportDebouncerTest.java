@@ -0,0 +1,125 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.export;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.ExportSettings;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.djrapitops.plugin.logging.console.PluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.TestConstants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link PlayerExportDebouncer}.
+ *
+ * @author Rsl1122
+ */
+class PlayerExportDebouncerTest {
+
+    private Exporter exporter;
+    private ExportQueue exportQueue;
+    private PluginLogger logger;
+    private PlayerExportDebouncer underTest;
+
+    @BeforeEach
+    void setUpDebouncer() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(ExportSettings.PLAYER_EXPORT_DELAY)).thenReturn(200L);
+        when(config.get(ExportSettings.THREADS)).thenReturn(1);
+
+        exporter = Mockito.mock(Exporter.class);
+        exportQueue = Mockito.mock(ExportQueue.class);
+        when(exportQueue.submit(any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return true;
+        });
+
+        logger = Mockito.mock(PluginLogger.class);
+        underTest = new PlayerExportDebouncer(config, exporter, exportQueue, logger, Mockito.mock(ErrorLogger.class));
+        underTest.start();
+    }
+
+    @AfterEach
+    void stopDebouncer() {
+        underTest.stop();
+    }
+
+    @Test
+    void repeatedLoginsAreExportedOnce() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            underTest.exportLater(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        }
+        assertEquals(1, underTest.getQueueLength());
+
+        verify(exporter, timeout(5000)).exportPlayerPage(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        verify(exporter, after(1500).times(1)).exportPlayerPage(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        assertEquals(0, underTest.getQueueLength());
+    }
+
+    @Test
+    void exportsAreKeptWhenQueueIsFull() {
+        when(exportQueue.submit(any())).thenReturn(false);
+        underTest.exportLater(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+
+        verify(exportQueue, timeout(5000)).submit(any());
+        assertEquals(1, underTest.getQueueLength());
+    }
+
+    @Test
+    void pendingExportsAreDoneOnStop() throws Exception {
+        underTest.exportLater(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        underTest.stop();
+
+        verify(exporter).exportPlayerPage(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        assertEquals(0, underTest.getQueueLength());
+    }
+
+    @Test
+    void pendingExportsAreDoneOnStopWhenQueueIsFull() throws Exception {
+        when(exportQueue.submit(any())).thenReturn(false);
+        underTest.exportLater(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        underTest.stop();
+
+        verify(exporter).exportPlayerPage(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        assertEquals(0, underTest.getQueueLength());
+    }
+
+    @Test
+    void pendingExportsNotDoneBeforeStopTimeoutAreSkipped() throws Exception {
+        // Queue accepts the exports, but never gets to them
+        when(exportQueue.submit(any())).thenReturn(true);
+        underTest.exportLater(TestConstants.PLAYER_ONE_UUID, TestConstants.PLAYER_ONE_NAME);
+        underTest.exportLater(TestConstants.PLAYER_TWO_UUID, TestConstants.PLAYER_TWO_NAME);
+
+        long start = System.currentTimeMillis();
+        underTest.stop();
+        long stopTime = System.currentTimeMillis() - start;
+
+        assertTrue(stopTime < PlayerExportDebouncer.STOP_TIMEOUT_MS + 1000L, () -> "Stop took " + stopTime + "ms");
+        verify(exportQueue, times(2)).remove(any());
+        verify(logger).warn("Skipped exporting 2 players on disable, their pages are exported when they join again.");
+        verify(exporter, never()).exportPlayerPage(any(), any());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json.graphs.line;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Downsampling}.
+ *
+ * @author Rsl1122
+ */
+class DownsamplingTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1L);
+
+    private static List<Point> pointsEveryMinute(long start, int count) {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            points.add(new Point(start + i * MINUTE, Math.sin(i / 10.0) * 10.0));
+        }
+        return points;
+    }
+
+    @Test
+    void smallDataIsNotDownsampled() {
+        List<Point> points = pointsEveryMinute(0, 50);
+        assertSame(points, Downsampling.largestTriangleThreeBuckets(points, 100));
+        assertSame(points, Downsampling.downsample(points, 100, LineGraph.GAP_LENGTH));
+    }
+
+    @Test
+    void downsampledDataKeepsFirstAndLastPoint() {
+        List<Point> points = pointsEveryMinute(0, 1000);
+        List<Point> downsampled = Downsampling.largestTriangleThreeBuckets(points, 100);
+
+        assertEquals(100, downsampled.size());
+        assertSame(points.get(0), downsampled.get(0));
+        assertSame(points.get(999), downsampled.get(99));
+    }
+
+    @Test
+    void peakIsKept() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            points.add(new Point(i * MINUTE, i == 500 ? 1000.0 : 1.0));
+        }
+        List<Point> downsampled = Downsampling.largestTriangleThreeBuckets(points, 20);
+
+        assertTrue(downsampled.stream().anyMatch(point -> point.getY() == 1000.0));
+    }
+
+    @Test
+    void gapsAreKeptAsNullPoints() {
+        List<Point> points = pointsEveryMinute(0, 500);
+        long afterGap = TimeUnit.HOURS.toMillis(24L);
+        points.addAll(pointsEveryMinute(afterGap, 500));
+
+        List<Point> downsampled = Downsampling.downsample(points, 100, LineGraph.GAP_LENGTH);
+
+        assertTrue(downsampled.size() <= 100, () -> "Too many points: " + downsampled.size());
+        long nullPoints = downsampled.stream().filter(point -> point.getY() == null).count();
+        assertEquals(1, nullPoints);
+        Point gapMarker = downsampled.stream().filter(point -> point.getY() == null).findFirst().orElseThrow(AssertionError::new);
+        assertEquals(499 * MINUTE + MINUTE, gapMarker.getX());
+        assertEquals(afterGap + 499 * MINUTE, downsampled.get(downsampled.size() - 1).getX());
+    }
+
+    @Test
+    void existingNullPointsAreKept() {
+        List<Point> points = pointsEveryMinute(0, 500);
+        points.set(250, new Point(250 * MINUTE, (Double) null));
+
+        List<Point> downsampled = Downsampling.downsample(points, 50, -1);
+
+        assertTrue(downsampled.stream().anyMatch(point -> point.getY() == null && point.getX() == 250 * MINUTE));
+    }
+
+    @Test
+    void manyGapsDoNotExceedResolution() {
+        List<Point> points = new ArrayList<>();
+        long start = 0;
+        for (int i = 0; i < 200; i++) {
+            points.addAll(pointsEveryMinute(start, 3));
+            // Every tenth gap is longer than the others
+            start += (i % 10 == 0 ? 48L : 24L) * TimeUnit.HOURS.toMillis(1L);
+        }
+
+        List<Point> downsampled = Downsampling.downsample(points, 100, LineGraph.GAP_LENGTH);
+
+        assertTrue(downsampled.size() <= 100, () -> "Too many points: " + downsampled.size());
+        long nullPoints = downsampled.stream().filter(point -> point.getY() == null).count();
+        assertEquals(32, nullPoints);
+        assertSame(points.get(0), downsampled.get(0));
+        assertSame(points.get(points.size() - 1), downsampled.get(downsampled.size() - 1));
+        // Longest gaps are kept
+        assertTrue(downsampled.stream().anyMatch(point -> point.getY() == null && point.getX() == 2 * MINUTE + MINUTE));
+    }
+
+    @Test
+    void manyNullPointsDoNotExceedResolution() {
+        List<Point> points = pointsEveryMinute(0, 1000);
+        for (int i = 5; i < 1000; i += 5) {
+            points.set(i, new Point(i * MINUTE, (Double) null));
+        }
+
+        List<Point> downsampled = Downsampling.downsample(points, 100, -1);
+
+        assertTrue(downsampled.size() <= 100, () -> "Too many points: " + downsampled.size());
+        assertSame(points.get(0), downsampled.get(0));
+        assertSame(points.get(999), downsampled.get(downsampled.size() - 1));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for requests going through {@link JettyBackend} to {@link RequestHandler} and back.
+ *
+ * @author Rsl1122
+ */
+class JettyBackendTest {
+
+    private final CountDownLatch releaseSlowRequests = new CountDownLatch(1);
+    private PlanConfig config;
+    private RequestHandler requestHandler;
+    private RequestExecutor requestExecutor;
+    private JettyBackend underTest;
+
+    @BeforeEach
+    void startBackend() throws IOException {
+        config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.THREAD_POOL_SIZE)).thenReturn(4);
+        when(config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE)).thenReturn(50);
+
+        requestHandler = Mockito.mock(RequestHandler.class);
+        when(requestHandler.getResponse(any())).thenAnswer(invocation -> {
+            InternalRequest request = invocation.getArgument(0);
+            if ("/slow".equals(request.getRequestedPath())) {
+                releaseSlowRequests.await(10, TimeUnit.SECONDS);
+            }
+            // Echo the request so that the test can check what Jetty gave to the handler.
+            return Response.builder()
+                    .setMimeType(MimeType.HTML)
+                    .setStatus("/missing".equals(request.getRequestedPath()) ? 404 : 200)
+                    .setHeader("X-Plan-Test", "header")
+                    .setContent(request.getMethod() + ' ' + request.getRequestedPath() + ' ' + request.getRawQuery()
+                            + ' ' + request.getHeaders("X-Client-Test") + ' ' + request.getAccessAddress())
+                    .build();
+        });
+        when(requestHandler.getServiceUnavailableResponse()).thenReturn(Response.builder()
+                .setMimeType(MimeType.HTML)
+                .setStatus(503)
+                .setContent("")
+                .build());
+        requestExecutor = new RequestExecutor(config, new ResolverSvc(), Mockito.mock(ErrorLogger.class));
+
+        underTest = new JettyBackend(requestHandler, requestExecutor, Mockito.mock(Addresses.class), Mockito.mock(LiveFeed.class), config);
+        underTest.start(new InetSocketAddress("127.0.0.1", 0), 50, null);
+    }
+
+    @AfterEach
+    void stopBackend() {
+        releaseSlowRequests.countDown();
+        underTest.stop();
+    }
+
+    private HttpURLConnection connect(String path) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + underTest.getPort() + path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream body = in) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void requestIsAnsweredThroughHandler() throws IOException {
+        HttpURLConnection connection = connect("/server/Server%201?tab=overview");
+        connection.setRequestProperty("X-Client-Test", "value");
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("header", connection.getHeaderField("X-Plan-Test"));
+        assertEquals("GET /server/Server 1 tab=overview [value] 127.0.0.1", readBody(connection.getInputStream()));
+    }
+
+    @Test
+    void statusCodeIsSent() throws IOException {
+        HttpURLConnection connection = connect("/missing");
+
+        assertEquals(404, connection.getResponseCode());
+        assertEquals("GET /missing null [] 127.0.0.1", readBody(connection.getErrorStream()));
+    }
+
+    @Test
+    void headRequestHasNoBody() throws IOException {
+        HttpURLConnection connection = connect("/");
+        connection.setRequestMethod("HEAD");
+
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("", readBody(connection.getInputStream()));
+    }
+
+    @Test
+    void requestsOverQueueSizeAreAnsweredWithServiceUnavailable() throws Exception {
+        underTest.stop();
+        when(config.get(WebserverSettings.THREAD_POOL_SIZE)).thenReturn(2);
+        when(config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE)).thenReturn(2);
+        underTest = new JettyBackend(requestHandler, requestExecutor, Mockito.mock(Addresses.class), Mockito.mock(LiveFeed.class), config);
+        underTest.start(new InetSocketAddress("127.0.0.1", 0), 50, null);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statusCodes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                statusCodes.add(clients.submit(() -> connect("/slow").getResponseCode()));
+                Thread.sleep(100); // Requests reach the pool in order
+            }
+            releaseSlowRequests.countDown();
+
+            List<Integer> answered = new ArrayList<>();
+            for (Future<Integer> statusCode : statusCodes) {
+                answered.add(statusCode.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(200, answered.get(0), () -> "Status codes: " + answered);
+            assertTrue(answered.contains(503), () -> "Status codes: " + answered);
+            assertEquals(Collections.frequency(answered, 503), requestExecutor.getRejectedCount());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.delivery.web.resolver.CompositeResolver;
+import com.djrapitops.plan.delivery.web.resolver.NoAuthResolver;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link RequestExecutor} route limits.
+ *
+ * @author Rsl1122
+ */
+class RequestExecutorTest {
+
+    private RequestExecutor underTest;
+
+    @BeforeEach
+    void setUpExecutor() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.THREAD_POOL_SIZE)).thenReturn(3);
+        when(config.get(WebserverSettings.THREAD_POOL_QUEUE_SIZE)).thenReturn(10);
+        when(config.get(WebserverSettings.MAX_CONCURRENT_ROUTE_REQUESTS)).thenReturn(2);
+
+        NoAuthResolver resolver = request -> Optional.empty();
+        ResolverSvc resolverService = new ResolverSvc();
+        resolverService.registerResolver("Test", "/server", resolver);
+        resolverService.registerResolver("Test", "/v1", CompositeResolver.builder()
+                .add("players", resolver)
+                .add("graph", resolver)
+                .build());
+        resolverService.registerResolverForMatches("Test", Pattern.compile("^/$"), resolver);
+
+        underTest = new RequestExecutor(config, resolverService, Mockito.mock(ErrorLogger.class));
+        underTest.start();
+    }
+
+    @AfterEach
+    void shutdownExecutor() throws InterruptedException {
+        underTest.shutdown();
+    }
+
+    @Test
+    void routesAreWhatResolversWereRegisteredFor() {
+        assertEquals("/v1/players", underTest.getRoute("/v1/players"));
+        assertEquals("/v1/graph", underTest.getRoute("/v1/graph"));
+        assertEquals("/server", underTest.getRoute("/server/Server 1"));
+        assertEquals("^/$", underTest.getRoute("/"));
+    }
+
+    @Test
+    void addressesWithoutResolverShareOneRoute() {
+        assertEquals("/v1", underTest.getRoute("/v1/unknown"));
+        assertEquals("other", underTest.getRoute("/random-" + System.nanoTime()));
+    }
+
+    @Test
+    void staticFilesAreNotLimited() {
+        assertNull(underTest.getRoute("/vendor/highcharts/highstock.js"));
+        assertNull(underTest.getRoute("/css/style.css"));
+        assertNull(underTest.getRoute("/favicon.ico"));
+    }
+
+    @Test
+    void requestsOverRouteLimitAreRejectedRightAway() {
+        Optional<RequestExecutor.RequestPermit> first = underTest.startRequest("/v1/players");
+        Optional<RequestExecutor.RequestPermit> second = underTest.startRequest("/v1/players");
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+
+        assertFalse(underTest.startRequest("/v1/players").isPresent());
+        assertEquals(1, underTest.getRejectedCount());
+
+        assertTrue(underTest.startRequest("/v1/graph").isPresent());
+        assertTrue(underTest.startRequest("/css/style.css").isPresent());
+        first.get().close();
+        assertTrue(underTest.startRequest("/v1/players").isPresent());
+    }
+
+    @Test
+    void routeLimitIsBelowPoolSize() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.THREAD_POOL_SIZE)).thenReturn(3);
+        when(config.get(WebserverSettings.MAX_CONCURRENT_ROUTE_REQUESTS)).thenReturn(12);
+        RequestExecutor limited = new RequestExecutor(config, new ResolverSvc(), Mockito.mock(ErrorLogger.class));
+        limited.start();
+
+        assertTrue(limited.startRequest("/v1/graph").isPresent());
+        assertTrue(limited.startRequest("/v1/graph").isPresent());
+        assertFalse(limited.startRequest("/v1/graph").isPresent());
+    }
+
+    @Test
+    void rejectedRequestsAreMarkedForServiceUnavailable() throws Exception {
+        underTest.startRejectionPool();
+        CompletableFuture<Boolean> rejected = new CompletableFuture<>();
+        underTest.executeRejected(() -> rejected.complete(underTest.isRejectedRequest()));
+
+        assertTrue(rejected.get(5, TimeUnit.SECONDS));
+        assertFalse(underTest.isRejectedRequest());
+        assertEquals(1, underTest.getRejectedCount());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.auth;
+
+import com.djrapitops.plan.delivery.domain.auth.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link VerifiedCredentialCache}.
+ *
+ * @author Rsl1122
+ */
+class VerifiedCredentialCacheTest {
+
+    private static final String CREDENTIALS = "dGVzdDpwYXNzd29yZA=="; // test:password
+
+    @AfterEach
+    void clearCache() {
+        VerifiedCredentialCache.invalidateAll();
+    }
+
+    private static User user(String username) {
+        return new User(username, "console", null, "hash", 0, Collections.emptyList());
+    }
+
+    @Test
+    void verifiedCredentialsAreCached() {
+        User user = user("test");
+        VerifiedCredentialCache.verified(CREDENTIALS, user);
+
+        assertSame(user, VerifiedCredentialCache.getUser(CREDENTIALS).orElse(null));
+        assertFalse(VerifiedCredentialCache.getUser("dGVzdDp3cm9uZw==").isPresent());
+    }
+
+    @Test
+    void credentialsAreNotStoredAsIs() {
+        String hash = VerifiedCredentialCache.hash(CREDENTIALS);
+        assertNotEquals(CREDENTIALS, hash);
+        assertEquals(hash, VerifiedCredentialCache.hash(CREDENTIALS));
+    }
+
+    @Test
+    void invalidatedUserIsRemoved() {
+        VerifiedCredentialCache.verified(CREDENTIALS, user("test"));
+        VerifiedCredentialCache.verified("b3RoZXI6cGFzc3dvcmQ=", user("other"));
+
+        VerifiedCredentialCache.invalidate("test");
+
+        assertFalse(VerifiedCredentialCache.getUser(CREDENTIALS).isPresent());
+        assertTrue(VerifiedCredentialCache.getUser("b3RoZXI6cGFzc3dvcmQ=").isPresent());
+    }
+}
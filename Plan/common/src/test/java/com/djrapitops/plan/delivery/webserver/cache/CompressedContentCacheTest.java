@@ -0,0 +1,87 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompressedContentCache}.
+ *
+ * @author Rsl1122
+ */
+class CompressedContentCacheTest {
+
+    private static Response jsonResponse(String json) {
+        return Response.builder().setJSONContent(json).build();
+    }
+
+    @Test
+    void registeredResponseGetsETag() {
+        Response response = jsonResponse("{\"value\":1}");
+        String etag = CompressedContentCache.register(response);
+
+        assertEquals(etag, response.getHeaders().get("ETag"));
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    void sameContentHasSameETag() {
+        assertEquals(
+                CompressedContentCache.etagOf(jsonResponse("{\"value\":1}").getBytes()),
+                CompressedContentCache.etagOf(jsonResponse("{\"value\":1}").getBytes())
+        );
+        assertNotEquals(
+                CompressedContentCache.etagOf(jsonResponse("{\"value\":1}").getBytes()),
+                CompressedContentCache.etagOf(jsonResponse("{\"value\":2}").getBytes())
+        );
+    }
+
+    @Test
+    void compressedContentIsCachedAndDecompressesToOriginal() throws IOException {
+        Response response = jsonResponse("{\"values\":[1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1]}");
+        String etag = CompressedContentCache.register(response);
+
+        byte[] compressed = CompressedContentCache.getGzipped(etag, response.getBytes());
+        assertSame(compressed, CompressedContentCache.getGzipped(etag, response.getBytes()));
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            byte[] buffer = new byte[1024];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, count);
+            }
+        }
+        assertArrayEquals(response.getBytes(), decompressed.toByteArray());
+    }
+
+    @Test
+    void imagesAreNotCompressible() {
+        Response image = Response.builder().setMimeType(MimeType.IMAGE).setContent(new byte[]{1, 2, 3}).build();
+        assertFalse(CompressedContentCache.isCompressible(image));
+        assertTrue(CompressedContentCache.isCompressible(jsonResponse("{}")));
+    }
+}
@@ -16,17 +16,19 @@
  */
 package com.djrapitops.plan.delivery.webserver.cache;
 
+import com.djrapitops.plan.delivery.rendering.json.JSONWritable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
- * Tests JSONCache invalidation.
+ * Tests JSONCache invalidation and loading.
  *
  * @author Rsl1122
  */
@@ -111,4 +113,111 @@ class JSONCacheTest {
         assertNotContains();
         assertNotContainsUUID();
     }
-}
\ No newline at end of file
+
+    @Test
+    void invalidateByServerUUIDInvalidatesValuesWithParameters() {
+        JSONCache.getOrCache(TEST_ID, TEST_UUID, "resolution=100", () -> CACHED);
+        String withParams = TEST_ID.of(TEST_UUID) + "?resolution=100";
+        assertTrue(JSONCache.getCachedIDs().contains(withParams));
+
+        JSONCache.invalidate(TEST_ID, TEST_UUID);
+        assertFalse(JSONCache.getCachedIDs().contains(withParams));
+    }
+
+    @Test
+    void invalidateAllOfServer() {
+        cachedByDataIDName();
+        cachedByServerUUID();
+        JSONCache.invalidateMatching(TEST_UUID);
+        assertContains();
+        assertNotContainsUUID();
+    }
+
+    @Test
+    void invalidateMatchingDoesNotInvalidateDataIDsWithSamePrefix() {
+        JSONCache.getOrCache(DataID.SESSIONS_OVERVIEW, TEST_UUID, () -> CACHED);
+        JSONCache.invalidateMatching(DataID.SESSIONS);
+        assertTrue(JSONCache.getCachedIDs().contains(DataID.SESSIONS_OVERVIEW.of(TEST_UUID)));
+    }
+
+    @Test
+    void concurrentCallersComputeValueOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger(0);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> JSONCache.getOrCacheString(TEST_ID, TEST_UUID, () -> {
+                    computations.incrementAndGet();
+                    computing.countDown();
+                    awaitUninterruptibly(release);
+                    return CACHED;
+                })));
+            }
+            computing.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100); // Let other callers reach the cache
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals(CACHED, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void staleValueIsServedWhileRefreshing() throws Exception {
+        JSONCache.getOrCacheString(TEST_ID, TEST_UUID, () -> "Old");
+        JSONCache.invalidate(TEST_ID, TEST_UUID);
+        assertNotContainsUUID();
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        String stale = JSONCache.getOrCacheString(TEST_ID, TEST_UUID, () -> {
+            refreshed.countDown();
+            return "New";
+        });
+        assertEquals("Old", stale);
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+
+        String refreshedValue = null;
+        for (int i = 0; i < 50 && !"New".equals(refreshedValue); i++) {
+            Thread.sleep(10);
+            refreshedValue = JSONCache.getOrCacheString(TEST_ID, TEST_UUID, () -> "Unexpected");
+        }
+        assertEquals("New", refreshedValue);
+        assertContainsUUID();
+    }
+
+    @Test
+    void writableValuesAreStreamedToBytes() {
+        JSONWritable writable = writer -> writer.beginObject()
+                .name("values").beginArray().value(1).nullValue().value(2.5).endArray()
+                .name("text").value("\u00e4\"")
+                .endObject();
+        assertEquals("{\"values\":[1,null,2.5],\"text\":\"\u00e4\\\"\"}",
+                new String(JSONCache.toJSONBytes(writable), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void objectsAreSerializedToBytes() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("number", 5);
+        map.put("list", Arrays.asList("a", "b"));
+        assertEquals("{\"number\":5,\"list\":[\"a\",\"b\"]}",
+                new String(JSONCache.toJSONBytes(map), StandardCharsets.UTF_8));
+        assertEquals("{\"already\":\"json\"}",
+                new String(JSONCache.toJSONBytes("{\"already\":\"json\"}"), StandardCharsets.UTF_8));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.live;
+
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.gathering.domain.builders.TPSBuilder;
+import com.jayway.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LiveFeed} and {@link LiveConnection}.
+ *
+ * @author Rsl1122
+ */
+class LiveFeedTest {
+
+    private final UUID serverUUID = UUID.randomUUID();
+    private final UUID otherServerUUID = UUID.randomUUID();
+
+    private LiveFeed underTest;
+
+    @BeforeEach
+    void startFeed() {
+        underTest = new LiveFeed();
+        underTest.start();
+    }
+
+    @AfterEach
+    void stopFeed() {
+        underTest.stop();
+    }
+
+    @Test
+    void eventsAreSentToConnectionsOfTheServer() {
+        CollectingSink sink = new CollectingSink();
+        CollectingSink otherSink = new CollectingSink();
+        underTest.connect(serverUUID, sink);
+        underTest.connect(otherServerUUID, otherSink);
+
+        underTest.tpsPoint(serverUUID, TPSBuilder.get().date(60000L).tps(19.5).toTPS());
+
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(() -> sink.written().contains("event: tps"));
+        assertTrue(sink.written().contains("\"tps\":19.5"));
+        assertEquals("", otherSink.written());
+    }
+
+    @Test
+    void connectionThatDoesNotKeepUpIsClosed() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        LiveConnection connection = underTest.connect(serverUUID, new LiveConnection.Sink() {
+            @Override
+            public void write(byte[] bytes, Consumer<Boolean> done) {
+                // The write never completes
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        assertEquals(1, underTest.getConnectionCount());
+
+        byte[] event = LiveFeed.event("test", "data");
+        // One event is being written, the rest wait in the buffer
+        for (int i = 0; i <= LiveFeed.CONNECTION_BUFFER_SIZE; i++) {
+            connection.send(event);
+        }
+        assertFalse(connection.isClosed());
+
+        connection.send(event);
+        assertTrue(connection.isClosed());
+        assertTrue(closed.get());
+        assertEquals(0, underTest.getConnectionCount());
+    }
+
+    @Test
+    void writeThatDoesNotFinishIsStalled() {
+        CollectingSink sink = new CollectingSink();
+        sink.completeWrites = false;
+        LiveConnection connection = underTest.connect(serverUUID, sink);
+        long now = System.currentTimeMillis();
+        assertFalse(connection.isWriteStalled(now, LiveFeed.WRITE_TIMEOUT_MS));
+
+        connection.send(LiveFeed.event("test", "data"));
+        assertFalse(connection.isWriteStalled(now, LiveFeed.WRITE_TIMEOUT_MS));
+        assertTrue(connection.isWriteStalled(now + LiveFeed.WRITE_TIMEOUT_MS + 1, LiveFeed.WRITE_TIMEOUT_MS));
+
+        sink.completePending();
+        assertFalse(connection.isWriteStalled(now + LiveFeed.WRITE_TIMEOUT_MS + 1, LiveFeed.WRITE_TIMEOUT_MS));
+    }
+
+    @Test
+    void blockingWritesDoNotRunAfterStop() {
+        AtomicBoolean ran = new AtomicBoolean(false);
+        LiveConnection connection = underTest.connect(serverUUID, underTest.createBlockingSink(bytes -> ran.set(true), () -> {}));
+        connection.send(LiveFeed.event("test", "data"));
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(ran::get);
+
+        underTest.stop();
+        ran.set(false);
+        LiveConnection afterStop = underTest.connect(serverUUID, underTest.createBlockingSink(bytes -> ran.set(true), () -> {}));
+        afterStop.send(LiveFeed.event("test", "data"));
+        assertTrue(afterStop.isClosed());
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void stalledBlockingWritesAreClosedAndFreeTheWriterThreads() {
+        CountDownLatch neverRead = new CountDownLatch(1);
+        AtomicInteger blockedWrites = new AtomicInteger();
+        AtomicInteger closedOutputs = new AtomicInteger();
+        List<LiveConnection> stalled = new ArrayList<>();
+        for (int i = 0; i < LiveFeed.BLOCKING_WRITER_THREADS; i++) {
+            stalled.add(underTest.connect(serverUUID, underTest.createBlockingSink(bytes -> {
+                blockedWrites.incrementAndGet();
+                try {
+                    neverRead.await();
+                } catch (InterruptedException closedByInterrupt) {
+                    throw new InterruptedIOException();
+                }
+            }, closedOutputs::incrementAndGet)));
+        }
+        byte[] event = LiveFeed.event("test", "data");
+        stalled.forEach(connection -> connection.send(event));
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(() -> blockedWrites.get() == LiveFeed.BLOCKING_WRITER_THREADS);
+
+        underTest.sendHeartbeat(System.currentTimeMillis() + LiveFeed.WRITE_TIMEOUT_MS + 1);
+
+        assertTrue(stalled.stream().allMatch(LiveConnection::isClosed));
+        assertEquals(0, underTest.getConnectionCount());
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(() -> closedOutputs.get() == LiveFeed.BLOCKING_WRITER_THREADS);
+
+        AtomicBoolean written = new AtomicBoolean(false);
+        LiveConnection next = underTest.connect(serverUUID, underTest.createBlockingSink(bytes -> written.set(true), () -> {}));
+        next.send(event);
+        Awaitility.await()
+                .atMost(5, TimeUnit.SECONDS)
+                .until(written::get);
+        assertFalse(next.isClosed());
+    }
+
+    @Test
+    void bufferedEventsAreWrittenTogether() {
+        CollectingSink sink = new CollectingSink();
+        sink.completeWrites = false;
+        LiveConnection connection = underTest.connect(serverUUID, sink);
+
+        connection.send(LiveFeed.event("first", 1));
+        connection.send(LiveFeed.event("second", 2));
+        connection.send(LiveFeed.event("third", 3));
+        assertEquals(1, sink.writes);
+
+        sink.completePending();
+        assertEquals(2, sink.writes);
+        assertEquals("event: first\ndata: 1\n\nevent: second\ndata: 2\n\nevent: third\ndata: 3\n\n", sink.written());
+    }
+
+    @Test
+    void preparedStreamIsRecognizedOnce() {
+        Response response = underTest.prepareStream(serverUUID);
+
+        assertTrue(response.getAsString().contains("event: online"));
+        assertFalse(response.getHeaders().containsKey("Content-Length"));
+        assertEquals(serverUUID, underTest.takePreparedStream(response).orElse(null));
+        assertFalse(underTest.takePreparedStream(response).isPresent());
+        assertFalse(underTest.takePreparedStream(Response.builder().setContent(new byte[0]).build()).isPresent());
+    }
+
+    static class CollectingSink implements LiveConnection.Sink {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private boolean completeWrites = true;
+        private Consumer<Boolean> pending;
+        private int writes = 0;
+
+        @Override
+        public synchronized void write(byte[] bytes, Consumer<Boolean> done) {
+            writes++;
+            out.write(bytes, 0, bytes.length);
+            if (completeWrites) {
+                done.accept(true);
+            } else {
+                pending = done;
+            }
+        }
+
+        void completePending() {
+            completeWrites = true;
+            Consumer<Boolean> done = pending;
+            pending = null;
+            done.accept(true);
+        }
+
+        synchronized String written() {
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link Histogram}.
+ *
+ * @author Rsl1122
+ */
+class HistogramTest {
+
+    @Test
+    void bucketsAreCumulative() {
+        Histogram histogram = new Histogram(10, 100);
+        histogram.observe(5);
+        histogram.observe(10);
+        histogram.observe(50);
+        histogram.observe(500);
+
+        StringBuilder out = new StringBuilder();
+        histogram.writeTo("test", out);
+
+        String expected = "test_bucket{le=\"10\"} 2\n" +
+                "test_bucket{le=\"100\"} 3\n" +
+                "test_bucket{le=\"+Inf\"} 4\n" +
+                "test_sum 565\n" +
+                "test_count 4\n";
+        assertEquals(expected, out.toString());
+        assertEquals(4, histogram.getCount());
+    }
+
+    @Test
+    void fractionalValuesAreFormattedAsDecimals() {
+        assertEquals("0.005", PlanMetrics.format(0.005));
+        assertEquals("20", PlanMetrics.format(20.0));
+        assertEquals("19.5", PlanMetrics.format(19.5));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.metrics;
+
+import com.djrapitops.plan.delivery.export.ExportQueue;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
+import com.djrapitops.plan.delivery.webserver.RequestExecutor;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
+import com.djrapitops.plan.gathering.domain.TPS;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PlanMetrics} output.
+ *
+ * @author Rsl1122
+ */
+class PlanMetricsTest {
+
+    private static final Pattern SAMPLE = Pattern.compile("[a-z_]+(\\{[a-z_]+=\"[^\"]*\"})? -?[0-9.]+(E-?[0-9]+)?");
+
+    private PlanMetrics underTest;
+
+    @BeforeEach
+    void setUpMetrics() {
+        DBSystem dbSystem = Mockito.mock(DBSystem.class);
+        when(dbSystem.getDatabase()).thenReturn(Mockito.mock(Database.class));
+        RequestExecutor requestExecutor = Mockito.mock(RequestExecutor.class);
+        when(requestExecutor.getRejectedCount()).thenReturn(3L);
+        ExportQueue exportQueue = Mockito.mock(ExportQueue.class);
+        PlayerExportDebouncer playerExportDebouncer = Mockito.mock(PlayerExportDebouncer.class);
+
+        underTest = new PlanMetrics(
+                dbSystem,
+                Mockito.mock(Processing.class),
+                requestExecutor,
+                Mockito.mock(LiveFeed.class),
+                () -> exportQueue,
+                () -> playerExportDebouncer
+        );
+    }
+
+    @Test
+    void renderedLinesAreInPrometheusTextFormat() {
+        underTest.recordTPS(new TPS(System.currentTimeMillis(), 19.5, 5, 12.25, 1024, 300, 200, 5000));
+        underTest.recordPing(50);
+
+        for (String line : underTest.render().split("\n")) {
+            if (line.startsWith("# HELP ") || line.startsWith("# TYPE ")) continue;
+            assertTrue(SAMPLE.matcher(line.replace("+Inf", "Inf")).matches(), () -> "Not a valid sample: " + line);
+        }
+    }
+
+    @Test
+    void responsesAreCountedByStatusClass() {
+        underTest.recordRequest(TimeUnit.MILLISECONDS.toNanos(20L), 200);
+        underTest.recordRequest(TimeUnit.MILLISECONDS.toNanos(30L), 200);
+        underTest.recordRequest(TimeUnit.SECONDS.toNanos(2L), 503);
+
+        String rendered = underTest.render();
+        assertTrue(rendered.contains("plan_webserver_responses_total{code=\"2xx\"} 2\n"), rendered);
+        assertTrue(rendered.contains("plan_webserver_responses_total{code=\"5xx\"} 1\n"), rendered);
+        assertTrue(rendered.contains("plan_webserver_requests_rejected_total 3\n"), rendered);
+        assertTrue(rendered.contains("plan_webserver_request_duration_seconds_bucket{le=\"0.025\"} 1\n"), rendered);
+        assertTrue(rendered.contains("plan_webserver_request_duration_seconds_bucket{le=\"+Inf\"} 3\n"), rendered);
+        assertTrue(rendered.contains("plan_webserver_request_duration_seconds_count 3\n"), rendered);
+    }
+
+    @Test
+    void valuesMissingOnProxiesAreNotRendered() {
+        underTest.recordTPS(new TPS(System.currentTimeMillis(), -1, 5, -1, 1024, -1, -1, -1));
+
+        String rendered = underTest.render();
+        assertTrue(rendered.contains("plan_ram_used_megabytes 1024\n"), rendered);
+        assertFalse(rendered.contains("plan_tps "), rendered);
+        assertFalse(rendered.contains("plan_entities "), rendered);
+        assertFalse(rendered.contains("plan_chunks_loaded "), rendered);
+    }
+}
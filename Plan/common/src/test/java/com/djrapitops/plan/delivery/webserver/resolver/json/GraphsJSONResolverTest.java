@@ -0,0 +1,57 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the 'resolution' parameter of {@link GraphsJSONResolver}.
+ *
+ * @author Rsl1122
+ */
+class GraphsJSONResolverTest {
+
+    private static Request requestWith(String query) {
+        return new Request("GET", "/v1/graph?type=performance&" + query, null, Collections.emptyMap());
+    }
+
+    @Test
+    void resolutionIsRoundedUpToFixedBuckets() {
+        assertEquals(500, GraphsJSONResolver.getResolution(requestWith("resolution=1")));
+        assertEquals(1000, GraphsJSONResolver.getResolution(requestWith("resolution=501")));
+        assertEquals(4000, GraphsJSONResolver.getResolution(requestWith("resolution=3840")));
+        assertEquals(4000, GraphsJSONResolver.getResolution(requestWith("resolution=15360")));
+    }
+
+    @Test
+    void missingResolutionReturnsAllPoints() {
+        assertEquals(0, GraphsJSONResolver.getResolution(requestWith("server=Server")));
+    }
+
+    @Test
+    void invalidResolutionIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> GraphsJSONResolver.getResolution(requestWith("resolution=0")));
+        assertThrows(BadRequestException.class, () -> GraphsJSONResolver.getResolution(requestWith("resolution=abc")));
+    }
+}
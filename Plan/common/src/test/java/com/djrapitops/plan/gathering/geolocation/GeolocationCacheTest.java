@@ -0,0 +1,117 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.geolocation;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
+import com.djrapitops.plan.settings.locale.Locale;
+import com.djrapitops.plugin.logging.console.TestPluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.mocks.objects.TestRunnableFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for asynchronous lookups of {@link GeolocationCache} that do not need a real database.
+ *
+ * @author Rsl1122
+ */
+class GeolocationCacheTest {
+
+    private CountDownLatch releaseLookups;
+    private GeoLite2Geolocator geolocator;
+    private GeolocationCache underTest;
+
+    @BeforeEach
+    void setUpCache() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.isTrue(DataGatheringSettings.GEOLOCATIONS)).thenReturn(true);
+
+        releaseLookups = new CountDownLatch(1);
+        geolocator = Mockito.mock(GeoLite2Geolocator.class);
+        when(geolocator.getCountry(anyString())).thenAnswer(invocation -> {
+            releaseLookups.await(10, TimeUnit.SECONDS);
+            return Optional.of("Finland");
+        });
+
+        underTest = new GeolocationCache(new Locale(), config, geolocator, new IP2CGeolocator(), new TestPluginLogger(), TestRunnableFactory.forSameThread());
+        underTest.enable();
+        assertTrue(underTest.canGeolocate());
+    }
+
+    @AfterEach
+    void tearDownCache() {
+        releaseLookups.countDown();
+        underTest.disable();
+    }
+
+    @Test
+    void concurrentLookupsOfSameAddressResolveOnce() throws Exception {
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lookups.add(underTest.getCountryAsync("1.2.3.4"));
+        }
+        releaseLookups.countDown();
+
+        for (CompletableFuture<String> lookup : lookups) {
+            assertEquals("Finland", lookup.get(10, TimeUnit.SECONDS));
+        }
+        verify(geolocator, times(1)).getCountry("1.2.3.4");
+    }
+
+    @Test
+    void queuedLookupsCompleteWhenDisabled() {
+        List<CompletableFuture<String>> lookups = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lookups.add(underTest.getCountryAsync("1.2.3." + i));
+        }
+
+        underTest.disable();
+
+        for (CompletableFuture<String> lookup : lookups) {
+            assertTrue(lookup.isDone());
+        }
+        assertTrue(underTest.getCountryAsync("1.2.3.0").isDone());
+    }
+
+    @Test
+    void failedLookupIsTriedAgain() {
+        releaseLookups.countDown();
+        when(geolocator.getCountry("1.2.3.4"))
+                .thenThrow(new UncheckedIOException(new IOException("Database is closed")))
+                .thenReturn(Optional.of("Finland"));
+
+        assertNull(underTest.getCountry("1.2.3.4"));
+        assertFalse(underTest.isCached("1.2.3.4"));
+        assertEquals("Finland", underTest.getCountry("1.2.3.4"));
+        assertTrue(underTest.isCached("1.2.3.4"));
+    }
+}
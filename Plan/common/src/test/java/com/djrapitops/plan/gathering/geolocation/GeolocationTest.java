@@ -33,10 +33,16 @@ import utilities.mocks.objects.TestRunnableFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.lenient;
@@ -60,6 +66,7 @@ class GeolocationTest {
     @Mock
     public PlanConfig config;
 
+    private GeoLite2Geolocator geoLite2Geolocator;
     private GeolocationCache underTest;
 
     @BeforeAll
@@ -88,7 +95,7 @@ class GeolocationTest {
 
         assertTrue(config.isTrue(DataGatheringSettings.GEOLOCATIONS));
 
-        GeoLite2Geolocator geoLite2Geolocator = new GeoLite2Geolocator(files, config);
+        geoLite2Geolocator = new GeoLite2Geolocator(files, config);
         underTest = new GeolocationCache(new Locale(), config, geoLite2Geolocator, new IP2CGeolocator(), new TestPluginLogger(), TestRunnableFactory.forSameThread());
         underTest.enable();
 
@@ -128,4 +135,91 @@ class GeolocationTest {
             assertEquals(expIp, countryThirdCall);
         }
     }
+
+    @Test
+    void countriesAreFetchedInBulk() {
+        Map<String, String> result = underTest.getCountries(TEST_DATA.keySet());
+
+        assertEquals(TEST_DATA, result);
+        for (String ip : TEST_DATA.keySet()) {
+            assertTrue(underTest.isCached(ip));
+        }
+    }
+
+    @Test
+    void countryIsFetchedAsynchronously() throws Exception {
+        for (Map.Entry<String, String> entry : TEST_DATA.entrySet()) {
+            String ip = entry.getKey();
+            CompletableFuture<String> first = underTest.getCountryAsync(ip);
+            CompletableFuture<String> second = underTest.getCountryAsync(ip);
+
+            assertEquals(entry.getValue(), first.get(10, TimeUnit.SECONDS));
+            assertEquals(entry.getValue(), second.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void bulkLookupsMatchSingleLookups() {
+        GeoLite2Geolocator geolocator = new GeoLite2Geolocator(files, config);
+        assertDoesNotThrow(geolocator::prepare);
+        assertTrue(geolocator.isOpen());
+
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            addresses.add((i % 223 + 1) + "." + (i / 223 % 256) + "." + (i % 256) + ".1");
+        }
+
+        Map<String, String> expected = new HashMap<>();
+        for (String address : addresses) {
+            expected.put(address, geolocator.getCountry(address).orElse(Geolocator.NOT_FOUND));
+        }
+        Map<String, String> result = geolocator.getCountries(addresses);
+        geolocator.close();
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void lookupsPerSecondBenchmark() {
+        GeoLite2Geolocator geolocator = new GeoLite2Geolocator(files, config);
+        assertDoesNotThrow(geolocator::prepare);
+
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            addresses.add((i % 223 + 1) + "." + (i / 223 % 256) + "." + (i % 256) + ".1");
+        }
+
+        long start = System.nanoTime();
+        for (String address : addresses) {
+            assertNotNull(geolocator.getCountry(address));
+        }
+        long singleNs = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        assertEquals(addresses.size(), geolocator.getCountries(addresses).size());
+        long bulkNs = System.nanoTime() - start;
+        geolocator.close();
+
+        System.out.println("GeoLite2 lookups per second: " + lookupsPerSecond(addresses.size(), singleNs)
+                + " single, " + lookupsPerSecond(addresses.size(), bulkNs) + " bulk");
+    }
+
+    private long lookupsPerSecond(int lookups, long ns) {
+        return lookups * TimeUnit.SECONDS.toNanos(1L) / Math.max(1L, ns);
+    }
+
+    @Test
+    void failedLookupsAreNotCached() throws IOException {
+        geoLite2Geolocator.close();
+        assertThrows(UncheckedIOException.class, () -> geoLite2Geolocator.getCountry("8.8.8.8"));
+
+        assertNull(underTest.getCountry("8.8.8.8"));
+        assertTrue(underTest.getCountries(Collections.singletonList("8.8.4.4")).isEmpty());
+        assertFalse(underTest.isCached("8.8.8.8"));
+        assertFalse(underTest.isCached("8.8.4.4"));
+
+        geoLite2Geolocator.prepare();
+        assertEquals("United States", underTest.getCountry("8.8.8.8"));
+        assertEquals("United States", underTest.getCountries(Collections.singletonList("8.8.4.4")).get("8.8.4.4"));
+    }
 }
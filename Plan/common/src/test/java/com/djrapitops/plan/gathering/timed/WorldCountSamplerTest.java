@@ -0,0 +1,158 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.timed;
+
+import com.djrapitops.plan.gathering.ServerSensor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link WorldCountSampler}.
+ *
+ * @author Rsl1122
+ */
+class WorldCountSamplerTest {
+
+    @Test
+    void worldsAreSampledOncePerRound() {
+        CountingSensor sensor = new CountingSensor(3);
+        WorldCountSampler<Integer> sampler = new WorldCountSampler<>(sensor);
+
+        int maxSamplesOnPulse = pulseRound(sampler, sensor);
+
+        assertEquals(3, sensor.samples);
+        assertEquals(1, maxSamplesOnPulse);
+        assertEquals(3 * 10, sampler.getEntityCount());
+        assertEquals(3 * 5, sampler.getChunkCount());
+    }
+
+    @Test
+    void manyWorldsAreSpreadOverRound() {
+        CountingSensor sensor = new CountingSensor(150);
+        WorldCountSampler<Integer> sampler = new WorldCountSampler<>(sensor);
+
+        int maxSamplesOnPulse = pulseRound(sampler, sensor);
+
+        assertEquals(150, sensor.samples);
+        assertEquals(3, maxSamplesOnPulse);
+        assertEquals(150 * 10, sampler.getEntityCount());
+    }
+
+    @Test
+    void unloadedWorldsAreDroppedOnNextRound() {
+        CountingSensor sensor = new CountingSensor(2);
+        WorldCountSampler<Integer> sampler = new WorldCountSampler<>(sensor);
+
+        pulseRound(sampler, sensor);
+        assertEquals(2 * 10, sampler.getEntityCount());
+
+        sensor.worlds.remove(1);
+        sampler.pulse();
+
+        assertEquals(10, sampler.getEntityCount());
+    }
+
+    @Test
+    void largeWorldIsCountedInPartsOverMultiplePulses() {
+        PartCountingSensor sensor = new PartCountingSensor(1);
+        WorldCountSampler<Integer> sampler = new WorldCountSampler<>(sensor);
+
+        int maxSamplesOnPulse = pulseRound(sampler, sensor);
+
+        assertEquals(WorldCountSampler.MAX_SCAN_PARTS, sensor.samples);
+        assertEquals(1, maxSamplesOnPulse);
+        assertEquals(WorldCountSampler.MAX_SCAN_PARTS * 10, sampler.getEntityCount());
+        assertEquals(5, sampler.getChunkCount());
+    }
+
+    @Test
+    void partiallyCountedWorldIsNotInTotals() {
+        PartCountingSensor sensor = new PartCountingSensor(1);
+        WorldCountSampler<Integer> sampler = new WorldCountSampler<>(sensor);
+
+        for (int i = 0; i < WorldCountSampler.MAX_SCAN_PARTS - 1; i++) {
+            sampler.pulse();
+        }
+        assertEquals(0, sampler.getEntityCount());
+
+        sampler.pulse();
+        assertEquals(WorldCountSampler.MAX_SCAN_PARTS * 10, sampler.getEntityCount());
+    }
+
+    private int pulseRound(WorldCountSampler<Integer> sampler, CountingSensor sensor) {
+        int maxSamplesOnPulse = 0;
+        for (int i = 0; i < WorldCountSampler.ROUND_PULSES; i++) {
+            int before = sensor.samples;
+            sampler.pulse();
+            maxSamplesOnPulse = Math.max(maxSamplesOnPulse, sensor.samples - before);
+        }
+        return maxSamplesOnPulse;
+    }
+
+    static class CountingSensor implements ServerSensor<Integer> {
+        final List<Integer> worlds = new ArrayList<>();
+        int samples;
+
+        CountingSensor(int worldCount) {
+            for (int i = 0; i < worldCount; i++) {
+                worlds.add(i);
+            }
+        }
+
+        @Override
+        public boolean supportsDirectTPS() {
+            return true;
+        }
+
+        @Override
+        public int getOnlinePlayerCount() {
+            return 0;
+        }
+
+        @Override
+        public Iterable<Integer> getWorlds() {
+            return worlds;
+        }
+
+        @Override
+        public int getEntityCount(Integer world) {
+            samples++;
+            return 10;
+        }
+
+        @Override
+        public int getChunkCount(Integer world) {
+            return 5;
+        }
+    }
+
+    static class PartCountingSensor extends CountingSensor {
+        PartCountingSensor(int worldCount) {
+            super(worldCount);
+        }
+
+        @Override
+        public int getEntityCount(Integer world, int part, int parts) {
+            samples++;
+            return 10;
+        }
+    }
+}
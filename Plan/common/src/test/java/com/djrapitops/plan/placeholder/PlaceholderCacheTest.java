@@ -0,0 +1,92 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.placeholder;
+
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.ConfigNode;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.TestConstants;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link PlaceholderCache}.
+ *
+ * @author Rsl1122
+ */
+class PlaceholderCacheTest {
+
+    private PlaceholderCache underTest;
+
+    @BeforeEach
+    void setUpCache() {
+        ConfigNode byName = new ConfigNode("Placeholder_cache_time_by_name", null, null);
+        byName.set("server_", 300);
+        byName.set("server_tps_", 60);
+
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(TimeSettings.PLACEHOLDER_CACHE_TIME)).thenReturn(TimeUnit.SECONDS.toMillis(10));
+        when(config.get(TimeSettings.PLACEHOLDER_CACHE_TIME_BY_NAME)).thenReturn(byName);
+
+        // Run background loads right away
+        Processing processing = Mockito.mock(Processing.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(processing).submitNonCritical(any(Runnable.class));
+
+        underTest = new PlaceholderCache(config, processing, Mockito.mock(ErrorLogger.class));
+    }
+
+    @Test
+    void firstRequestIsEmptyAndLoadsTheValue() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("", underTest.get(TestConstants.PLAYER_ONE_UUID, "player_kick_count", Collections.emptyList(),
+                () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("1", underTest.get(TestConstants.PLAYER_ONE_UUID, "player_kick_count", Collections.emptyList(),
+                () -> String.valueOf(loads.incrementAndGet())));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void valuesAreCachedPerPlayer() {
+        underTest.get(TestConstants.PLAYER_ONE_UUID, "player_kick_count", Collections.emptyList(), () -> "1");
+        underTest.get(TestConstants.PLAYER_TWO_UUID, "player_kick_count", Collections.emptyList(), () -> "2");
+
+        assertEquals("1", underTest.get(TestConstants.PLAYER_ONE_UUID, "player_kick_count", Collections.emptyList(), () -> "3"));
+        assertEquals("2", underTest.get(TestConstants.PLAYER_TWO_UUID, "player_kick_count", Collections.emptyList(), () -> "3"));
+    }
+
+    @Test
+    void longestMatchingNameDecidesCacheTime() {
+        assertEquals(TimeUnit.SECONDS.toMillis(60), underTest.getCacheTime("server_tps_month"));
+        assertEquals(TimeUnit.SECONDS.toMillis(300), underTest.getCacheTime("server_cpu_month"));
+        assertEquals(TimeUnit.SECONDS.toMillis(10), underTest.getCacheTime("player_kick_count"));
+    }
+}
@@ -109,6 +109,8 @@ public class ConfigSettingKeyTest {
         settings.remove(PluginSettings.PROXY_COPY_CONFIG);
         settings.remove(DatabaseSettings.TYPE);
         settings.remove(DisplaySettings.WORLD_ALIASES);
+        settings.remove(TimeSettings.PLACEHOLDER_CACHE_TIME);
+        settings.remove(TimeSettings.PLACEHOLDER_CACHE_TIME_BY_NAME);
         return settings;
     }
 
@@ -0,0 +1,74 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link LocaleTranslator}.
+ *
+ * @author Rsl1122
+ */
+class LocaleTranslatorTest {
+
+    private static LocaleTranslator translator(String... replaceWith) {
+        Map<String, String> translations = new HashMap<>();
+        for (int i = 0; i < replaceWith.length; i += 2) {
+            translations.put(replaceWith[i], replaceWith[i + 1]);
+        }
+        return new LocaleTranslator(translations);
+    }
+
+    @Test
+    void allEntriesAreTranslated() {
+        LocaleTranslator underTest = translator("Players", "Pelaajat", "Sessions", "Sessiot");
+        assertEquals("<b>Pelaajat</b> & <i>Sessiot</i>, Pelaajat", underTest.translate("<b>Players</b> & <i>Sessions</i>, Players"));
+    }
+
+    @Test
+    void longestEntryIsUsed() {
+        LocaleTranslator underTest = translator("Players", "Pelaajat", "Players Online", "Pelaajia paikalla");
+        assertEquals("Pelaajia paikalla, Pelaajat", underTest.translate("Players Online, Players"));
+    }
+
+    @Test
+    void entryContainedInAnotherIsFound() {
+        LocaleTranslator underTest = translator("Last Seen Players", "X", "Seen", "Nähty");
+        assertEquals("Last Nähty", underTest.translate("Last Seen"));
+        assertEquals("X", underTest.translate("Last Seen Players"));
+    }
+
+    @Test
+    void translatedTextIsNotTranslatedAgain() {
+        LocaleTranslator underTest = translator("Kills", "Player Kills", "Player", "Pelaaja");
+        assertEquals("Player Kills, Pelaaja", underTest.translate("Kills, Player"));
+    }
+
+    @Test
+    void linksAndPlaceholdersAreNotTranslated() {
+        LocaleTranslator underTest = translator("server", "palvelin", "Server", "Palvelin");
+        assertEquals(
+                "Palvelin https://example.com/server ${serverName} palvelin",
+                underTest.translate("Server https://example.com/server ${serverName} server")
+        );
+    }
+}
@@ -171,6 +171,27 @@ public interface DatabaseTest extends DatabaseTestPreparer {
         assertTrue(unsupported.isEmpty(), () -> "Some keys are not supported by PlayerContainer: PlayerKeys." + unsupported.toString());
     }
 
+    @Test
+    default void playerContainerWithDeclaredKeysHasSameValues() {
+        saveUserOne();
+        saveUserTwo();
+        saveTwoWorlds();
+        execute(DataStoreQueries.storeSession(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
+        execute(DataStoreQueries.storeSession(RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID)));
+        db().executeTransaction(new BanStatusTransaction(playerUUID, () -> true));
+
+        List<Key<?>> keys = Arrays.asList(
+                PlayerKeys.BANNED, PlayerKeys.OPERATOR, PlayerKeys.SESSION_COUNT, PlayerKeys.LAST_SEEN,
+                PlayerKeys.MOB_KILL_COUNT, PlayerKeys.DEATH_COUNT, PlayerKeys.PLAYER_KILL_COUNT
+        );
+        PlayerContainer full = db().query(ContainerFetchQueries.fetchPlayerContainer(playerUUID));
+        PlayerContainer narrow = db().query(ContainerFetchQueries.fetchPlayerContainer(playerUUID, keys));
+
+        for (Key<?> key : keys) {
+            assertEquals(full.getValue(key), narrow.getValue(key), key::getKeyName);
+        }
+    }
+
     @Test
     default void configIsStoredInTheDatabase() {
         PlanConfig config = system().getConfigSystem().getConfig();
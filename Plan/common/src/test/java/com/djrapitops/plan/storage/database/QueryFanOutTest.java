@@ -0,0 +1,139 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link QueryFanOut.Batch}.
+ *
+ * @author Rsl1122
+ */
+class QueryFanOutTest {
+
+    private ExecutorService executor;
+    private List<String> log;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        log = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private QueryFanOut.Batch batch() {
+        return new QueryFanOut.Batch("Test", new QueryExecutingDatabase(), executor, log::add);
+    }
+
+    @Test
+    void queriesAreExecutedConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Query<Boolean> waitForOther = db -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+
+        QueryFanOut.Batch queries = batch();
+        CompletableFuture<Boolean> first = queries.query("first", waitForOther);
+        CompletableFuture<Boolean> second = queries.query("second", waitForOther);
+        queries.awaitAll();
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+    }
+
+    @Test
+    void timingsAreRecordedAndLogged() {
+        QueryFanOut.Batch queries = batch();
+        queries.query("one", db -> 1);
+        queries.query("two", db -> 2);
+        queries.awaitAll();
+
+        assertEquals(2, queries.getTimings().size());
+        assertEquals(1, log.size());
+        assertTrue(log.get(0).startsWith("Test: 2 queries in "), log::toString);
+        assertTrue(log.get(0).contains("one ") && log.get(0).contains("two "), log::toString);
+    }
+
+    @Test
+    void failedQueryExceptionIsThrown() {
+        QueryFanOut.Batch queries = batch();
+        queries.query("ok", db -> 1);
+        queries.query("fails", db -> {
+            throw new DBOpException("Test failure");
+        });
+
+        DBOpException thrown = assertThrows(DBOpException.class, queries::awaitAll);
+        assertEquals("Test failure", thrown.getMessage());
+        assertEquals(1, log.size());
+    }
+
+    /**
+     * Database that executes queries without a connection, for queries that do not use the database.
+     */
+    private static class QueryExecutingDatabase implements Database {
+        @Override
+        public void init() {
+            // Nothing to initialize
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+
+        @Override
+        public <T> T query(Query<T> query) {
+            return query.executeQuery(null);
+        }
+
+        @Override
+        public Future<?> executeTransaction(Transaction transaction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DBType getType() {
+            return DBType.MYSQL;
+        }
+
+        @Override
+        public State getState() {
+            return State.OPEN;
+        }
+    }
+}
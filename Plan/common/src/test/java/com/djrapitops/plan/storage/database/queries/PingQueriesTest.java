@@ -25,10 +25,12 @@ import com.djrapitops.plan.storage.database.transactions.events.PingStoreTransac
 import org.junit.jupiter.api.Test;
 import utilities.RandomData;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -57,6 +59,28 @@ public interface PingQueriesTest extends DatabaseTestPreparer {
         assertEquals(expected, fetched);
     }
 
+    @Test
+    default void pingIsAggregatedPerMinute() {
+        long minute = TimeUnit.MINUTES.toMillis(1L);
+        long start = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1L);
+        start -= start % minute;
+        List<Ping> stored = Arrays.asList(
+                new Ping(start + 1000L, serverUUID(), 10, 30, 20.0),
+                new Ping(start + 2000L, serverUUID(), 20, 50, 30.0),
+                new Ping(start + minute + 5L, serverUUID(), 5000, 40, 40.0)
+        );
+        execute(LargeStoreQueries.storeAllPingData(Collections.singletonMap(playerUUID, stored)));
+
+        List<Ping> expected = Arrays.asList(
+                new Ping(start, null, 10, 50, 25.0),
+                new Ping(start + minute, null, -1, 40, 40.0) // Min ping outside 1-4000 is ignored
+        );
+        List<Ping> result = db().query(PingQueries.fetchAggregatedPingDataOfServer(start, start + TimeUnit.HOURS.toMillis(1L), minute, serverUUID()));
+        assertEquals(expected, result);
+        assertEquals(start, result.get(0).getDate());
+        assertEquals(start + minute, result.get(1).getDate());
+    }
+
     @Test
     default void removeEverythingRemovesPing() {
         pingIsStored();
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.storage.database.queries;
 
+import com.djrapitops.plan.delivery.domain.ActivityPerDay;
 import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
@@ -32,7 +33,9 @@ import com.djrapitops.plan.storage.database.queries.objects.WorldTimesQueries;
 import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.storage.database.transactions.commands.RemoveEverythingTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.PlayerServerRegisterTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.ServerShutdownTransaction;
 import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.utilities.comparators.SessionStartComparator;
 import com.djrapitops.plugin.api.TimeAmount;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
@@ -77,6 +80,20 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         db().executeTransaction(new PlayerServerRegisterTransaction(player2UUID, RandomData::randomTime, TestConstants.PLAYER_TWO_NAME, serverUUID()));
     }
 
+    @Test
+    default void lastSeenOfAllPlayersIsLatestSessionEnd() {
+        prepareForSessionSave();
+        List<Session> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+        db().executeTransaction(new ServerShutdownTransaction(sessions));
+
+        long expected = sessions.stream()
+                .mapToLong(session -> session.getValue(SessionKeys.END).orElse(0L))
+                .max().orElseThrow(AssertionError::new);
+        Map<UUID, Long> lastSeen = db().query(SessionQueries.lastSeenOfAllPlayers());
+        assertEquals(expected, lastSeen.get(playerUUID));
+        assertFalse(lastSeen.containsKey(player2UUID));
+    }
+
     @Test
     default void sessionsAreStoredWithAllData() {
         prepareForSessionSave();
@@ -94,6 +111,62 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         assertEquals(session, savedSessions.get(0));
     }
 
+    @Test
+    default void sessionsAreStoredInBulkWithAllData() {
+        prepareForSessionSave();
+        List<Session> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+
+        db().executeTransaction(new ServerShutdownTransaction(sessions));
+
+        List<Session> expected = new ArrayList<>(sessions);
+        expected.sort(new SessionStartComparator());
+        List<Session> saved = db().query(SessionQueries.fetchAllSessions());
+        assertEquals(expected, saved);
+    }
+
+    @Test
+    default void worldsAreRegisteredWhenSessionsAreStoredInBulk() {
+        prepareForSessionSave();
+        String[] unregisteredWorlds = new String[]{worlds[0], "UnregisteredWorld"};
+        List<Session> sessions = RandomData.randomSessions(serverUUID(), unregisteredWorlds, playerUUID, player2UUID);
+
+        db().executeTransaction(new ServerShutdownTransaction(sessions));
+
+        List<Session> expected = new ArrayList<>(sessions);
+        expected.sort(new SessionStartComparator());
+        List<Session> saved = db().query(SessionQueries.fetchAllSessions());
+        assertEquals(expected, saved);
+    }
+
+    @Test
+    default void bulkSessionStoreIsTimedAgainstSubQueryStore() {
+        prepareForSessionSave();
+        List<Session> subQuerySessions = RandomData.pickMultiple(300, () -> RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID));
+        List<Session> bulkSessions = RandomData.pickMultiple(300, () -> RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID));
+
+        long start = System.nanoTime();
+        db().executeTransaction(new Transaction() {
+            @Override
+            protected void performOperations() {
+                execute(LargeStoreQueries.storeAllSessionsWithKillAndWorldData(subQuerySessions));
+            }
+        });
+        long subQueryTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        db().executeTransaction(new ServerShutdownTransaction(bulkSessions));
+        long bulkTime = System.nanoTime() - start;
+
+        List<Session> expected = new ArrayList<>(subQuerySessions);
+        expected.addAll(bulkSessions);
+        expected.sort(new SessionStartComparator());
+        List<Session> saved = db().query(SessionQueries.fetchAllSessions());
+        assertEquals(expected, saved);
+
+        System.out.println("Stored 300 sessions with sub-queries in " + TimeUnit.NANOSECONDS.toMillis(subQueryTime)
+                + "ms, in bulk in " + TimeUnit.NANOSECONDS.toMillis(bulkTime) + "ms");
+    }
+
     @Test
     default void mostRecentSessionsCanBeQueried() {
         prepareForSessionSave();
@@ -105,6 +178,39 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         assertEquals(expected, result);
     }
 
+    @Test
+    default void sessionsAreCountedByDayOfWeekAndHour() {
+        prepareForSessionSave();
+        Session session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        execute(DataStoreQueries.storeSession(session));
+
+        long start = session.getDate();
+        int[][] result = db().query(SessionQueries.sessionCountPerDayOfWeekAndHour(start, start, 0L, serverUUID()));
+
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.setTimeInMillis(start);
+        int dayOfWeek = (calendar.get(Calendar.DAY_OF_WEEK) + 5) % 7; // Monday is 0
+        int hourOfDay = calendar.get(Calendar.HOUR_OF_DAY);
+        assertEquals(1, result[dayOfWeek][hourOfDay]);
+        assertEquals(1, Arrays.stream(result).flatMapToInt(Arrays::stream).sum());
+    }
+
+    @Test
+    default void activityPerDayIsCalculatedInOneQuery() {
+        prepareForSessionSave();
+        Session session = RandomData.randomSession(serverUUID(), worlds, playerUUID, player2UUID);
+        execute(DataStoreQueries.storeSession(session));
+
+        long start = session.getDate();
+        long end = session.getValue(SessionKeys.END).orElseThrow(AssertionError::new);
+        long day = start - start % TimeUnit.DAYS.toMillis(1L);
+        ActivityPerDay result = db().query(SessionQueries.activityPerDay(start, end, 0L, serverUUID()));
+
+        assertEquals(Collections.singletonMap(day, 1), result.getUniquePerDay());
+        assertEquals(Collections.singletonMap(day, 1), result.getSessionsPerDay());
+        assertEquals(Collections.singletonMap(day, session.getLength()), result.getPlaytimePerDay());
+    }
+
     @Test
     default void worldTimesAreSavedWithAllSessionSave() {
         prepareForSessionSave();
@@ -16,14 +16,8 @@
  */
 package com.djrapitops.plan.addons.placeholderapi;
 
-import cn.nukkit.Player;
 import com.creeperface.nukkit.placeholderapi.api.PlaceholderAPI;
-import com.djrapitops.plan.PlanSystem;
-import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
-import com.djrapitops.plan.delivery.domain.keys.PlayerKeys;
-import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.placeholder.PlanPlaceholders;
-import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQueries;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import com.djrapitops.plugin.logging.L;
@@ -41,17 +35,14 @@ import java.util.UUID;
 public class NukkitPlaceholderRegistrar {
 
     private final PlanPlaceholders placeholders;
-    private final PlanSystem system;
     private final ErrorLogger errorLogger;
 
     @Inject
     public NukkitPlaceholderRegistrar(
             PlanPlaceholders placeholders,
-            PlanSystem system,
             ErrorLogger errorLogger
     ) {
         this.placeholders = placeholders;
-        this.system = system;
         this.errorLogger = errorLogger;
     }
 
@@ -60,7 +51,7 @@ public class NukkitPlaceholderRegistrar {
         placeholders.getPlaceholders().forEach((name, loader) ->
                 api.visitorSensitivePlaceholder(name, (player, params) -> {
                             try {
-                                return loader.apply(getPlayer(player), params.get());
+                                return placeholders.onPlaceholderRequest(player.getUniqueId(), name, params.get());
                             } catch (Exception e) {
                                 errorLogger.log(L.WARN, e, ErrorContext.builder().related("Registering PlaceholderAPI").build());
                                 return null;
@@ -71,7 +62,7 @@ public class NukkitPlaceholderRegistrar {
         placeholders.getStaticPlaceholders().forEach((name, loader) ->
                 api.staticPlaceholder(name, params -> {
                             try {
-                                return loader.apply(params.get());
+                                return placeholders.onPlaceholderRequest((UUID) null, name, params.get());
                             } catch (Exception e) {
                                 errorLogger.log(L.WARN, e, ErrorContext.builder().related("Registering PlaceholderAPI").build());
                                 return null;
@@ -79,13 +70,4 @@ public class NukkitPlaceholderRegistrar {
                         }
                 ));
     }
-
-    private PlayerContainer getPlayer(Player player) {
-        UUID uuid = player.getUniqueId();
-
-        PlayerContainer container = system.getDatabaseSystem().getDatabase().query(ContainerFetchQueries.fetchPlayerContainer(uuid));
-        SessionCache.getCachedSession(uuid).ifPresent(session -> container.putRawData(PlayerKeys.ACTIVE_SESSION, session));
-
-        return container;
-    }
 }
@@ -17,6 +17,7 @@
 package com.djrapitops.plan.gathering;
 
 import cn.nukkit.level.Level;
+import cn.nukkit.level.format.FullChunk;
 import com.djrapitops.plan.PlanNukkit;
 
 import javax.inject.Inject;
@@ -54,6 +55,19 @@ public class NukkitSensor implements ServerSensor<Level> {
         return world.getEntities().length;
     }
 
+    @Override
+    public int getEntityCount(Level world, int part, int parts) {
+        int count = 0;
+        int i = 0;
+        for (FullChunk chunk : world.getChunks().values()) {
+            if (i % parts == part) {
+                count += chunk.getEntities().size();
+            }
+            i++;
+        }
+        return count;
+    }
+
     @Override
     public int getOnlinePlayerCount() {
         return plugin.getServer().getOnlinePlayers().size();
@@ -21,6 +21,7 @@ import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
 import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.*;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.afk.AFKTracker;
 import com.djrapitops.plan.settings.Permissions;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -50,11 +51,12 @@ public class NukkitAFKListener implements Listener {
     private final ErrorLogger errorLogger;
 
     @Inject
-    public NukkitAFKListener(PlanConfig config, ErrorLogger errorLogger) {
+    public NukkitAFKListener(PlanConfig config, LiveFeed liveFeed, ErrorLogger errorLogger) {
         this.errorLogger = errorLogger;
         this.ignorePermissionInfo = new HashMap<>();
 
         NukkitAFKListener.assignAFKTracker(config);
+        AFK_TRACKER.setLiveFeed(liveFeed);
     }
 
     private static void assignAFKTracker(PlanConfig config) {
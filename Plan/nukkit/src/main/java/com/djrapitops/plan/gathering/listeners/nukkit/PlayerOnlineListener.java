@@ -26,7 +26,7 @@ import cn.nukkit.event.player.PlayerLoginEvent;
 import cn.nukkit.event.player.PlayerQuitEvent;
 import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
-import com.djrapitops.plan.delivery.export.Exporter;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.CallEvents;
@@ -34,6 +34,7 @@ import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.GMTimes;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
@@ -65,7 +66,7 @@ public class PlayerOnlineListener implements Listener {
     private final ServerInfo serverInfo;
     private final DBSystem dbSystem;
     private final ExtensionSvc extensionService;
-    private final Exporter exporter;
+    private final PlayerExportDebouncer exportDebouncer;
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
@@ -79,7 +80,7 @@ public class PlayerOnlineListener implements Listener {
             ServerInfo serverInfo,
             DBSystem dbSystem,
             ExtensionSvc extensionService,
-            Exporter exporter,
+            PlayerExportDebouncer exportDebouncer,
             GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
@@ -91,7 +92,7 @@ public class PlayerOnlineListener implements Listener {
         this.serverInfo = serverInfo;
         this.dbSystem = dbSystem;
         this.extensionService = extensionService;
-        this.exporter = exporter;
+        this.exportDebouncer = exportDebouncer;
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
@@ -168,9 +169,9 @@ public class PlayerOnlineListener implements Listener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
-                    new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
-            );
+            geolocationCache.getCountryAsync(address).thenAccept(country -> database.executeTransaction(
+                    new GeoInfoStoreTransaction(playerUUID, new GeoInfo(country, time))
+            ));
         }
 
         long registerDate = TimeUnit.SECONDS.toMillis(player.getFirstPlayed());
@@ -188,7 +189,7 @@ public class PlayerOnlineListener implements Listener {
 
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 
@@ -230,7 +231,7 @@ public class PlayerOnlineListener implements Listener {
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 }
@@ -30,6 +30,7 @@ import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.PlayerJoinEvent;
 import cn.nukkit.event.player.PlayerQuitEvent;
 import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
@@ -61,18 +62,21 @@ public class NukkitPingCounter extends AbsRunnable implements Listener {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final RunnableFactory runnableFactory;
+    private final PlanMetrics metrics;
 
     @Inject
     public NukkitPingCounter(
             PlanConfig config,
             DBSystem dbSystem,
             ServerInfo serverInfo,
-            RunnableFactory runnableFactory
+            RunnableFactory runnableFactory,
+            PlanMetrics metrics
     ) {
         this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.runnableFactory = runnableFactory;
+        this.metrics = metrics;
         playerHistory = new HashMap<>();
     }
 
@@ -92,6 +96,7 @@ public class NukkitPingCounter extends AbsRunnable implements Listener {
                     // Don't accept bad values
                     continue;
                 }
+                metrics.recordPing(ping);
                 history.add(new DateObj<>(time, ping));
                 if (history.size() >= 30) {
                     dbSystem.getDatabase().executeTransaction(
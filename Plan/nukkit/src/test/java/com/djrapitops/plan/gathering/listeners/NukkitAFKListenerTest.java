@@ -18,6 +18,7 @@ package com.djrapitops.plan.gathering.listeners;
 
 import cn.nukkit.Player;
 import cn.nukkit.event.player.PlayerMoveEvent;
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.listeners.nukkit.NukkitAFKListener;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
@@ -50,7 +51,7 @@ public class NukkitAFKListenerTest {
         PlanConfig config = Mockito.mock(PlanConfig.class);
         when(config.get(TimeSettings.AFK_THRESHOLD)).thenReturn(TimeUnit.MINUTES.toMillis(3));
         errorLogger = Mockito.mock(ErrorLogger.class);
-        underTest = new NukkitAFKListener(config, errorLogger);
+        underTest = new NukkitAFKListener(config, new LiveFeed(), errorLogger);
     }
 
     @AfterEach
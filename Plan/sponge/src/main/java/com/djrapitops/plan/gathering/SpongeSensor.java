@@ -73,4 +73,17 @@ public class SpongeSensor implements ServerSensor<World> {
     public int getEntityCount(World world) {
         return world.getEntities().size();
     }
+
+    @Override
+    public int getEntityCount(World world, int part, int parts) {
+        Iterator<Chunk> chunks = world.getLoadedChunks().iterator();
+        int count = 0;
+        for (int i = 0; chunks.hasNext(); i++) {
+            Chunk chunk = chunks.next();
+            if (i % parts == part) {
+                count += chunk.getEntities().size();
+            }
+        }
+        return count;
+    }
 }
\ No newline at end of file
@@ -18,13 +18,14 @@ package com.djrapitops.plan.gathering.listeners.sponge;
 
 import com.djrapitops.plan.delivery.domain.Nickname;
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
-import com.djrapitops.plan.delivery.export.Exporter;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.CallEvents;
 import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
@@ -68,7 +69,7 @@ public class PlayerOnlineListener {
     private final ServerInfo serverInfo;
     private final DBSystem dbSystem;
     private final ExtensionSvc extensionService;
-    private final Exporter exporter;
+    private final PlayerExportDebouncer exportDebouncer;
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
@@ -82,7 +83,7 @@ public class PlayerOnlineListener {
             ServerInfo serverInfo,
             DBSystem dbSystem,
             ExtensionSvc extensionService,
-            Exporter exporter, GeolocationCache geolocationCache,
+            PlayerExportDebouncer exportDebouncer, GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
             Status status,
@@ -93,7 +94,7 @@ public class PlayerOnlineListener {
         this.serverInfo = serverInfo;
         this.dbSystem = dbSystem;
         this.extensionService = extensionService;
-        this.exporter = exporter;
+        this.exportDebouncer = exportDebouncer;
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
@@ -173,9 +174,9 @@ public class PlayerOnlineListener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
-                    new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
-            );
+            geolocationCache.getCountryAsync(address.getHostAddress()).thenAccept(country -> database.executeTransaction(
+                    new GeoInfoStoreTransaction(playerUUID, new GeoInfo(country, time))
+            ));
         }
 
         database.executeTransaction(new PlayerServerRegisterTransaction(playerUUID, () -> time, playerName, serverUUID));
@@ -192,7 +193,7 @@ public class PlayerOnlineListener {
 
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 
@@ -233,7 +234,7 @@ public class PlayerOnlineListener {
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.gathering.listeners.sponge;
 
+import com.djrapitops.plan.delivery.webserver.live.LiveFeed;
 import com.djrapitops.plan.gathering.afk.AFKTracker;
 import com.djrapitops.plan.settings.Permissions;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -55,11 +56,12 @@ public class SpongeAFKListener {
     private final ErrorLogger errorLogger;
 
     @Inject
-    public SpongeAFKListener(PlanConfig config, ErrorLogger errorLogger) {
+    public SpongeAFKListener(PlanConfig config, LiveFeed liveFeed, ErrorLogger errorLogger) {
         this.errorLogger = errorLogger;
         this.ignorePermissionInfo = new HashMap<>();
 
         SpongeAFKListener.assignAFKTracker(config);
+        AFK_TRACKER.setLiveFeed(liveFeed);
     }
 
     private static void assignAFKTracker(PlanConfig config) {
@@ -17,12 +17,13 @@
 package com.djrapitops.plan.gathering.listeners.velocity;
 
 import com.djrapitops.plan.delivery.domain.keys.SessionKeys;
-import com.djrapitops.plan.delivery.export.Exporter;
+import com.djrapitops.plan.delivery.export.PlayerExportDebouncer;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
 import com.djrapitops.plan.delivery.webserver.cache.JSONCache;
 import com.djrapitops.plan.extension.CallEvents;
 import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.GeoInfo;
 import com.djrapitops.plan.gathering.domain.Session;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -63,7 +64,7 @@ public class PlayerOnlineListener {
     private final Processing processing;
     private final DBSystem dbSystem;
     private final ExtensionSvc extensionService;
-    private final Exporter exporter;
+    private final PlayerExportDebouncer exportDebouncer;
     private final GeolocationCache geolocationCache;
     private final SessionCache sessionCache;
     private final ServerInfo serverInfo;
@@ -75,7 +76,7 @@ public class PlayerOnlineListener {
             Processing processing,
             DBSystem dbSystem,
             ExtensionSvc extensionService,
-            Exporter exporter,
+            PlayerExportDebouncer exportDebouncer,
             GeolocationCache geolocationCache,
             SessionCache sessionCache,
             ServerInfo serverInfo,
@@ -85,7 +86,7 @@ public class PlayerOnlineListener {
         this.processing = processing;
         this.dbSystem = dbSystem;
         this.extensionService = extensionService;
-        this.exporter = exporter;
+        this.exportDebouncer = exportDebouncer;
         this.geolocationCache = geolocationCache;
         this.sessionCache = sessionCache;
         this.serverInfo = serverInfo;
@@ -117,15 +118,15 @@ public class PlayerOnlineListener {
 
         boolean gatheringGeolocations = config.isTrue(DataGatheringSettings.GEOLOCATIONS);
         if (gatheringGeolocations) {
-            database.executeTransaction(
-                    new GeoInfoStoreTransaction(playerUUID, address, time, geolocationCache::getCountry)
-            );
+            geolocationCache.getCountryAsync(address.getHostAddress()).thenAccept(country -> database.executeTransaction(
+                    new GeoInfoStoreTransaction(playerUUID, new GeoInfo(country, time))
+            ));
         }
 
         database.executeTransaction(new PlayerRegisterTransaction(playerUUID, () -> time, playerName));
         processing.submitNonCritical(() -> extensionService.updatePlayerValues(playerUUID, playerName, CallEvents.PLAYER_JOIN));
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
 
         UUID serverUUID = serverInfo.getServerUUID();
@@ -159,7 +160,7 @@ public class PlayerOnlineListener {
 
         sessionCache.endSession(playerUUID, System.currentTimeMillis());
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
 
         processing.submit(() -> {
@@ -203,7 +204,7 @@ public class PlayerOnlineListener {
         sessionCache.cacheSession(playerUUID, session);
 
         if (config.isTrue(ExportSettings.EXPORT_ON_ONLINE_STATUS_CHANGE)) {
-            processing.submitNonCritical(() -> exporter.exportPlayerPage(playerUUID, playerName));
+            exportDebouncer.exportLater(playerUUID, playerName);
         }
 
         JSONCache.invalidate(DataID.SERVERS);
@@ -25,6 +25,7 @@ package com.djrapitops.plan.gathering.timed;
 
 import com.djrapitops.plan.PlanVelocity;
 import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.delivery.webserver.metrics.PlanMetrics;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
@@ -60,6 +61,7 @@ public class VelocityPingCounter extends AbsRunnable {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final RunnableFactory runnableFactory;
+    private final PlanMetrics metrics;
 
     @Inject
     public VelocityPingCounter(
@@ -67,13 +69,15 @@ public class VelocityPingCounter extends AbsRunnable {
             PlanConfig config,
             DBSystem dbSystem,
             ServerInfo serverInfo,
-            RunnableFactory runnableFactory
+            RunnableFactory runnableFactory,
+            PlanMetrics metrics
     ) {
         this.plugin = plugin;
         this.config = config;
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.runnableFactory = runnableFactory;
+        this.metrics = metrics;
         playerHistory = new HashMap<>();
     }
 
@@ -93,6 +97,7 @@ public class VelocityPingCounter extends AbsRunnable {
                     // Don't accept bad values
                     continue;
                 }
+                metrics.recordPing(ping);
                 history.add(new DateObj<>(time, ping));
                 if (history.size() >= 30) {
                     dbSystem.getDatabase().executeTransaction(
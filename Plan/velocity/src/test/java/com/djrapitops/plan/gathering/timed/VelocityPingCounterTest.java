@@ -57,7 +57,7 @@ public class VelocityPingCounterTest {
 
     @Test
     void offlinePlayerIsRemovedFromPlayerHistory() {
-        VelocityPingCounter counter = new VelocityPingCounter(plugin, null, null, null, null);
+        VelocityPingCounter counter = new VelocityPingCounter(plugin, null, null, null, null, null);
 
         assertTrue(counter.playerHistory.isEmpty());
         counter.addPlayer(player);